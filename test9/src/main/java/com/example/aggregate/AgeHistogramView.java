@@ -0,0 +1,121 @@
+package com.example.aggregate;
+
+import com.example.model.Person;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Гистограмма возрастов с корзинами фиксированной ширины.
+ * Корзина {@code i} содержит возрасты {@code [i * width, (i + 1) * width)};
+ * чтение корзины занимает O(1).
+ */
+public class AgeHistogramView implements AggregateView<Person> {
+    
+    /** Максимальный возраст, допускаемый валидацией PersonService */
+    private static final int MAX_AGE = 150;
+    
+    /** Ширина корзины в годах */
+    private final int bucketWidth;
+    
+    /** Счетчики корзин */
+    private final AtomicLongArray buckets;
+    
+    /**
+     * Создает гистограмму с указанной шириной корзины.
+     * 
+     * @param bucketWidth ширина корзины в годах
+     */
+    public AgeHistogramView(int bucketWidth) {
+        if (bucketWidth <= 0) {
+            throw new IllegalArgumentException("Ширина корзины должна быть положительной");
+        }
+        this.bucketWidth = bucketWidth;
+        this.buckets = new AtomicLongArray(MAX_AGE / bucketWidth + 1);
+    }
+    
+    @Override
+    public void apply(Person oldValue, Person newValue) {
+        Integer oldAge = oldValue == null ? null : oldValue.getAge();
+        Integer newAge = newValue == null ? null : newValue.getAge();
+        int oldBucket = bucketOf(oldAge);
+        int newBucket = bucketOf(newAge);
+        if (oldBucket == newBucket) {
+            return;
+        }
+        if (oldBucket >= 0) {
+            buckets.decrementAndGet(oldBucket);
+        }
+        if (newBucket >= 0) {
+            buckets.incrementAndGet(newBucket);
+        }
+    }
+    
+    @Override
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+    }
+    
+    /**
+     * Возвращает ширину корзины.
+     * 
+     * @return ширина корзины в годах
+     */
+    public int getBucketWidth() {
+        return bucketWidth;
+    }
+    
+    /**
+     * Возвращает число корзин.
+     * 
+     * @return число корзин
+     */
+    public int getBucketCount() {
+        return buckets.length();
+    }
+    
+    /**
+     * Возвращает число людей в корзине.
+     * 
+     * @param bucket номер корзины
+     * @return число людей
+     */
+    public long getCount(int bucket) {
+        if (bucket < 0 || bucket >= buckets.length()) {
+            throw new IllegalArgumentException("Номер корзины вне диапазона: " + bucket);
+        }
+        return buckets.get(bucket);
+    }
+    
+    /**
+     * Возвращает число людей в корзине, содержащей указанный возраст.
+     * 
+     * @param age возраст
+     * @return число людей в корзине возраста
+     */
+    public long countForAge(int age) {
+        if (age < 0 || age > MAX_AGE) {
+            throw new IllegalArgumentException("Возраст должен быть от 0 до " + MAX_AGE);
+        }
+        return buckets.get(age / bucketWidth);
+    }
+    
+    /**
+     * Возвращает копию всех счетчиков.
+     * Копия снимается без блокировок; для согласованного снимка вызывайте
+     * метод внутри {@code PersonService.readConsistent}.
+     * 
+     * @return массив счетчиков по корзинам
+     */
+    public long[] toArray() {
+        long[] result = new long[buckets.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = buckets.get(i);
+        }
+        return result;
+    }
+    
+    private int bucketOf(Integer age) {
+        return age == null ? -1 : Math.min(age, MAX_AGE) / bucketWidth;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.example.aggregate;
+
+/**
+ * Агрегатное представление, поддерживаемое инкрементально.
+ * Хранилище вызывает {@link #apply(Object, Object)} на каждой записи под своим
+ * монитором записи, а читатели обращаются к агрегату без блокировок, поэтому
+ * реализации должны хранить состояние в потокобезопасных структурах.
+ * 
+ * @param <T> тип агрегируемых сущностей
+ */
+public interface AggregateView<T> {
+    
+    /**
+     * Применяет изменение одной сущности к агрегату.
+     * 
+     * @param oldValue прежнее состояние (null при создании)
+     * @param newValue новое состояние (null при удалении)
+     */
+    void apply(T oldValue, T newValue);
+    
+    /**
+     * Сбрасывает агрегат в пустое состояние.
+     * Вызывается перед повторным заполнением (регистрация, перестройка).
+     */
+    void reset();
+    
+    /**
+     * Вызывается, когда хранилище удаляет все сущности сразу, без {@link #apply}
+     * для каждой. По умолчанию сбрасывает агрегат.
+     */
+    default void onClear() {
+        reset();
+    }
+}
\ No newline at end of file
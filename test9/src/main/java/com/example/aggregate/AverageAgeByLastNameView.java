@@ -0,0 +1,86 @@
+package com.example.aggregate;
+
+import com.example.model.Person;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Средний возраст по фамилии.
+ * Для каждой фамилии хранится неизменяемая пара (сумма, количество), которая
+ * заменяется атомарно, поэтому читатель всегда видит согласованные сумму и количество.
+ */
+public class AverageAgeByLastNameView implements AggregateView<Person> {
+    
+    /** Сумма и количество возрастов для одной фамилии */
+    private static final class Stats {
+        
+        private final long sum;
+        private final long count;
+        
+        private Stats(long sum, long count) {
+            this.sum = sum;
+            this.count = count;
+        }
+        
+        private Stats plus(int age) {
+            return new Stats(sum + age, count + 1);
+        }
+        
+        private Stats minus(int age) {
+            return count == 1 ? null : new Stats(sum - age, count - 1);
+        }
+    }
+    
+    /** Статистика по фамилиям */
+    private final ConcurrentHashMap<String, Stats> stats = new ConcurrentHashMap<>();
+    
+    @Override
+    public void apply(Person oldValue, Person newValue) {
+        if (oldValue != null && newValue != null
+                && oldValue.getLastName().equals(newValue.getLastName())
+                && oldValue.getAge().equals(newValue.getAge())) {
+            return;
+        }
+        if (oldValue != null) {
+            int age = oldValue.getAge();
+            stats.computeIfPresent(oldValue.getLastName(), (lastName, current) -> current.minus(age));
+        }
+        if (newValue != null) {
+            int age = newValue.getAge();
+            stats.compute(newValue.getLastName(), (lastName, current) ->
+                    current == null ? new Stats(age, 1) : current.plus(age));
+        }
+    }
+    
+    @Override
+    public void reset() {
+        stats.clear();
+    }
+    
+    /**
+     * Возвращает средний возраст людей с указанной фамилией.
+     * 
+     * @param lastName фамилия
+     * @return средний возраст или null, если таких людей нет
+     */
+    public Double averageFor(String lastName) {
+        if (lastName == null) {
+            throw new IllegalArgumentException("Фамилия не может быть null");
+        }
+        Stats current = stats.get(lastName);
+        return current == null ? null : (double) current.sum / current.count;
+    }
+    
+    /**
+     * Возвращает число людей с указанной фамилией.
+     * 
+     * @param lastName фамилия
+     * @return число людей
+     */
+    public long countFor(String lastName) {
+        if (lastName == null) {
+            throw new IllegalArgumentException("Фамилия не может быть null");
+        }
+        Stats current = stats.get(lastName);
+        return current == null ? 0 : current.count;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.example.aggregate;
+
+import com.example.model.Job;
+import com.example.parallel.ModificationPolicy;
+import com.example.parallel.ParallelScanner;
+import com.example.query.Queryable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Сводка зарплат по компаниям: число вакансий, число зарплат, сумма, минимум,
+ * максимум и среднее. Для каждой компании писатель ведет мультимножество зарплат,
+ * поэтому минимум и максимум корректны и после удаления крайнего значения;
+ * читатели получают готовый неизменяемый {@link SalaryStats} за O(1).
+ * Вакансии без компании не учитываются.
+ */
+public class CompanySalaryView implements RebuildableView<Job> {
+    
+    /** Число вакансий, ниже которого перестройка выполняется последовательно */
+    private static final int PARALLEL_REBUILD_THRESHOLD = 16_384;
+    
+    /** Опубликованные сводки для читателей */
+    private final ConcurrentHashMap<String, SalaryStats> published = new ConcurrentHashMap<>();
+    
+    /** Рабочее состояние писателя по компаниям */
+    private Map<String, CompanyState> states = new HashMap<>();
+    
+    @Override
+    public synchronized void apply(Job oldValue, Job newValue) {
+        if (oldValue != null && newValue != null
+                && Objects.equals(oldValue.getCompany(), newValue.getCompany())
+                && Objects.equals(oldValue.getSalary(), newValue.getSalary())) {
+            return;
+        }
+        if (oldValue != null && oldValue.getCompany() != null) {
+            String company = oldValue.getCompany();
+            CompanyState state = states.get(company);
+            if (state != null) {
+                state.remove(oldValue.getSalary());
+                publish(company, state);
+            }
+        }
+        if (newValue != null && newValue.getCompany() != null) {
+            String company = newValue.getCompany();
+            CompanyState state = states.computeIfAbsent(company, c -> new CompanyState());
+            state.add(newValue.getSalary());
+            publish(company, state);
+        }
+    }
+    
+    @Override
+    public synchronized void reset() {
+        states = new HashMap<>();
+        published.clear();
+    }
+    
+    @Override
+    public synchronized void rebuild(Collection<Job> all, ForkJoinPool pool) {
+        if (all == null || pool == null) {
+            throw new IllegalArgumentException("Данные и пул не могут быть null");
+        }
+        ParallelScanner scanner = new ParallelScanner(pool, ModificationPolicy.SNAPSHOT, PARALLEL_REBUILD_THRESHOLD);
+        Map<String, CompanyState> rebuilt = scanner.collect(Queryable.scanning(() -> all), HashMap::new,
+            (partial, job) -> {
+                if (job.getCompany() != null) {
+                    partial.computeIfAbsent(job.getCompany(), c -> new CompanyState()).add(job.getSalary());
+                }
+            },
+            (left, right) -> {
+                right.forEach((company, state) -> left.merge(company, state, CompanyState::mergeFrom));
+                return left;
+            });
+        states = rebuilt;
+        published.keySet().retainAll(rebuilt.keySet());
+        rebuilt.forEach(this::publish);
+    }
+    
+    /**
+     * Возвращает сводку зарплат компании.
+     * 
+     * @param company название компании
+     * @return сводка ({@link SalaryStats#EMPTY} если вакансий нет)
+     */
+    public SalaryStats statsFor(String company) {
+        if (company == null) {
+            throw new IllegalArgumentException("Компания не может быть null");
+        }
+        return published.getOrDefault(company, SalaryStats.EMPTY);
+    }
+    
+    /**
+     * Возвращает сводки всех компаний.
+     * 
+     * @return неизменяемая карта компания → сводка
+     */
+    public Map<String, SalaryStats> allStats() {
+        return Collections.unmodifiableMap(new HashMap<>(published));
+    }
+    
+    private void publish(String company, CompanyState state) {
+        if (state.jobCount == 0) {
+            states.remove(company);
+            published.remove(company);
+        } else {
+            published.put(company, state.snapshot());
+        }
+    }
+    
+    /**
+     * Изменяемое состояние одной компании, доступное только писателю.
+     */
+    private static final class CompanyState {
+        
+        /** Зарплата → число вакансий с ней */
+        private final TreeMap<Double, Integer> salaries = new TreeMap<>();
+        private long jobCount;
+        private long salaryCount;
+        private double sum;
+        
+        private void add(Double salary) {
+            jobCount++;
+            if (salary != null) {
+                salaries.merge(salary, 1, Integer::sum);
+                salaryCount++;
+                sum += salary;
+            }
+        }
+        
+        private void remove(Double salary) {
+            jobCount--;
+            if (salary != null) {
+                salaries.computeIfPresent(salary, (value, count) -> count == 1 ? null : count - 1);
+                salaryCount--;
+                // Без зарплат сумма обнуляется точно, не накапливая ошибку округления
+                sum = salaryCount == 0 ? 0 : sum - salary;
+            }
+        }
+        
+        private CompanyState mergeFrom(CompanyState other) {
+            other.salaries.forEach((salary, count) -> salaries.merge(salary, count, Integer::sum));
+            jobCount += other.jobCount;
+            salaryCount += other.salaryCount;
+            sum += other.sum;
+            return this;
+        }
+        
+        private SalaryStats snapshot() {
+            if (salaries.isEmpty()) {
+                return new SalaryStats(jobCount, 0, 0, null, null);
+            }
+            return new SalaryStats(jobCount, salaryCount, sum, salaries.firstKey(), salaries.lastKey());
+        }
+    }
+}
\ No newline at end of file
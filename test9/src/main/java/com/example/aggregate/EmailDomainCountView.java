@@ -0,0 +1,77 @@
+package com.example.aggregate;
+
+import com.example.model.Person;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Число людей по домену email (без учета регистра).
+ * Домены с нулевым числом людей удаляются из представления.
+ */
+public class EmailDomainCountView implements AggregateView<Person> {
+    
+    /** Счетчики по доменам */
+    private final ConcurrentHashMap<String, Long> counts = new ConcurrentHashMap<>();
+    
+    @Override
+    public void apply(Person oldValue, Person newValue) {
+        String oldDomain = oldValue == null ? null : domainOf(oldValue.getEmail());
+        String newDomain = newValue == null ? null : domainOf(newValue.getEmail());
+        if (oldDomain != null && oldDomain.equals(newDomain)) {
+            return;
+        }
+        if (oldDomain != null) {
+            counts.computeIfPresent(oldDomain, (domain, count) -> count == 1 ? null : count - 1);
+        }
+        if (newDomain != null) {
+            counts.merge(newDomain, 1L, Long::sum);
+        }
+    }
+    
+    @Override
+    public void reset() {
+        counts.clear();
+    }
+    
+    /**
+     * Возвращает число людей с email в указанном домене.
+     * 
+     * @param domain домен
+     * @return число людей (0 если таких нет)
+     */
+    public long getCount(String domain) {
+        if (domain == null) {
+            throw new IllegalArgumentException("Домен не может быть null");
+        }
+        return counts.getOrDefault(domain.toLowerCase(Locale.ROOT), 0L);
+    }
+    
+    /**
+     * Возвращает число различных доменов.
+     * 
+     * @return число доменов
+     */
+    public int getDomainCount() {
+        return counts.size();
+    }
+    
+    /**
+     * Возвращает копию счетчиков по доменам.
+     * 
+     * @return неизменяемая карта домен → число людей
+     */
+    public Map<String, Long> toMap() {
+        return Collections.unmodifiableMap(new HashMap<>(counts));
+    }
+    
+    private static String domainOf(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.lastIndexOf('@');
+        return at < 0 ? null : email.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
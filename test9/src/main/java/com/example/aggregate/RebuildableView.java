@@ -0,0 +1,22 @@
+package com.example.aggregate;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Агрегатное представление, которое умеет перестраиваться с нуля параллельно,
+ * например при восстановлении после сбоя или при подозрении на рассинхронизацию.
+ * 
+ * @param <T> тип агрегируемых сущностей
+ */
+public interface RebuildableView<T> extends AggregateView<T> {
+    
+    /**
+     * Заменяет состояние представления агрегатом по всем сущностям.
+     * Вызывающий гарантирует, что во время перестройки {@link #apply} не вызывается.
+     * 
+     * @param all все сущности хранилища
+     * @param pool пул потоков для параллельного подсчета
+     */
+    void rebuild(Collection<T> all, ForkJoinPool pool);
+}
\ No newline at end of file
@@ -0,0 +1,250 @@
+package com.example.aggregate;
+
+import com.example.compress.CompressedJob;
+import com.example.model.Job;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Топ-K самых высокооплачиваемых вакансий - общий и по каждой компании.
+ * Писатель ведет упорядоченные множества всех вакансий с зарплатой, поэтому
+ * при удалении или понижении вакансии из топа ее место сразу занимает следующая.
+ * Готовые неизменяемые списки топа публикуются заново только когда изменение
+ * затрагивает первые K мест; чтение возвращает опубликованный список без
+ * блокировок и без выделения памяти. Вакансии без зарплаты в топ не попадают.
+ * <p>
+ * Рейтинг хранит собственные копии вакансий, а не объекты хранилища, поэтому
+ * изменение вакансии из топа не затрагивает ни хранилище, ни другие представления.
+ * Позиции в рейтинге хранятся отдельно от копий и от таких изменений не сбиваются.
+ */
+public class SalaryLeaderboardView implements AggregateView<Job> {
+    
+    /** Размер топа по умолчанию */
+    public static final int DEFAULT_SIZE = 50;
+    
+    /** Порядок: зарплата по убыванию, при равенстве - меньший id выше */
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingDouble((Entry entry) -> entry.salary).reversed()
+            .thenComparingLong(entry -> entry.id);
+    
+    /** Размер топа */
+    private final int size;
+    
+    /** Общий рейтинг (доступен только писателю) */
+    private Board global;
+    
+    /** Рейтинги по компаниям (доступны только писателю) */
+    private Map<String, Board> companies = new HashMap<>();
+    
+    /** Опубликованный общий топ */
+    private volatile List<Job> globalTop = List.of();
+    
+    /** Опубликованные топы по компаниям */
+    private final ConcurrentHashMap<String, List<Job>> companyTops = new ConcurrentHashMap<>();
+    
+    /**
+     * Создает рейтинг размера {@link #DEFAULT_SIZE}.
+     */
+    public SalaryLeaderboardView() {
+        this(DEFAULT_SIZE);
+    }
+    
+    /**
+     * Создает рейтинг указанного размера.
+     * 
+     * @param size число мест в топе
+     */
+    public SalaryLeaderboardView(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Размер топа должен быть положительным");
+        }
+        this.size = size;
+        this.global = new Board();
+    }
+    
+    @Override
+    public synchronized void apply(Job oldValue, Job newValue) {
+        if (oldValue != null && newValue != null
+                && Objects.equals(oldValue.getSalary(), newValue.getSalary())
+                && Objects.equals(oldValue.getCompany(), newValue.getCompany())) {
+            // Позиции не меняются, но в топе должен оказаться новый объект
+            replaceIfListed(oldValue, newValue);
+            return;
+        }
+        Entry removed = entryOf(oldValue);
+        Entry added = entryOf(newValue);
+        if (global.change(removed, added)) {
+            globalTop = global.top();
+        }
+        String oldCompany = removed == null ? null : removed.job.getCompany();
+        String newCompany = added == null ? null : added.job.getCompany();
+        if (oldCompany != null && oldCompany.equals(newCompany)) {
+            changeCompany(oldCompany, removed, added);
+        } else {
+            if (oldCompany != null) {
+                changeCompany(oldCompany, removed, null);
+            }
+            if (newCompany != null) {
+                changeCompany(newCompany, null, added);
+            }
+        }
+    }
+    
+    @Override
+    public synchronized void reset() {
+        global = new Board();
+        companies = new HashMap<>();
+        globalTop = List.of();
+        companyTops.clear();
+    }
+    
+    /**
+     * Возвращает общий топ вакансий по зарплате.
+     * 
+     * @return неизменяемый список не длиннее размера топа
+     */
+    public List<Job> top() {
+        return globalTop;
+    }
+    
+    /**
+     * Возвращает топ вакансий компании по зарплате.
+     * 
+     * @param company название компании
+     * @return неизменяемый список (пустой, если у компании нет вакансий с зарплатой)
+     */
+    public List<Job> topForCompany(String company) {
+        if (company == null) {
+            throw new IllegalArgumentException("Компания не может быть null");
+        }
+        return companyTops.getOrDefault(company, List.of());
+    }
+    
+    /**
+     * Возвращает размер топа.
+     * 
+     * @return число мест
+     */
+    public int getSize() {
+        return size;
+    }
+    
+    private void changeCompany(String company, Entry removed, Entry added) {
+        Board board = companies.computeIfAbsent(company, c -> new Board());
+        if (board.change(removed, added)) {
+            if (board.entries.isEmpty()) {
+                companies.remove(company);
+                companyTops.remove(company);
+            } else {
+                companyTops.put(company, board.top());
+            }
+        }
+    }
+    
+    private void replaceIfListed(Job oldValue, Job newValue) {
+        Entry removed = entryOf(oldValue);
+        Entry added = entryOf(newValue);
+        if (removed == null) {
+            return;
+        }
+        if (global.replace(removed, added)) {
+            globalTop = global.top();
+        }
+        Board board = oldValue.getCompany() == null ? null : companies.get(oldValue.getCompany());
+        if (board != null && board.replace(removed, added)) {
+            companyTops.put(oldValue.getCompany(), board.top());
+        }
+    }
+    
+    private static Entry entryOf(Job job) {
+        return job == null || job.getSalary() == null ? null : new Entry(job.getSalary(), job.getId(), copyOf(job));
+    }
+    
+    /**
+     * Копирует вакансию; сжатое описание не распаковывается (см. {@link CompressedJob#copy()}).
+     */
+    private static Job copyOf(Job job) {
+        if (job instanceof CompressedJob) {
+            return ((CompressedJob) job).copy();
+        }
+        return new Job(job.getId(), job.getTitle(), job.getCompany(), job.getSalary(), job.getDescription());
+    }
+    
+    
+    /**
+     * Упорядоченное множество вакансий одного рейтинга.
+     */
+    private final class Board {
+        
+        private final TreeSet<Entry> entries = new TreeSet<>(RANKING);
+        
+        /** Последняя запись опубликованного топа (null если топ не заполнен) */
+        private Entry boundary;
+        
+        /**
+         * Применяет изменение и сообщает, затронуло ли оно первые K мест.
+         */
+        private boolean change(Entry removed, Entry added) {
+            boolean affectsTop = (removed != null && ranksWithinTop(removed))
+                    || (added != null && ranksWithinTop(added));
+            if (removed != null) {
+                entries.remove(removed);
+            }
+            if (added != null) {
+                entries.add(added);
+            }
+            return affectsTop;
+        }
+        
+        /**
+         * Заменяет объект вакансии на той же позиции.
+         */
+        private boolean replace(Entry removed, Entry added) {
+            if (!entries.remove(removed)) {
+                return false;
+            }
+            entries.add(added);
+            return ranksWithinTop(added);
+        }
+        
+        private boolean ranksWithinTop(Entry entry) {
+            return boundary == null || RANKING.compare(entry, boundary) <= 0;
+        }
+        
+        private List<Job> top() {
+            List<Job> result = new ArrayList<>(Math.min(size, entries.size()));
+            Iterator<Entry> iterator = entries.iterator();
+            Entry last = null;
+            while (iterator.hasNext() && result.size() < size) {
+                last = iterator.next();
+                result.add(last.job);
+            }
+            boundary = result.size() == size ? last : null;
+            return Collections.unmodifiableList(result);
+        }
+    }
+    
+    /**
+     * Позиция вакансии в рейтинге.
+     */
+    private static final class Entry {
+        
+        private final double salary;
+        private final long id;
+        private final Job job;
+        
+        private Entry(double salary, long id, Job job) {
+            this.salary = salary;
+            this.id = id;
+            this.job = job;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.example.aggregate;
+
+/**
+ * Неизменяемая сводка зарплат набора вакансий (например, одной компании).
+ * Вакансии без зарплаты входят в {@link #getJobCount()}, но не в статистику зарплат.
+ */
+public final class SalaryStats {
+    
+    /** Пустая сводка */
+    public static final SalaryStats EMPTY = new SalaryStats(0, 0, 0, null, null);
+    
+    private final long jobCount;
+    private final long salaryCount;
+    private final double sum;
+    private final Double min;
+    private final Double max;
+    
+    /**
+     * Создает сводку.
+     * 
+     * @param jobCount число вакансий
+     * @param salaryCount число вакансий с зарплатой
+     * @param sum сумма зарплат
+     * @param min минимальная зарплата (null если зарплат нет)
+     * @param max максимальная зарплата (null если зарплат нет)
+     */
+    public SalaryStats(long jobCount, long salaryCount, double sum, Double min, Double max) {
+        this.jobCount = jobCount;
+        this.salaryCount = salaryCount;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+    
+    /**
+     * Возвращает число вакансий компании.
+     * 
+     * @return число вакансий
+     */
+    public long getJobCount() {
+        return jobCount;
+    }
+    
+    /**
+     * Возвращает число вакансий с указанной зарплатой.
+     * 
+     * @return число зарплат
+     */
+    public long getSalaryCount() {
+        return salaryCount;
+    }
+    
+    /**
+     * Возвращает сумму зарплат.
+     * 
+     * @return сумма
+     */
+    public double getSum() {
+        return sum;
+    }
+    
+    /**
+     * Возвращает минимальную зарплату.
+     * 
+     * @return минимум или null, если зарплат нет
+     */
+    public Double getMin() {
+        return min;
+    }
+    
+    /**
+     * Возвращает максимальную зарплату.
+     * 
+     * @return максимум или null, если зарплат нет
+     */
+    public Double getMax() {
+        return max;
+    }
+    
+    /**
+     * Возвращает среднюю зарплату.
+     * 
+     * @return среднее или null, если зарплат нет
+     */
+    public Double getAverage() {
+        return salaryCount == 0 ? null : sum / salaryCount;
+    }
+    
+    @Override
+    public String toString() {
+        return "SalaryStats{" +
+                "jobCount=" + jobCount +
+                ", salaryCount=" + salaryCount +
+                ", sum=" + sum +
+                ", min=" + min +
+                ", max=" + max +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,227 @@
+package com.example.binary;
+
+import com.example.model.Job;
+import com.example.model.Person;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Кодирование Person и Job в компактный двоичный формат {@link BinaryFormat}.
+ * Запись пишется прямо в ByteBuffer без промежуточных массивов; для чтения
+ * отдельных полей без разбора всей записи используйте {@link PersonRecord}
+ * и {@link JobRecord}.
+ */
+public final class BinaryCodec {
+    
+    private BinaryCodec() {
+        // Utility class
+    }
+    
+    /**
+     * Возвращает размер записи Person в байтах.
+     * 
+     * @param person человек
+     * @return размер записи
+     */
+    public static int sizeOf(Person person) {
+        return recordSize(personBodySize(person));
+    }
+    
+    /**
+     * Возвращает размер записи Job в байтах.
+     * 
+     * @param job вакансия
+     * @return размер записи
+     */
+    public static int sizeOf(Job job) {
+        return recordSize(jobBodySize(job));
+    }
+    
+    /**
+     * Записывает человека с текущей позиции буфера.
+     * 
+     * @param person человек
+     * @param buffer буфер назначения
+     * @return число записанных байт
+     * @throws BufferOverflowException если в буфере не хватает места
+     */
+    public static int writePerson(Person person, ByteBuffer buffer) {
+        if (person == null) {
+            throw new IllegalArgumentException("Person не может быть null");
+        }
+        int bodySize = personBodySize(person);
+        int start = buffer.position();
+        writeHeader(buffer, BinaryFormat.TYPE_PERSON, bodySize);
+        buffer.put((byte) (nullBit(person.getId(), PersonRecord.ID)
+                | nullBit(person.getFirstName(), PersonRecord.FIRST_NAME)
+                | nullBit(person.getLastName(), PersonRecord.LAST_NAME)
+                | nullBit(person.getAge(), PersonRecord.AGE)
+                | nullBit(person.getEmail(), PersonRecord.EMAIL)));
+        if (person.getId() != null) {
+            BinaryFormat.putVarint(buffer, person.getId());
+        }
+        putString(buffer, person.getFirstName());
+        putString(buffer, person.getLastName());
+        if (person.getAge() != null) {
+            BinaryFormat.putVarint(buffer, BinaryFormat.zigzag(person.getAge()));
+        }
+        putString(buffer, person.getEmail());
+        return buffer.position() - start;
+    }
+    
+    /**
+     * Записывает вакансию с текущей позиции буфера.
+     * 
+     * @param job вакансия
+     * @param buffer буфер назначения
+     * @return число записанных байт
+     * @throws BufferOverflowException если в буфере не хватает места
+     */
+    public static int writeJob(Job job, ByteBuffer buffer) {
+        if (job == null) {
+            throw new IllegalArgumentException("Job не может быть null");
+        }
+        int bodySize = jobBodySize(job);
+        int start = buffer.position();
+        writeHeader(buffer, BinaryFormat.TYPE_JOB, bodySize);
+        buffer.put((byte) (nullBit(job.getId(), JobRecord.ID)
+                | nullBit(job.getTitle(), JobRecord.TITLE)
+                | nullBit(job.getCompany(), JobRecord.COMPANY)
+                | nullBit(job.getSalary(), JobRecord.SALARY)
+                | nullBit(job.getDescription(), JobRecord.DESCRIPTION)));
+        if (job.getId() != null) {
+            BinaryFormat.putVarint(buffer, job.getId());
+        }
+        putString(buffer, job.getTitle());
+        putString(buffer, job.getCompany());
+        if (job.getSalary() != null) {
+            buffer.putDouble(job.getSalary());
+        }
+        putString(buffer, job.getDescription());
+        return buffer.position() - start;
+    }
+    
+    /**
+     * Читает человека с текущей позиции буфера и сдвигает позицию за запись.
+     * 
+     * @param buffer буфер
+     * @return человек
+     */
+    public static Person readPerson(ByteBuffer buffer) {
+        PersonRecord record = new PersonRecord().wrap(buffer, buffer.position());
+        buffer.position(record.end());
+        return record.toPerson();
+    }
+    
+    /**
+     * Читает вакансию с текущей позиции буфера и сдвигает позицию за запись.
+     * 
+     * @param buffer буфер
+     * @return вакансия
+     */
+    public static Job readJob(ByteBuffer buffer) {
+        JobRecord record = new JobRecord().wrap(buffer, buffer.position());
+        buffer.position(record.end());
+        return record.toJob();
+    }
+    
+    /**
+     * Кодирует человека в новый массив.
+     * 
+     * @param person человек
+     * @return байты записи
+     */
+    public static byte[] encode(Person person) {
+        ByteBuffer buffer = ByteBuffer.allocate(sizeOf(person));
+        writePerson(person, buffer);
+        return buffer.array();
+    }
+    
+    /**
+     * Кодирует вакансию в новый массив.
+     * 
+     * @param job вакансия
+     * @return байты записи
+     */
+    public static byte[] encode(Job job) {
+        ByteBuffer buffer = ByteBuffer.allocate(sizeOf(job));
+        writeJob(job, buffer);
+        return buffer.array();
+    }
+    
+    /**
+     * Декодирует человека из массива.
+     * 
+     * @param bytes байты записи
+     * @return человек
+     */
+    public static Person decodePerson(byte[] bytes) {
+        return readPerson(ByteBuffer.wrap(bytes));
+    }
+    
+    /**
+     * Декодирует вакансию из массива.
+     * 
+     * @param bytes байты записи
+     * @return вакансия
+     */
+    public static Job decodeJob(byte[] bytes) {
+        return readJob(ByteBuffer.wrap(bytes));
+    }
+    
+    private static int personBodySize(Person person) {
+        int size = 1;
+        if (person.getId() != null) {
+            size += BinaryFormat.varintSize(person.getId());
+        }
+        size += stringSize(person.getFirstName()) + stringSize(person.getLastName());
+        if (person.getAge() != null) {
+            size += BinaryFormat.varintSize(BinaryFormat.zigzag(person.getAge()));
+        }
+        return size + stringSize(person.getEmail());
+    }
+    
+    private static int jobBodySize(Job job) {
+        int size = 1;
+        if (job.getId() != null) {
+            size += BinaryFormat.varintSize(job.getId());
+        }
+        size += stringSize(job.getTitle()) + stringSize(job.getCompany());
+        if (job.getSalary() != null) {
+            size += Double.BYTES;
+        }
+        return size + stringSize(job.getDescription());
+    }
+    
+    private static int recordSize(int bodySize) {
+        return 2 + BinaryFormat.varintSize(bodySize) + bodySize;
+    }
+    
+    private static void writeHeader(ByteBuffer buffer, byte type, int bodySize) {
+        if (buffer.remaining() < recordSize(bodySize)) {
+            throw new BufferOverflowException();
+        }
+        buffer.put(type);
+        buffer.put(BinaryFormat.VERSION);
+        BinaryFormat.putVarint(buffer, bodySize);
+    }
+    
+    private static int nullBit(Object value, int field) {
+        return value == null ? 1 << field : 0;
+    }
+    
+    private static int stringSize(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int length = BinaryFormat.utf8Length(value);
+        return BinaryFormat.varintSize(length) + length;
+    }
+    
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value != null) {
+            BinaryFormat.putVarint(buffer, BinaryFormat.utf8Length(value));
+            BinaryFormat.putUtf8(buffer, value);
+        }
+    }
+}
\ No newline at end of file
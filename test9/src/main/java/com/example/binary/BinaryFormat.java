@@ -0,0 +1,177 @@
+package com.example.binary;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Описание компактного двоичного формата записей и низкоуровневые операции над ним.
+ * <p>
+ * Запись: {@code [тип: 1 байт][версия: 1 байт][длина тела: varint][тело]},
+ * тело: {@code [битовая карта null: 1 байт][поля по порядку]}. Поле, отмеченное
+ * в карте как null, в теле отсутствует. Целые числа кодируются varint
+ * (знаковые - через zigzag), дробные - 8 байтами IEEE 754 big-endian, строки -
+ * длиной в байтах (varint) и байтами UTF-8. Длина тела позволяет пропустить запись
+ * целиком, не разбирая ее.
+ */
+public final class BinaryFormat {
+    
+    /** Тип записи Person */
+    public static final byte TYPE_PERSON = 1;
+    
+    /** Тип записи Job */
+    public static final byte TYPE_JOB = 2;
+    
+    /** Текущая версия формата */
+    public static final byte VERSION = 1;
+    
+    /** Беззнаковое целое varint */
+    static final int VARINT = 0;
+    
+    /** Знаковое целое varint с zigzag-кодированием */
+    static final int ZIGZAG = 1;
+    
+    /** Строка UTF-8 с длиной-префиксом */
+    static final int STRING = 2;
+    
+    /** Дробное число, 8 байт */
+    static final int DOUBLE = 3;
+    
+    private BinaryFormat() {
+        // Utility class
+    }
+    
+    /**
+     * Возвращает число байт varint-представления.
+     * 
+     * @param value значение (как беззнаковое)
+     * @return число байт
+     */
+    static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+    
+    static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+    
+    /**
+     * Читает varint по абсолютной позиции.
+     * 
+     * @param buffer буфер
+     * @param offset позиция первого байта
+     * @return значение
+     */
+    static long getVarint(ByteBuffer buffer, int offset) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get(offset++);
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Некорректный varint");
+    }
+    
+    /**
+     * Возвращает позицию сразу за varint.
+     * 
+     * @param buffer буфер
+     * @param offset позиция первого байта
+     * @return позиция следующего байта
+     */
+    static int skipVarint(ByteBuffer buffer, int offset) {
+        int end = offset + 10;
+        while (offset < end) {
+            if (buffer.get(offset++) >= 0) {
+                return offset;
+            }
+        }
+        throw new IllegalArgumentException("Некорректный varint");
+    }
+    
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    /**
+     * Возвращает длину строки в UTF-8 без ее кодирования.
+     * Одиночные суррогаты, как и в {@link String#getBytes}, занимают 1 байт ('?').
+     * 
+     * @param s строка
+     * @return число байт
+     */
+    static int utf8Length(String s) {
+        int length = s.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    bytes += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+    
+    static void putUtf8(ByteBuffer buffer, String s) {
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+    
+    /**
+     * Декодирует байты UTF-8 по абсолютной позиции.
+     * 
+     * @param buffer буфер
+     * @param offset позиция первого байта
+     * @param length число байт
+     * @return строка
+     */
+    static String getUtf8(ByteBuffer buffer, int offset, int length) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
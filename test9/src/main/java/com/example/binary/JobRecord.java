@@ -0,0 +1,126 @@
+package com.example.binary;
+
+import com.example.model.Job;
+import java.nio.ByteBuffer;
+
+/**
+ * Представление записи Job в двоичном формате без ее полного разбора.
+ */
+public final class JobRecord extends RecordView {
+    
+    /** Номер поля id */
+    public static final int ID = 0;
+    
+    /** Номер поля title */
+    public static final int TITLE = 1;
+    
+    /** Номер поля company */
+    public static final int COMPANY = 2;
+    
+    /** Номер поля salary */
+    public static final int SALARY = 3;
+    
+    /** Номер поля description */
+    public static final int DESCRIPTION = 4;
+    
+    static final int[] KINDS = {
+        BinaryFormat.VARINT, BinaryFormat.STRING, BinaryFormat.STRING, BinaryFormat.DOUBLE, BinaryFormat.STRING
+    };
+    
+    /**
+     * Создает непривязанное представление.
+     */
+    public JobRecord() {
+        super(BinaryFormat.TYPE_JOB, KINDS);
+    }
+    
+    /**
+     * Привязывает представление к записи в буфере.
+     * 
+     * @param buffer буфер
+     * @param offset позиция начала записи
+     * @return это представление
+     * @throws IllegalArgumentException если по позиции нет корректной записи Job
+     */
+    public JobRecord wrap(ByteBuffer buffer, int offset) {
+        bind(buffer, offset);
+        return this;
+    }
+    
+    /**
+     * Возвращает id.
+     * 
+     * @return id
+     * @throws IllegalStateException если id равен null
+     */
+    public long id() {
+        return varint(ID);
+    }
+    
+    /**
+     * Возвращает зарплату.
+     * 
+     * @return зарплата
+     * @throws IllegalStateException если зарплата равна null
+     */
+    public double salary() {
+        return doubleValue(SALARY);
+    }
+    
+    /**
+     * Возвращает название должности.
+     * 
+     * @return название или null
+     */
+    public String title() {
+        return string(TITLE);
+    }
+    
+    /**
+     * Возвращает компанию.
+     * 
+     * @return компания или null
+     */
+    public String company() {
+        return string(COMPANY);
+    }
+    
+    /**
+     * Возвращает описание.
+     * 
+     * @return описание или null
+     */
+    public String description() {
+        return string(DESCRIPTION);
+    }
+    
+    /**
+     * Возвращает байты UTF-8 строкового поля без копирования.
+     * 
+     * @param field номер поля ({@link #TITLE}, {@link #COMPANY} или {@link #DESCRIPTION})
+     * @return срез буфера только для чтения или null
+     */
+    public ByteBuffer bytes(int field) {
+        return stringBytes(field);
+    }
+    
+    /**
+     * Сравнивает строковое поле с образцом, не создавая строку.
+     * 
+     * @param field номер поля ({@link #TITLE}, {@link #COMPANY} или {@link #DESCRIPTION})
+     * @param expected образец
+     * @return true если значения совпадают
+     */
+    public boolean fieldEquals(int field, String expected) {
+        return stringEquals(field, expected);
+    }
+    
+    /**
+     * Разбирает запись целиком.
+     * 
+     * @return новый объект Job
+     */
+    public Job toJob() {
+        return new Job(isNull(ID) ? null : id(), title(), company(), isNull(SALARY) ? null : salary(), description());
+    }
+}
\ No newline at end of file
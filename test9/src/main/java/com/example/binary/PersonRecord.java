@@ -0,0 +1,127 @@
+package com.example.binary;
+
+import com.example.model.Person;
+import java.nio.ByteBuffer;
+
+/**
+ * Представление записи Person в двоичном формате без ее полного разбора.
+ * Пример: {@code record.wrap(buffer, 0).age()} читает только varint возраста.
+ */
+public final class PersonRecord extends RecordView {
+    
+    /** Номер поля id */
+    public static final int ID = 0;
+    
+    /** Номер поля firstName */
+    public static final int FIRST_NAME = 1;
+    
+    /** Номер поля lastName */
+    public static final int LAST_NAME = 2;
+    
+    /** Номер поля age */
+    public static final int AGE = 3;
+    
+    /** Номер поля email */
+    public static final int EMAIL = 4;
+    
+    static final int[] KINDS = {
+        BinaryFormat.VARINT, BinaryFormat.STRING, BinaryFormat.STRING, BinaryFormat.ZIGZAG, BinaryFormat.STRING
+    };
+    
+    /**
+     * Создает непривязанное представление.
+     */
+    public PersonRecord() {
+        super(BinaryFormat.TYPE_PERSON, KINDS);
+    }
+    
+    /**
+     * Привязывает представление к записи в буфере.
+     * 
+     * @param buffer буфер
+     * @param offset позиция начала записи
+     * @return это представление
+     * @throws IllegalArgumentException если по позиции нет корректной записи Person
+     */
+    public PersonRecord wrap(ByteBuffer buffer, int offset) {
+        bind(buffer, offset);
+        return this;
+    }
+    
+    /**
+     * Возвращает id.
+     * 
+     * @return id
+     * @throws IllegalStateException если id равен null
+     */
+    public long id() {
+        return varint(ID);
+    }
+    
+    /**
+     * Возвращает возраст.
+     * 
+     * @return возраст
+     * @throws IllegalStateException если возраст равен null
+     */
+    public int age() {
+        return (int) zigzag(AGE);
+    }
+    
+    /**
+     * Возвращает имя.
+     * 
+     * @return имя или null
+     */
+    public String firstName() {
+        return string(FIRST_NAME);
+    }
+    
+    /**
+     * Возвращает фамилию.
+     * 
+     * @return фамилия или null
+     */
+    public String lastName() {
+        return string(LAST_NAME);
+    }
+    
+    /**
+     * Возвращает email.
+     * 
+     * @return email или null
+     */
+    public String email() {
+        return string(EMAIL);
+    }
+    
+    /**
+     * Возвращает байты UTF-8 строкового поля без копирования.
+     * 
+     * @param field номер поля ({@link #FIRST_NAME}, {@link #LAST_NAME} или {@link #EMAIL})
+     * @return срез буфера только для чтения или null
+     */
+    public ByteBuffer bytes(int field) {
+        return stringBytes(field);
+    }
+    
+    /**
+     * Сравнивает строковое поле с образцом, не создавая строку.
+     * 
+     * @param field номер поля ({@link #FIRST_NAME}, {@link #LAST_NAME} или {@link #EMAIL})
+     * @param expected образец
+     * @return true если значения совпадают
+     */
+    public boolean fieldEquals(int field, String expected) {
+        return stringEquals(field, expected);
+    }
+    
+    /**
+     * Разбирает запись целиком.
+     * 
+     * @return новый объект Person
+     */
+    public Person toPerson() {
+        return new Person(isNull(ID) ? null : id(), firstName(), lastName(), isNull(AGE) ? null : age(), email());
+    }
+}
\ No newline at end of file
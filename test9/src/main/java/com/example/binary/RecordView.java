@@ -0,0 +1,195 @@
+package com.example.binary;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Представление одной записи двоичного формата прямо в буфере.
+ * При привязке к записи вычисляются только смещения полей (читаются длины,
+ * байты строк не трогаются), а каждое поле декодируется лишь по запросу.
+ * Объект переиспользуется через {@code wrap}, поэтому обход множества записей
+ * не создает по объекту на запись. Не потокобезопасен.
+ */
+abstract class RecordView {
+    
+    /** Тип записи, который принимает представление */
+    private final byte type;
+    
+    /** Виды полей по порядку */
+    private final int[] kinds;
+    
+    /** Смещения полей в буфере (-1 для null) */
+    private final int[] offsets;
+    
+    /** Буфер с записью */
+    protected ByteBuffer buffer;
+    
+    /** Позиция начала записи */
+    private int start;
+    
+    /** Позиция сразу за записью */
+    private int end;
+    
+    /** Битовая карта null */
+    private int nulls;
+    
+    RecordView(byte type, int[] kinds) {
+        this.type = type;
+        this.kinds = kinds;
+        this.offsets = new int[kinds.length];
+    }
+    
+    /**
+     * Привязывает представление к записи, начинающейся с указанной позиции.
+     * 
+     * @param buffer буфер
+     * @param offset позиция начала записи
+     */
+    void bind(ByteBuffer buffer, int offset) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("Буфер не может быть null");
+        }
+        if (buffer.get(offset) != type) {
+            throw new IllegalArgumentException("Неожиданный тип записи: " + buffer.get(offset));
+        }
+        if (buffer.get(offset + 1) != BinaryFormat.VERSION) {
+            throw new IllegalArgumentException("Неподдерживаемая версия формата: " + buffer.get(offset + 1));
+        }
+        this.buffer = buffer;
+        this.start = offset;
+        int bodyLength = (int) BinaryFormat.getVarint(buffer, offset + 2);
+        int body = BinaryFormat.skipVarint(buffer, offset + 2);
+        this.end = body + bodyLength;
+        if (end > buffer.limit()) {
+            throw new IllegalArgumentException("Запись выходит за пределы буфера");
+        }
+        this.nulls = buffer.get(body) & 0xFF;
+        int position = body + 1;
+        for (int field = 0; field < kinds.length; field++) {
+            if ((nulls & (1 << field)) != 0) {
+                offsets[field] = -1;
+                continue;
+            }
+            offsets[field] = position;
+            switch (kinds[field]) {
+                case BinaryFormat.DOUBLE:
+                    position += Double.BYTES;
+                    break;
+                case BinaryFormat.STRING:
+                    int length = (int) BinaryFormat.getVarint(buffer, position);
+                    position = BinaryFormat.skipVarint(buffer, position) + length;
+                    break;
+                default:
+                    position = BinaryFormat.skipVarint(buffer, position);
+            }
+        }
+        if (position != end) {
+            throw new IllegalArgumentException("Длина тела записи не совпадает с полями");
+        }
+    }
+    
+    /**
+     * Возвращает позицию начала записи.
+     * 
+     * @return позиция начала
+     */
+    public int start() {
+        return start;
+    }
+    
+    /**
+     * Возвращает позицию сразу за записью (начало следующей записи в потоке).
+     * 
+     * @return позиция конца
+     */
+    public int end() {
+        return end;
+    }
+    
+    /**
+     * Проверяет, равно ли поле null.
+     * 
+     * @param field номер поля
+     * @return true если поле равно null
+     */
+    public boolean isNull(int field) {
+        return offsets[checkField(field)] < 0;
+    }
+    
+    long varint(int field) {
+        return BinaryFormat.getVarint(buffer, present(field));
+    }
+    
+    long zigzag(int field) {
+        return BinaryFormat.unzigzag(varint(field));
+    }
+    
+    double doubleValue(int field) {
+        return buffer.getDouble(present(field));
+    }
+    
+    String string(int field) {
+        int offset = offsets[checkField(field)];
+        if (offset < 0) {
+            return null;
+        }
+        int length = (int) BinaryFormat.getVarint(buffer, offset);
+        return BinaryFormat.getUtf8(buffer, BinaryFormat.skipVarint(buffer, offset), length);
+    }
+    
+    /**
+     * Возвращает байты UTF-8 строкового поля как срез буфера без копирования.
+     * 
+     * @param field номер поля
+     * @return срез только для чтения или null, если поле равно null
+     */
+    ByteBuffer stringBytes(int field) {
+        int offset = offsets[checkField(field)];
+        if (offset < 0) {
+            return null;
+        }
+        int length = (int) BinaryFormat.getVarint(buffer, offset);
+        return buffer.slice(BinaryFormat.skipVarint(buffer, offset), length).asReadOnlyBuffer();
+    }
+    
+    /**
+     * Сравнивает строковое поле с образцом побайтно, не создавая строку.
+     * 
+     * @param field номер поля
+     * @param expected образец
+     * @return true если поле не null и совпадает с образцом
+     */
+    boolean stringEquals(int field, String expected) {
+        int offset = offsets[checkField(field)];
+        if (offset < 0 || expected == null) {
+            return offset < 0 && expected == null;
+        }
+        int length = (int) BinaryFormat.getVarint(buffer, offset);
+        int data = BinaryFormat.skipVarint(buffer, offset);
+        byte[] bytes = expected.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(data + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private int present(int field) {
+        int offset = offsets[checkField(field)];
+        if (offset < 0) {
+            throw new IllegalStateException("Поле " + field + " равно null");
+        }
+        return offset;
+    }
+    
+    private int checkField(int field) {
+        if (field < 0 || field >= kinds.length) {
+            throw new IllegalArgumentException("Номер поля вне диапазона: " + field);
+        }
+        return field;
+    }
+}
\ No newline at end of file
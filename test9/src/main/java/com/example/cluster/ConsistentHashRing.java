@@ -0,0 +1,168 @@
+package com.example.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Кольцо консистентного хеширования с виртуальными узлами.
+ * Каждый физический узел занимает {@code virtualNodes} точек на кольце,
+ * что выравнивает распределение ключей и ограничивает перенос данных
+ * при добавлении или удалении узла примерно долей 1/N.
+ * Класс не потокобезопасен: синхронизацию обеспечивает вызывающий код.
+ * 
+ * @param <N> тип узла
+ */
+public class ConsistentHashRing<N> {
+    
+    /** Число виртуальных узлов на один физический по умолчанию */
+    public static final int DEFAULT_VIRTUAL_NODES = 160;
+    
+    /** Точки кольца: хеш виртуального узла → имя физического узла */
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    
+    /** Физические узлы по имени */
+    private final Map<String, N> nodes = new LinkedHashMap<>();
+    
+    /** Число виртуальных узлов на физический */
+    private final int virtualNodes;
+    
+    /**
+     * Создает кольцо с числом виртуальных узлов по умолчанию.
+     */
+    public ConsistentHashRing() {
+        this(DEFAULT_VIRTUAL_NODES);
+    }
+    
+    /**
+     * Создает кольцо.
+     * 
+     * @param virtualNodes число виртуальных узлов на один физический
+     */
+    public ConsistentHashRing(int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Число виртуальных узлов должно быть положительным");
+        }
+        this.virtualNodes = virtualNodes;
+    }
+    
+    /**
+     * Добавляет узел на кольцо.
+     * 
+     * @param name уникальное имя узла
+     * @param node узел
+     * @throws IllegalArgumentException если узел с таким именем уже есть
+     */
+    public void addNode(String name, N node) {
+        if (name == null || node == null) {
+            throw new IllegalArgumentException("Имя и узел не могут быть null");
+        }
+        if (nodes.containsKey(name)) {
+            throw new IllegalArgumentException("Узел уже существует: " + name);
+        }
+        nodes.put(name, node);
+        for (int i = 0; i < virtualNodes; i++) {
+            ring.put(hash(name + "#" + i), name);
+        }
+    }
+    
+    /**
+     * Удаляет узел с кольца.
+     * 
+     * @param name имя узла
+     * @return удаленный узел или null, если узла не было
+     */
+    public N removeNode(String name) {
+        N removed = nodes.remove(name);
+        if (removed != null) {
+            ring.values().removeIf(name::equals);
+        }
+        return removed;
+    }
+    
+    /**
+     * Возвращает имя узла, владеющего ключом.
+     * 
+     * @param keyHash хеш ключа
+     * @return имя узла
+     * @throws IllegalStateException если кольцо пусто
+     */
+    public String ownerOf(long keyHash) {
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("В кластере нет узлов");
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(keyHash);
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+    
+    /**
+     * Возвращает узел, владеющий ключом.
+     * 
+     * @param keyHash хеш ключа
+     * @return узел
+     */
+    public N nodeFor(long keyHash) {
+        return nodes.get(ownerOf(keyHash));
+    }
+    
+    /**
+     * Возвращает узел по имени.
+     * 
+     * @param name имя узла
+     * @return узел или null
+     */
+    public N getNode(String name) {
+        return nodes.get(name);
+    }
+    
+    /**
+     * Возвращает имена всех узлов.
+     * 
+     * @return неизменяемый список имен
+     */
+    public List<String> nodeNames() {
+        return Collections.unmodifiableList(new ArrayList<>(nodes.keySet()));
+    }
+    
+    /**
+     * Возвращает число физических узлов.
+     * 
+     * @return число узлов
+     */
+    public int size() {
+        return nodes.size();
+    }
+    
+    /**
+     * Хеширует идентификатор (финализатор SplitMix64).
+     * 
+     * @param id идентификатор
+     * @return 64-битный хеш
+     */
+    public static long hash(long id) {
+        long z = id + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    /**
+     * Хеширует строку (FNV-1a по байтам UTF-8 с финальным перемешиванием).
+     * 
+     * @param key строка
+     * @return 64-битный хеш
+     */
+    public static long hash(String key) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001B3L;
+        }
+        return hash(h);
+    }
+}
\ No newline at end of file
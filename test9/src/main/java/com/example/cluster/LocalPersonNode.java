@@ -0,0 +1,86 @@
+package com.example.cluster;
+
+import com.example.model.Person;
+import com.example.service.PersonService;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Узел кластера в текущем процессе поверх PersonService.
+ */
+public class LocalPersonNode implements PersonNode {
+    
+    /** Хранилище людей узла */
+    private final PersonService service;
+    
+    /** Реестр занятых email */
+    private final Map<String, Long> emailClaims = new ConcurrentHashMap<>();
+    
+    /**
+     * Создает узел с новым пустым сервисом.
+     */
+    public LocalPersonNode() {
+        this(new PersonService());
+    }
+    
+    /**
+     * Создает узел поверх существующего сервиса.
+     * 
+     * @param service хранилище людей
+     */
+    public LocalPersonNode(PersonService service) {
+        if (service == null) {
+            throw new IllegalArgumentException("PersonService не может быть null");
+        }
+        this.service = service;
+    }
+    
+    @Override
+    public Person put(Person person) {
+        return service.putPerson(person);
+    }
+    
+    @Override
+    public Person get(long id) {
+        return service.getPersonById(id);
+    }
+    
+    @Override
+    public Person remove(long id) {
+        synchronized (service) {
+            Person existing = service.getPersonById(id);
+            if (existing != null) {
+                service.deletePerson(id);
+            }
+            return existing;
+        }
+    }
+    
+    @Override
+    public List<Person> all() {
+        return service.getAllPersons();
+    }
+    
+    @Override
+    public int count() {
+        return service.getPersonCount();
+    }
+    
+    @Override
+    public boolean claimEmail(String email, long personId) {
+        Long owner = emailClaims.putIfAbsent(email, personId);
+        return owner == null || owner == personId;
+    }
+    
+    @Override
+    public boolean releaseEmail(String email, long personId) {
+        return emailClaims.remove(email, personId);
+    }
+    
+    @Override
+    public Map<String, Long> emailClaims() {
+        return new HashMap<>(emailClaims);
+    }
+}
\ No newline at end of file
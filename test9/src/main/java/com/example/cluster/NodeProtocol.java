@@ -0,0 +1,27 @@
+package com.example.cluster;
+
+/**
+ * Коды протокола запросов к узлу кластера.
+ * Запрос: byte opcode, аргументы. Ответ: byte status, результат или сообщение об ошибке.
+ */
+final class NodeProtocol {
+    
+    static final byte PUT = 1;
+    static final byte GET = 2;
+    static final byte REMOVE = 3;
+    static final byte ALL = 4;
+    static final byte COUNT = 5;
+    static final byte CLAIM_EMAIL = 6;
+    static final byte RELEASE_EMAIL = 7;
+    static final byte EMAIL_CLAIMS = 8;
+    
+    /** Успешный ответ */
+    static final byte STATUS_OK = 0;
+    
+    /** Ошибка валидации: далее следует сообщение */
+    static final byte STATUS_INVALID = 1;
+    
+    private NodeProtocol() {
+        // Утилитный класс
+    }
+}
\ No newline at end of file
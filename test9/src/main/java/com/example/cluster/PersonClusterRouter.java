@@ -0,0 +1,386 @@
+package com.example.cluster;
+
+import com.example.model.Person;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Клиентский маршрутизатор кластера PersonService.
+ * Размещает людей по узлам консистентным хешированием идентификатора,
+ * а уникальность email обеспечивает реестром на узле, выбранном по хешу email.
+ * Операции над всем кластером выполняются параллельно (scatter-gather).
+ * Добавление и удаление узла переносит только ключи, сменившие владельца.
+ * Маршрутизатор выдает идентификаторы сам, поэтому в кластере должен быть один маршрутизатор.
+ */
+public class PersonClusterRouter implements AutoCloseable {
+    
+    /** Кольцо узлов */
+    private final ConsistentHashRing<PersonNode> ring;
+    
+    /** Пул для параллельных запросов ко всем узлам */
+    private final ExecutorService scatterPool;
+    
+    /** Генератор идентификаторов кластера */
+    private final AtomicLong idGenerator = new AtomicLong(1);
+    
+    /** Операции с данными берут чтение, смена топологии — запись */
+    private final ReadWriteLock topologyLock = new ReentrantReadWriteLock();
+    
+    /** Число полос блокировок по идентификатору */
+    private static final int ID_LOCK_STRIPES = 64;
+    
+    /**
+     * Блокировки по идентификатору: обновление и удаление одного человека
+     * меняют запись и реестр email атомарно относительно друг друга
+     */
+    private final Object[] idLocks = new Object[ID_LOCK_STRIPES];
+    
+    /**
+     * Создает маршрутизатор с параметрами по умолчанию.
+     */
+    public PersonClusterRouter() {
+        this(ConsistentHashRing.DEFAULT_VIRTUAL_NODES, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Создает маршрутизатор.
+     * 
+     * @param virtualNodes число виртуальных узлов на физический
+     * @param parallelism число потоков для scatter-gather запросов
+     */
+    public PersonClusterRouter(int virtualNodes, int parallelism) {
+        this.ring = new ConsistentHashRing<>(virtualNodes);
+        for (int i = 0; i < idLocks.length; i++) {
+            idLocks[i] = new Object();
+        }
+        this.scatterPool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "person-cluster-scatter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Добавляет узел и переносит на него принадлежащие ему ключи.
+     * 
+     * @param name уникальное имя узла
+     * @param node узел
+     * @return число перенесенных людей
+     */
+    public int addNode(String name, PersonNode node) {
+        topologyLock.writeLock().lock();
+        try {
+            ring.addNode(name, node);
+            return rebalance(ring.nodeNames());
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Удаляет узел, предварительно перенеся его данные на новых владельцев.
+     * 
+     * @param name имя узла
+     * @return число перенесенных людей
+     * @throws IllegalArgumentException если узла нет или он последний
+     */
+    public int removeNode(String name) {
+        topologyLock.writeLock().lock();
+        try {
+            PersonNode node = ring.getNode(name);
+            if (node == null) {
+                throw new IllegalArgumentException("Узел не найден: " + name);
+            }
+            if (ring.size() == 1) {
+                throw new IllegalArgumentException("Нельзя удалить последний узел кластера");
+            }
+            ring.removeNode(name);
+            return moveMisplaced(node, null);
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает имена узлов кластера.
+     * 
+     * @return список имен
+     */
+    public List<String> getNodeNames() {
+        topologyLock.readLock().lock();
+        try {
+            return ring.nodeNames();
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Создает нового человека на узле-владельце его идентификатора.
+     * 
+     * @param person объект Person для создания (без id)
+     * @return созданный объект Person с присвоенным id
+     * @throws IllegalArgumentException если данные невалидны или email занят
+     */
+    public Person createPerson(Person person) {
+        requireEmail(person);
+        topologyLock.readLock().lock();
+        try {
+            long id = idGenerator.getAndIncrement();
+            PersonNode emailNode = emailNode(person.getEmail());
+            if (!emailNode.claimEmail(person.getEmail(), id)) {
+                throw new IllegalArgumentException("Email уже существует: " + person.getEmail());
+            }
+            try {
+                return idNode(id).put(withId(person, id));
+            } catch (RuntimeException e) {
+                emailNode.releaseEmail(person.getEmail(), id);
+                throw e;
+            }
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Получает человека по идентификатору.
+     * 
+     * @param id идентификатор человека
+     * @return объект Person или null, если не найден
+     */
+    public Person getPersonById(Long id) {
+        requireId(id);
+        topologyLock.readLock().lock();
+        try {
+            return idNode(id).get(id);
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Обновляет данные человека.
+     * 
+     * @param id идентификатор человека
+     * @param updatedPerson обновленные данные
+     * @return обновленный объект Person
+     * @throws IllegalArgumentException если данные невалидны, человек не найден или email занят
+     */
+    public Person updatePerson(Long id, Person updatedPerson) {
+        requireId(id);
+        requireEmail(updatedPerson);
+        topologyLock.readLock().lock();
+        try {
+            synchronized (idLock(id)) {
+                PersonNode node = idNode(id);
+                Person existing = node.get(id);
+                if (existing == null) {
+                    throw new IllegalArgumentException("Человек с ID " + id + " не найден");
+                }
+                String newEmail = updatedPerson.getEmail();
+                if (existing.getEmail().equals(newEmail)) {
+                    return node.put(withId(updatedPerson, id));
+                }
+                return updateWithNewEmail(node, existing, updatedPerson);
+            }
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Удаляет человека и освобождает его email.
+     * 
+     * @param id идентификатор человека
+     * @return true если человек был удален, false если не найден
+     */
+    public boolean deletePerson(Long id) {
+        requireId(id);
+        topologyLock.readLock().lock();
+        try {
+            synchronized (idLock(id)) {
+                Person removed = idNode(id).remove(id);
+                if (removed == null) {
+                    return false;
+                }
+                emailNode(removed.getEmail()).releaseEmail(removed.getEmail(), id);
+                return true;
+            }
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Получает всех людей, опрашивая узлы параллельно.
+     * 
+     * @return список всех объектов Person
+     */
+    public List<Person> getAllPersons() {
+        List<Person> result = new ArrayList<>();
+        for (List<Person> part : scatter(PersonNode::all)) {
+            result.addAll(part);
+        }
+        return result;
+    }
+    
+    /**
+     * Возвращает общее количество людей, опрашивая узлы параллельно.
+     * 
+     * @return количество людей
+     */
+    public int getPersonCount() {
+        int total = 0;
+        for (int count : scatter(PersonNode::count)) {
+            total += count;
+        }
+        return total;
+    }
+    
+    /**
+     * Останавливает пул параллельных запросов.
+     */
+    @Override
+    public void close() {
+        scatterPool.shutdownNow();
+    }
+    
+    private Object idLock(long id) {
+        return idLocks[(int) Math.floorMod(id ^ (id >>> 32), (long) ID_LOCK_STRIPES)];
+    }
+    
+    private Person updateWithNewEmail(PersonNode node, Person existing, Person updatedPerson) {
+        long id = existing.getId();
+        PersonNode newEmailNode = emailNode(updatedPerson.getEmail());
+        if (!newEmailNode.claimEmail(updatedPerson.getEmail(), id)) {
+            throw new IllegalArgumentException("Email уже существует: " + updatedPerson.getEmail());
+        }
+        Person updated;
+        try {
+            updated = node.put(withId(updatedPerson, id));
+        } catch (RuntimeException e) {
+            newEmailNode.releaseEmail(updatedPerson.getEmail(), id);
+            throw e;
+        }
+        emailNode(existing.getEmail()).releaseEmail(existing.getEmail(), id);
+        return updated;
+    }
+    
+    private <R> List<R> scatter(Function<PersonNode, R> request) {
+        topologyLock.readLock().lock();
+        try {
+            List<Callable<R>> tasks = new ArrayList<>();
+            for (String name : ring.nodeNames()) {
+                PersonNode node = ring.getNode(name);
+                tasks.add(() -> request.apply(node));
+            }
+            return gather(scatterPool.invokeAll(tasks));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Запрос к кластеру прерван", e);
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+    
+    private static <R> List<R> gather(List<Future<R>> futures) throws InterruptedException {
+        List<R> results = new ArrayList<>(futures.size());
+        for (Future<R> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof RuntimeException ? (RuntimeException) cause
+                        : new IllegalStateException("Ошибка запроса к узлу", cause);
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Переносит ключи, сменившие владельца, со всех указанных узлов.
+     * Вызывается под блокировкой топологии на запись.
+     */
+    private int rebalance(List<String> nodeNames) {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (String name : nodeNames) {
+            PersonNode node = ring.getNode(name);
+            tasks.add(() -> moveMisplaced(node, name));
+        }
+        try {
+            int moved = 0;
+            for (int count : gather(scatterPool.invokeAll(tasks))) {
+                moved += count;
+            }
+            return moved;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Перебалансировка прервана", e);
+        }
+    }
+    
+    /**
+     * Переносит с узла людей и email, которыми он больше не владеет.
+     * 
+     * @param node исходный узел
+     * @param name имя узла на кольце или null, если узел уже удален
+     * @return число перенесенных людей
+     */
+    private int moveMisplaced(PersonNode node, String name) {
+        int moved = 0;
+        for (Person person : node.all()) {
+            idGenerator.accumulateAndGet(person.getId() + 1, Math::max);
+            String owner = ring.ownerOf(ConsistentHashRing.hash(person.getId()));
+            if (!owner.equals(name)) {
+                ring.getNode(owner).put(person);
+                node.remove(person.getId());
+                moved++;
+            }
+        }
+        for (Map.Entry<String, Long> claim : node.emailClaims().entrySet()) {
+            String owner = ring.ownerOf(ConsistentHashRing.hash(claim.getKey()));
+            if (!owner.equals(name)) {
+                ring.getNode(owner).claimEmail(claim.getKey(), claim.getValue());
+                node.releaseEmail(claim.getKey(), claim.getValue());
+            }
+        }
+        return moved;
+    }
+    
+    private PersonNode idNode(long id) {
+        return ring.nodeFor(ConsistentHashRing.hash(id));
+    }
+    
+    private PersonNode emailNode(String email) {
+        return ring.nodeFor(ConsistentHashRing.hash(email));
+    }
+    
+    private static Person withId(Person person, long id) {
+        return new Person(id, person.getFirstName(), person.getLastName(), person.getAge(), person.getEmail());
+    }
+    
+    private static void requireId(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID не может быть null");
+        }
+    }
+    
+    private static void requireEmail(Person person) {
+        if (person == null) {
+            throw new IllegalArgumentException("Person не может быть null");
+        }
+        if (person.getEmail() == null || person.getEmail().trim().isEmpty()) {
+            throw new IllegalArgumentException("Email не может быть пустым");
+        }
+    }
+}
\ No newline at end of file
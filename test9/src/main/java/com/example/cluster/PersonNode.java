@@ -0,0 +1,77 @@
+package com.example.cluster;
+
+import com.example.model.Person;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Узел кластера PersonService.
+ * Хранит людей, чьи идентификаторы ему принадлежат на кольце, и реестр занятых email,
+ * чьи хеши ему принадлежат. Может быть локальным или удаленным.
+ */
+public interface PersonNode {
+    
+    /**
+     * Сохраняет человека с назначенным идентификатором.
+     * 
+     * @param person объект Person с заполненным id
+     * @return сохраненный объект Person
+     * @throws IllegalArgumentException если данные невалидны
+     */
+    Person put(Person person);
+    
+    /**
+     * Получает человека по идентификатору.
+     * 
+     * @param id идентификатор
+     * @return объект Person или null, если не найден
+     */
+    Person get(long id);
+    
+    /**
+     * Удаляет человека.
+     * 
+     * @param id идентификатор
+     * @return удаленный объект Person или null, если не найден
+     */
+    Person remove(long id);
+    
+    /**
+     * Возвращает всех людей узла.
+     * 
+     * @return список людей
+     */
+    List<Person> all();
+    
+    /**
+     * Возвращает число людей на узле.
+     * 
+     * @return число людей
+     */
+    int count();
+    
+    /**
+     * Занимает email за человеком.
+     * 
+     * @param email email
+     * @param personId идентификатор владельца
+     * @return true если email свободен или уже принадлежит этому человеку
+     */
+    boolean claimEmail(String email, long personId);
+    
+    /**
+     * Освобождает email, если он принадлежит указанному человеку.
+     * 
+     * @param email email
+     * @param personId идентификатор владельца
+     * @return true если email был освобожден
+     */
+    boolean releaseEmail(String email, long personId);
+    
+    /**
+     * Возвращает все занятые на узле email.
+     * 
+     * @return email → идентификатор владельца
+     */
+    Map<String, Long> emailClaims();
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.example.cluster;
+
+import java.io.IOException;
+
+/**
+ * Точка входа отдельного процесса-узла кластера.
+ * Запускает сервер узла на указанном порту (0 — свободный), печатает
+ * строку {@code READY <port>} и работает, пока не закрыт стандартный ввод.
+ */
+public class PersonNodeMain {
+    
+    /**
+     * Запускает узел.
+     * 
+     * @param args args[0] — порт прослушивания (необязательно)
+     * @throws IOException при ошибке ввода-вывода
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        try (PersonNodeServer server = new PersonNodeServer(new LocalPersonNode(), port)) {
+            server.start();
+            System.out.println("READY " + server.getPort());
+            System.out.flush();
+            while (System.in.read() != -1) {
+                // Ждем закрытия стандартного ввода родительским процессом
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.example.cluster;
+
+import com.example.model.Person;
+import com.example.util.PersonStreams;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TCP-сервер, открывающий доступ к узлу кластера для удаленных маршрутизаторов.
+ * Каждое соединение обслуживается отдельным потоком.
+ */
+public class PersonNodeServer implements AutoCloseable {
+    
+    /** Обслуживаемый узел */
+    private final PersonNode node;
+    
+    /** Порт прослушивания (0 — выбрать свободный) */
+    private final int requestedPort;
+    
+    /** Открытые клиентские соединения */
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    
+    private volatile ServerSocket serverSocket;
+    private volatile boolean running;
+    
+    /**
+     * Создает сервер узла.
+     * 
+     * @param node обслуживаемый узел
+     * @param port порт прослушивания (0 — выбрать свободный)
+     */
+    public PersonNodeServer(PersonNode node, int port) {
+        if (node == null) {
+            throw new IllegalArgumentException("Узел не может быть null");
+        }
+        this.node = node;
+        this.requestedPort = port;
+    }
+    
+    /**
+     * Начинает прием соединений.
+     * 
+     * @throws IOException если не удалось открыть порт
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            throw new IllegalStateException("Сервер уже запущен");
+        }
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), requestedPort));
+        running = true;
+        Thread acceptThread = new Thread(this::acceptLoop, "person-node-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+    
+    /**
+     * Возвращает фактический порт прослушивания.
+     * 
+     * @return порт
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+    
+    /**
+     * Останавливает сервер и закрывает соединения.
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        closeQuietly(serverSocket);
+        clients.forEach(PersonNodeServer::closeQuietly);
+        clients.clear();
+    }
+    
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                clients.add(socket);
+                Thread worker = new Thread(() -> serve(socket), "person-node-worker");
+                worker.setDaemon(true);
+                worker.start();
+            } catch (IOException e) {
+                // Сокет закрыт при остановке либо временная ошибка accept
+            }
+        }
+    }
+    
+    private void serve(Socket socket) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (running) {
+                handle(in.readByte(), in, out);
+                out.flush();
+            }
+        } catch (EOFException e) {
+            // Клиент закрыл соединение
+        } catch (IOException e) {
+            // Соединение разорвано
+        } finally {
+            clients.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+    
+    private void handle(byte opcode, DataInputStream in, DataOutputStream out) throws IOException {
+        try {
+            switch (opcode) {
+                case NodeProtocol.PUT -> {
+                    Person stored = node.put(PersonStreams.readPerson(in));
+                    out.writeByte(NodeProtocol.STATUS_OK);
+                    PersonStreams.writePerson(out, stored);
+                }
+                case NodeProtocol.GET -> writeOptionalPerson(out, node.get(in.readLong()));
+                case NodeProtocol.REMOVE -> writeOptionalPerson(out, node.remove(in.readLong()));
+                case NodeProtocol.ALL -> writePersons(out, node.all());
+                case NodeProtocol.COUNT -> {
+                    out.writeByte(NodeProtocol.STATUS_OK);
+                    out.writeInt(node.count());
+                }
+                case NodeProtocol.CLAIM_EMAIL -> writeBoolean(out, node.claimEmail(in.readUTF(), in.readLong()));
+                case NodeProtocol.RELEASE_EMAIL -> writeBoolean(out, node.releaseEmail(in.readUTF(), in.readLong()));
+                case NodeProtocol.EMAIL_CLAIMS -> writeClaims(out, node.emailClaims());
+                default -> throw new IOException("Неизвестная операция: " + opcode);
+            }
+        } catch (IllegalArgumentException e) {
+            out.writeByte(NodeProtocol.STATUS_INVALID);
+            out.writeUTF(String.valueOf(e.getMessage()));
+        }
+    }
+    
+    private static void writeOptionalPerson(DataOutputStream out, Person person) throws IOException {
+        out.writeByte(NodeProtocol.STATUS_OK);
+        out.writeBoolean(person != null);
+        if (person != null) {
+            PersonStreams.writePerson(out, person);
+        }
+    }
+    
+    private static void writePersons(DataOutputStream out, List<Person> persons) throws IOException {
+        out.writeByte(NodeProtocol.STATUS_OK);
+        out.writeInt(persons.size());
+        for (Person person : persons) {
+            PersonStreams.writePerson(out, person);
+        }
+    }
+    
+    private static void writeBoolean(DataOutputStream out, boolean value) throws IOException {
+        out.writeByte(NodeProtocol.STATUS_OK);
+        out.writeBoolean(value);
+    }
+    
+    private static void writeClaims(DataOutputStream out, Map<String, Long> claims) throws IOException {
+        out.writeByte(NodeProtocol.STATUS_OK);
+        out.writeInt(claims.size());
+        for (Map.Entry<String, Long> claim : claims.entrySet()) {
+            out.writeUTF(claim.getKey());
+            out.writeLong(claim.getValue());
+        }
+    }
+    
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            if (closeable != null) {
+                closeable.close();
+            }
+        } catch (Exception e) {
+            // Игнорируем ошибки закрытия
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,195 @@
+package com.example.cluster;
+
+import com.example.model.Person;
+import com.example.util.PersonStreams;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Клиент удаленного узла кластера.
+ * Держит пул TCP-соединений: каждый запрос занимает одно соединение целиком,
+ * поэтому клиент можно использовать из многих потоков одновременно.
+ */
+public class RemotePersonNode implements PersonNode, AutoCloseable {
+    
+    /** Таймаут подключения в миллисекундах */
+    private static final int CONNECT_TIMEOUT_MILLIS = 2_000;
+    
+    /** Адрес узла */
+    private final InetSocketAddress address;
+    
+    /** Свободные соединения */
+    private final Queue<Connection> idle = new ConcurrentLinkedQueue<>();
+    
+    /**
+     * Создает клиента узла.
+     * 
+     * @param host хост узла
+     * @param port порт узла
+     */
+    public RemotePersonNode(String host, int port) {
+        this.address = new InetSocketAddress(host, port);
+    }
+    
+    @Override
+    public Person put(Person person) {
+        return call(NodeProtocol.PUT, out -> PersonStreams.writePerson(out, person), PersonStreams::readPerson);
+    }
+    
+    @Override
+    public Person get(long id) {
+        return call(NodeProtocol.GET, out -> out.writeLong(id), RemotePersonNode::readOptionalPerson);
+    }
+    
+    @Override
+    public Person remove(long id) {
+        return call(NodeProtocol.REMOVE, out -> out.writeLong(id), RemotePersonNode::readOptionalPerson);
+    }
+    
+    @Override
+    public List<Person> all() {
+        return call(NodeProtocol.ALL, out -> { }, in -> {
+            int size = in.readInt();
+            List<Person> persons = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                persons.add(PersonStreams.readPerson(in));
+            }
+            return persons;
+        });
+    }
+    
+    @Override
+    public int count() {
+        return call(NodeProtocol.COUNT, out -> { }, DataInputStream::readInt);
+    }
+    
+    @Override
+    public boolean claimEmail(String email, long personId) {
+        return call(NodeProtocol.CLAIM_EMAIL, out -> {
+            out.writeUTF(email);
+            out.writeLong(personId);
+        }, DataInputStream::readBoolean);
+    }
+    
+    @Override
+    public boolean releaseEmail(String email, long personId) {
+        return call(NodeProtocol.RELEASE_EMAIL, out -> {
+            out.writeUTF(email);
+            out.writeLong(personId);
+        }, DataInputStream::readBoolean);
+    }
+    
+    @Override
+    public Map<String, Long> emailClaims() {
+        return call(NodeProtocol.EMAIL_CLAIMS, out -> { }, in -> {
+            int size = in.readInt();
+            Map<String, Long> claims = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                claims.put(in.readUTF(), in.readLong());
+            }
+            return claims;
+        });
+    }
+    
+    /**
+     * Закрывает все свободные соединения.
+     */
+    @Override
+    public void close() {
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+    }
+    
+    private <R> R call(byte opcode, RequestWriter writer, ResponseReader<R> reader) {
+        Connection connection = borrow();
+        try {
+            connection.out.writeByte(opcode);
+            writer.write(connection.out);
+            connection.out.flush();
+            byte status = connection.in.readByte();
+            if (status == NodeProtocol.STATUS_INVALID) {
+                String message = connection.in.readUTF();
+                idle.offer(connection);
+                throw new IllegalArgumentException(message);
+            }
+            R result = reader.read(connection.in);
+            idle.offer(connection);
+            return result;
+        } catch (IOException e) {
+            connection.close();
+            throw new UncheckedIOException("Ошибка обращения к узлу " + address, e);
+        }
+    }
+    
+    private Connection borrow() {
+        Connection connection = idle.poll();
+        if (connection != null) {
+            return connection;
+        }
+        try {
+            return new Connection(address);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось подключиться к узлу " + address, e);
+        }
+    }
+    
+    private static Person readOptionalPerson(DataInputStream in) throws IOException {
+        return in.readBoolean() ? PersonStreams.readPerson(in) : null;
+    }
+    
+    /**
+     * Запись аргументов запроса.
+     */
+    @FunctionalInterface
+    private interface RequestWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+    
+    /**
+     * Чтение результата ответа.
+     */
+    @FunctionalInterface
+    private interface ResponseReader<R> {
+        R read(DataInputStream in) throws IOException;
+    }
+    
+    /**
+     * Одно TCP-соединение с узлом.
+     */
+    private static final class Connection {
+        
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        
+        Connection(InetSocketAddress address) throws IOException {
+            socket = new Socket();
+            socket.connect(address, CONNECT_TIMEOUT_MILLIS);
+            socket.setTcpNoDelay(true);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+        
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Игнорируем ошибки закрытия
+            }
+        }
+    }
+}
\ No newline at end of file
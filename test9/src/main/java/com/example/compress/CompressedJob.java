@@ -0,0 +1,97 @@
+package com.example.compress;
+
+import com.example.model.Job;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Вакансия, хранящая описание в сжатом виде.
+ * Описание сжимается при создании и при {@link #setDescription(String)} и распаковывается
+ * только при вызове {@link #getDescription()}; распакованная строка не кэшируется,
+ * поэтому в памяти постоянно находится лишь сжатый массив. Остальные поля
+ * хранятся как в {@link Job}.
+ */
+public class CompressedJob extends Job {
+    
+    /** Кодек описания */
+    private final LzCodec codec;
+    
+    /** Сжатое описание в UTF-8 (null если описания нет) */
+    private byte[] compressedDescription;
+    
+    /**
+     * Создает вакансию со сжатым описанием.
+     * 
+     * @param id уникальный идентификатор
+     * @param title название должности
+     * @param company название компании
+     * @param salary зарплата
+     * @param description описание вакансии
+     * @param codec кодек описания
+     */
+    public CompressedJob(Long id, String title, String company, Double salary, String description, LzCodec codec) {
+        super(id, title, company, salary, null);
+        if (codec == null) {
+            throw new IllegalArgumentException("Кодек не может быть null");
+        }
+        this.codec = codec;
+        setDescription(description);
+    }
+    
+    /**
+     * Создает независимую копию без распаковки описания. Сжатые байты разделяются:
+     * они не изменяются на месте, а {@link #setDescription(String)} заменяет массив целиком.
+     * 
+     * @return копия вакансии
+     */
+    public CompressedJob copy() {
+        CompressedJob copy = new CompressedJob(getId(), getTitle(), getCompany(), getSalary(), null, codec);
+        copy.compressedDescription = compressedDescription;
+        return copy;
+    }
+    
+    /**
+     * Создает сжатую копию вакансии.
+     * 
+     * @param job исходная вакансия
+     * @param codec кодек описания
+     * @return копия со сжатым описанием
+     */
+    public static CompressedJob of(Job job, LzCodec codec) {
+        if (job == null) {
+            throw new IllegalArgumentException("Job не может быть null");
+        }
+        return new CompressedJob(job.getId(), job.getTitle(), job.getCompany(), job.getSalary(), job.getDescription(), codec);
+    }
+    
+    /**
+     * Распаковывает и возвращает описание вакансии.
+     * 
+     * @return описание вакансии
+     */
+    @Override
+    public String getDescription() {
+        byte[] compressed = compressedDescription;
+        return compressed == null ? null : new String(codec.decompress(compressed), StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Сжимает и сохраняет описание вакансии.
+     * 
+     * @param description описание вакансии
+     */
+    @Override
+    public void setDescription(String description) {
+        compressedDescription = description == null
+                ? null
+                : codec.compress(description.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Возвращает размер сжатого описания.
+     * 
+     * @return размер в байтах (0 если описания нет)
+     */
+    public int getCompressedDescriptionSize() {
+        return compressedDescription == null ? 0 : compressedDescription.length;
+    }
+}
\ No newline at end of file
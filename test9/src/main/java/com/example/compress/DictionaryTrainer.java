@@ -0,0 +1,77 @@
+package com.example.compress;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Обучение общего словаря {@link LzCodec} на выборке текстов.
+ * Кандидаты - фразы из нескольких соседних слов; ценность фразы - число ее
+ * повторов во выборке, умноженное на длину в байтах. Словарь заполняется
+ * самыми ценными фразами, не содержащимися в нем целиком, пока не достигнет
+ * заданного размера. Шаблонные формулировки вакансий («Предлагаем: ...»,
+ * «Требования: ...») так попадают в словарь и сжимаются даже в коротких описаниях.
+ */
+public final class DictionaryTrainer {
+    
+    /** Длины фраз-кандидатов в словах */
+    private static final int[] PHRASE_WORDS = {3, 6, 12};
+    
+    private DictionaryTrainer() {
+        // Utility class
+    }
+    
+    /**
+     * Строит словарь по выборке текстов.
+     * Достаточно нескольких тысяч типичных описаний: память обучения пропорциональна выборке.
+     * 
+     * @param samples выборка текстов (null-элементы пропускаются)
+     * @param maxSize максимальный размер словаря в байтах (не больше {@link LzCodec#MAX_DICTIONARY_SIZE})
+     * @return словарь в UTF-8
+     */
+    public static byte[] train(Iterable<String> samples, int maxSize) {
+        if (samples == null) {
+            throw new IllegalArgumentException("Выборка не может быть null");
+        }
+        if (maxSize <= 0 || maxSize > LzCodec.MAX_DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("Размер словаря должен быть в диапазоне (0, " + LzCodec.MAX_DICTIONARY_SIZE + "]");
+        }
+        Map<String, Integer> counts = new HashMap<>();
+        for (String sample : samples) {
+            if (sample == null) {
+                continue;
+            }
+            String[] words = sample.trim().split("\\s+");
+            for (int phraseWords : PHRASE_WORDS) {
+                for (int from = 0; from + phraseWords <= words.length; from++) {
+                    counts.merge(String.join(" ", List.of(words).subList(from, from + phraseWords)) + ' ', 1, Integer::sum);
+                }
+            }
+        }
+        List<Map.Entry<String, Integer>> candidates = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() > 1) {
+                candidates.add(entry);
+            }
+        }
+        candidates.sort((left, right) -> Long.compare(score(right), score(left)));
+        StringBuilder dictionary = new StringBuilder();
+        int size = 0;
+        for (Map.Entry<String, Integer> candidate : candidates) {
+            String phrase = candidate.getKey();
+            int bytes = phrase.getBytes(StandardCharsets.UTF_8).length;
+            if (size + bytes > maxSize || dictionary.indexOf(phrase) >= 0) {
+                continue;
+            }
+            dictionary.append(phrase);
+            size += bytes;
+        }
+        return dictionary.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static long score(Map.Entry<String, Integer> entry) {
+        return (long) entry.getValue() * entry.getKey().length();
+    }
+}
\ No newline at end of file
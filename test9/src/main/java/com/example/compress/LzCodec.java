@@ -0,0 +1,272 @@
+package com.example.compress;
+
+import java.util.Arrays;
+
+/**
+ * Быстрый байтовый кодек семейства LZ77 (формат в духе LZ4) с необязательным общим словарем.
+ * <p>
+ * Сжатые данные: varint длины исходных данных, затем последовательности
+ * «токен, литералы, смещение, длина совпадения». Старшие четыре бита токена -
+ * число литералов, младшие - длина совпадения минус {@link #MIN_MATCH};
+ * значение 15 продолжается байтами до первого, меньшего 255. Смещение - два байта
+ * (little-endian), поэтому совпадение ищется не дальше 65535 байт назад.
+ * Последняя последовательность содержит только литералы.
+ * <p>
+ * Словарь считается данными, предшествующими входу: совпадения могут ссылаться
+ * в него, что особенно полезно для коротких текстов с общими шаблонными фразами.
+ * Данные распаковываются только кодеком с тем же словарем. Экземпляр неизменяем и потокобезопасен.
+ */
+public final class LzCodec {
+    
+    /** Минимальная длина совпадения */
+    public static final int MIN_MATCH = 4;
+    
+    /** Максимальное смещение совпадения */
+    public static final int MAX_OFFSET = 65_535;
+    
+    /** Максимальный размер словаря */
+    public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+    
+    private static final int HASH_LOG = 13;
+    private static final int NIBBLE_LIMIT = 15;
+    
+    /** Общий словарь */
+    private final byte[] dictionary;
+    
+    /** Хеш-таблица позиций, заполненная по словарю (копируется на каждое сжатие) */
+    private final int[] dictionaryTable;
+    
+    /**
+     * Создает кодек без словаря.
+     */
+    public LzCodec() {
+        this(new byte[0]);
+    }
+    
+    /**
+     * Создает кодек с общим словарем.
+     * 
+     * @param dictionary словарь (например, построенный {@link DictionaryTrainer})
+     */
+    public LzCodec(byte[] dictionary) {
+        if (dictionary == null) {
+            throw new IllegalArgumentException("Словарь не может быть null");
+        }
+        if (dictionary.length > MAX_DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("Размер словаря не может превышать " + MAX_DICTIONARY_SIZE + " байт");
+        }
+        this.dictionary = dictionary.clone();
+        this.dictionaryTable = new int[1 << HASH_LOG];
+        for (int i = 0; i + MIN_MATCH <= this.dictionary.length; i++) {
+            dictionaryTable[hash(this.dictionary, i)] = i + 1;
+        }
+    }
+    
+    /**
+     * Сжимает данные.
+     * 
+     * @param input исходные данные
+     * @return сжатые данные
+     */
+    public byte[] compress(byte[] input) {
+        if (input == null) {
+            throw new IllegalArgumentException("Данные не могут быть null");
+        }
+        int start = dictionary.length;
+        byte[] source = input;
+        if (start > 0) {
+            source = Arrays.copyOf(dictionary, start + input.length);
+            System.arraycopy(input, 0, source, start, input.length);
+        }
+        int end = source.length;
+        // Позиции в таблице хранятся со сдвигом на единицу: ноль означает пустую ячейку
+        int[] table = dictionaryTable.clone();
+        byte[] out = new byte[5 + input.length + input.length / 255 + 16];
+        int op = writeVarint(out, 0, input.length);
+        int anchor = start;
+        int i = start;
+        while (i + MIN_MATCH <= end) {
+            int h = hash(source, i);
+            int ref = table[h] - 1;
+            table[h] = i + 1;
+            if (ref < 0 || i - ref > MAX_OFFSET || readInt(source, ref) != readInt(source, i)) {
+                i++;
+                continue;
+            }
+            int length = MIN_MATCH;
+            while (i + length < end && source[ref + length] == source[i + length]) {
+                length++;
+            }
+            op = writeSequence(out, op, source, anchor, i - anchor, i - ref, length);
+            i += length;
+            anchor = i;
+            if (i - 2 >= start && i + MIN_MATCH - 2 <= end) {
+                table[hash(source, i - 2)] = i - 1;
+            }
+        }
+        op = writeLiterals(out, op, source, anchor, end - anchor);
+        return Arrays.copyOf(out, op);
+    }
+    
+    /**
+     * Распаковывает данные, сжатые этим кодеком (или кодеком с тем же словарем).
+     * 
+     * @param compressed сжатые данные
+     * @return исходные данные
+     */
+    public byte[] decompress(byte[] compressed) {
+        if (compressed == null) {
+            throw new IllegalArgumentException("Данные не могут быть null");
+        }
+        try {
+            int[] position = {0};
+            int length = readVarint(compressed, position);
+            int ip = position[0];
+            // Словарь не копируется: совпадения, уходящие левее начала, читаются прямо из него
+            byte[] buffer = new byte[length];
+            int op = 0;
+            while (true) {
+                int token = compressed[ip++] & 0xFF;
+                int literals = token >>> 4;
+                if (literals == NIBBLE_LIMIT) {
+                    position[0] = ip;
+                    literals += readExtendedLength(compressed, position);
+                    ip = position[0];
+                }
+                if (op + literals > length) {
+                    throw new IllegalArgumentException("Поврежденные сжатые данные");
+                }
+                System.arraycopy(compressed, ip, buffer, op, literals);
+                ip += literals;
+                op += literals;
+                if (op == length) {
+                    break;
+                }
+                int offset = (compressed[ip] & 0xFF) | (compressed[ip + 1] & 0xFF) << 8;
+                ip += 2;
+                int matchLength = token & NIBBLE_LIMIT;
+                if (matchLength == NIBBLE_LIMIT) {
+                    position[0] = ip;
+                    matchLength += readExtendedLength(compressed, position);
+                    ip = position[0];
+                }
+                matchLength += MIN_MATCH;
+                int ref = op - offset;
+                if (offset == 0 || ref < -dictionary.length || op + matchLength > length) {
+                    throw new IllegalArgumentException("Поврежденные сжатые данные");
+                }
+                if (ref < 0) {
+                    int fromDictionary = Math.min(-ref, matchLength);
+                    System.arraycopy(dictionary, dictionary.length + ref, buffer, op, fromDictionary);
+                    op += fromDictionary;
+                    matchLength -= fromDictionary;
+                    ref = 0;
+                }
+                if (ref + matchLength <= op) {
+                    System.arraycopy(buffer, ref, buffer, op, matchLength);
+                    op += matchLength;
+                } else {
+                    // Перекрывающееся совпадение повторяет последние байты
+                    for (int k = 0; k < matchLength; k++) {
+                        buffer[op++] = buffer[ref + k];
+                    }
+                }
+            }
+            return buffer;
+        } catch (ArrayIndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Поврежденные сжатые данные", e);
+        }
+    }
+    
+    /**
+     * Возвращает размер словаря.
+     * 
+     * @return размер словаря в байтах
+     */
+    public int getDictionarySize() {
+        return dictionary.length;
+    }
+    
+    private static int writeSequence(byte[] out, int op, byte[] source, int from, int literals, int offset, int matchLength) {
+        int extraMatch = matchLength - MIN_MATCH;
+        int tokenPosition = op++;
+        int token = Math.min(extraMatch, NIBBLE_LIMIT);
+        if (literals >= NIBBLE_LIMIT) {
+            token |= NIBBLE_LIMIT << 4;
+            op = writeExtendedLength(out, op, literals - NIBBLE_LIMIT);
+        } else {
+            token |= literals << 4;
+        }
+        out[tokenPosition] = (byte) token;
+        System.arraycopy(source, from, out, op, literals);
+        op += literals;
+        out[op++] = (byte) offset;
+        out[op++] = (byte) (offset >>> 8);
+        if (extraMatch >= NIBBLE_LIMIT) {
+            op = writeExtendedLength(out, op, extraMatch - NIBBLE_LIMIT);
+        }
+        return op;
+    }
+    
+    private static int writeLiterals(byte[] out, int op, byte[] source, int from, int literals) {
+        if (literals >= NIBBLE_LIMIT) {
+            out[op++] = (byte) (NIBBLE_LIMIT << 4);
+            op = writeExtendedLength(out, op, literals - NIBBLE_LIMIT);
+        } else {
+            out[op++] = (byte) (literals << 4);
+        }
+        System.arraycopy(source, from, out, op, literals);
+        return op + literals;
+    }
+    
+    private static int writeExtendedLength(byte[] out, int op, int remaining) {
+        while (remaining >= 255) {
+            out[op++] = (byte) 255;
+            remaining -= 255;
+        }
+        out[op++] = (byte) remaining;
+        return op;
+    }
+    
+    private static int readExtendedLength(byte[] in, int[] position) {
+        int length = 0;
+        int b;
+        do {
+            b = in[position[0]++] & 0xFF;
+            length += b;
+        } while (b == 255);
+        return length;
+    }
+    
+    private static int writeVarint(byte[] out, int op, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[op++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[op++] = (byte) value;
+        return op;
+    }
+    
+    private static int readVarint(byte[] in, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in[position[0]++] & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Поврежденные сжатые данные");
+    }
+    
+    private static int readInt(byte[] data, int offset) {
+        return (data[offset] & 0xFF)
+                | (data[offset + 1] & 0xFF) << 8
+                | (data[offset + 2] & 0xFF) << 16
+                | (data[offset + 3] & 0xFF) << 24;
+    }
+    
+    private static int hash(byte[] data, int offset) {
+        return (readInt(data, offset) * -1640531535) >>> (32 - HASH_LOG);
+    }
+}
\ No newline at end of file
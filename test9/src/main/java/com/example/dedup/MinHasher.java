@@ -0,0 +1,157 @@
+package com.example.dedup;
+
+import com.example.model.Job;
+import com.example.search.Tokenizer;
+import java.util.Arrays;
+
+/**
+ * Вычисление MinHash-сигнатур текста.
+ * Текст разбивается на термы {@link Tokenizer} и на шинглы - последовательности
+ * из {@code shingleSize} соседних термов. Для каждой из {@code numHashes} хеш-функций
+ * сигнатура хранит минимальное значение по всем шинглам; доля совпадающих позиций
+ * двух сигнатур оценивает коэффициент Жаккара множеств шинглов.
+ * Хеш-функции строятся из двух базовых хешей шингла (h1 + i * h2),
+ * поэтому стоимость обработки шингла - одно умножение и сложение на позицию.
+ */
+public final class MinHasher {
+    
+    /** Размер шингла по умолчанию (в термах) */
+    public static final int DEFAULT_SHINGLE_SIZE = 3;
+    
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    
+    /** Число хеш-функций (длина сигнатуры) */
+    private final int numHashes;
+    
+    /** Размер шингла в термах */
+    private final int shingleSize;
+    
+    /** Соль второго базового хеша */
+    private final long seed;
+    
+    /**
+     * Создает вычислитель сигнатур.
+     * 
+     * @param numHashes длина сигнатуры
+     * @param shingleSize число термов в шингле
+     * @param seed соль хеш-функций (сигнатуры сравнимы только при одинаковой соли)
+     */
+    public MinHasher(int numHashes, int shingleSize, long seed) {
+        if (numHashes <= 0) {
+            throw new IllegalArgumentException("Длина сигнатуры должна быть положительной");
+        }
+        if (shingleSize <= 0) {
+            throw new IllegalArgumentException("Размер шингла должен быть положительным");
+        }
+        this.numHashes = numHashes;
+        this.shingleSize = shingleSize;
+        this.seed = seed;
+    }
+    
+    /**
+     * Вычисляет сигнатуру текста.
+     * Текст короче шингла образует один шингл из всех своих термов.
+     * 
+     * @param text текст (null считается пустым)
+     * @return сигнатура или null, если в тексте нет термов
+     */
+    public int[] signature(String text) {
+        int[] signature = new int[numHashes];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        long[] window = new long[shingleSize];
+        int[] count = {0};
+        Tokenizer.forEachTerm(text, term -> {
+            window[count[0] % shingleSize] = mix(term.hashCode());
+            count[0]++;
+            if (count[0] >= shingleSize) {
+                addShingle(signature, window, count[0]);
+            }
+        });
+        if (count[0] == 0) {
+            return null;
+        }
+        if (count[0] < shingleSize) {
+            addShingle(signature, window, count[0]);
+        }
+        return signature;
+    }
+    
+    /**
+     * Вычисляет сигнатуру вакансии по названию и описанию.
+     * 
+     * @param job вакансия
+     * @return сигнатура или null, если текст вакансии пуст
+     */
+    public int[] signature(Job job) {
+        if (job == null) {
+            throw new IllegalArgumentException("Job не может быть null");
+        }
+        String title = job.getTitle() == null ? "" : job.getTitle();
+        String description = job.getDescription() == null ? "" : job.getDescription();
+        return signature(title + ' ' + description);
+    }
+    
+    /**
+     * Оценивает коэффициент Жаккара по двум сигнатурам.
+     * 
+     * @param first первая сигнатура
+     * @param second вторая сигнатура той же длины
+     * @return доля совпадающих позиций от 0 до 1
+     */
+    public static double similarity(int[] first, int[] second) {
+        if (first == null || second == null || first.length != second.length) {
+            throw new IllegalArgumentException("Сигнатуры должны быть заданы и иметь одинаковую длину");
+        }
+        int equal = 0;
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / first.length;
+    }
+    
+    /**
+     * Возвращает длину сигнатуры.
+     * 
+     * @return число хеш-функций
+     */
+    public int getNumHashes() {
+        return numHashes;
+    }
+    
+    /**
+     * Возвращает размер шингла.
+     * 
+     * @return число термов в шингле
+     */
+    public int getShingleSize() {
+        return shingleSize;
+    }
+    
+    private void addShingle(int[] signature, long[] window, int count) {
+        // Термы окна в порядке появления: от самого старого к самому новому
+        int length = Math.min(count, shingleSize);
+        long hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = hash * 31 + window[(count - length + i) % shingleSize];
+        }
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ seed) | 1;
+        long value = h1;
+        for (int i = 0; i < numHashes; i++) {
+            int candidate = (int) (value >>> 32);
+            if (candidate < signature[i]) {
+                signature[i] = candidate;
+            }
+            value += h2;
+        }
+    }
+    
+    private static long mix(long value) {
+        long z = value * GOLDEN;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.example.dedup;
+
+/**
+ * Найденный почти-дубликат: идентификатор вакансии и оценка сходства.
+ */
+public final class NearDuplicate {
+    
+    /** Идентификатор вакансии */
+    private final long jobId;
+    
+    /** Оценка коэффициента Жаккара */
+    private final double similarity;
+    
+    /**
+     * Создает результат поиска дубликатов.
+     * 
+     * @param jobId идентификатор вакансии
+     * @param similarity оценка сходства от 0 до 1
+     */
+    public NearDuplicate(long jobId, double similarity) {
+        this.jobId = jobId;
+        this.similarity = similarity;
+    }
+    
+    /**
+     * Возвращает идентификатор вакансии.
+     * 
+     * @return идентификатор
+     */
+    public long getJobId() {
+        return jobId;
+    }
+    
+    /**
+     * Возвращает оценку сходства.
+     * 
+     * @return доля совпадающих позиций сигнатур
+     */
+    public double getSimilarity() {
+        return similarity;
+    }
+    
+    @Override
+    public String toString() {
+        return "NearDuplicate{" +
+                "jobId=" + jobId +
+                ", similarity=" + similarity +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,410 @@
+package com.example.dedup;
+
+import com.example.aggregate.RebuildableView;
+import com.example.model.Job;
+import com.example.parallel.ModificationPolicy;
+import com.example.parallel.ParallelScanner;
+import com.example.query.Queryable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Индекс почти-дубликатов вакансий на основе MinHash и LSH.
+ * Поддерживается инкрементально как представление репозитория:
+ * {@code repository.registerView(new NearDuplicateIndex())} - сигнатура вычисляется
+ * при каждом сохранении вакансии.
+ * <p>
+ * Сигнатура из {@code bands * rows} значений делится на полосы по {@code rows} значений;
+ * вакансии с совпадающей хотя бы одной полосой попадают в одну корзину и становятся
+ * кандидатами, которые затем проверяются оценкой сходства по полной сигнатуре.
+ * Поэтому поиск не сравнивает вакансию со всеми остальными. Вероятность стать
+ * кандидатом при сходстве s равна {@code 1 - (1 - s^rows)^bands}; порог перегиба
+ * примерно {@code (1 / bands)^(1 / rows)}.
+ */
+public class NearDuplicateIndex implements RebuildableView<Job> {
+    
+    /** Число полос по умолчанию */
+    public static final int DEFAULT_BANDS = 32;
+    
+    /** Число значений сигнатуры в полосе по умолчанию */
+    public static final int DEFAULT_ROWS = 4;
+    
+    /** Соль хеш-функций по умолчанию */
+    private static final long DEFAULT_SEED = 0x5DEECE66DL;
+    
+    /** Порог параллельного выполнения массовых операций */
+    private static final int PARALLEL_THRESHOLD = 4_096;
+    
+    /** Порядок результатов: сходство по убыванию, затем id по возрастанию */
+    private static final Comparator<NearDuplicate> MOST_SIMILAR_FIRST = Comparator
+            .comparingDouble(NearDuplicate::getSimilarity).reversed()
+            .thenComparingLong(NearDuplicate::getJobId);
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private final MinHasher hasher;
+    private final int bands;
+    private final int rows;
+    
+    /** Сигнатуры по идентификатору вакансии */
+    private final Map<Long, int[]> signatures = new HashMap<>();
+    
+    /**
+     * Корзины LSH: для каждой полосы - хеш полосы и идентификаторы вакансий.
+     * Корзина - массив, в нулевом элементе которого хранится число идентификаторов:
+     * большинство корзин содержат одну вакансию, и множество на каждую было бы
+     * в несколько раз тяжелее.
+     */
+    private final List<Map<Long, long[]>> buckets;
+    
+    /**
+     * Создает индекс с параметрами по умолчанию
+     * ({@link #DEFAULT_BANDS} полос по {@link #DEFAULT_ROWS} значения, шинглы по три терма).
+     */
+    public NearDuplicateIndex() {
+        this(DEFAULT_BANDS, DEFAULT_ROWS, MinHasher.DEFAULT_SHINGLE_SIZE);
+    }
+    
+    /**
+     * Создает индекс.
+     * 
+     * @param bands число полос
+     * @param rows число значений сигнатуры в полосе
+     * @param shingleSize число термов в шингле
+     */
+    public NearDuplicateIndex(int bands, int rows, int shingleSize) {
+        if (bands <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Число полос и строк должно быть положительным");
+        }
+        this.hasher = new MinHasher(bands * rows, shingleSize, DEFAULT_SEED);
+        this.bands = bands;
+        this.rows = rows;
+        this.buckets = new ArrayList<>(bands);
+        for (int band = 0; band < bands; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+    
+    @Override
+    public void apply(Job oldValue, Job newValue) {
+        if (oldValue != null && newValue != null
+                && Objects.equals(oldValue.getTitle(), newValue.getTitle())
+                && Objects.equals(oldValue.getDescription(), newValue.getDescription())) {
+            return;
+        }
+        // Сигнатура вычисляется вне блокировки: это самая дорогая часть
+        int[] signature = newValue == null ? null : hasher.signature(newValue);
+        lock.writeLock().lock();
+        try {
+            if (oldValue != null) {
+                remove(oldValue.getId());
+            }
+            if (newValue != null && signature != null) {
+                add(newValue.getId(), signature);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            signatures.clear();
+            buckets.forEach(Map::clear);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Перестраивает индекс: сигнатуры всех вакансий вычисляются параллельно.
+     * 
+     * @param all все вакансии хранилища
+     * @param pool пул потоков
+     */
+    @Override
+    public void rebuild(Collection<Job> all, ForkJoinPool pool) {
+        if (all == null || pool == null) {
+            throw new IllegalArgumentException("Данные и пул не могут быть null");
+        }
+        ParallelScanner scanner = new ParallelScanner(pool, ModificationPolicy.SNAPSHOT, PARALLEL_THRESHOLD);
+        Map<Long, int[]> computed = scanner.collect(Queryable.scanning(() -> all), HashMap::new,
+            (partial, job) -> {
+                int[] signature = hasher.signature(job);
+                if (signature != null) {
+                    partial.put(job.getId(), signature);
+                }
+            },
+            (left, right) -> {
+                left.putAll(right);
+                return left;
+            });
+        lock.writeLock().lock();
+        try {
+            signatures.clear();
+            buckets.forEach(Map::clear);
+            computed.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Находит почти-дубликаты вакансии среди проиндексированных.
+     * Сама вакансия (по id) в результат не входит; вакансия не обязана быть сохранена.
+     * 
+     * @param job образец
+     * @param threshold минимальная оценка сходства (от 0 не включительно до 1)
+     * @return найденные вакансии по убыванию сходства
+     */
+    public List<NearDuplicate> findNearDuplicates(Job job, double threshold) {
+        validateThreshold(threshold);
+        int[] signature = hasher.signature(job);
+        if (signature == null) {
+            return List.of();
+        }
+        List<NearDuplicate> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<Long> seen = new HashSet<>();
+            if (job.getId() != null) {
+                seen.add(job.getId());
+            }
+            for (int band = 0; band < bands; band++) {
+                long[] bucket = buckets.get(band).get(bandKey(signature, band));
+                if (bucket == null) {
+                    continue;
+                }
+                for (int i = 1; i <= bucket[0]; i++) {
+                    long candidate = bucket[i];
+                    if (seen.add(candidate)) {
+                        double similarity = MinHasher.similarity(signature, signatures.get(candidate));
+                        if (similarity >= threshold) {
+                            result.add(new NearDuplicate(candidate, similarity));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort(MOST_SIMILAR_FIRST);
+        return result;
+    }
+    
+    /**
+     * Массовый поиск дубликатов: группирует все проиндексированные вакансии,
+     * связанные цепочками пар со сходством не ниже порога.
+     * Пары ищутся параллельно по корзинам LSH, группы собираются объединением множеств.
+     * Изменения индекса на время прохода блокируются.
+     * 
+     * @param threshold минимальная оценка сходства пары (от 0 не включительно до 1)
+     * @param pool пул потоков
+     * @return группы из двух и более идентификаторов, каждая по возрастанию id,
+     *         упорядоченные по первому id
+     */
+    public List<List<Long>> findDuplicateGroups(double threshold, ForkJoinPool pool) {
+        validateThreshold(threshold);
+        if (pool == null) {
+            throw new IllegalArgumentException("Пул не может быть null");
+        }
+        PairList pairs;
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>(signatures.keySet());
+            ParallelScanner scanner = new ParallelScanner(pool, ModificationPolicy.WEAKLY_CONSISTENT, PARALLEL_THRESHOLD);
+            pairs = scanner.collect(Queryable.scanning(() -> ids), PairList::new,
+                (partial, id) -> collectPairs(id, threshold, partial),
+                PairList::addAll);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return groups(pairs);
+    }
+    
+    /**
+     * Возвращает число проиндексированных вакансий (вакансии без текста не индексируются).
+     * 
+     * @return число сигнатур
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return signatures.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает число полос LSH.
+     * 
+     * @return число полос
+     */
+    public int getBands() {
+        return bands;
+    }
+    
+    /**
+     * Возвращает число значений сигнатуры в полосе.
+     * 
+     * @return число строк
+     */
+    public int getRows() {
+        return rows;
+    }
+    
+    private void add(Long id, int[] signature) {
+        signatures.put(id, signature);
+        for (int band = 0; band < bands; band++) {
+            buckets.get(band).merge(bandKey(signature, band), new long[] {1, id}, NearDuplicateIndex::append);
+        }
+    }
+    
+    private void remove(Long id) {
+        int[] signature = signatures.remove(id);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < bands; band++) {
+            Map<Long, long[]> bandBuckets = buckets.get(band);
+            long key = bandKey(signature, band);
+            long[] bucket = bandBuckets.get(key);
+            int size = (int) bucket[0];
+            for (int i = 1; i <= size; i++) {
+                if (bucket[i] == id) {
+                    bucket[i] = bucket[size];
+                    bucket[0] = --size;
+                    break;
+                }
+            }
+            if (size == 0) {
+                bandBuckets.remove(key);
+            }
+        }
+    }
+    
+    private static long[] append(long[] bucket, long[] single) {
+        int size = (int) bucket[0];
+        if (size + 1 == bucket.length) {
+            bucket = Arrays.copyOf(bucket, bucket.length * 2);
+        }
+        bucket[size + 1] = single[1];
+        bucket[0] = size + 1;
+        return bucket;
+    }
+    
+    /**
+     * Добавляет пары (id, кандидат) с кандидатом большего id, чтобы каждая пара
+     * была найдена один раз.
+     */
+    private void collectPairs(Long id, double threshold, PairList partial) {
+        int[] signature = signatures.get(id);
+        Set<Long> seen = new HashSet<>();
+        for (int band = 0; band < bands; band++) {
+            long[] bucket = buckets.get(band).get(bandKey(signature, band));
+            for (int i = 1; i <= bucket[0]; i++) {
+                long candidate = bucket[i];
+                if (candidate > id && seen.add(candidate)
+                        && MinHasher.similarity(signature, signatures.get(candidate)) >= threshold) {
+                    partial.add(id, candidate);
+                }
+            }
+        }
+    }
+    
+    private static List<List<Long>> groups(PairList pairs) {
+        Map<Long, Long> parent = new HashMap<>();
+        for (int i = 0; i < pairs.size; i++) {
+            long left = find(parent, pairs.values[2 * i]);
+            long right = find(parent, pairs.values[2 * i + 1]);
+            if (left != right) {
+                parent.put(Math.max(left, right), Math.min(left, right));
+            }
+        }
+        TreeMap<Long, List<Long>> byRoot = new TreeMap<>();
+        for (Long id : parent.keySet()) {
+            byRoot.computeIfAbsent(find(parent, id), root -> new ArrayList<>()).add(id);
+        }
+        List<List<Long>> result = new ArrayList<>(byRoot.size());
+        for (List<Long> group : byRoot.values()) {
+            group.sort(null);
+            result.add(List.copyOf(group));
+        }
+        return result;
+    }
+    
+    private static long find(Map<Long, Long> parent, long id) {
+        long root = id;
+        Long next;
+        while ((next = parent.get(root)) != null && next != root) {
+            root = next;
+        }
+        parent.putIfAbsent(id, root);
+        // Сжатие пути
+        long current = id;
+        while (current != root) {
+            long following = parent.get(current);
+            parent.put(current, root);
+            current = following;
+        }
+        parent.putIfAbsent(root, root);
+        return root;
+    }
+    
+    private long bandKey(int[] signature, int band) {
+        long hash = band;
+        int from = band * rows;
+        for (int i = from; i < from + rows; i++) {
+            hash = hash * 0x100000001B3L + signature[i];
+        }
+        return hash;
+    }
+    
+    private static void validateThreshold(double threshold) {
+        if (!(threshold > 0 && threshold <= 1)) {
+            throw new IllegalArgumentException("Порог сходства должен быть в диапазоне (0, 1]");
+        }
+    }
+    
+    /**
+     * Растущий массив пар идентификаторов.
+     */
+    private static final class PairList {
+        
+        private long[] values = new long[16];
+        private int size;
+        
+        private void add(long first, long second) {
+            if (2 * size + 2 > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[2 * size] = first;
+            values[2 * size + 1] = second;
+            size++;
+        }
+        
+        private PairList addAll(PairList other) {
+            if (2 * (size + other.size) > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, 2 * (size + other.size)));
+            }
+            System.arraycopy(other.values, 0, values, 2 * size, 2 * other.size);
+            size += other.size;
+            return this;
+        }
+    }
+}
\ No newline at end of file
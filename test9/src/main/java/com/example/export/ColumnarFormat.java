@@ -0,0 +1,139 @@
+package com.example.export;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Общие константы и кодирование колоночного файла вакансий.
+ * <p>
+ * Файл: заголовок (магическое число, версия), группы строк по колонкам в порядке
+ * {@link JobColumn}, футер и завершение (длина футера, магическое число). Футер хранит
+ * для каждой группы число строк, статистику min/max и смещение, длину и CRC32
+ * каждой колонки, поэтому читатель пропускает группы и колонки, не трогая их байты.
+ * Строки кодируются длиной-префиксом varint (длина + 1, 0 - null) и байтами UTF-8.
+ */
+final class ColumnarFormat {
+    
+    /** Магическое число в начале и в конце файла */
+    static final int MAGIC = 0x4A434F4C;
+    
+    /** Текущая версия формата */
+    static final byte VERSION = 1;
+    
+    /** Размер заголовка: магическое число и версия */
+    static final int HEADER_SIZE = 5;
+    
+    /** Размер завершения: длина футера и магическое число */
+    static final int TRAILER_SIZE = 8;
+    
+    /** Число колонок */
+    static final int COLUMN_COUNT = JobColumn.values().length;
+    
+    private ColumnarFormat() {
+        // Utility class
+    }
+    
+    /**
+     * Читает беззнаковое varint с текущей позиции буфера.
+     * 
+     * @param buffer буфер
+     * @return значение
+     */
+    static long getVarint(ByteBuffer buffer) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Слишком длинное varint-значение");
+    }
+    
+    /**
+     * Читает строку, записанную {@link Chunk#putString(String)}.
+     * 
+     * @param buffer буфер
+     * @return строка или null
+     */
+    static String getString(ByteBuffer buffer) {
+        long length = getVarint(buffer) - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("Длина строки выходит за пределы колонки: " + length);
+        }
+        byte[] bytes = new byte[(int) length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    /**
+     * Растущий буфер для кодирования одной колонки группы строк.
+     * Переиспользуется между группами, чтобы не наращивать емкость заново.
+     */
+    static final class Chunk {
+        
+        private byte[] bytes = new byte[1024];
+        
+        private int size;
+        
+        void putVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+        
+        void putDouble(double value) {
+            ensure(8);
+            long bits = Double.doubleToRawLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (bits >>> shift);
+            }
+        }
+        
+        void putBytes(byte[] source) {
+            ensure(source.length);
+            System.arraycopy(source, 0, bytes, size, source.length);
+            size += source.length;
+        }
+        
+        void putString(String value) {
+            if (value == null) {
+                putVarint(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            putVarint(utf8.length + 1L);
+            putBytes(utf8);
+        }
+        
+        void clear() {
+            size = 0;
+        }
+        
+        ByteBuffer toBuffer() {
+            return ByteBuffer.wrap(bytes, 0, size);
+        }
+        
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
\ No newline at end of file
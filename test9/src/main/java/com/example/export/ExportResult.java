@@ -0,0 +1,65 @@
+package com.example.export;
+
+/**
+ * Итог сортирующего экспорта.
+ */
+public final class ExportResult {
+    
+    /** Число записанных людей */
+    private final long records;
+    
+    /** Число отсортированных серий, сброшенных на диск */
+    private final int runs;
+    
+    /** Число промежуточных проходов слияния */
+    private final int mergePasses;
+    
+    /**
+     * Создает итог экспорта.
+     * 
+     * @param records число записанных людей
+     * @param runs число серий на диске
+     * @param mergePasses число промежуточных проходов слияния
+     */
+    public ExportResult(long records, int runs, int mergePasses) {
+        this.records = records;
+        this.runs = runs;
+        this.mergePasses = mergePasses;
+    }
+    
+    /**
+     * Возвращает число записанных людей.
+     * 
+     * @return число людей
+     */
+    public long getRecords() {
+        return records;
+    }
+    
+    /**
+     * Возвращает число серий, сброшенных на диск (0 если данные поместились в память).
+     * 
+     * @return число серий
+     */
+    public int getRuns() {
+        return runs;
+    }
+    
+    /**
+     * Возвращает число промежуточных проходов слияния (0 если хватило одного итогового).
+     * 
+     * @return число проходов
+     */
+    public int getMergePasses() {
+        return mergePasses;
+    }
+    
+    @Override
+    public String toString() {
+        return "ExportResult{" +
+                "records=" + records +
+                ", runs=" + runs +
+                ", mergePasses=" + mergePasses +
+                '}';
+    }
+}
\ No newline at end of file
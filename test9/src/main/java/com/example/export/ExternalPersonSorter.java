@@ -0,0 +1,375 @@
+package com.example.export;
+
+import com.example.model.Person;
+import com.example.service.PersonService;
+import com.example.util.PersonStreams;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Сортирующий экспорт людей по (lastName, firstName) с ограниченной памятью.
+ * Вход читается порциями по {@code runSize} человек; каждая порция сортируется
+ * в пуле потоков и сбрасывается во временный файл (серию). Затем серии сливаются
+ * k-путевым слиянием прямо в выходной канал. Если серий больше {@code fanIn},
+ * выполняются промежуточные проходы слияния. Люди без id (null) тоже
+ * экспортируются и идут после людей с теми же фамилией и именем.
+ * <p>
+ * В памяти одновременно находится не более {@code parallelism + 1} порций
+ * ({@code parallelism} сортируются, еще одна читается), поэтому объем экспорта ограничен только местом на диске.
+ */
+public class ExternalPersonSorter {
+    
+    /** Порядок экспорта: фамилия, имя (null в конце), затем id для устойчивости */
+    public static final Comparator<Person> EXPORT_ORDER = Comparator
+            .comparing(Person::getLastName, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+            .thenComparing(Person::getFirstName, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+            .thenComparing(Person::getId, Comparator.nullsLast(Comparator.<Long>naturalOrder()));
+    
+    /** Размер буфера файлового ввода-вывода */
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+    
+    /** Максимальное число людей в одной серии */
+    private final int runSize;
+    
+    /** Число потоков генерации серий */
+    private final int parallelism;
+    
+    /** Максимальное число серий в одном слиянии */
+    private final int fanIn;
+    
+    /** Каталог для временных файлов */
+    private final Path tempDir;
+    
+    /**
+     * Создает сортировщик с временными файлами в системном каталоге.
+     * 
+     * @param runSize максимальное число людей в одной серии
+     * @param parallelism число потоков генерации серий
+     */
+    public ExternalPersonSorter(int runSize, int parallelism) {
+        this(runSize, parallelism, 64, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+    
+    /**
+     * Создает сортировщик.
+     * 
+     * @param runSize максимальное число людей в одной серии
+     * @param parallelism число потоков генерации серий
+     * @param fanIn максимальное число серий в одном слиянии (не меньше 2)
+     * @param tempDir каталог для временных файлов
+     */
+    public ExternalPersonSorter(int runSize, int parallelism, int fanIn, Path tempDir) {
+        if (runSize <= 0) {
+            throw new IllegalArgumentException("Размер серии должен быть положительным");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Число потоков должно быть положительным");
+        }
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("Число сливаемых серий должно быть не меньше 2");
+        }
+        if (tempDir == null) {
+            throw new IllegalArgumentException("Каталог временных файлов не может быть null");
+        }
+        this.runSize = runSize;
+        this.parallelism = parallelism;
+        this.fanIn = fanIn;
+        this.tempDir = tempDir;
+    }
+    
+    /**
+     * Экспортирует все хранилище сервиса в CSV, отсортированным по фамилии и имени.
+     * Хранилище обходится без копирования; изменения во время экспорта
+     * могут как попасть, так и не попасть в результат.
+     * 
+     * @param service сервис людей
+     * @param out выходной канал (не закрывается)
+     * @return итог экспорта
+     * @throws IOException при ошибке ввода-вывода
+     */
+    public ExportResult export(PersonService service, WritableByteChannel out) throws IOException {
+        if (service == null) {
+            throw new IllegalArgumentException("Сервис не может быть null");
+        }
+        return export(service.scan().iterator(), out);
+    }
+    
+    /**
+     * Экспортирует людей в CSV, отсортированными по фамилии и имени.
+     * 
+     * @param source источник людей (читается один раз)
+     * @param out выходной канал (не закрывается)
+     * @return итог экспорта
+     * @throws IOException при ошибке ввода-вывода
+     */
+    public ExportResult export(Iterator<Person> source, WritableByteChannel out) throws IOException {
+        return export(source, out, PersonEncoder.csv());
+    }
+    
+    /**
+     * Экспортирует людей, отсортированными по фамилии и имени, указанным кодировщиком.
+     * 
+     * @param source источник людей (читается один раз)
+     * @param out выходной канал (не закрывается)
+     * @param encoder кодировщик записей
+     * @return итог экспорта
+     * @throws IOException при ошибке ввода-вывода
+     */
+    public ExportResult export(Iterator<Person> source, WritableByteChannel out, PersonEncoder encoder)
+            throws IOException {
+        if (source == null || out == null || encoder == null) {
+            throw new IllegalArgumentException("Источник, канал и кодировщик не могут быть null");
+        }
+        OutputStream sink = new BufferedOutputStream(Channels.newOutputStream(out), IO_BUFFER_SIZE);
+        Person[] first = readChunk(source);
+        if (!source.hasNext()) {
+            // Все поместилось в одну порцию: сортируем в памяти без диска
+            Arrays.sort(first, EXPORT_ORDER);
+            for (Person person : first) {
+                encoder.encode(person, sink);
+            }
+            sink.flush();
+            return new ExportResult(first.length, 0, 0);
+        }
+        
+        Path workDir = Files.createTempDirectory(tempDir, "person-sort");
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "person-sort");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Throwable failure = null;
+        try {
+            List<Path> runs = generateRuns(first, source, workDir, pool);
+            int runCount = runs.size();
+            int passes = 0;
+            while (runs.size() > fanIn) {
+                runs = mergePass(runs, workDir, pool);
+                passes++;
+            }
+            long written = mergeRuns(runs, person -> encoder.encode(person, sink));
+            sink.flush();
+            return new ExportResult(written, runCount, passes);
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            pool.shutdownNow();
+            try {
+                deleteRecursively(workDir);
+            } catch (IOException cleanupError) {
+                // Ошибка очистки не должна заменять исходную ошибку экспорта
+                if (failure == null) {
+                    throw cleanupError;
+                }
+                failure.addSuppressed(cleanupError);
+            }
+        }
+    }
+    
+    private Person[] readChunk(Iterator<Person> source) {
+        List<Person> chunk = new ArrayList<>(Math.min(runSize, 1024));
+        while (chunk.size() < runSize && source.hasNext()) {
+            chunk.add(source.next());
+        }
+        return chunk.toArray(new Person[0]);
+    }
+    
+    /**
+     * Читает вход порциями и сортирует их в пуле. Семафор не дает читателю
+     * опередить сортировщиков больше чем на {@code parallelism} порций; пока
+     * они заняты, читатель держит еще одну, итого {@code parallelism + 1}.
+     */
+    private List<Path> generateRuns(Person[] first, Iterator<Person> source, Path workDir, ExecutorService pool)
+            throws IOException {
+        Semaphore inFlight = new Semaphore(parallelism);
+        List<Future<Path>> futures = new ArrayList<>();
+        Person[] chunk = first;
+        try {
+            while (chunk.length > 0) {
+                inFlight.acquire();
+                Person[] toSort = chunk;
+                Path runFile = workDir.resolve("run-" + futures.size());
+                futures.add(pool.submit(() -> {
+                    try {
+                        Arrays.sort(toSort, EXPORT_ORDER);
+                        writeRun(runFile, toSort);
+                        return runFile;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+                // Отпускаем ссылку до чтения следующей порции, чтобы не держать две сразу
+                chunk = null;
+                chunk = readChunk(source);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Экспорт прерван", e);
+        }
+        return awaitAll(futures);
+    }
+    
+    private List<Path> mergePass(List<Path> runs, Path workDir, ExecutorService pool) throws IOException {
+        List<Future<Path>> futures = new ArrayList<>();
+        for (int from = 0; from < runs.size(); from += fanIn) {
+            List<Path> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+            Path merged = Files.createTempFile(workDir, "merge-", "");
+            futures.add(pool.submit(() -> {
+                long total = 0;
+                for (Path run : group) {
+                    total += readRunSize(run);
+                }
+                try (DataOutputStream out = openRunForWrite(merged)) {
+                    out.writeLong(total);
+                    mergeRuns(group, person -> PersonStreams.writePersonWithNullableId(out, person));
+                }
+                for (Path run : group) {
+                    Files.deleteIfExists(run);
+                }
+                return merged;
+            }));
+        }
+        return awaitAll(futures);
+    }
+    
+    /**
+     * Сливает отсортированные серии по куче из головных элементов.
+     */
+    private long mergeRuns(List<Path> runs, PersonSink sink) throws IOException {
+        PriorityQueue<RunReader> heap = new PriorityQueue<>(runs.size(),
+                (left, right) -> EXPORT_ORDER.compare(left.head, right.head));
+        List<RunReader> readers = new ArrayList<>(runs.size());
+        try {
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run);
+                readers.add(reader);
+                if (reader.advance()) {
+                    heap.add(reader);
+                }
+            }
+            long written = 0;
+            while (!heap.isEmpty()) {
+                RunReader smallest = heap.poll();
+                sink.accept(smallest.head);
+                written++;
+                if (smallest.advance()) {
+                    heap.add(smallest);
+                }
+            }
+            return written;
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+    
+    private static void writeRun(Path file, Person[] sorted) throws IOException {
+        try (DataOutputStream out = openRunForWrite(file)) {
+            out.writeLong(sorted.length);
+            for (Person person : sorted) {
+                PersonStreams.writePersonWithNullableId(out, person);
+            }
+        }
+    }
+    
+    private static DataOutputStream openRunForWrite(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER_SIZE));
+    }
+    
+    private static long readRunSize(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            return in.readLong();
+        }
+    }
+    
+    private static List<Path> awaitAll(List<Future<Path>> futures) throws IOException {
+        List<Path> result = new ArrayList<>(futures.size());
+        try {
+            for (Future<Path> future : futures) {
+                result.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Экспорт прерван", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            throw new IOException("Ошибка сортировки серии", cause);
+        }
+        return result;
+    }
+    
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+    
+    /**
+     * Получатель слитых записей.
+     */
+    @FunctionalInterface
+    private interface PersonSink {
+        void accept(Person person) throws IOException;
+    }
+    
+    /**
+     * Последовательное чтение одной серии с текущим головным элементом.
+     */
+    private static final class RunReader {
+        
+        private final DataInputStream in;
+        private long remaining;
+        private Person head;
+        
+        private RunReader(Path file) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), IO_BUFFER_SIZE));
+            this.remaining = in.readLong();
+        }
+        
+        private boolean advance() throws IOException {
+            if (remaining == 0) {
+                head = null;
+                return false;
+            }
+            remaining--;
+            head = PersonStreams.readPersonWithNullableId(in);
+            return true;
+        }
+        
+        private void close() throws IOException {
+            in.close();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.export;
+
+/**
+ * Колонки колоночного файла вакансий в порядке их хранения внутри группы строк.
+ */
+public enum JobColumn {
+    
+    /** Идентификатор: первое значение и zigzag varint разности соседних */
+    ID,
+    
+    /** Название: строки UTF-8 с длиной-префиксом */
+    TITLE,
+    
+    /** Компания: словарь группы строк и varint коды значений */
+    COMPANY,
+    
+    /** Зарплата: битовая карта наличия и 8-байтные числа присутствующих значений */
+    SALARY,
+    
+    /** Описание: строки UTF-8 с длиной-префиксом */
+    DESCRIPTION
+}
\ No newline at end of file
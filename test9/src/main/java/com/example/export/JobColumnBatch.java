@@ -0,0 +1,160 @@
+package com.example.export;
+
+import com.example.model.Job;
+import java.util.Set;
+
+/**
+ * Прочитанные колонки одной группы строк колоночного файла. Доступны только колонки,
+ * запрошенные при чтении; обращение к остальным выбрасывает {@link IllegalStateException}.
+ * Значения компании разделяют строки словаря группы.
+ */
+public final class JobColumnBatch {
+    
+    private final RowGroupStats stats;
+    
+    private final Set<JobColumn> columns;
+    
+    private final long[] ids;
+    
+    private final String[] titles;
+    
+    private final String[] companies;
+    
+    /** Зарплаты по строкам; NaN - зарплата не указана */
+    private final double[] salaries;
+    
+    private final String[] descriptions;
+    
+    JobColumnBatch(RowGroupStats stats, Set<JobColumn> columns, long[] ids, String[] titles, String[] companies,
+                   double[] salaries, String[] descriptions) {
+        this.stats = stats;
+        this.columns = columns;
+        this.ids = ids;
+        this.titles = titles;
+        this.companies = companies;
+        this.salaries = salaries;
+        this.descriptions = descriptions;
+    }
+    
+    /**
+     * Возвращает статистику группы строк.
+     * 
+     * @return статистика
+     */
+    public RowGroupStats getStats() {
+        return stats;
+    }
+    
+    /**
+     * Возвращает число строк в группе.
+     * 
+     * @return число строк
+     */
+    public int getRowCount() {
+        return stats.getRowCount();
+    }
+    
+    /**
+     * Проверяет, была ли колонка прочитана.
+     * 
+     * @param column колонка
+     * @return true если колонка доступна
+     */
+    public boolean hasColumn(JobColumn column) {
+        return columns.contains(column);
+    }
+    
+    /**
+     * Возвращает id строки.
+     * 
+     * @param row номер строки в группе
+     * @return id
+     */
+    public long getId(int row) {
+        return require(ids, JobColumn.ID)[row];
+    }
+    
+    /**
+     * Возвращает название строки.
+     * 
+     * @param row номер строки в группе
+     * @return название или null
+     */
+    public String getTitle(int row) {
+        return require(titles, JobColumn.TITLE)[row];
+    }
+    
+    /**
+     * Возвращает компанию строки.
+     * 
+     * @param row номер строки в группе
+     * @return компания или null
+     */
+    public String getCompany(int row) {
+        return require(companies, JobColumn.COMPANY)[row];
+    }
+    
+    /**
+     * Проверяет, указана ли зарплата в строке.
+     * 
+     * @param row номер строки в группе
+     * @return true если зарплата указана
+     */
+    public boolean hasSalary(int row) {
+        return !Double.isNaN(require(salaries, JobColumn.SALARY)[row]);
+    }
+    
+    /**
+     * Возвращает зарплату строки без упаковки - для агрегатов по колонке.
+     * 
+     * @param row номер строки в группе
+     * @return зарплата или NaN, если она не указана
+     */
+    public double getSalaryOrNaN(int row) {
+        return require(salaries, JobColumn.SALARY)[row];
+    }
+    
+    /**
+     * Возвращает зарплату строки.
+     * 
+     * @param row номер строки в группе
+     * @return зарплата или null
+     */
+    public Double getSalary(int row) {
+        double salary = getSalaryOrNaN(row);
+        return Double.isNaN(salary) ? null : salary;
+    }
+    
+    /**
+     * Возвращает описание строки.
+     * 
+     * @param row номер строки в группе
+     * @return описание или null
+     */
+    public String getDescription(int row) {
+        return require(descriptions, JobColumn.DESCRIPTION)[row];
+    }
+    
+    /**
+     * Собирает вакансию из прочитанных колонок; непрочитанные поля равны null.
+     * 
+     * @param row номер строки в группе
+     * @return вакансия
+     */
+    public Job toJob(int row) {
+        return new Job(
+            ids == null ? null : ids[row],
+            titles == null ? null : titles[row],
+            companies == null ? null : companies[row],
+            salaries == null ? null : getSalary(row),
+            descriptions == null ? null : descriptions[row]
+        );
+    }
+    
+    private <A> A require(A values, JobColumn column) {
+        if (values == null) {
+            throw new IllegalStateException("Колонка " + column + " не прочитана");
+        }
+        return values;
+    }
+}
\ No newline at end of file
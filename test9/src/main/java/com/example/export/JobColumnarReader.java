@@ -0,0 +1,284 @@
+package com.example.export;
+
+import com.example.model.Job;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+/**
+ * Чтение колоночного файла вакансий, записанного {@link JobColumnarWriter}.
+ * При открытии читается только футер. Группы строк, отклоненные фильтром по
+ * статистике, не читаются; у принятых групп отображаются в память и декодируются
+ * только запрошенные колонки, каждая после проверки CRC32. Поврежденный файл
+ * приводит к {@link IOException}. Чтения из разных потоков могут идти параллельно.
+ */
+public class JobColumnarReader implements Closeable {
+    
+    private final FileChannel channel;
+    
+    private final List<RowGroupStats> rowGroups;
+    
+    /** Смещения, длины и контрольные суммы колонок: [группа][колонка] */
+    private final long[][] offsets;
+    private final int[][] lengths;
+    private final long[][] checksums;
+    
+    private final long rowCount;
+    
+    /**
+     * Открывает файл и читает его футер.
+     * 
+     * @param file путь к файлу
+     * @throws IOException при ошибке чтения или если файл поврежден
+     */
+    public JobColumnarReader(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Путь не может быть null");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < ColumnarFormat.HEADER_SIZE + ColumnarFormat.TRAILER_SIZE) {
+                throw new IOException("Файл слишком мал для колоночного формата: " + file);
+            }
+            ByteBuffer header = readAt(0, ColumnarFormat.HEADER_SIZE);
+            if (header.getInt() != ColumnarFormat.MAGIC || header.get() != ColumnarFormat.VERSION) {
+                throw new IOException("Файл не является колоночным файлом вакансий: " + file);
+            }
+            ByteBuffer trailer = readAt(size - ColumnarFormat.TRAILER_SIZE, ColumnarFormat.TRAILER_SIZE);
+            int footerLength = trailer.getInt();
+            if (trailer.getInt() != ColumnarFormat.MAGIC || footerLength < 0
+                    || footerLength > size - ColumnarFormat.HEADER_SIZE - ColumnarFormat.TRAILER_SIZE) {
+                throw new IOException("Поврежденное завершение колоночного файла: " + file);
+            }
+            ByteBuffer footer = readAt(size - ColumnarFormat.TRAILER_SIZE - footerLength, footerLength);
+            long dataEnd = size - ColumnarFormat.TRAILER_SIZE - footerLength;
+            try {
+                int groupCount = (int) ColumnarFormat.getVarint(footer);
+                if (groupCount < 0 || groupCount > footerLength) {
+                    throw new IllegalArgumentException("Недопустимое число групп: " + groupCount);
+                }
+                List<RowGroupStats> groups = new ArrayList<>(groupCount);
+                offsets = new long[groupCount][ColumnarFormat.COLUMN_COUNT];
+                lengths = new int[groupCount][ColumnarFormat.COLUMN_COUNT];
+                checksums = new long[groupCount][ColumnarFormat.COLUMN_COUNT];
+                long rows = 0;
+                for (int g = 0; g < groupCount; g++) {
+                    RowGroupStats stats = RowGroupStats.readFrom(footer);
+                    groups.add(stats);
+                    rows += stats.getRowCount();
+                    for (int c = 0; c < ColumnarFormat.COLUMN_COUNT; c++) {
+                        offsets[g][c] = ColumnarFormat.getVarint(footer);
+                        long length = ColumnarFormat.getVarint(footer);
+                        checksums[g][c] = ColumnarFormat.getVarint(footer);
+                        if (offsets[g][c] < ColumnarFormat.HEADER_SIZE || length > Integer.MAX_VALUE
+                                || offsets[g][c] + length > dataEnd) {
+                            throw new IllegalArgumentException("Колонка выходит за пределы данных");
+                        }
+                        lengths[g][c] = (int) length;
+                    }
+                }
+                if (footer.hasRemaining()) {
+                    throw new IllegalArgumentException("Лишние байты в футере");
+                }
+                this.rowGroups = Collections.unmodifiableList(groups);
+                this.rowCount = rows;
+            } catch (IllegalArgumentException | BufferUnderflowException e) {
+                throw new IOException("Поврежденный футер колоночного файла: " + file, e);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Возвращает статистику групп строк в порядке их записи.
+     * 
+     * @return неизменяемый список статистик
+     */
+    public List<RowGroupStats> getRowGroups() {
+        return rowGroups;
+    }
+    
+    /**
+     * Возвращает общее число строк в файле.
+     * 
+     * @return число строк
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+    
+    /**
+     * Читает указанные колонки групп строк, принятых фильтром, и передает их обработчику
+     * по одной группе, не собирая объекты вакансий.
+     * 
+     * @param columns читаемые колонки
+     * @param filter фильтр групп по статистике
+     * @param action обработчик группы
+     * @throws IOException при ошибке чтения или если колонка повреждена
+     */
+    public void scan(Set<JobColumn> columns, Predicate<RowGroupStats> filter, Consumer<JobColumnBatch> action)
+            throws IOException {
+        if (columns == null || filter == null || action == null) {
+            throw new IllegalArgumentException("Колонки, фильтр и обработчик не могут быть null");
+        }
+        Set<JobColumn> selected = columns.isEmpty() ? EnumSet.noneOf(JobColumn.class) : EnumSet.copyOf(columns);
+        for (int g = 0; g < rowGroups.size(); g++) {
+            RowGroupStats stats = rowGroups.get(g);
+            if (filter.test(stats)) {
+                action.accept(readGroup(g, stats, selected));
+            }
+        }
+    }
+    
+    /**
+     * Читает вакансии групп строк, принятых фильтром; непрочитанные поля равны null.
+     * 
+     * @param columns читаемые колонки
+     * @param filter фильтр групп по статистике
+     * @return вакансии в порядке записи
+     * @throws IOException при ошибке чтения или если колонка повреждена
+     */
+    public List<Job> readJobs(Set<JobColumn> columns, Predicate<RowGroupStats> filter) throws IOException {
+        List<Job> jobs = new ArrayList<>();
+        scan(columns, filter, batch -> {
+            for (int row = 0; row < batch.getRowCount(); row++) {
+                jobs.add(batch.toJob(row));
+            }
+        });
+        return jobs;
+    }
+    
+    /**
+     * Читает все вакансии файла со всеми колонками.
+     * 
+     * @return вакансии в порядке записи
+     * @throws IOException при ошибке чтения или если файл поврежден
+     */
+    public List<Job> readAll() throws IOException {
+        return readJobs(EnumSet.allOf(JobColumn.class), stats -> true);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+    private JobColumnBatch readGroup(int g, RowGroupStats stats, Set<JobColumn> columns) throws IOException {
+        int rows = stats.getRowCount();
+        long[] ids = null;
+        String[] titles = null;
+        String[] companies = null;
+        double[] salaries = null;
+        String[] descriptions = null;
+        for (JobColumn column : columns) {
+            ByteBuffer data = map(g, column);
+            try {
+                switch (column) {
+                    case ID -> ids = decodeIds(data, rows);
+                    case TITLE -> titles = decodeStrings(data, rows);
+                    case COMPANY -> companies = decodeCompanies(data, rows);
+                    case SALARY -> salaries = decodeSalaries(data, rows, stats.getSalaryCount());
+                    case DESCRIPTION -> descriptions = decodeStrings(data, rows);
+                }
+                if (data.hasRemaining()) {
+                    throw new IllegalArgumentException("Лишние байты в колонке");
+                }
+            } catch (IllegalArgumentException | BufferUnderflowException | IndexOutOfBoundsException e) {
+                throw new IOException("Поврежденная колонка " + column + " в группе " + g, e);
+            }
+        }
+        return new JobColumnBatch(stats, Collections.unmodifiableSet(columns), ids, titles, companies, salaries,
+                descriptions);
+    }
+    
+    private ByteBuffer map(int g, JobColumn column) throws IOException {
+        int c = column.ordinal();
+        ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, offsets[g][c], lengths[g][c]);
+        CRC32 crc = new CRC32();
+        crc.update(data.duplicate());
+        if (crc.getValue() != checksums[g][c]) {
+            throw new IOException("Несовпадение контрольной суммы колонки " + column + " в группе " + g);
+        }
+        return data;
+    }
+    
+    private static long[] decodeIds(ByteBuffer data, int rows) {
+        long[] ids = new long[rows];
+        long previous = 0;
+        for (int row = 0; row < rows; row++) {
+            previous += ColumnarFormat.unzigzag(ColumnarFormat.getVarint(data));
+            ids[row] = previous;
+        }
+        return ids;
+    }
+    
+    private static String[] decodeStrings(ByteBuffer data, int rows) {
+        String[] values = new String[rows];
+        for (int row = 0; row < rows; row++) {
+            values[row] = ColumnarFormat.getString(data);
+        }
+        return values;
+    }
+    
+    private static String[] decodeCompanies(ByteBuffer data, int rows) {
+        long dictionarySize = ColumnarFormat.getVarint(data);
+        if (dictionarySize > rows) {
+            throw new IllegalArgumentException("Словарь больше числа строк: " + dictionarySize);
+        }
+        String[] dictionary = new String[(int) dictionarySize];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = ColumnarFormat.getString(data);
+        }
+        String[] values = new String[rows];
+        for (int row = 0; row < rows; row++) {
+            long code = ColumnarFormat.getVarint(data);
+            values[row] = code == 0 ? null : dictionary[(int) (code - 1)];
+        }
+        return values;
+    }
+    
+    private static double[] decodeSalaries(ByteBuffer data, int rows, int salaryCount) {
+        byte[] present = new byte[(rows + 7) / 8];
+        data.get(present);
+        double[] salaries = new double[rows];
+        int decoded = 0;
+        for (int row = 0; row < rows; row++) {
+            if ((present[row >>> 3] & (1 << (row & 7))) != 0) {
+                salaries[row] = data.getDouble();
+                decoded++;
+            } else {
+                salaries[row] = Double.NaN;
+            }
+        }
+        if (decoded != salaryCount) {
+            throw new IllegalArgumentException("Число зарплат не совпадает со статистикой");
+        }
+        return salaries;
+    }
+    
+    private ByteBuffer readAt(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Неожиданный конец колоночного файла");
+            }
+        }
+        return buffer.flip();
+    }
+}
\ No newline at end of file
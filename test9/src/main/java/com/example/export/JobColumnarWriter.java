@@ -0,0 +1,277 @@
+package com.example.export;
+
+import com.example.model.Job;
+import com.example.repository.JobRepository;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Запись вакансий в колоночный файл (формат описан в {@link ColumnarFormat}).
+ * Вакансии копятся группами строк; каждая группа кодируется по колонкам: id - разностями,
+ * компания - словарем группы, зарплата - битовой картой наличия и числами, строки -
+ * длиной-префиксом. Файл пишется во временный и переименовывается при {@link #close()},
+ * поэтому читатели никогда не видят недописанный файл.
+ */
+public class JobColumnarWriter implements Closeable {
+    
+    /** Число строк в группе по умолчанию */
+    public static final int DEFAULT_ROW_GROUP_SIZE = 65_536;
+    
+    private final Path file;
+    
+    private final Path temp;
+    
+    private final FileChannel channel;
+    
+    private final int rowGroupSize;
+    
+    /** Вакансии текущей незаписанной группы */
+    private final List<Job> group;
+    
+    /** Буферы колонок текущей группы */
+    private final ColumnarFormat.Chunk[] chunks = new ColumnarFormat.Chunk[ColumnarFormat.COLUMN_COUNT];
+    
+    /** Статистика и расположение колонок записанных групп */
+    private final ColumnarFormat.Chunk footer = new ColumnarFormat.Chunk();
+    
+    private int groupCount;
+    
+    private long rowCount;
+    
+    private boolean closed;
+    
+    /**
+     * Создает запись с размером группы по умолчанию.
+     * 
+     * @param file путь итогового файла
+     * @throws IOException при ошибке создания временного файла
+     */
+    public JobColumnarWriter(Path file) throws IOException {
+        this(file, DEFAULT_ROW_GROUP_SIZE);
+    }
+    
+    /**
+     * Создает запись.
+     * 
+     * @param file путь итогового файла
+     * @param rowGroupSize число строк в группе
+     * @throws IOException при ошибке создания временного файла
+     */
+    public JobColumnarWriter(Path file, int rowGroupSize) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Путь не может быть null");
+        }
+        if (rowGroupSize <= 0) {
+            throw new IllegalArgumentException("Размер группы строк должен быть положительным");
+        }
+        this.file = file;
+        this.temp = file.resolveSibling(file.getFileName() + ".tmp");
+        this.rowGroupSize = rowGroupSize;
+        this.group = new ArrayList<>(Math.min(rowGroupSize, DEFAULT_ROW_GROUP_SIZE));
+        this.channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        writeFully(ByteBuffer.allocate(ColumnarFormat.HEADER_SIZE)
+                .putInt(ColumnarFormat.MAGIC).put(ColumnarFormat.VERSION).flip());
+    }
+    
+    /**
+     * Экспортирует все вакансии репозитория, читая его страницами размером в группу строк.
+     * 
+     * @param repository репозиторий вакансий
+     * @param file путь итогового файла
+     * @param rowGroupSize число строк в группе
+     * @return число записанных вакансий
+     * @throws IOException при ошибке записи
+     */
+    public static long export(JobRepository repository, Path file, int rowGroupSize) throws IOException {
+        if (repository == null) {
+            throw new IllegalArgumentException("Репозиторий не может быть null");
+        }
+        try (JobColumnarWriter writer = new JobColumnarWriter(file, rowGroupSize)) {
+            Long afterId = null;
+            while (true) {
+                List<Job> page = repository.findPage(afterId, rowGroupSize);
+                for (Job job : page) {
+                    writer.write(job);
+                }
+                if (page.size() < rowGroupSize) {
+                    return writer.getRowCount();
+                }
+                afterId = page.get(page.size() - 1).getId();
+            }
+        }
+    }
+    
+    /**
+     * Добавляет вакансию; заполненная группа строк сразу кодируется и пишется в файл.
+     * 
+     * @param job вакансия с идентификатором
+     * @throws IOException при ошибке записи
+     */
+    public void write(Job job) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Запись уже закрыта");
+        }
+        if (job == null || job.getId() == null) {
+            throw new IllegalArgumentException("Вакансия для экспорта должна иметь ID");
+        }
+        if (job.getSalary() != null && job.getSalary().isNaN()) {
+            throw new IllegalArgumentException("Зарплата не может быть NaN");
+        }
+        group.add(job);
+        rowCount++;
+        if (group.size() == rowGroupSize) {
+            flushGroup();
+        }
+    }
+    
+    /**
+     * Возвращает число добавленных вакансий.
+     * 
+     * @return число строк
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+    
+    /**
+     * Дописывает последнюю группу и футер и атомарно публикует файл.
+     * При ошибке временный файл удаляется.
+     * 
+     * @throws IOException при ошибке записи
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        boolean published = false;
+        try (channel) {
+            flushGroup();
+            ColumnarFormat.Chunk tail = new ColumnarFormat.Chunk();
+            tail.putVarint(groupCount);
+            ByteBuffer count = tail.toBuffer();
+            ByteBuffer groups = footer.toBuffer();
+            int footerLength = count.remaining() + groups.remaining();
+            writeFully(count);
+            writeFully(groups);
+            writeFully(ByteBuffer.allocate(ColumnarFormat.TRAILER_SIZE)
+                    .putInt(footerLength).putInt(ColumnarFormat.MAGIC).flip());
+            channel.force(true);
+            published = true;
+        } finally {
+            if (published) {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+    
+    private void flushGroup() throws IOException {
+        if (group.isEmpty()) {
+            return;
+        }
+        int rows = group.size();
+        for (int i = 0; i < chunks.length; i++) {
+            if (chunks[i] == null) {
+                chunks[i] = new ColumnarFormat.Chunk();
+            }
+            chunks[i].clear();
+        }
+        ColumnarFormat.Chunk ids = chunks[JobColumn.ID.ordinal()];
+        ColumnarFormat.Chunk titles = chunks[JobColumn.TITLE.ordinal()];
+        ColumnarFormat.Chunk descriptions = chunks[JobColumn.DESCRIPTION.ordinal()];
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> dictionaryOrder = new ArrayList<>();
+        int[] companyCodes = new int[rows];
+        byte[] salaryPresent = new byte[(rows + 7) / 8];
+        double[] salaries = new double[rows];
+        
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        long previousId = 0;
+        int salaryCount = 0;
+        double minSalary = Double.NaN;
+        double maxSalary = Double.NaN;
+        String minCompany = null;
+        String maxCompany = null;
+        for (int row = 0; row < rows; row++) {
+            Job job = group.get(row);
+            long id = job.getId();
+            ids.putVarint(ColumnarFormat.zigzag(id - previousId));
+            previousId = id;
+            minId = Math.min(minId, id);
+            maxId = Math.max(maxId, id);
+            titles.putString(job.getTitle());
+            descriptions.putString(job.getDescription());
+            
+            String company = job.getCompany();
+            if (company != null) {
+                Integer code = dictionary.get(company);
+                if (code == null) {
+                    code = dictionaryOrder.size();
+                    dictionary.put(company, code);
+                    dictionaryOrder.add(company);
+                    minCompany = minCompany == null || company.compareTo(minCompany) < 0 ? company : minCompany;
+                    maxCompany = maxCompany == null || company.compareTo(maxCompany) > 0 ? company : maxCompany;
+                }
+                companyCodes[row] = code + 1;
+            }
+            
+            Double salary = job.getSalary();
+            if (salary != null) {
+                salaryPresent[row >>> 3] |= (byte) (1 << (row & 7));
+                salaries[salaryCount++] = salary;
+                minSalary = salaryCount == 1 ? salary : Math.min(minSalary, salary);
+                maxSalary = salaryCount == 1 ? salary : Math.max(maxSalary, salary);
+            }
+        }
+        ColumnarFormat.Chunk companies = chunks[JobColumn.COMPANY.ordinal()];
+        companies.putVarint(dictionaryOrder.size());
+        for (String company : dictionaryOrder) {
+            companies.putString(company);
+        }
+        for (int code : companyCodes) {
+            companies.putVarint(code);
+        }
+        ColumnarFormat.Chunk salaryChunk = chunks[JobColumn.SALARY.ordinal()];
+        salaryChunk.putBytes(salaryPresent);
+        for (int i = 0; i < salaryCount; i++) {
+            salaryChunk.putDouble(salaries[i]);
+        }
+        
+        new RowGroupStats(rows, minId, maxId, salaryCount, minSalary, maxSalary, minCompany, maxCompany)
+                .writeTo(footer);
+        CRC32 crc = new CRC32();
+        for (ColumnarFormat.Chunk chunk : chunks) {
+            ByteBuffer bytes = chunk.toBuffer();
+            crc.reset();
+            crc.update(bytes.duplicate());
+            footer.putVarint(channel.position());
+            footer.putVarint(bytes.remaining());
+            footer.putVarint(crc.getValue());
+            writeFully(bytes);
+        }
+        groupCount++;
+        group.clear();
+    }
+    
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.example.export;
+
+import com.example.model.Person;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Кодировщик записи экспорта: превращает человека в байты выходного потока.
+ */
+@FunctionalInterface
+public interface PersonEncoder {
+    
+    /**
+     * Записывает одного человека в поток.
+     * 
+     * @param person человек
+     * @param out выходной поток
+     * @throws IOException при ошибке записи
+     */
+    void encode(Person person, OutputStream out) throws IOException;
+    
+    /**
+     * Возвращает кодировщик CSV (UTF-8, одна строка на человека):
+     * {@code id,lastName,firstName,age,email}. Значения null записываются пустыми,
+     * поля с запятыми, кавычками и переводами строк заключаются в кавычки.
+     * 
+     * @return кодировщик CSV
+     */
+    static PersonEncoder csv() {
+        return (person, out) -> {
+            StringBuilder line = new StringBuilder(64);
+            line.append(person.getId()).append(',');
+            appendCsvField(line, person.getLastName());
+            line.append(',');
+            appendCsvField(line, person.getFirstName());
+            line.append(',');
+            if (person.getAge() != null) {
+                line.append(person.getAge());
+            }
+            line.append(',');
+            appendCsvField(line, person.getEmail());
+            line.append('\n');
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        };
+    }
+    
+    private static void appendCsvField(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.example.export;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Статистика группы строк колоночного файла вакансий: число строк и минимальные
+ * и максимальные значения id, зарплаты и компании. Читатель передает ее фильтру
+ * групп до чтения колонок, поэтому группы, заведомо не содержащие нужных строк,
+ * пропускаются целиком.
+ */
+public final class RowGroupStats {
+    
+    private final int rowCount;
+    
+    private final long minId;
+    
+    private final long maxId;
+    
+    /** Число строк с зарплатой */
+    private final int salaryCount;
+    
+    private final double minSalary;
+    
+    private final double maxSalary;
+    
+    private final String minCompany;
+    
+    private final String maxCompany;
+    
+    RowGroupStats(int rowCount, long minId, long maxId, int salaryCount, double minSalary, double maxSalary,
+                  String minCompany, String maxCompany) {
+        this.rowCount = rowCount;
+        this.minId = minId;
+        this.maxId = maxId;
+        this.salaryCount = salaryCount;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.minCompany = minCompany;
+        this.maxCompany = maxCompany;
+    }
+    
+    /**
+     * Возвращает число строк в группе.
+     * 
+     * @return число строк
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+    
+    /**
+     * Возвращает минимальный id группы.
+     * 
+     * @return минимальный id
+     */
+    public long getMinId() {
+        return minId;
+    }
+    
+    /**
+     * Возвращает максимальный id группы.
+     * 
+     * @return максимальный id
+     */
+    public long getMaxId() {
+        return maxId;
+    }
+    
+    /**
+     * Возвращает число строк с указанной зарплатой.
+     * 
+     * @return число зарплат
+     */
+    public int getSalaryCount() {
+        return salaryCount;
+    }
+    
+    /**
+     * Возвращает минимальную зарплату группы.
+     * 
+     * @return минимальная зарплата или null, если зарплат нет
+     */
+    public Double getMinSalary() {
+        return salaryCount == 0 ? null : minSalary;
+    }
+    
+    /**
+     * Возвращает максимальную зарплату группы.
+     * 
+     * @return максимальная зарплата или null, если зарплат нет
+     */
+    public Double getMaxSalary() {
+        return salaryCount == 0 ? null : maxSalary;
+    }
+    
+    /**
+     * Возвращает лексикографически наименьшую компанию группы.
+     * 
+     * @return компания или null, если компаний нет
+     */
+    public String getMinCompany() {
+        return minCompany;
+    }
+    
+    /**
+     * Возвращает лексикографически наибольшую компанию группы.
+     * 
+     * @return компания или null, если компаний нет
+     */
+    public String getMaxCompany() {
+        return maxCompany;
+    }
+    
+    /**
+     * Проверяет, может ли группа содержать id из диапазона.
+     * 
+     * @param from нижняя граница включительно
+     * @param to верхняя граница включительно
+     * @return false, если группа заведомо не содержит таких id
+     */
+    public boolean mayContainIds(long from, long to) {
+        return maxId >= from && minId <= to;
+    }
+    
+    /**
+     * Проверяет, может ли группа содержать зарплату из диапазона.
+     * 
+     * @param from нижняя граница включительно
+     * @param to верхняя граница включительно
+     * @return false, если группа заведомо не содержит таких зарплат
+     */
+    public boolean mayContainSalaries(double from, double to) {
+        return salaryCount > 0 && maxSalary >= from && minSalary <= to;
+    }
+    
+    /**
+     * Проверяет, может ли группа содержать вакансии компании.
+     * 
+     * @param company компания
+     * @return false, если группа заведомо не содержит вакансий компании
+     */
+    public boolean mayContainCompany(String company) {
+        if (company == null) {
+            throw new IllegalArgumentException("Компания не может быть null");
+        }
+        return minCompany != null && minCompany.compareTo(company) <= 0 && maxCompany.compareTo(company) >= 0;
+    }
+    
+    void writeTo(ColumnarFormat.Chunk footer) {
+        footer.putVarint(rowCount);
+        footer.putVarint(ColumnarFormat.zigzag(minId));
+        footer.putVarint(ColumnarFormat.zigzag(maxId));
+        footer.putVarint(salaryCount);
+        footer.putDouble(minSalary);
+        footer.putDouble(maxSalary);
+        footer.putString(minCompany);
+        footer.putString(maxCompany);
+    }
+    
+    static RowGroupStats readFrom(ByteBuffer footer) {
+        int rowCount = (int) ColumnarFormat.getVarint(footer);
+        long minId = ColumnarFormat.unzigzag(ColumnarFormat.getVarint(footer));
+        long maxId = ColumnarFormat.unzigzag(ColumnarFormat.getVarint(footer));
+        int salaryCount = (int) ColumnarFormat.getVarint(footer);
+        double minSalary = footer.getDouble();
+        double maxSalary = footer.getDouble();
+        String minCompany = ColumnarFormat.getString(footer);
+        String maxCompany = ColumnarFormat.getString(footer);
+        if (rowCount <= 0 || salaryCount < 0 || salaryCount > rowCount || minId > maxId) {
+            throw new IllegalArgumentException("Поврежденная статистика группы строк");
+        }
+        return new RowGroupStats(rowCount, minId, maxId, salaryCount, minSalary, maxSalary, minCompany, maxCompany);
+    }
+    
+    @Override
+    public String toString() {
+        return "RowGroupStats{" +
+                "rowCount=" + rowCount +
+                ", id=[" + minId + ", " + maxId + "]" +
+                ", salaryCount=" + salaryCount +
+                ", salary=[" + getMinSalary() + ", " + getMaxSalary() + "]" +
+                ", company=[" + minCompany + ", " + maxCompany + "]" +
+                '}';
+    }
+}
\ No newline at end of file
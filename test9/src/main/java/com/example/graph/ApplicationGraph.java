@@ -0,0 +1,314 @@
+package com.example.graph;
+
+import com.example.aggregate.AggregateView;
+import com.example.model.Job;
+import com.example.model.Person;
+import com.example.service.PersonChangeListener;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Граф откликов людей на вакансии. Каждый отклик хранится дважды: в прямом списке
+ * человека (вакансии, на которые он откликнулся) и в обратном списке вакансии
+ * (откликнувшиеся люди), оба - на массивах long, без упаковки и объектов ребер.
+ * Списки отвечают за O(степени), удаление человека или вакансии удаляет все их отклики.
+ * Отклик занимает около 16 байт плюс запас роста массивов, который снимает {@link #trimToSize()}.
+ * Повторный отклик проверяется по прямому списку человека, который обычно короче
+ * списка популярной вакансии. Потокобезопасен: чтения идут параллельно, записи - по одной.
+ */
+public class ApplicationGraph {
+    
+    /** Вакансии по человеку */
+    private final LongAdjacency jobsByPerson = new LongAdjacency();
+    
+    /** Люди по вакансии */
+    private final LongAdjacency applicantsByJob = new LongAdjacency();
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private long applicationCount;
+    
+    /**
+     * Регистрирует отклик человека на вакансию.
+     * 
+     * @param personId идентификатор человека
+     * @param jobId идентификатор вакансии
+     * @return true если отклик добавлен, false если он уже был
+     */
+    public boolean apply(long personId, long jobId) {
+        lock.writeLock().lock();
+        try {
+            if (jobsByPerson.contains(personId, jobId)) {
+                return false;
+            }
+            jobsByPerson.add(personId, jobId);
+            applicantsByJob.add(jobId, personId);
+            applicationCount++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Отзывает отклик человека на вакансию.
+     * 
+     * @param personId идентификатор человека
+     * @param jobId идентификатор вакансии
+     * @return true если отклик был и удален
+     */
+    public boolean withdraw(long personId, long jobId) {
+        lock.writeLock().lock();
+        try {
+            if (!jobsByPerson.remove(personId, jobId)) {
+                return false;
+            }
+            applicantsByJob.remove(jobId, personId);
+            applicationCount--;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Проверяет наличие отклика за O(числа откликов человека).
+     * 
+     * @param personId идентификатор человека
+     * @param jobId идентификатор вакансии
+     * @return true если человек откликнулся на вакансию
+     */
+    public boolean hasApplied(long personId, long jobId) {
+        lock.readLock().lock();
+        try {
+            return jobsByPerson.contains(personId, jobId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает людей, откликнувшихся на вакансию.
+     * 
+     * @param jobId идентификатор вакансии
+     * @return идентификаторы людей в произвольном порядке (копия)
+     */
+    public long[] applicantsOf(long jobId) {
+        lock.readLock().lock();
+        try {
+            return applicantsByJob.neighbors(jobId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает вакансии, на которые откликнулся человек.
+     * 
+     * @param personId идентификатор человека
+     * @return идентификаторы вакансий в произвольном порядке (копия)
+     */
+    public long[] jobsAppliedBy(long personId) {
+        lock.readLock().lock();
+        try {
+            return jobsByPerson.neighbors(personId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Обходит людей, откликнувшихся на вакансию, без копирования списка.
+     * Обработчик выполняется под блокировкой чтения и не должен менять граф.
+     * 
+     * @param jobId идентификатор вакансии
+     * @param action обработчик идентификатора человека
+     */
+    public void forEachApplicant(long jobId, LongConsumer action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Обработчик не может быть null");
+        }
+        lock.readLock().lock();
+        try {
+            applicantsByJob.forEachNeighbor(jobId, action);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает число откликов на вакансию за O(1).
+     * 
+     * @param jobId идентификатор вакансии
+     * @return число откликнувшихся людей
+     */
+    public int applicantCount(long jobId) {
+        lock.readLock().lock();
+        try {
+            return applicantsByJob.degree(jobId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает число откликов человека за O(1).
+     * 
+     * @param personId идентификатор человека
+     * @return число вакансий
+     */
+    public int applicationCount(long personId) {
+        lock.readLock().lock();
+        try {
+            return jobsByPerson.degree(personId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Удаляет все отклики человека за O(суммы числа откликов на его вакансии).
+     * 
+     * @param personId идентификатор человека
+     * @return число удаленных откликов
+     */
+    public int removePerson(long personId) {
+        lock.writeLock().lock();
+        try {
+            long[] jobs = jobsByPerson.removeNode(personId);
+            for (long jobId : jobs) {
+                applicantsByJob.remove(jobId, personId);
+            }
+            applicationCount -= jobs.length;
+            return jobs.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Удаляет все отклики на вакансию за O(суммы числа откликов ее кандидатов).
+     * 
+     * @param jobId идентификатор вакансии
+     * @return число удаленных откликов
+     */
+    public int removeJob(long jobId) {
+        lock.writeLock().lock();
+        try {
+            long[] applicants = applicantsByJob.removeNode(jobId);
+            for (long personId : applicants) {
+                jobsByPerson.remove(personId, jobId);
+            }
+            applicationCount -= applicants.length;
+            return applicants.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает общее число откликов.
+     * 
+     * @return число ребер графа
+     */
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return applicationCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает число байт, занятых списками и таблицами обоих направлений
+     * (без заголовков массивов).
+     * 
+     * @return оценка занятой памяти
+     */
+    public long allocatedBytes() {
+        lock.readLock().lock();
+        try {
+            return jobsByPerson.allocatedBytes() + applicantsByJob.allocatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Обрезает массивы списков до фактического размера, например после массовой загрузки.
+     */
+    public void trimToSize() {
+        lock.writeLock().lock();
+        try {
+            jobsByPerson.trimToSize();
+            applicantsByJob.trimToSize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Удаляет все отклики.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            jobsByPerson.clear();
+            applicantsByJob.clear();
+            applicationCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает слушателя PersonService, удаляющего отклики удаленных людей
+     * и все отклики при очистке хранилища.
+     * 
+     * @return слушатель для {@code PersonService.addChangeListener}
+     */
+    public PersonChangeListener personListener() {
+        return new PersonChangeListener() {
+            @Override
+            public void onChange(Person oldPerson, Person newPerson) {
+                if (newPerson == null && oldPerson != null && oldPerson.getId() != null) {
+                    removePerson(oldPerson.getId());
+                }
+            }
+            
+            @Override
+            public void onClear() {
+                clear();
+            }
+        };
+    }
+    
+    /**
+     * Возвращает представление для хранилища вакансий, удаляющее отклики удаленных вакансий
+     * и все отклики при очистке хранилища. Сброс представления при регистрации или
+     * перестройке отклики не трогает: они не выводятся из данных вакансий.
+     * 
+     * @return представление для {@code InMemoryJobRepository.registerView}
+     */
+    public AggregateView<Job> jobView() {
+        return new AggregateView<>() {
+            @Override
+            public void apply(Job oldValue, Job newValue) {
+                if (newValue == null && oldValue != null && oldValue.getId() != null) {
+                    removeJob(oldValue.getId());
+                }
+            }
+            
+            @Override
+            public void reset() {
+                // Отклики не выводятся из вакансий - сбрасывать нечего
+            }
+            
+            @Override
+            public void onClear() {
+                clear();
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,238 @@
+package com.example.graph;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Списки смежности с ключами и соседями типа long без упаковки.
+ * Узлы лежат в хеш-таблице с открытой адресацией и линейным пробированием;
+ * у каждого узла - собственный массив соседей и их число. Пустая ячейка таблицы
+ * обозначается отсутствием массива, поэтому допустимы любые значения ключей.
+ * Узел без соседей удаляется сразу, а удаление из таблицы сдвигает следующие
+ * ячейки цепочки назад, так что таблица не копит надгробий. Не потокобезопасен.
+ */
+final class LongAdjacency {
+    
+    private static final int INITIAL_CAPACITY = 16;
+    
+    /** Начальная емкость списка соседей нового узла */
+    private static final int INITIAL_DEGREE_CAPACITY = 2;
+    
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    
+    private long[] keys = new long[INITIAL_CAPACITY];
+    
+    /** Соседи узла по ячейке; null - ячейка свободна */
+    private long[][] lists = new long[INITIAL_CAPACITY][];
+    
+    private int[] degrees = new int[INITIAL_CAPACITY];
+    
+    private int nodeCount;
+    
+    /**
+     * Добавляет соседа узла без проверки на повтор.
+     * 
+     * @param key узел
+     * @param neighbor сосед
+     */
+    void add(long key, long neighbor) {
+        int slot = find(key);
+        if (slot < 0) {
+            if ((nodeCount + 1) * 4L > keys.length * 3L) {
+                resize(keys.length * 2);
+            }
+            slot = -find(key) - 1;
+            keys[slot] = key;
+            lists[slot] = new long[INITIAL_DEGREE_CAPACITY];
+            nodeCount++;
+        }
+        long[] list = lists[slot];
+        int degree = degrees[slot];
+        if (degree == list.length) {
+            // Рост в полтора раза: меньше запаса на узел, чем при удвоении
+            list = Arrays.copyOf(list, degree + Math.max(2, degree >> 1));
+            lists[slot] = list;
+        }
+        list[degree] = neighbor;
+        degrees[slot] = degree + 1;
+    }
+    
+    /**
+     * Удаляет одно вхождение соседа, перенося на его место последнего соседа.
+     * 
+     * @param key узел
+     * @param neighbor сосед
+     * @return true если сосед был в списке
+     */
+    boolean remove(long key, long neighbor) {
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        long[] list = lists[slot];
+        int degree = degrees[slot];
+        for (int i = 0; i < degree; i++) {
+            if (list[i] == neighbor) {
+                list[i] = list[degree - 1];
+                degrees[slot] = degree - 1;
+                if (degree == 1) {
+                    removeSlot(slot);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Удаляет узел вместе с его списком.
+     * 
+     * @param key узел
+     * @return соседи удаленного узла (пустой массив, если узла не было)
+     */
+    long[] removeNode(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return new long[0];
+        }
+        long[] neighbors = Arrays.copyOf(lists[slot], degrees[slot]);
+        removeSlot(slot);
+        return neighbors;
+    }
+    
+    boolean contains(long key, long neighbor) {
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        long[] list = lists[slot];
+        for (int i = degrees[slot] - 1; i >= 0; i--) {
+            if (list[i] == neighbor) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    int degree(long key) {
+        int slot = find(key);
+        return slot < 0 ? 0 : degrees[slot];
+    }
+    
+    long[] neighbors(long key) {
+        int slot = find(key);
+        return slot < 0 ? new long[0] : Arrays.copyOf(lists[slot], degrees[slot]);
+    }
+    
+    void forEachNeighbor(long key, LongConsumer action) {
+        int slot = find(key);
+        if (slot < 0) {
+            return;
+        }
+        long[] list = lists[slot];
+        int degree = degrees[slot];
+        for (int i = 0; i < degree; i++) {
+            action.accept(list[i]);
+        }
+    }
+    
+    int nodeCount() {
+        return nodeCount;
+    }
+    
+    /**
+     * Возвращает число байт, занятых таблицей и массивами соседей (без заголовков объектов).
+     * 
+     * @return оценка занятой памяти
+     */
+    long allocatedBytes() {
+        long bytes = keys.length * (8L + 8L + 4L);
+        for (long[] list : lists) {
+            if (list != null) {
+                bytes += 8L * list.length;
+            }
+        }
+        return bytes;
+    }
+    
+    /**
+     * Обрезает массивы соседей до их фактического размера.
+     */
+    void trimToSize() {
+        for (int slot = 0; slot < lists.length; slot++) {
+            if (lists[slot] != null && lists[slot].length > degrees[slot]) {
+                lists[slot] = Arrays.copyOf(lists[slot], degrees[slot]);
+            }
+        }
+    }
+    
+    void clear() {
+        keys = new long[INITIAL_CAPACITY];
+        lists = new long[INITIAL_CAPACITY][];
+        degrees = new int[INITIAL_CAPACITY];
+        nodeCount = 0;
+    }
+    
+    /**
+     * Ищет ячейку узла.
+     * 
+     * @return ячейка узла или -(свободная ячейка + 1), если узла нет
+     */
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (lists[slot] != null) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -slot - 1;
+    }
+    
+    /**
+     * Освобождает ячейку и сдвигает назад следующие ячейки цепочки, которые
+     * иначе стали бы недостижимы от своей начальной позиции.
+     */
+    private void removeSlot(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (lists[next] != null) {
+            int home = hash(keys[next]) & mask;
+            // Элемент можно перенести в дыру, если его начальная позиция не лежит между дырой и ним
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                lists[hole] = lists[next];
+                degrees[hole] = degrees[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        lists[hole] = null;
+        degrees[hole] = 0;
+        nodeCount--;
+    }
+    
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[][] oldLists = lists;
+        int[] oldDegrees = degrees;
+        keys = new long[capacity];
+        lists = new long[capacity][];
+        degrees = new int[capacity];
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldLists[slot] != null) {
+                int target = -find(oldKeys[slot]) - 1;
+                keys[target] = oldKeys[slot];
+                lists[target] = oldLists[slot];
+                degrees[target] = oldDegrees[slot];
+            }
+        }
+    }
+    
+    private static int hash(long key) {
+        long z = key * GOLDEN;
+        return (int) (z ^ (z >>> 32));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,224 @@
+package com.example.json;
+
+import com.example.model.Job;
+import com.example.model.Person;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JSON-кодек для Person и Job, написанный вручную поверх {@link JsonWriter}
+ * и {@link JsonReader}, без отражения и промежуточного дерева.
+ * Поля со значением null записываются явно, поэтому кодирование и разбор
+ * восстанавливают объект в точности; неизвестные поля при разборе пропускаются.
+ */
+public final class JsonCodec {
+    
+    private static final byte[][] PERSON_FIELDS = names("id", "firstName", "lastName", "age", "email");
+    private static final byte[][] JOB_FIELDS = names("id", "title", "company", "salary", "description");
+    
+    private JsonCodec() {
+        // Utility class
+    }
+    
+    /**
+     * Записывает человека как объект JSON.
+     * 
+     * @param writer писатель
+     * @param person человек
+     */
+    public static void writePerson(JsonWriter writer, Person person) {
+        writer.beginObject()
+            .name("id").value(person.getId())
+            .name("firstName").value(person.getFirstName())
+            .name("lastName").value(person.getLastName())
+            .name("age").value(person.getAge())
+            .name("email").value(person.getEmail())
+            .endObject();
+    }
+    
+    /**
+     * Читает человека из объекта JSON.
+     * 
+     * @param reader читатель
+     * @return человек
+     */
+    public static Person readPerson(JsonReader reader) {
+        Person person = new Person();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName(PERSON_FIELDS)) {
+                case 0:
+                    person.setId(reader.nextLongOrNull());
+                    break;
+                case 1:
+                    person.setFirstName(reader.nextString());
+                    break;
+                case 2:
+                    person.setLastName(reader.nextString());
+                    break;
+                case 3:
+                    person.setAge(reader.nextIntegerOrNull());
+                    break;
+                case 4:
+                    person.setEmail(reader.nextString());
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return person;
+    }
+    
+    /**
+     * Записывает вакансию как объект JSON.
+     * 
+     * @param writer писатель
+     * @param job вакансия
+     */
+    public static void writeJob(JsonWriter writer, Job job) {
+        writer.beginObject()
+            .name("id").value(job.getId())
+            .name("title").value(job.getTitle())
+            .name("company").value(job.getCompany())
+            .name("salary").value(job.getSalary())
+            .name("description").value(job.getDescription())
+            .endObject();
+    }
+    
+    /**
+     * Читает вакансию из объекта JSON.
+     * 
+     * @param reader читатель
+     * @return вакансия
+     */
+    public static Job readJob(JsonReader reader) {
+        Job job = new Job();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName(JOB_FIELDS)) {
+                case 0:
+                    job.setId(reader.nextLongOrNull());
+                    break;
+                case 1:
+                    job.setTitle(reader.nextString());
+                    break;
+                case 2:
+                    job.setCompany(reader.nextString());
+                    break;
+                case 3:
+                    job.setSalary(reader.nextDoubleOrNull());
+                    break;
+                case 4:
+                    job.setDescription(reader.nextString());
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return job;
+    }
+    
+    /**
+     * Записывает список людей как массив JSON в поток.
+     * 
+     * @param persons люди
+     * @param out выходной поток (не закрывается)
+     */
+    public static void writePersons(Collection<Person> persons, OutputStream out) {
+        JsonWriter writer = new JsonWriter(out).beginArray();
+        for (Person person : persons) {
+            writePerson(writer, person);
+        }
+        writer.endArray().flush();
+    }
+    
+    /**
+     * Записывает список людей как массив JSON в буфер.
+     * 
+     * @param persons люди
+     * @param target буфер назначения
+     */
+    public static void writePersons(Collection<Person> persons, ByteBuffer target) {
+        JsonWriter writer = new JsonWriter(target).beginArray();
+        for (Person person : persons) {
+            writePerson(writer, person);
+        }
+        writer.endArray().flush();
+    }
+    
+    /**
+     * Читает массив людей из буфера.
+     * 
+     * @param source буфер с JSON
+     * @return список людей
+     */
+    public static List<Person> readPersons(ByteBuffer source) {
+        JsonReader reader = new JsonReader(source);
+        List<Person> persons = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            persons.add(readPerson(reader));
+        }
+        reader.endArray();
+        return persons;
+    }
+    
+    /**
+     * Записывает список вакансий как массив JSON в поток.
+     * 
+     * @param jobs вакансии
+     * @param out выходной поток (не закрывается)
+     */
+    public static void writeJobs(Collection<Job> jobs, OutputStream out) {
+        JsonWriter writer = new JsonWriter(out).beginArray();
+        for (Job job : jobs) {
+            writeJob(writer, job);
+        }
+        writer.endArray().flush();
+    }
+    
+    /**
+     * Записывает список вакансий как массив JSON в буфер.
+     * 
+     * @param jobs вакансии
+     * @param target буфер назначения
+     */
+    public static void writeJobs(Collection<Job> jobs, ByteBuffer target) {
+        JsonWriter writer = new JsonWriter(target).beginArray();
+        for (Job job : jobs) {
+            writeJob(writer, job);
+        }
+        writer.endArray().flush();
+    }
+    
+    /**
+     * Читает массив вакансий из буфера.
+     * 
+     * @param source буфер с JSON
+     * @return список вакансий
+     */
+    public static List<Job> readJobs(ByteBuffer source) {
+        JsonReader reader = new JsonReader(source);
+        List<Job> jobs = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            jobs.add(readJob(reader));
+        }
+        reader.endArray();
+        return jobs;
+    }
+    
+    private static byte[][] names(String... names) {
+        byte[][] encoded = new byte[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            encoded[i] = names[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return encoded;
+    }
+}
\ No newline at end of file
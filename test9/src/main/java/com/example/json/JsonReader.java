@@ -0,0 +1,600 @@
+package com.example.json;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Потоковое чтение JSON в UTF-8 из ByteBuffer без промежуточного дерева.
+ * Имена полей можно сопоставлять с заранее закодированными вариантами
+ * ({@link #nextName(byte[][])}) без создания строк, а временный буфер символов
+ * переиспользуется между значениями. После чтения значения верхнего уровня
+ * позиция буфера указывает сразу за ним.
+ * Объект не потокобезопасен. Ошибки разбора сообщаются через IllegalArgumentException.
+ */
+public final class JsonReader {
+    
+    /** Максимальная глубина вложенности */
+    private static final int MAX_DEPTH = 64;
+    
+    /** Степени десяти, представимые в double точно */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    
+    /** Наибольшая мантисса, при которой деление на степень десяти округляется верно */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    
+    private ByteBuffer source;
+    private int position;
+    private int limit;
+    
+    /** Признак "в текущем контейнере еще не было элементов" по уровням вложенности */
+    private final boolean[] first = new boolean[MAX_DEPTH];
+    private int depth;
+    
+    /** Следующее значение - значение поля объекта */
+    private boolean afterName;
+    
+    /** Запятая перед следующим элементом уже прочитана в {@link #hasNext()} */
+    private boolean commaConsumed;
+    
+    /** Переиспользуемый буфер символов для строк и чисел */
+    private char[] chars = new char[64];
+    
+    /**
+     * Создает читатель, начинающий с текущей позиции буфера.
+     * 
+     * @param source буфер с JSON
+     */
+    public JsonReader(ByteBuffer source) {
+        reset(source);
+    }
+    
+    /**
+     * Переключает читатель на новый буфер, сбрасывая состояние.
+     * 
+     * @param source буфер с JSON
+     * @return этот читатель
+     */
+    public JsonReader reset(ByteBuffer source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Буфер не может быть null");
+        }
+        this.source = source;
+        this.position = source.position();
+        this.limit = source.limit();
+        this.depth = 0;
+        this.afterName = false;
+        this.commaConsumed = false;
+        return this;
+    }
+    
+    /**
+     * Читает начало объекта.
+     */
+    public void beginObject() {
+        open('{');
+    }
+    
+    /**
+     * Читает конец объекта.
+     */
+    public void endObject() {
+        close('}');
+    }
+    
+    /**
+     * Читает начало массива.
+     */
+    public void beginArray() {
+        open('[');
+    }
+    
+    /**
+     * Читает конец массива.
+     */
+    public void endArray() {
+        close(']');
+    }
+    
+    /**
+     * Проверяет, есть ли в текущем контейнере еще элементы.
+     * 
+     * @return true если следующий элемент есть
+     */
+    public boolean hasNext() {
+        byte b = peek();
+        if (b == '}' || b == ']') {
+            return false;
+        }
+        if (depth > 0 && !first[depth - 1] && !commaConsumed) {
+            expect(',');
+            commaConsumed = true;
+        }
+        return true;
+    }
+    
+    /**
+     * Читает имя поля.
+     * 
+     * @return имя поля
+     */
+    public String nextName() {
+        beforeElement();
+        String name = readString();
+        expect(':');
+        afterName = true;
+        return name;
+    }
+    
+    /**
+     * Читает имя поля и находит его среди известных имен без создания строки.
+     * 
+     * @param names известные имена в UTF-8
+     * @return индекс совпавшего имени или -1, если имя неизвестно
+     */
+    public int nextName(byte[][] names) {
+        beforeElement();
+        expect('"');
+        int start = position;
+        while (position < limit && source.get(position) != '"' && source.get(position) != '\\') {
+            position++;
+        }
+        int match = -1;
+        if (position < limit && source.get(position) == '"') {
+            match = matchName(names, start, position - start);
+            position++;
+        } else {
+            // Имя с экранированием: декодируем и сравниваем как строки
+            position = start - 1;
+            String name = readString();
+            for (int i = 0; i < names.length && match < 0; i++) {
+                if (name.equals(new String(names[i], StandardCharsets.UTF_8))) {
+                    match = i;
+                }
+            }
+        }
+        expect(':');
+        afterName = true;
+        return match;
+    }
+    
+    /**
+     * Читает строку или null.
+     * 
+     * @return строка или null
+     */
+    public String nextString() {
+        beforeElement();
+        if (consumeNull()) {
+            return null;
+        }
+        return readString();
+    }
+    
+    /**
+     * Читает целое число.
+     * 
+     * @return число
+     */
+    public long nextLong() {
+        beforeElement();
+        return readLong();
+    }
+    
+    /**
+     * Читает целое число или null.
+     * 
+     * @return число или null
+     */
+    public Long nextLongOrNull() {
+        beforeElement();
+        return consumeNull() ? null : readLong();
+    }
+    
+    /**
+     * Читает целое число типа int или null.
+     * 
+     * @return число или null
+     */
+    public Integer nextIntegerOrNull() {
+        beforeElement();
+        if (consumeNull()) {
+            return null;
+        }
+        long value = readLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw error("число вне диапазона int: " + value);
+        }
+        return (int) value;
+    }
+    
+    /**
+     * Читает дробное число или null.
+     * 
+     * @return число или null
+     */
+    public Double nextDoubleOrNull() {
+        beforeElement();
+        return consumeNull() ? null : readDouble();
+    }
+    
+    /**
+     * Пропускает следующее значение любого типа вместе с вложенными.
+     */
+    public void skipValue() {
+        beforeElement();
+        byte b = peek();
+        if (b == '{' || b == '[') {
+            int nested = 0;
+            do {
+                b = nextByte();
+                if (b == '"') {
+                    position--;
+                    skipString();
+                } else if (b == '{' || b == '[') {
+                    nested++;
+                } else if (b == '}' || b == ']') {
+                    nested--;
+                }
+            } while (nested > 0);
+        } else if (b == '"') {
+            skipString();
+        } else if (consumeNull()) {
+            return;
+        } else if (b == 't') {
+            expectLiteral("true");
+        } else if (b == 'f') {
+            expectLiteral("false");
+        } else {
+            readDouble();
+        }
+        afterTopLevelValue();
+    }
+    
+    private void open(char bracket) {
+        beforeElement();
+        expect(bracket);
+        if (depth == MAX_DEPTH) {
+            throw error("слишком глубокая вложенность");
+        }
+        first[depth++] = true;
+    }
+    
+    private void close(char bracket) {
+        if (depth == 0 || afterName) {
+            throw error("неожиданный '" + bracket + "'");
+        }
+        expect(bracket);
+        depth--;
+        commaConsumed = false;
+        afterTopLevelValue();
+    }
+    
+    private void beforeElement() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (!first[depth - 1] && !commaConsumed) {
+                expect(',');
+            }
+            first[depth - 1] = false;
+            commaConsumed = false;
+        }
+    }
+    
+    /** Фиксирует позицию буфера после значения верхнего уровня */
+    private void afterTopLevelValue() {
+        if (depth == 0) {
+            source.position(position);
+        }
+    }
+    
+    private boolean consumeNull() {
+        if (peek() != 'n') {
+            return false;
+        }
+        expectLiteral("null");
+        afterTopLevelValue();
+        return true;
+    }
+    
+    private String readString() {
+        expect('"');
+        int length = 0;
+        while (true) {
+            int b = nextByte() & 0xFF;
+            if (b == '"') {
+                break;
+            }
+            if (length + 2 > chars.length) {
+                char[] grown = new char[chars.length * 2];
+                System.arraycopy(chars, 0, grown, 0, length);
+                chars = grown;
+            }
+            if (b == '\\') {
+                chars[length++] = readEscape();
+            } else if (b < 0x80) {
+                if (b < 0x20) {
+                    throw error("управляющий символ в строке");
+                }
+                chars[length++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0) {
+                chars[length++] = (char) (((b & 0x1F) << 6) | continuation());
+            } else if ((b & 0xF0) == 0xE0) {
+                chars[length++] = (char) (((b & 0x0F) << 12) | (continuation() << 6) | continuation());
+            } else if ((b & 0xF8) == 0xF0) {
+                int codePoint = ((b & 0x07) << 18) | (continuation() << 12) | (continuation() << 6) | continuation();
+                chars[length++] = Character.highSurrogate(codePoint);
+                chars[length++] = Character.lowSurrogate(codePoint);
+            } else {
+                throw error("некорректный байт UTF-8");
+            }
+        }
+        String result = new String(chars, 0, length);
+        afterTopLevelValue();
+        return result;
+    }
+    
+    private int continuation() {
+        int b = nextByte() & 0xFF;
+        if ((b & 0xC0) != 0x80) {
+            throw error("некорректный байт UTF-8");
+        }
+        return b & 0x3F;
+    }
+    
+    private char readEscape() {
+        byte b = nextByte();
+        switch (b) {
+            case '"': return '"';
+            case '\\': return '\\';
+            case '/': return '/';
+            case 'n': return '\n';
+            case 'r': return '\r';
+            case 't': return '\t';
+            case 'b': return '\b';
+            case 'f': return '\f';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(nextByte(), 16);
+                    if (digit < 0) {
+                        throw error("некорректная последовательность \\u");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            default:
+                throw error("неизвестное экранирование \\" + (char) b);
+        }
+    }
+    
+    private void skipString() {
+        expect('"');
+        while (true) {
+            byte b = nextByte();
+            if (b == '"') {
+                return;
+            }
+            if (b == '\\') {
+                nextByte();
+            }
+        }
+    }
+    
+    private long readLong() {
+        skipWhitespace();
+        boolean negative = position < limit && source.get(position) == '-';
+        if (negative) {
+            position++;
+        }
+        int start = position;
+        // Значение копится как отрицательное: иначе Long.MIN_VALUE не помещается
+        long bound = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long value = 0;
+        while (position < limit) {
+            int digit = source.get(position) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            if (value < bound / 10 || value * 10 < bound + digit) {
+                throw error("целое число вне диапазона long");
+            }
+            value = value * 10 - digit;
+            position++;
+        }
+        if (position == start) {
+            throw error("ожидалось число");
+        }
+        if (position - start > 1 && source.get(start) == '0') {
+            throw error("ведущий ноль в числе");
+        }
+        if (position < limit && isFractionOrExponent(source.get(position))) {
+            throw error("ожидалось целое число");
+        }
+        afterTopLevelValue();
+        return negative ? value : -value;
+    }
+    
+    private double readDouble() {
+        skipWhitespace();
+        int start = position;
+        int end = numberEnd();
+        boolean negative = false;
+        boolean simple = true;
+        long mantissa = 0;
+        int fractionDigits = 0;
+        boolean inFraction = false;
+        while (position < end) {
+            byte b = source.get(position);
+            if (b >= '0' && b <= '9') {
+                if (mantissa < MAX_EXACT_MANTISSA / 10) {
+                    mantissa = mantissa * 10 + (b - '0');
+                } else {
+                    simple = false;
+                }
+                if (inFraction) {
+                    fractionDigits++;
+                }
+            } else if (b == '-' && position == start) {
+                negative = true;
+            } else if (b == '.' && !inFraction) {
+                inFraction = true;
+            } else {
+                // Экспонента: оставляем медленному разбору
+                simple = false;
+            }
+            position++;
+        }
+        double result;
+        if (simple && fractionDigits < POWERS_OF_TEN.length) {
+            // Точная мантисса и точная степень десяти: одно деление округляется верно
+            result = mantissa / POWERS_OF_TEN[fractionDigits];
+            if (negative) {
+                result = -result;
+            }
+        } else {
+            result = parseSlow(start, position);
+        }
+        afterTopLevelValue();
+        return result;
+    }
+    
+    /**
+     * Проверяет грамматику числа JSON {@code -?(0|[1-9][0-9]*)(.[0-9]+)?([eE][+-]?[0-9]+)?}
+     * с текущей позиции, не сдвигая ее.
+     * 
+     * @return позиция сразу после числа
+     */
+    private int numberEnd() {
+        int i = position;
+        if (i < limit && source.get(i) == '-') {
+            i++;
+        }
+        int integerStart = i;
+        i = skipDigits(i);
+        if (i == integerStart) {
+            throw error("ожидалось число");
+        }
+        if (i - integerStart > 1 && source.get(integerStart) == '0') {
+            throw error("ведущий ноль в числе");
+        }
+        if (i < limit && source.get(i) == '.') {
+            int fractionStart = ++i;
+            i = skipDigits(i);
+            if (i == fractionStart) {
+                throw error("ожидались цифры после точки");
+            }
+        }
+        if (i < limit && (source.get(i) == 'e' || source.get(i) == 'E')) {
+            i++;
+            if (i < limit && (source.get(i) == '+' || source.get(i) == '-')) {
+                i++;
+            }
+            int exponentStart = i;
+            i = skipDigits(i);
+            if (i == exponentStart) {
+                throw error("ожидались цифры экспоненты");
+            }
+        }
+        return i;
+    }
+    
+    private int skipDigits(int from) {
+        int i = from;
+        while (i < limit && source.get(i) >= '0' && source.get(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+    
+    private double parseSlow(int start, int end) {
+        int length = end - start;
+        if (length > chars.length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) source.get(start + i);
+        }
+        try {
+            return Double.parseDouble(new String(chars, 0, length));
+        } catch (NumberFormatException e) {
+            throw error("некорректное число");
+        }
+    }
+    
+    private static boolean isFractionOrExponent(byte b) {
+        return b == '.' || b == 'e' || b == 'E';
+    }
+    
+    private int matchName(byte[][] names, int start, int length) {
+        for (int i = 0; i < names.length; i++) {
+            byte[] name = names[i];
+            if (name.length != length) {
+                continue;
+            }
+            int j = 0;
+            while (j < length && source.get(start + j) == name[j]) {
+                j++;
+            }
+            if (j == length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private void expectLiteral(String literal) {
+        skipWhitespace();
+        for (int i = 0; i < literal.length(); i++) {
+            if (position >= limit || source.get(position++) != literal.charAt(i)) {
+                throw error("ожидалось " + literal);
+            }
+        }
+    }
+    
+    private void expect(char expected) {
+        if (nextNonWhitespace() != expected) {
+            position--;
+            throw error("ожидался '" + expected + "'");
+        }
+    }
+    
+    private byte peek() {
+        skipWhitespace();
+        if (position >= limit) {
+            throw error("неожиданный конец данных");
+        }
+        return source.get(position);
+    }
+    
+    private byte nextNonWhitespace() {
+        skipWhitespace();
+        return nextByte();
+    }
+    
+    private byte nextByte() {
+        if (position >= limit) {
+            throw error("неожиданный конец данных");
+        }
+        return source.get(position++);
+    }
+    
+    private void skipWhitespace() {
+        while (position < limit) {
+            byte b = source.get(position);
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return;
+            }
+            position++;
+        }
+    }
+    
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Некорректный JSON в позиции " + position + ": " + message);
+    }
+}
\ No newline at end of file
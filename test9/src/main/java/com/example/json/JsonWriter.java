@@ -0,0 +1,413 @@
+package com.example.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Потоковая запись JSON в UTF-8 без промежуточного дерева.
+ * Байты копятся во внутреннем буфере и сбрасываются в OutputStream или ByteBuffer
+ * при его заполнении и в {@link #flush()}. Запятые между элементами расставляются
+ * автоматически. Объект не потокобезопасен и может переиспользоваться через
+ * {@link #reset(OutputStream)} / {@link #reset(ByteBuffer)}.
+ */
+public final class JsonWriter {
+    
+    /** Размер внутреннего буфера */
+    private static final int BUFFER_SIZE = 8 * 1024;
+    
+    /** Максимальная глубина вложенности */
+    private static final int MAX_DEPTH = 64;
+    
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    
+    /** Управляющие символы с короткой формой экранирования и их буквы */
+    private static final String SHORT_ESCAPES = "\n\r\t\b\f";
+    private static final String SHORT_ESCAPE_LETTERS = "nrtbf";
+    
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    
+    /** Признак "в текущем контейнере еще не было элементов" по уровням вложенности */
+    private final boolean[] empty = new boolean[MAX_DEPTH];
+    private int depth;
+    
+    /** Следующее значение - значение поля объекта, запятая перед ним не нужна */
+    private boolean afterName;
+    
+    private OutputStream out;
+    private ByteBuffer target;
+    
+    /**
+     * Создает писатель в поток.
+     * 
+     * @param out выходной поток
+     */
+    public JsonWriter(OutputStream out) {
+        reset(out);
+    }
+    
+    /**
+     * Создает писатель в буфер.
+     * 
+     * @param target буфер назначения
+     */
+    public JsonWriter(ByteBuffer target) {
+        reset(target);
+    }
+    
+    /**
+     * Перенаправляет писатель в новый поток, сбрасывая состояние.
+     * 
+     * @param out выходной поток
+     * @return этот писатель
+     */
+    public JsonWriter reset(OutputStream out) {
+        if (out == null) {
+            throw new IllegalArgumentException("Поток не может быть null");
+        }
+        this.out = out;
+        this.target = null;
+        clearState();
+        return this;
+    }
+    
+    /**
+     * Перенаправляет писатель в новый буфер, сбрасывая состояние.
+     * 
+     * @param target буфер назначения
+     * @return этот писатель
+     */
+    public JsonWriter reset(ByteBuffer target) {
+        if (target == null) {
+            throw new IllegalArgumentException("Буфер не может быть null");
+        }
+        this.target = target;
+        this.out = null;
+        clearState();
+        return this;
+    }
+    
+    private void clearState() {
+        position = 0;
+        depth = 0;
+        afterName = false;
+    }
+    
+    /**
+     * Начинает объект.
+     * 
+     * @return этот писатель
+     */
+    public JsonWriter beginObject() {
+        return open('{');
+    }
+    
+    /**
+     * Завершает объект.
+     * 
+     * @return этот писатель
+     */
+    public JsonWriter endObject() {
+        return close('}');
+    }
+    
+    /**
+     * Начинает массив.
+     * 
+     * @return этот писатель
+     */
+    public JsonWriter beginArray() {
+        return open('[');
+    }
+    
+    /**
+     * Завершает массив.
+     * 
+     * @return этот писатель
+     */
+    public JsonWriter endArray() {
+        return close(']');
+    }
+    
+    /**
+     * Записывает имя поля объекта.
+     * 
+     * @param name имя поля
+     * @return этот писатель
+     */
+    public JsonWriter name(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Имя поля не может быть null");
+        }
+        separator();
+        writeString(name);
+        put((byte) ':');
+        afterName = true;
+        return this;
+    }
+    
+    /**
+     * Записывает строку или null.
+     * 
+     * @param value строка
+     * @return этот писатель
+     */
+    public JsonWriter value(String value) {
+        separator();
+        if (value == null) {
+            putAll(NULL);
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+    
+    /**
+     * Записывает целое число.
+     * 
+     * @param value число
+     * @return этот писатель
+     */
+    public JsonWriter value(long value) {
+        separator();
+        writeLong(value);
+        return this;
+    }
+    
+    /**
+     * Записывает целое число или null.
+     * 
+     * @param value число
+     * @return этот писатель
+     */
+    public JsonWriter value(Integer value) {
+        separator();
+        if (value == null) {
+            putAll(NULL);
+        } else {
+            writeLong(value);
+        }
+        return this;
+    }
+    
+    /**
+     * Записывает целое число или null.
+     * 
+     * @param value число
+     * @return этот писатель
+     */
+    public JsonWriter value(Long value) {
+        separator();
+        if (value == null) {
+            putAll(NULL);
+        } else {
+            writeLong(value);
+        }
+        return this;
+    }
+    
+    /**
+     * Записывает дробное число или null. Используется кратчайшее десятичное
+     * представление, которое читается обратно в то же значение.
+     * 
+     * @param value число
+     * @return этот писатель
+     * @throws IllegalArgumentException если число бесконечно или NaN
+     */
+    public JsonWriter value(Double value) {
+        // Проверяем до записи разделителя, чтобы ошибка не оставила висящую запятую
+        if (value != null && (Double.isNaN(value) || Double.isInfinite(value))) {
+            throw new IllegalArgumentException("JSON не поддерживает число " + value);
+        }
+        separator();
+        if (value == null) {
+            putAll(NULL);
+            return this;
+        }
+        double d = value;
+        long asLong = (long) d;
+        if (asLong == d && Math.abs(asLong) < (1L << 53) && !(d == 0 && 1 / d < 0)) {
+            // Целое значение: пишем без Double.toString, но с дробной частью, чтобы сохранить тип
+            writeLong(asLong);
+            put((byte) '.');
+            put((byte) '0');
+        } else {
+            String text = Double.toString(d);
+            for (int i = 0; i < text.length(); i++) {
+                put((byte) text.charAt(i));
+            }
+        }
+        return this;
+    }
+    
+    /**
+     * Записывает null.
+     * 
+     * @return этот писатель
+     */
+    public JsonWriter nullValue() {
+        separator();
+        putAll(NULL);
+        return this;
+    }
+    
+    /**
+     * Сбрасывает накопленные байты в поток или буфер назначения.
+     * 
+     * @throws UncheckedIOException при ошибке записи в поток
+     * @throws java.nio.BufferOverflowException если в буфере назначения нет места
+     */
+    public void flush() {
+        drain();
+        if (out != null) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+    
+    private JsonWriter open(char bracket) {
+        separator();
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException("Слишком глубокая вложенность JSON");
+        }
+        empty[depth++] = true;
+        put((byte) bracket);
+        return this;
+    }
+    
+    private JsonWriter close(char bracket) {
+        if (depth == 0 || afterName) {
+            throw new IllegalStateException("Нет открытого контейнера для '" + bracket + "'");
+        }
+        depth--;
+        put((byte) bracket);
+        return this;
+    }
+    
+    private void separator() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (empty[depth - 1]) {
+                empty[depth - 1] = false;
+            } else {
+                put((byte) ',');
+            }
+        }
+    }
+    
+    private void writeString(String s) {
+        put((byte) '"');
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    put((byte) '\\');
+                    put((byte) c);
+                } else if (c < 0x20) {
+                    writeEscapedControl(c);
+                } else {
+                    put((byte) c);
+                }
+            } else if (c < 0x800) {
+                put((byte) (0xC0 | (c >> 6)));
+                put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                put((byte) (0xF0 | (codePoint >> 18)));
+                put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // Одиночный суррогат не кодируется в UTF-8: сохраняем его как \\uXXXX
+                writeUnicodeEscape(c);
+            } else {
+                put((byte) (0xE0 | (c >> 12)));
+                put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        put((byte) '"');
+    }
+    
+    private void writeEscapedControl(char c) {
+        int shortcut = SHORT_ESCAPES.indexOf(c);
+        if (shortcut < 0) {
+            writeUnicodeEscape(c);
+            return;
+        }
+        put((byte) '\\');
+        put((byte) SHORT_ESCAPE_LETTERS.charAt(shortcut));
+    }
+    
+    private void writeUnicodeEscape(char c) {
+        put((byte) '\\');
+        put((byte) 'u');
+        put(HEX[(c >> 12) & 0xF]);
+        put(HEX[(c >> 8) & 0xF]);
+        put(HEX[(c >> 4) & 0xF]);
+        put(HEX[c & 0xF]);
+    }
+    
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            putAll("-9223372036854775808".getBytes());
+            return;
+        }
+        if (value < 0) {
+            put((byte) '-');
+            value = -value;
+        }
+        if (position + 20 > buffer.length) {
+            drain();
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+    }
+    
+    private void putAll(byte[] bytes) {
+        for (byte b : bytes) {
+            put(b);
+        }
+    }
+    
+    private void put(byte b) {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = b;
+    }
+    
+    private void drain() {
+        if (position == 0) {
+            return;
+        }
+        if (target != null) {
+            target.put(buffer, 0, position);
+        } else {
+            try {
+                out.write(buffer, 0, position);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        position = 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.example.lsm;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Фильтр Блума по ключам SSTable: отвечает «ключа точно нет» без чтения блоков.
+ * Позиции битов вычисляются двойным хешированием (h1 + i * h2) от одного 64-битного хеша ключа.
+ */
+final class BloomFilter {
+    
+    private final long[] words;
+    private final int hashCount;
+    
+    private BloomFilter(long[] words, int hashCount) {
+        this.words = words;
+        this.hashCount = hashCount;
+    }
+    
+    /**
+     * Создает пустой фильтр под ожидаемое число ключей.
+     */
+    static BloomFilter create(long expectedKeys, int bitsPerKey) {
+        long bits = Math.max(64, expectedKeys * bitsPerKey);
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+        // Оптимальное число хешей: ln 2 * бит на ключ
+        int hashCount = Math.max(1, Math.min(30, (int) Math.round(bitsPerKey * 0.69)));
+        return new BloomFilter(new long[wordCount], hashCount);
+    }
+    
+    void add(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long bitCount = (long) words.length * 64;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+    
+    boolean mightContain(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long bitCount = (long) words.length * 64;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    int serializedSize() {
+        return 8 + words.length * 8;
+    }
+    
+    void writeTo(ByteBuffer buffer) {
+        buffer.putInt(hashCount);
+        buffer.putInt(words.length);
+        for (long word : words) {
+            buffer.putLong(word);
+        }
+    }
+    
+    static BloomFilter readFrom(ByteBuffer buffer) {
+        int hashCount = buffer.getInt();
+        int wordCount = buffer.getInt();
+        long[] words = new long[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            words[i] = buffer.getLong();
+        }
+        return new BloomFilter(words, hashCount);
+    }
+    
+    private static long mix(long key) {
+        long z = key * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,838 @@
+package com.example.lsm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Встроенный LSM-движок хранения пар «ключ long - значение byte[]» в каталоге на диске.
+ * <p>
+ * Запись дописывается в журнал предзаписи и в таблицу в памяти (memtable). Заполненная
+ * таблица становится неизменяемой и сбрасывается фоновым потоком в SSTable уровня 0.
+ * Когда таблиц уровня 0 становится {@link LsmOptions#getLevel0CompactionTrigger()}, они
+ * сливаются с пересекающимися таблицами уровня 1; уровень i больше 0 ограничен объемом
+ * {@code base * multiplier^(i-1)}, и при превышении одна его таблица (по кругу) сливается
+ * со следующим уровнем. На уровнях выше 0 таблицы не пересекаются по ключам. Слияния
+ * выполняются в отдельном пуле потоков, одновременно идет не больше одного слияния.
+ * <p>
+ * Чтение без блокировок берет текущий снимок состояния и ищет ключ от новых данных к старым:
+ * активная таблица, неизменяемые таблицы, уровень 0 от новых файлов к старым, затем по
+ * одной таблице на каждом следующем уровне; фильтры Блума отсекают таблицы без ключа.
+ * <p>
+ * Состав таблиц хранится в файле MANIFEST, который заменяется атомарным переименованием.
+ * Вместе с ним записывается номер самого старого журнала с данными, еще не попавшими в таблицы.
+ * При открытии журналы начиная с этого номера воспроизводятся (до первой поврежденной записи),
+ * сбрасываются в таблицу уровня 0 и удаляются; временные и не упомянутые в манифесте файлы удаляются.
+ */
+public final class LsmEngine implements Closeable {
+    
+    private static final String MANIFEST = "MANIFEST";
+    private static final String LOCK = "LOCK";
+    private static final String TABLE_SUFFIX = ".sst";
+    private static final String LOG_SUFFIX = ".log";
+    
+    private final Path directory;
+    private final LsmOptions options;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final ExecutorService flushExecutor;
+    private final ExecutorService compactionExecutor;
+    
+    /** Текущее состояние; заменяется целиком под монитором движка */
+    private volatile State state;
+    
+    /** Журнал активной таблицы (под монитором) */
+    private WriteAheadLog wal;
+    
+    /** Следующий номер файла (под монитором) */
+    private long nextFileNumber;
+    
+    /** Запланировано ли слияние (под монитором) */
+    private boolean compactionScheduled;
+    
+    /** Наибольший ключ последнего слияния каждого уровня - начало следующего круга */
+    private final long[] compactPointers;
+    
+    private volatile boolean closed;
+    private volatile IOException backgroundError;
+    
+    private final AtomicLong userBytes = new AtomicLong();
+    private final AtomicLong walBytes = new AtomicLong();
+    private final AtomicLong flushBytes = new AtomicLong();
+    private final AtomicLong compactionBytes = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong compactionCount = new AtomicLong();
+    
+    private LsmEngine(Path directory, LsmOptions options, FileChannel lockChannel, FileLock lock) {
+        this.directory = directory;
+        this.options = options;
+        this.lockChannel = lockChannel;
+        this.lock = lock;
+        this.compactPointers = new long[options.getMaxLevels()];
+        Arrays.fill(compactPointers, Long.MIN_VALUE);
+        this.flushExecutor = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "lsm-flush"));
+        this.compactionExecutor = Executors.newFixedThreadPool(options.getCompactionThreads(),
+                runnable -> daemon(runnable, "lsm-compaction"));
+    }
+    
+    /**
+     * Открывает или создает хранилище в каталоге и восстанавливает данные после сбоя.
+     * 
+     * @param directory каталог хранилища
+     * @param options параметры
+     * @return открытый движок
+     * @throws IOException при ошибке ввода-вывода или если каталог уже открыт другим движком
+     */
+    public static LsmEngine open(Path directory, LsmOptions options) throws IOException {
+        if (directory == null || options == null) {
+            throw new IllegalArgumentException("Каталог и параметры не могут быть null");
+        }
+        Files.createDirectories(directory);
+        FileChannel lockChannel = FileChannel.open(directory.resolve(LOCK), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (IOException e) {
+            lockChannel.close();
+            throw e;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            throw new IOException("Каталог уже открыт другим движком: " + directory);
+        }
+        LsmEngine engine = new LsmEngine(directory, options, lockChannel, lock);
+        try {
+            engine.recover();
+        } catch (IOException | RuntimeException e) {
+            engine.close();
+            throw e;
+        }
+        return engine;
+    }
+    
+    /**
+     * Записывает значение ключа.
+     * 
+     * @param key ключ
+     * @param value значение
+     * @throws IOException при ошибке записи журнала или ранее случившейся фоновой ошибке
+     */
+    public void put(long key, byte[] value) throws IOException {
+        if (value == null) {
+            throw new IllegalArgumentException("Значение не может быть null");
+        }
+        write(key, value);
+    }
+    
+    /**
+     * Удаляет ключ.
+     * 
+     * @param key ключ
+     * @throws IOException при ошибке записи журнала или ранее случившейся фоновой ошибке
+     */
+    public void delete(long key) throws IOException {
+        write(key, MemTable.TOMBSTONE);
+    }
+    
+    /**
+     * Читает значение ключа.
+     * 
+     * @param key ключ
+     * @return значение или null, если ключа нет
+     * @throws IOException при ошибке чтения
+     */
+    public byte[] get(long key) throws IOException {
+        while (true) {
+            State current = state;
+            ensureOpen();
+            try {
+                byte[] value = current.get(key);
+                return value == MemTable.TOMBSTONE ? null : value;
+            } catch (ClosedChannelException e) {
+                // Таблица удалена слиянием после взятия снимка - повтор по новому состоянию
+                if (state == current || closed) {
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Возвращает до {@code limit} живых записей с ключом больше указанного, по возрастанию ключа.
+     * 
+     * @param afterKey ключ последней прочитанной записи (null - с начала)
+     * @param limit максимальное число записей
+     * @return записи «ключ - значение»
+     * @throws IOException при ошибке чтения
+     */
+    public List<Map.Entry<Long, byte[]>> scan(Long afterKey, int limit) throws IOException {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Размер страницы должен быть положительным");
+        }
+        while (true) {
+            State current = state;
+            ensureOpen();
+            try {
+                List<Map.Entry<Long, byte[]>> page = new ArrayList<>(Math.min(limit, 1024));
+                Iterator<Map.Entry<Long, byte[]>> merged = current.iterator(afterKey);
+                while (merged.hasNext() && page.size() < limit) {
+                    Map.Entry<Long, byte[]> entry = merged.next();
+                    if (entry.getValue() != MemTable.TOMBSTONE) {
+                        page.add(entry);
+                    }
+                }
+                return page;
+            } catch (UncheckedIOException e) {
+                if (!(e.getCause() instanceof ClosedChannelException) || state == current || closed) {
+                    throw e.getCause();
+                }
+            }
+        }
+    }
+    
+    /**
+     * Возвращает наибольший ключ, когда-либо записанный и еще не вытесненный слиянием
+     * (включая удаленные ключи), или {@link Long#MIN_VALUE} для пустого хранилища.
+     * 
+     * @return верхняя граница ключей
+     */
+    public long maxKey() {
+        State current = state;
+        long max = current.active.maxKey();
+        for (MemTable table : current.immutables) {
+            max = Math.max(max, table.maxKey());
+        }
+        for (List<SSTable> level : current.levels) {
+            for (SSTable table : level) {
+                max = Math.max(max, table.maxKey());
+            }
+        }
+        return max;
+    }
+    
+    /**
+     * Сбрасывает активную таблицу на диск и ждет окончания фоновых сбросов и слияний.
+     * 
+     * @throws IOException при фоновой ошибке
+     */
+    public synchronized void flush() throws IOException {
+        ensureOpen();
+        if (!state.active.isEmpty()) {
+            rotate();
+        }
+        awaitBackgroundWork();
+    }
+    
+    /**
+     * Ждет окончания фоновых сбросов и слияний.
+     * 
+     * @throws IOException при фоновой ошибке
+     */
+    public synchronized void awaitBackgroundWork() throws IOException {
+        while (!closed && backgroundError == null && (!state.immutables.isEmpty() || compactionScheduled)) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Ожидание фоновых операций прервано", e);
+            }
+        }
+        ensureOpen();
+    }
+    
+    /**
+     * Возвращает снимок счетчиков.
+     * 
+     * @return статистика движка
+     */
+    public LsmStats stats() {
+        State current = state;
+        int[] tables = new int[current.levels.size()];
+        for (int level = 0; level < tables.length; level++) {
+            tables[level] = current.levels.get(level).size();
+        }
+        return new LsmStats(userBytes.get(), walBytes.get(), flushBytes.get(), compactionBytes.get(),
+                flushCount.get(), compactionCount.get(), tables);
+    }
+    
+    /**
+     * Останавливает фоновые потоки и закрывает файлы. Несброшенные записи остаются
+     * в журнале и восстанавливаются при следующем открытии.
+     * 
+     * @throws IOException при ошибке закрытия файлов
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        flushExecutor.shutdown();
+        compactionExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            compactionExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (wal != null) {
+                wal.close();
+            }
+            if (state != null) {
+                for (List<SSTable> level : state.levels) {
+                    for (SSTable table : level) {
+                        table.close();
+                    }
+                }
+            }
+            lock.release();
+            lockChannel.close();
+        }
+    }
+    
+    static String tableFileName(long number) {
+        return String.format("%06d%s", number, TABLE_SUFFIX);
+    }
+    
+    private static String logFileName(long number) {
+        return String.format("%06d%s", number, LOG_SUFFIX);
+    }
+    
+    private synchronized void write(long key, byte[] value) throws IOException {
+        ensureOpen();
+        walBytes.addAndGet(wal.append(key, value));
+        state.active.put(key, value);
+        userBytes.addAndGet(Long.BYTES + value.length);
+        if (state.active.approximateBytes() >= options.getMemtableBytes()) {
+            rotate();
+        }
+    }
+    
+    /**
+     * Делает активную таблицу неизменяемой и отдает ее на сброс. Вызывается под монитором;
+     * если сброс отстает, запись ждет (обратное давление).
+     */
+    private void rotate() throws IOException {
+        while (state.immutables.size() >= options.getMaxImmutableMemtables()) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Ожидание сброса прервано", e);
+            }
+            ensureOpen();
+        }
+        long number = nextFileNumber++;
+        WriteAheadLog next = WriteAheadLog.create(directory.resolve(logFileName(number)), options.isSyncWrites());
+        wal.close();
+        wal = next;
+        MemTable full = state.active;
+        List<MemTable> immutables = new ArrayList<>(state.immutables.size() + 1);
+        immutables.add(full);
+        immutables.addAll(state.immutables);
+        state = new State(new MemTable(number), immutables, state.levels);
+        flushExecutor.execute(() -> flushInBackground(full));
+    }
+    
+    private void flushInBackground(MemTable table) {
+        try {
+            SSTable written = writeTable(table);
+            synchronized (this) {
+                List<MemTable> immutables = new ArrayList<>(state.immutables);
+                immutables.remove(table);
+                List<List<SSTable>> levels = copyLevels(state.levels);
+                if (written != null) {
+                    levels.get(0).add(0, written);
+                }
+                State next = new State(state.active, immutables, levels);
+                writeManifest(next);
+                state = next;
+                Files.deleteIfExists(directory.resolve(logFileName(table.logNumber())));
+                flushCount.incrementAndGet();
+                scheduleCompactionIfNeeded();
+                notifyAll();
+            }
+        } catch (IOException | RuntimeException e) {
+            failInBackground(e);
+        }
+    }
+    
+    private SSTable writeTable(MemTable table) throws IOException {
+        long number;
+        synchronized (this) {
+            number = nextFileNumber++;
+        }
+        SSTable.Writer writer = new SSTable.Writer(directory, number, options.getBlockSize(), options.getBloomBitsPerKey());
+        try {
+            Iterator<Map.Entry<Long, byte[]>> entries = table.iterator(null);
+            while (entries.hasNext()) {
+                Map.Entry<Long, byte[]> entry = entries.next();
+                writer.add(entry.getKey(), entry.getValue());
+            }
+            SSTable written = writer.finish();
+            if (written != null) {
+                flushBytes.addAndGet(written.fileSize());
+            }
+            return written;
+        } catch (IOException | RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+    }
+    
+    private void scheduleCompactionIfNeeded() {
+        if (!compactionScheduled && !closed && pickCompaction(state.levels) != null) {
+            compactionScheduled = true;
+            compactionExecutor.execute(this::compactInBackground);
+        }
+    }
+    
+    private void compactInBackground() {
+        try {
+            while (true) {
+                Compaction compaction;
+                synchronized (this) {
+                    compaction = closed ? null : pickCompaction(state.levels);
+                    if (compaction == null) {
+                        compactionScheduled = false;
+                        notifyAll();
+                        return;
+                    }
+                }
+                compact(compaction);
+            }
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                compactionScheduled = false;
+            }
+            failInBackground(e);
+        }
+    }
+    
+    /**
+     * Выбирает следующее слияние: сначала уровень 0 по числу файлов, затем первый
+     * переполненный по объему уровень.
+     */
+    private Compaction pickCompaction(List<List<SSTable>> levels) {
+        List<SSTable> level0 = levels.get(0);
+        if (level0.size() >= options.getLevel0CompactionTrigger()) {
+            return new Compaction(0, new ArrayList<>(level0), overlapping(levels.get(1), level0));
+        }
+        long limit = options.getLevelBaseBytes();
+        for (int level = 1; level < levels.size() - 1; level++, limit *= options.getLevelSizeMultiplier()) {
+            List<SSTable> tables = levels.get(level);
+            long bytes = 0;
+            for (SSTable table : tables) {
+                bytes += table.fileSize();
+            }
+            if (bytes > limit) {
+                SSTable chosen = tables.get(0);
+                for (SSTable table : tables) {
+                    if (table.minKey() > compactPointers[level]) {
+                        chosen = table;
+                        break;
+                    }
+                }
+                List<SSTable> inputs = List.of(chosen);
+                return new Compaction(level, inputs, overlapping(levels.get(level + 1), inputs));
+            }
+        }
+        return null;
+    }
+    
+    private static List<SSTable> overlapping(List<SSTable> candidates, List<SSTable> inputs) {
+        long from = Long.MAX_VALUE;
+        long to = Long.MIN_VALUE;
+        for (SSTable input : inputs) {
+            from = Math.min(from, input.minKey());
+            to = Math.max(to, input.maxKey());
+        }
+        List<SSTable> result = new ArrayList<>();
+        for (SSTable candidate : candidates) {
+            if (candidate.overlaps(from, to)) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+    
+    private void compact(Compaction compaction) throws IOException {
+        int outputLevel = compaction.level + 1;
+        List<List<SSTable>> levels = state.levels;
+        // Надгробия не нужны, если глубже выходного уровня данных нет: перекрывать нечего
+        boolean dropTombstones = true;
+        for (int level = outputLevel + 1; level < levels.size(); level++) {
+            dropTombstones &= levels.get(level).isEmpty();
+        }
+        List<Iterator<Map.Entry<Long, byte[]>>> sources = new ArrayList<>();
+        for (SSTable input : compaction.inputs) {
+            sources.add(input.iterator(null));
+        }
+        sources.add(new ConcatenatingIterator(compaction.overlapping, null));
+        Iterator<Map.Entry<Long, byte[]>> merged = new MergingIterator(sources);
+        
+        List<SSTable> outputs = new ArrayList<>();
+        SSTable.Writer writer = null;
+        try {
+            while (merged.hasNext()) {
+                Map.Entry<Long, byte[]> entry = merged.next();
+                if (dropTombstones && entry.getValue() == MemTable.TOMBSTONE) {
+                    continue;
+                }
+                if (writer == null) {
+                    long number;
+                    synchronized (this) {
+                        number = nextFileNumber++;
+                    }
+                    writer = new SSTable.Writer(directory, number, options.getBlockSize(), options.getBloomBitsPerKey());
+                }
+                writer.add(entry.getKey(), entry.getValue());
+                if (writer.estimatedSize() >= options.getTargetFileBytes()) {
+                    outputs.add(writer.finish());
+                    writer = null;
+                }
+            }
+            if (writer != null) {
+                SSTable last = writer.finish();
+                if (last != null) {
+                    outputs.add(last);
+                }
+                writer = null;
+            }
+        } catch (IOException | RuntimeException e) {
+            if (writer != null) {
+                writer.abort();
+            }
+            for (SSTable output : outputs) {
+                output.close();
+                Files.deleteIfExists(output.path());
+            }
+            throw e;
+        }
+        for (SSTable output : outputs) {
+            compactionBytes.addAndGet(output.fileSize());
+        }
+        
+        List<SSTable> obsolete = new ArrayList<>(compaction.inputs);
+        obsolete.addAll(compaction.overlapping);
+        synchronized (this) {
+            List<List<SSTable>> next = copyLevels(state.levels);
+            next.get(compaction.level).removeAll(compaction.inputs);
+            List<SSTable> target = next.get(outputLevel);
+            target.removeAll(compaction.overlapping);
+            target.addAll(outputs);
+            target.sort(Comparator.comparingLong(SSTable::minKey));
+            State installed = new State(state.active, state.immutables, next);
+            writeManifest(installed);
+            state = installed;
+            if (compaction.level > 0) {
+                compactPointers[compaction.level] = compaction.inputs.get(0).maxKey();
+            }
+            compactionCount.incrementAndGet();
+            notifyAll();
+        }
+        for (SSTable table : obsolete) {
+            table.close();
+            Files.deleteIfExists(table.path());
+        }
+    }
+    
+    private void recover() throws IOException {
+        List<List<SSTable>> levels = new ArrayList<>();
+        for (int level = 0; level < options.getMaxLevels(); level++) {
+            levels.add(new ArrayList<>());
+        }
+        long logNumber = 0;
+        long maxNumber = 0;
+        Set<Long> referenced = new HashSet<>();
+        Path manifest = directory.resolve(MANIFEST);
+        if (Files.exists(manifest)) {
+            for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+                String[] parts = line.trim().split(" ");
+                switch (parts[0]) {
+                    case "next" -> maxNumber = Math.max(maxNumber, Long.parseLong(parts[1]) - 1);
+                    case "log" -> logNumber = Long.parseLong(parts[1]);
+                    case "table" -> {
+                        int level = Integer.parseInt(parts[1]);
+                        long number = Long.parseLong(parts[2]);
+                        if (level >= levels.size()) {
+                            throw new IOException("Манифест ссылается на уровень " + level + " при " + levels.size() + " уровнях");
+                        }
+                        levels.get(level).add(SSTable.open(directory.resolve(tableFileName(number)), number));
+                        referenced.add(number);
+                    }
+                    case "" -> { }
+                    default -> throw new IOException("Поврежденный манифест: " + line);
+                }
+            }
+        }
+        for (int level = 1; level < levels.size(); level++) {
+            levels.get(level).sort(Comparator.comparingLong(SSTable::minKey));
+        }
+        
+        // Оставшиеся от прерванной работы файлы: временные, не вошедшие в манифест таблицы, старые журналы
+        TreeMap<Long, Path> logs = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.delete(file);
+                } else if (name.endsWith(TABLE_SUFFIX) || name.endsWith(LOG_SUFFIX)) {
+                    long number = Long.parseLong(name.substring(0, name.indexOf('.')));
+                    maxNumber = Math.max(maxNumber, number);
+                    if (name.endsWith(TABLE_SUFFIX) && !referenced.contains(number)) {
+                        Files.delete(file);
+                    } else if (name.endsWith(LOG_SUFFIX)) {
+                        if (number < logNumber) {
+                            Files.delete(file);
+                        } else {
+                            logs.put(number, file);
+                        }
+                    }
+                }
+            }
+        }
+        nextFileNumber = maxNumber + 1;
+        
+        MemTable recovered = new MemTable(0);
+        for (Path log : logs.values()) {
+            WriteAheadLog.replay(log, recovered);
+        }
+        if (!recovered.isEmpty()) {
+            SSTable written = writeTable(recovered);
+            levels.get(0).add(0, written);
+        }
+        long number = nextFileNumber++;
+        wal = WriteAheadLog.create(directory.resolve(logFileName(number)), options.isSyncWrites());
+        State initial = new State(new MemTable(number), List.of(), levels);
+        writeManifest(initial);
+        state = initial;
+        for (Path log : logs.values()) {
+            Files.delete(log);
+        }
+        synchronized (this) {
+            scheduleCompactionIfNeeded();
+        }
+    }
+    
+    /**
+     * Записывает манифест состояния: во временный файл, затем атомарным переименованием.
+     */
+    private void writeManifest(State snapshot) throws IOException {
+        long logNumber = snapshot.active.logNumber();
+        for (MemTable table : snapshot.immutables) {
+            logNumber = Math.min(logNumber, table.logNumber());
+        }
+        StringBuilder content = new StringBuilder();
+        content.append("next ").append(nextFileNumber).append('\n');
+        content.append("log ").append(logNumber).append('\n');
+        for (int level = 0; level < snapshot.levels.size(); level++) {
+            for (SSTable table : snapshot.levels.get(level)) {
+                content.append("table ").append(level).append(' ').append(table.fileNumber()).append('\n');
+            }
+        }
+        Path temporary = directory.resolve(MANIFEST + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8)));
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(MANIFEST), StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    private void failInBackground(Exception e) {
+        synchronized (this) {
+            if (backgroundError == null) {
+                backgroundError = e instanceof IOException io ? io : new IOException(e);
+            }
+            notifyAll();
+        }
+    }
+    
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Хранилище закрыто");
+        }
+        IOException error = backgroundError;
+        if (error != null) {
+            throw new IOException("Фоновая операция завершилась ошибкой", error);
+        }
+    }
+    
+    private static List<List<SSTable>> copyLevels(List<List<SSTable>> levels) {
+        List<List<SSTable>> copy = new ArrayList<>(levels.size());
+        for (List<SSTable> level : levels) {
+            copy.add(new ArrayList<>(level));
+        }
+        return copy;
+    }
+    
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+    
+    /**
+     * Неизменяемый снимок: активная таблица, неизменяемые таблицы (от новых к старым) и уровни.
+     */
+    private static final class State {
+        
+        private final MemTable active;
+        private final List<MemTable> immutables;
+        private final List<List<SSTable>> levels;
+        
+        private State(MemTable active, List<MemTable> immutables, List<List<SSTable>> levels) {
+            this.active = active;
+            this.immutables = Collections.unmodifiableList(immutables);
+            List<List<SSTable>> frozen = new ArrayList<>(levels.size());
+            for (List<SSTable> level : levels) {
+                frozen.add(Collections.unmodifiableList(level));
+            }
+            this.levels = Collections.unmodifiableList(frozen);
+        }
+        
+        private byte[] get(long key) throws IOException {
+            byte[] value = active.get(key);
+            if (value != null) {
+                return value;
+            }
+            for (MemTable table : immutables) {
+                value = table.get(key);
+                if (value != null) {
+                    return value;
+                }
+            }
+            for (SSTable table : levels.get(0)) {
+                value = table.get(key);
+                if (value != null) {
+                    return value;
+                }
+            }
+            for (int level = 1; level < levels.size(); level++) {
+                SSTable table = find(levels.get(level), key);
+                if (table != null && (value = table.get(key)) != null) {
+                    return value;
+                }
+            }
+            return null;
+        }
+        
+        private Iterator<Map.Entry<Long, byte[]>> iterator(Long afterKey) {
+            List<Iterator<Map.Entry<Long, byte[]>>> sources = new ArrayList<>();
+            sources.add(active.iterator(afterKey));
+            for (MemTable table : immutables) {
+                sources.add(table.iterator(afterKey));
+            }
+            for (SSTable table : levels.get(0)) {
+                sources.add(table.iterator(afterKey));
+            }
+            for (int level = 1; level < levels.size(); level++) {
+                sources.add(new ConcatenatingIterator(levels.get(level), afterKey));
+            }
+            return new MergingIterator(sources);
+        }
+        
+        /**
+         * Таблица непересекающегося уровня, диапазон которой содержит ключ.
+         */
+        private static SSTable find(List<SSTable> level, long key) {
+            int low = 0;
+            int high = level.size() - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                SSTable table = level.get(middle);
+                if (table.maxKey() < key) {
+                    low = middle + 1;
+                } else if (table.minKey() > key) {
+                    high = middle - 1;
+                } else {
+                    return table;
+                }
+            }
+            return null;
+        }
+    }
+    
+    /**
+     * Последовательный обход таблиц непересекающегося уровня, упорядоченных по ключам.
+     */
+    private static final class ConcatenatingIterator implements Iterator<Map.Entry<Long, byte[]>> {
+        
+        private final Iterator<SSTable> tables;
+        private final Long afterKey;
+        private Iterator<Map.Entry<Long, byte[]>> current = Collections.emptyIterator();
+        
+        private ConcatenatingIterator(List<SSTable> tables, Long afterKey) {
+            List<SSTable> relevant = new ArrayList<>();
+            for (SSTable table : tables) {
+                if (afterKey == null || table.maxKey() > afterKey) {
+                    relevant.add(table);
+                }
+            }
+            this.tables = relevant.iterator();
+            this.afterKey = afterKey;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && tables.hasNext()) {
+                current = tables.next().iterator(afterKey);
+            }
+            return current.hasNext();
+        }
+        
+        @Override
+        public Map.Entry<Long, byte[]> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+    
+    /**
+     * Задание слияния: таблицы уровня и пересекающиеся с ними таблицы следующего уровня.
+     */
+    private static final class Compaction {
+        
+        private final int level;
+        private final List<SSTable> inputs;
+        private final List<SSTable> overlapping;
+        
+        private Compaction(int level, List<SSTable> inputs, List<SSTable> overlapping) {
+            this.level = level;
+            this.inputs = inputs;
+            this.overlapping = overlapping;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,261 @@
+package com.example.lsm;
+
+/**
+ * Параметры LSM-движка. Значения по умолчанию рассчитаны на записи размером в сотни байт.
+ */
+public class LsmOptions {
+    
+    private long memtableBytes = 4L * 1024 * 1024;
+    private int maxImmutableMemtables = 2;
+    private int blockSize = 4096;
+    private int bloomBitsPerKey = 10;
+    private int level0CompactionTrigger = 4;
+    private long levelBaseBytes = 10L * 1024 * 1024;
+    private int levelSizeMultiplier = 10;
+    private long targetFileBytes = 2L * 1024 * 1024;
+    private int maxLevels = 7;
+    private int compactionThreads = 1;
+    private boolean syncWrites;
+    
+    /**
+     * Возвращает размер таблицы в памяти, после которого она сбрасывается на диск.
+     * 
+     * @return размер в байтах
+     */
+    public long getMemtableBytes() {
+        return memtableBytes;
+    }
+    
+    /**
+     * Устанавливает размер таблицы в памяти, после которого она сбрасывается на диск.
+     * 
+     * @param memtableBytes размер в байтах
+     * @return эти же параметры
+     */
+    public LsmOptions setMemtableBytes(long memtableBytes) {
+        requirePositive(memtableBytes, "Размер таблицы в памяти");
+        this.memtableBytes = memtableBytes;
+        return this;
+    }
+    
+    /**
+     * Возвращает число ожидающих сброса таблиц, при котором запись приостанавливается.
+     * 
+     * @return число таблиц
+     */
+    public int getMaxImmutableMemtables() {
+        return maxImmutableMemtables;
+    }
+    
+    /**
+     * Устанавливает число ожидающих сброса таблиц, при котором запись приостанавливается.
+     * 
+     * @param maxImmutableMemtables число таблиц
+     * @return эти же параметры
+     */
+    public LsmOptions setMaxImmutableMemtables(int maxImmutableMemtables) {
+        requirePositive(maxImmutableMemtables, "Число ожидающих таблиц");
+        this.maxImmutableMemtables = maxImmutableMemtables;
+        return this;
+    }
+    
+    /**
+     * Возвращает размер блока данных SSTable.
+     * 
+     * @return размер в байтах
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+    
+    /**
+     * Устанавливает размер блока данных SSTable.
+     * 
+     * @param blockSize размер в байтах
+     * @return эти же параметры
+     */
+    public LsmOptions setBlockSize(int blockSize) {
+        requirePositive(blockSize, "Размер блока");
+        this.blockSize = blockSize;
+        return this;
+    }
+    
+    /**
+     * Возвращает число бит фильтра Блума на ключ.
+     * 
+     * @return бит на ключ
+     */
+    public int getBloomBitsPerKey() {
+        return bloomBitsPerKey;
+    }
+    
+    /**
+     * Устанавливает число бит фильтра Блума на ключ (10 бит - около 1% ложных срабатываний).
+     * 
+     * @param bloomBitsPerKey бит на ключ
+     * @return эти же параметры
+     */
+    public LsmOptions setBloomBitsPerKey(int bloomBitsPerKey) {
+        requirePositive(bloomBitsPerKey, "Число бит на ключ");
+        this.bloomBitsPerKey = bloomBitsPerKey;
+        return this;
+    }
+    
+    /**
+     * Возвращает число таблиц уровня 0, запускающее их слияние в уровень 1.
+     * 
+     * @return число таблиц
+     */
+    public int getLevel0CompactionTrigger() {
+        return level0CompactionTrigger;
+    }
+    
+    /**
+     * Устанавливает число таблиц уровня 0, запускающее их слияние в уровень 1.
+     * 
+     * @param level0CompactionTrigger число таблиц
+     * @return эти же параметры
+     */
+    public LsmOptions setLevel0CompactionTrigger(int level0CompactionTrigger) {
+        requirePositive(level0CompactionTrigger, "Порог уровня 0");
+        this.level0CompactionTrigger = level0CompactionTrigger;
+        return this;
+    }
+    
+    /**
+     * Возвращает допустимый объем уровня 1.
+     * 
+     * @return объем в байтах
+     */
+    public long getLevelBaseBytes() {
+        return levelBaseBytes;
+    }
+    
+    /**
+     * Устанавливает допустимый объем уровня 1; каждый следующий уровень больше в
+     * {@link #getLevelSizeMultiplier()} раз.
+     * 
+     * @param levelBaseBytes объем в байтах
+     * @return эти же параметры
+     */
+    public LsmOptions setLevelBaseBytes(long levelBaseBytes) {
+        requirePositive(levelBaseBytes, "Объем уровня 1");
+        this.levelBaseBytes = levelBaseBytes;
+        return this;
+    }
+    
+    /**
+     * Возвращает множитель объема соседних уровней.
+     * 
+     * @return множитель
+     */
+    public int getLevelSizeMultiplier() {
+        return levelSizeMultiplier;
+    }
+    
+    /**
+     * Устанавливает множитель объема соседних уровней.
+     * 
+     * @param levelSizeMultiplier множитель (не меньше 2)
+     * @return эти же параметры
+     */
+    public LsmOptions setLevelSizeMultiplier(int levelSizeMultiplier) {
+        if (levelSizeMultiplier < 2) {
+            throw new IllegalArgumentException("Множитель уровней должен быть не меньше 2");
+        }
+        this.levelSizeMultiplier = levelSizeMultiplier;
+        return this;
+    }
+    
+    /**
+     * Возвращает целевой размер файла, получаемого слиянием.
+     * 
+     * @return размер в байтах
+     */
+    public long getTargetFileBytes() {
+        return targetFileBytes;
+    }
+    
+    /**
+     * Устанавливает целевой размер файла, получаемого слиянием.
+     * 
+     * @param targetFileBytes размер в байтах
+     * @return эти же параметры
+     */
+    public LsmOptions setTargetFileBytes(long targetFileBytes) {
+        requirePositive(targetFileBytes, "Размер файла");
+        this.targetFileBytes = targetFileBytes;
+        return this;
+    }
+    
+    /**
+     * Возвращает число уровней.
+     * 
+     * @return число уровней, включая уровень 0
+     */
+    public int getMaxLevels() {
+        return maxLevels;
+    }
+    
+    /**
+     * Устанавливает число уровней.
+     * 
+     * @param maxLevels число уровней, включая уровень 0 (не меньше 2)
+     * @return эти же параметры
+     */
+    public LsmOptions setMaxLevels(int maxLevels) {
+        if (maxLevels < 2) {
+            throw new IllegalArgumentException("Уровней должно быть не меньше двух");
+        }
+        this.maxLevels = maxLevels;
+        return this;
+    }
+    
+    /**
+     * Возвращает число потоков слияния.
+     * 
+     * @return число потоков
+     */
+    public int getCompactionThreads() {
+        return compactionThreads;
+    }
+    
+    /**
+     * Устанавливает число потоков пула слияния.
+     * 
+     * @param compactionThreads число потоков
+     * @return эти же параметры
+     */
+    public LsmOptions setCompactionThreads(int compactionThreads) {
+        requirePositive(compactionThreads, "Число потоков слияния");
+        this.compactionThreads = compactionThreads;
+        return this;
+    }
+    
+    /**
+     * Проверяет, сбрасывается ли журнал на диск после каждой записи.
+     * 
+     * @return true если каждая запись сбрасывается на диск
+     */
+    public boolean isSyncWrites() {
+        return syncWrites;
+    }
+    
+    /**
+     * Включает сброс журнала на диск после каждой записи. Без него подтвержденные записи
+     * переживают падение процесса, но не отключение питания.
+     * 
+     * @param syncWrites сбрасывать ли журнал после каждой записи
+     * @return эти же параметры
+     */
+    public LsmOptions setSyncWrites(boolean syncWrites) {
+        this.syncWrites = syncWrites;
+        return this;
+    }
+    
+    private static void requirePositive(long value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " должно быть положительным");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.example.lsm;
+
+import java.util.Arrays;
+
+/**
+ * Снимок счетчиков LSM-движка.
+ * Усиление записи - отношение всех байт, записанных на диск (журнал, сброс таблиц, слияния),
+ * к байтам ключей и значений, переданных пользователем.
+ */
+public final class LsmStats {
+    
+    private final long userBytes;
+    private final long walBytes;
+    private final long flushBytes;
+    private final long compactionBytes;
+    private final long flushCount;
+    private final long compactionCount;
+    private final int[] tablesPerLevel;
+    
+    /**
+     * Создает снимок счетчиков.
+     * 
+     * @param userBytes байты ключей и значений, переданные пользователем
+     * @param walBytes байты, записанные в журнал
+     * @param flushBytes байты таблиц, созданных сбросом памяти
+     * @param compactionBytes байты таблиц, созданных слиянием
+     * @param flushCount число сбросов
+     * @param compactionCount число слияний
+     * @param tablesPerLevel число таблиц на каждом уровне
+     */
+    public LsmStats(long userBytes, long walBytes, long flushBytes, long compactionBytes,
+                    long flushCount, long compactionCount, int[] tablesPerLevel) {
+        this.userBytes = userBytes;
+        this.walBytes = walBytes;
+        this.flushBytes = flushBytes;
+        this.compactionBytes = compactionBytes;
+        this.flushCount = flushCount;
+        this.compactionCount = compactionCount;
+        this.tablesPerLevel = tablesPerLevel.clone();
+    }
+    
+    /**
+     * Возвращает байты ключей и значений, переданные пользователем.
+     * 
+     * @return число байт
+     */
+    public long getUserBytes() {
+        return userBytes;
+    }
+    
+    /**
+     * Возвращает байты, записанные в журнал предзаписи.
+     * 
+     * @return число байт
+     */
+    public long getWalBytes() {
+        return walBytes;
+    }
+    
+    /**
+     * Возвращает байты таблиц, созданных сбросом памяти.
+     * 
+     * @return число байт
+     */
+    public long getFlushBytes() {
+        return flushBytes;
+    }
+    
+    /**
+     * Возвращает байты таблиц, созданных слиянием.
+     * 
+     * @return число байт
+     */
+    public long getCompactionBytes() {
+        return compactionBytes;
+    }
+    
+    /**
+     * Возвращает число сбросов таблиц в памяти.
+     * 
+     * @return число сбросов
+     */
+    public long getFlushCount() {
+        return flushCount;
+    }
+    
+    /**
+     * Возвращает число выполненных слияний.
+     * 
+     * @return число слияний
+     */
+    public long getCompactionCount() {
+        return compactionCount;
+    }
+    
+    /**
+     * Возвращает число таблиц на уровне.
+     * 
+     * @param level номер уровня
+     * @return число таблиц
+     */
+    public int getTableCount(int level) {
+        return tablesPerLevel[level];
+    }
+    
+    /**
+     * Возвращает усиление записи.
+     * 
+     * @return отношение записанных на диск байт к пользовательским (0 если записей не было)
+     */
+    public double getWriteAmplification() {
+        return userBytes == 0 ? 0 : (double) (walBytes + flushBytes + compactionBytes) / userBytes;
+    }
+    
+    @Override
+    public String toString() {
+        return "LsmStats{" +
+                "userBytes=" + userBytes +
+                ", walBytes=" + walBytes +
+                ", flushBytes=" + flushBytes +
+                ", compactionBytes=" + compactionBytes +
+                ", flushCount=" + flushCount +
+                ", compactionCount=" + compactionCount +
+                ", tablesPerLevel=" + Arrays.toString(tablesPerLevel) +
+                ", writeAmplification=" + String.format("%.2f", getWriteAmplification()) +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.example.lsm;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Таблица последних записей в памяти, упорядоченная по ключу.
+ * Удаление хранится как надгробие {@link #TOMBSTONE}, чтобы перекрыть старые версии на диске.
+ * Каждая таблица связана со своим файлом журнала предзаписи.
+ */
+final class MemTable {
+    
+    /** Надгробие удаленного ключа (сравнивается по ссылке) */
+    static final byte[] TOMBSTONE = new byte[0];
+    
+    /** Оценка накладных расходов узла skip-list на запись */
+    private static final int ENTRY_OVERHEAD = 64;
+    
+    private final ConcurrentSkipListMap<Long, byte[]> entries = new ConcurrentSkipListMap<>();
+    private final AtomicLong approximateBytes = new AtomicLong();
+    
+    /** Номер файла журнала с записями этой таблицы */
+    private final long logNumber;
+    
+    MemTable(long logNumber) {
+        this.logNumber = logNumber;
+    }
+    
+    void put(long key, byte[] value) {
+        entries.put(key, value);
+        approximateBytes.addAndGet(Long.BYTES + value.length + ENTRY_OVERHEAD);
+    }
+    
+    /**
+     * Возвращает значение, {@link #TOMBSTONE} для удаленного ключа или null, если ключа нет.
+     */
+    byte[] get(long key) {
+        return entries.get(key);
+    }
+    
+    Iterator<Map.Entry<Long, byte[]>> iterator(Long afterKey) {
+        NavigableMap<Long, byte[]> tail = afterKey == null ? entries : entries.tailMap(afterKey, false);
+        return tail.entrySet().iterator();
+    }
+    
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+    
+    int size() {
+        return entries.size();
+    }
+    
+    long approximateBytes() {
+        return approximateBytes.get();
+    }
+    
+    long logNumber() {
+        return logNumber;
+    }
+    
+    long maxKey() {
+        return entries.isEmpty() ? Long.MIN_VALUE : entries.lastKey();
+    }
+}
\ No newline at end of file
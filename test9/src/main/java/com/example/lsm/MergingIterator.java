@@ -0,0 +1,68 @@
+package com.example.lsm;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Слияние упорядоченных по ключу источников. Источник с меньшим номером новее:
+ * для повторяющегося ключа выдается только его значение (в том числе надгробие).
+ */
+final class MergingIterator implements Iterator<Map.Entry<Long, byte[]>> {
+    
+    private final PriorityQueue<Head> heap = new PriorityQueue<>((left, right) -> {
+        int byKey = Long.compare(left.entry.getKey(), right.entry.getKey());
+        return byKey != 0 ? byKey : Integer.compare(left.priority, right.priority);
+    });
+    
+    MergingIterator(List<Iterator<Map.Entry<Long, byte[]>>> sources) {
+        for (int i = 0; i < sources.size(); i++) {
+            Iterator<Map.Entry<Long, byte[]>> source = sources.get(i);
+            if (source.hasNext()) {
+                heap.add(new Head(source.next(), source, i));
+            }
+        }
+    }
+    
+    @Override
+    public boolean hasNext() {
+        return !heap.isEmpty();
+    }
+    
+    @Override
+    public Map.Entry<Long, byte[]> next() {
+        Head head = heap.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        Map.Entry<Long, byte[]> result = head.entry;
+        advance(head);
+        // Более старые версии того же ключа пропускаются
+        while (!heap.isEmpty() && heap.peek().entry.getKey().longValue() == result.getKey()) {
+            advance(heap.poll());
+        }
+        return result;
+    }
+    
+    private void advance(Head head) {
+        if (head.source.hasNext()) {
+            head.entry = head.source.next();
+            heap.add(head);
+        }
+    }
+    
+    private static final class Head {
+        
+        private Map.Entry<Long, byte[]> entry;
+        private final Iterator<Map.Entry<Long, byte[]>> source;
+        private final int priority;
+        
+        private Head(Map.Entry<Long, byte[]> entry, Iterator<Map.Entry<Long, byte[]>> source, int priority) {
+            this.entry = entry;
+            this.source = source;
+            this.priority = priority;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,417 @@
+package com.example.lsm;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+
+/**
+ * Неизменяемый отсортированный файл ключей и значений.
+ * <p>
+ * Формат: блоки данных {@code [записи][CRC32 int]}, где запись -
+ * {@code [ключ long][длина значения int, -1 для надгробия][значение]}; затем индекс блоков
+ * {@code [число блоков int]{[первый ключ long][смещение long][длина int]}}, фильтр Блума
+ * и футер {@code [смещение индекса][смещение фильтра][число записей][мин. ключ][макс. ключ] long, [магия int]}.
+ * Индекс и фильтр держатся в памяти, поэтому точечное чтение стоит одного чтения блока,
+ * а отсутствующий ключ обычно отсекается фильтром без обращения к диску.
+ * <p>
+ * Канал файла общий для всех читателей. Прерывание читающего потока закрывает канал
+ * ({@link ClosedByInterruptException}); тогда канал открывается заново, прерванный поток
+ * получает исключение, а остальные читатели повторяют чтение. Только {@link #close()}
+ * закрывает таблицу окончательно.
+ */
+final class SSTable implements AutoCloseable {
+    
+    private static final int MAGIC = 0x4C534D31;
+    private static final int FOOTER = 5 * Long.BYTES + Integer.BYTES;
+    private static final int TOMBSTONE_LENGTH = -1;
+    
+    private final long fileNumber;
+    private final Path path;
+    private volatile FileChannel channel;
+    private volatile boolean closed;
+    private final long[] blockFirstKeys;
+    private final long[] blockOffsets;
+    private final int[] blockLengths;
+    private final BloomFilter bloom;
+    private final long entryCount;
+    private final long minKey;
+    private final long maxKey;
+    private final long fileSize;
+    
+    private SSTable(long fileNumber, Path path, FileChannel channel, long[] blockFirstKeys, long[] blockOffsets,
+                    int[] blockLengths, BloomFilter bloom, long entryCount, long minKey, long maxKey, long fileSize) {
+        this.fileNumber = fileNumber;
+        this.path = path;
+        this.channel = channel;
+        this.blockFirstKeys = blockFirstKeys;
+        this.blockOffsets = blockOffsets;
+        this.blockLengths = blockLengths;
+        this.bloom = bloom;
+        this.entryCount = entryCount;
+        this.minKey = minKey;
+        this.maxKey = maxKey;
+        this.fileSize = fileSize;
+    }
+    
+    /**
+     * Открывает существующий файл и загружает индекс и фильтр.
+     */
+    static SSTable open(Path path, long fileNumber) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < FOOTER) {
+                throw new IOException("Файл таблицы поврежден: " + path);
+            }
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER);
+            WriteAheadLog.readFully(channel, footer, size - FOOTER);
+            footer.flip();
+            long indexOffset = footer.getLong();
+            long bloomOffset = footer.getLong();
+            long entryCount = footer.getLong();
+            long minKey = footer.getLong();
+            long maxKey = footer.getLong();
+            if (footer.getInt() != MAGIC || indexOffset > bloomOffset || bloomOffset > size - FOOTER) {
+                throw new IOException("Файл таблицы поврежден: " + path);
+            }
+            ByteBuffer meta = ByteBuffer.allocate((int) (size - FOOTER - indexOffset));
+            WriteAheadLog.readFully(channel, meta, indexOffset);
+            meta.flip();
+            int blocks = meta.getInt();
+            long[] firstKeys = new long[blocks];
+            long[] offsets = new long[blocks];
+            int[] lengths = new int[blocks];
+            for (int i = 0; i < blocks; i++) {
+                firstKeys[i] = meta.getLong();
+                offsets[i] = meta.getLong();
+                lengths[i] = meta.getInt();
+            }
+            BloomFilter bloom = BloomFilter.readFrom(meta);
+            return new SSTable(fileNumber, path, channel, firstKeys, offsets, lengths, bloom, entryCount, minKey, maxKey, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Ищет ключ.
+     * 
+     * @return значение, {@link MemTable#TOMBSTONE} для удаленного ключа или null, если ключа в таблице нет
+     */
+    byte[] get(long key) throws IOException {
+        if (key < minKey || key > maxKey || !bloom.mightContain(key)) {
+            return null;
+        }
+        int block = blockFor(key);
+        ByteBuffer data = readBlock(block);
+        while (data.hasRemaining()) {
+            long entryKey = data.getLong();
+            int length = data.getInt();
+            if (entryKey == key) {
+                return readValue(data, length);
+            }
+            if (entryKey > key) {
+                return null;
+            }
+            if (length > 0) {
+                data.position(data.position() + length);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Последовательный обход записей с ключом больше указанного.
+     * Ошибки ввода-вывода оборачиваются в {@link java.io.UncheckedIOException}.
+     */
+    Iterator<Map.Entry<Long, byte[]>> iterator(Long afterKey) {
+        return new Iterator<>() {
+            private int block = afterKey == null ? 0 : Math.max(0, blockFor(afterKey));
+            private ByteBuffer data;
+            private Map.Entry<Long, byte[]> next = advance();
+            
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+            
+            @Override
+            public Map.Entry<Long, byte[]> next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<Long, byte[]> result = next;
+                next = advance();
+                return result;
+            }
+            
+            private Map.Entry<Long, byte[]> advance() {
+                try {
+                    while (true) {
+                        if (data == null || !data.hasRemaining()) {
+                            if (block >= blockOffsets.length) {
+                                return null;
+                            }
+                            data = readBlock(block++);
+                        }
+                        long key = data.getLong();
+                        byte[] value = readValue(data, data.getInt());
+                        if (afterKey == null || key > afterKey) {
+                            return new AbstractMap.SimpleImmutableEntry<>(key, value);
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+    
+    long fileNumber() {
+        return fileNumber;
+    }
+    
+    Path path() {
+        return path;
+    }
+    
+    long entryCount() {
+        return entryCount;
+    }
+    
+    long minKey() {
+        return minKey;
+    }
+    
+    long maxKey() {
+        return maxKey;
+    }
+    
+    long fileSize() {
+        return fileSize;
+    }
+    
+    boolean overlaps(long from, long to) {
+        return minKey <= to && maxKey >= from;
+    }
+    
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+    
+    /**
+     * Номер последнего блока, первый ключ которого не больше ключа (-1 если ключ меньше всех).
+     */
+    private int blockFor(long key) {
+        int index = Arrays.binarySearch(blockFirstKeys, key);
+        return index >= 0 ? index : -index - 2;
+    }
+    
+    private ByteBuffer readBlock(int block) throws IOException {
+        int length = blockLengths[block];
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        read(buffer, blockOffsets[block]);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, length - Integer.BYTES);
+        if ((int) crc.getValue() != buffer.getInt(length - Integer.BYTES)) {
+            throw new IOException("Нарушена контрольная сумма блока " + block + " в " + path);
+        }
+        buffer.flip().limit(length - Integer.BYTES);
+        return buffer;
+    }
+    
+    /**
+     * Читает с позиции, открывая канал заново, если его закрыло прерывание потока.
+     */
+    private void read(ByteBuffer buffer, long position) throws IOException {
+        while (true) {
+            FileChannel current = channel;
+            try {
+                WriteAheadLog.readFully(current, buffer, position);
+                return;
+            } catch (ClosedChannelException e) {
+                reopen(current);
+                if (e instanceof ClosedByInterruptException) {
+                    // Прерван этот поток: канал восстановлен для других, а здесь - ошибка
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    private synchronized void reopen(FileChannel broken) throws IOException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+        if (channel == broken) {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        }
+    }
+    
+    private static byte[] readValue(ByteBuffer data, int length) {
+        if (length == TOMBSTONE_LENGTH) {
+            return MemTable.TOMBSTONE;
+        }
+        byte[] value = new byte[length];
+        data.get(value);
+        return value;
+    }
+    
+    /**
+     * Построчная запись новой таблицы. Ключи должны добавляться по возрастанию.
+     * Файл пишется под временным именем и переименовывается после сброса на диск,
+     * поэтому частично записанная таблица никогда не видна под своим именем.
+     */
+    static final class Writer {
+        
+        private final Path path;
+        private final Path temporary;
+        private final long fileNumber;
+        private final int blockSize;
+        private final int bloomBitsPerKey;
+        private final FileChannel channel;
+        private final CRC32 crc = new CRC32();
+        
+        private ByteBuffer block;
+        private long[] keys = new long[1024];
+        private int keyCount;
+        private long[] firstKeys = new long[64];
+        private long[] offsets = new long[64];
+        private int[] lengths = new int[64];
+        private int blockCount;
+        private long offset;
+        private boolean blockStarted;
+        
+        Writer(Path directory, long fileNumber, int blockSize, int bloomBitsPerKey) throws IOException {
+            this.fileNumber = fileNumber;
+            this.path = directory.resolve(LsmEngine.tableFileName(fileNumber));
+            this.temporary = directory.resolve(LsmEngine.tableFileName(fileNumber) + ".tmp");
+            this.blockSize = blockSize;
+            this.bloomBitsPerKey = bloomBitsPerKey;
+            this.block = ByteBuffer.allocate(blockSize * 2);
+            this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        
+        void add(long key, byte[] value) throws IOException {
+            boolean tombstone = value == MemTable.TOMBSTONE;
+            int entrySize = Long.BYTES + Integer.BYTES + value.length;
+            if (blockStarted && block.position() + entrySize > blockSize) {
+                flushBlock();
+            }
+            if (block.capacity() < entrySize + Integer.BYTES) {
+                block = ByteBuffer.allocate(entrySize + Integer.BYTES);
+            }
+            if (!blockStarted) {
+                ensureBlockCapacity();
+                firstKeys[blockCount] = key;
+                blockStarted = true;
+            }
+            block.putLong(key).putInt(tombstone ? TOMBSTONE_LENGTH : value.length).put(value);
+            if (keyCount == keys.length) {
+                keys = Arrays.copyOf(keys, keys.length * 2);
+            }
+            keys[keyCount++] = key;
+        }
+        
+        /**
+         * Оценка размера файла на текущий момент.
+         */
+        long estimatedSize() {
+            return offset + block.position();
+        }
+        
+        boolean isEmpty() {
+            return keyCount == 0;
+        }
+        
+        /**
+         * Дописывает индекс, фильтр и футер, сбрасывает файл на диск и открывает таблицу.
+         * 
+         * @return таблица или null, если записей не было (временный файл удаляется)
+         */
+        SSTable finish() throws IOException {
+            if (keyCount == 0) {
+                channel.close();
+                Files.deleteIfExists(temporary);
+                return null;
+            }
+            if (blockStarted) {
+                flushBlock();
+            }
+            BloomFilter bloom = BloomFilter.create(keyCount, bloomBitsPerKey);
+            for (int i = 0; i < keyCount; i++) {
+                bloom.add(keys[i]);
+            }
+            long indexOffset = offset;
+            int indexSize = Integer.BYTES + blockCount * (2 * Long.BYTES + Integer.BYTES);
+            ByteBuffer meta = ByteBuffer.allocate(indexSize + bloom.serializedSize() + FOOTER);
+            meta.putInt(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                meta.putLong(firstKeys[i]).putLong(offsets[i]).putInt(lengths[i]);
+            }
+            long bloomOffset = indexOffset + meta.position();
+            bloom.writeTo(meta);
+            meta.putLong(indexOffset).putLong(bloomOffset).putLong(keyCount)
+                    .putLong(keys[0]).putLong(keys[keyCount - 1]).putInt(MAGIC);
+            meta.flip();
+            write(meta);
+            channel.force(true);
+            channel.close();
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+            return SSTable.open(path, fileNumber);
+        }
+        
+        /**
+         * Прерывает запись и удаляет временный файл.
+         */
+        void abort() throws IOException {
+            channel.close();
+            Files.deleteIfExists(temporary);
+        }
+        
+        private void flushBlock() throws IOException {
+            crc.reset();
+            crc.update(block.array(), 0, block.position());
+            block.putInt((int) crc.getValue());
+            block.flip();
+            int length = block.remaining();
+            offsets[blockCount] = offset;
+            lengths[blockCount] = length;
+            blockCount++;
+            write(block);
+            block.clear();
+            blockStarted = false;
+        }
+        
+        private void ensureBlockCapacity() {
+            if (blockCount == firstKeys.length) {
+                firstKeys = Arrays.copyOf(firstKeys, blockCount * 2);
+                offsets = Arrays.copyOf(offsets, blockCount * 2);
+                lengths = Arrays.copyOf(lengths, blockCount * 2);
+            }
+        }
+        
+        private void write(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                offset += channel.write(buffer);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.example.lsm;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Журнал предзаписи таблицы в памяти.
+ * Запись: {@code [длина полезной нагрузки int][CRC32 int][ключ long][тип byte][значение]}.
+ * Записи пишутся прямо в канал файла без буфера в процессе, поэтому подтвержденная запись
+ * переживает падение процесса; при {@code sync} каждая запись дополнительно сбрасывается
+ * на диск и переживает отключение питания. При восстановлении чтение останавливается
+ * на первой неполной или поврежденной записи (оборванный хвост после сбоя).
+ * <p>
+ * Если пишущий поток прерван, Java закрывает канал; журнал открывается заново
+ * и обрезается до последней целой записи, так что прерванная запись не подтверждается,
+ * а следующие записи продолжают журнал.
+ */
+final class WriteAheadLog implements AutoCloseable {
+    
+    private static final byte PUT = 0;
+    private static final byte DELETE = 1;
+    private static final int HEADER = 8;
+    
+    private final Path path;
+    private FileChannel channel;
+    private final boolean sync;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer buffer = ByteBuffer.allocate(4096);
+    private long bytesWritten;
+    
+    private WriteAheadLog(Path path, FileChannel channel, boolean sync) {
+        this.path = path;
+        this.channel = channel;
+        this.sync = sync;
+    }
+    
+    static WriteAheadLog create(Path path, boolean sync) throws IOException {
+        return new WriteAheadLog(path, FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), sync);
+    }
+    
+    /**
+     * Дописывает запись; значение {@link MemTable#TOMBSTONE} записывается как удаление.
+     * 
+     * @return число записанных байт
+     */
+    int append(long key, byte[] value) throws IOException {
+        boolean delete = value == MemTable.TOMBSTONE;
+        int payload = Long.BYTES + 1 + value.length;
+        int total = HEADER + payload;
+        if (buffer.capacity() < total) {
+            buffer = ByteBuffer.allocate(Math.max(total, buffer.capacity() * 2));
+        }
+        buffer.clear();
+        buffer.putInt(payload).putInt(0).putLong(key).put(delete ? DELETE : PUT).put(value);
+        crc.reset();
+        crc.update(buffer.array(), HEADER, payload);
+        buffer.putInt(4, (int) crc.getValue());
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (sync) {
+                channel.force(false);
+            }
+        } catch (ClosedByInterruptException e) {
+            reopen();
+            throw e;
+        }
+        bytesWritten += total;
+        return total;
+    }
+    
+    /**
+     * Открывает журнал заново после прерывания и отбрасывает недописанную запись.
+     */
+    private void reopen() throws IOException {
+        // Флаг прерывания снимается на время обрезки, иначе закрылся бы и новый канал
+        boolean interrupted = Thread.interrupted();
+        FileChannel reopened = FileChannel.open(path, StandardOpenOption.WRITE);
+        try {
+            reopened.truncate(bytesWritten);
+            reopened.position(bytesWritten);
+        } catch (IOException e) {
+            reopened.close();
+            throw e;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        channel = reopened;
+    }
+    
+    long bytesWritten() {
+        return bytesWritten;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+    /**
+     * Воспроизводит журнал в таблицу в памяти.
+     * 
+     * @return число восстановленных записей
+     */
+    static int replay(Path path, MemTable target) throws IOException {
+        int records = 0;
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            ByteBuffer header = ByteBuffer.allocate(HEADER);
+            while (position + HEADER <= size) {
+                header.clear();
+                readFully(channel, header, position);
+                int payload = header.getInt(0);
+                int checksum = header.getInt(4);
+                if (payload < Long.BYTES + 1 || position + HEADER + payload > size) {
+                    break;
+                }
+                ByteBuffer body = ByteBuffer.allocate(payload);
+                readFully(channel, body, position + HEADER);
+                crc.reset();
+                crc.update(body.array(), 0, payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                long key = body.getLong(0);
+                byte type = body.get(Long.BYTES);
+                byte[] value = type == DELETE ? MemTable.TOMBSTONE : new byte[payload - Long.BYTES - 1];
+                if (type != DELETE) {
+                    System.arraycopy(body.array(), Long.BYTES + 1, value, 0, value.length);
+                }
+                target.put(key, value);
+                records++;
+                position += HEADER + payload;
+            }
+        }
+        return records;
+    }
+    
+    static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Неожиданный конец файла " + position);
+            }
+        }
+    }
+}
\ No newline at end of file
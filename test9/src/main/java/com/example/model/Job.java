@@ -163,6 +163,7 @@ public class Job {
      * Сравнивает данный объект с другим объектом на равенство.
      * Две вакансии считаются равными, если у них одинаковый идентификатор.
      * Если идентификатор равен null, объекты не считаются равными.
+     * Подклассы, меняющие только способ хранения полей, равны обычной вакансии с тем же id.
      * 
      * @param o объект для сравнения
      * @return true если объекты равны, false в противном случае
@@ -170,7 +171,7 @@ public class Job {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Job)) return false;
         Job job = (Job) o;
         // Если id равен null, объекты не равны (даже если оба id равны null)
         if (id == null || job.id == null) return false;
@@ -200,7 +201,7 @@ public class Job {
                 ", title='" + title + '\'' +
                 ", company='" + company + '\'' +
                 ", salary=" + salary +
-                ", description='" + description + '\'' +
+                ", description='" + getDescription() + '\'' +
                 '}';
     }
 }
\ No newline at end of file
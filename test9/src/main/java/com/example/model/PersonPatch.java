@@ -0,0 +1,163 @@
+package com.example.model;
+
+/**
+ * Частичное изменение объекта Person.
+ * Содержит только те поля, которые клиент хочет изменить;
+ * не установленные поля остаются без изменений.
+ */
+public class PersonPatch {
+    
+    /** Новое имя */
+    private String firstName;
+    
+    /** Новая фамилия */
+    private String lastName;
+    
+    /** Новый возраст */
+    private Integer age;
+    
+    /** Новый email адрес */
+    private String email;
+    
+    /** Признаки установленных полей */
+    private boolean firstNameSet;
+    private boolean lastNameSet;
+    private boolean ageSet;
+    private boolean emailSet;
+    
+    /**
+     * Возвращает новое имя.
+     * 
+     * @return имя
+     */
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    /**
+     * Устанавливает новое имя.
+     * 
+     * @param firstName имя
+     * @return этот же патч
+     */
+    public PersonPatch setFirstName(String firstName) {
+        this.firstName = firstName;
+        this.firstNameSet = true;
+        return this;
+    }
+    
+    /**
+     * Проверяет, изменяется ли имя.
+     * 
+     * @return true если имя установлено в патче
+     */
+    public boolean hasFirstName() {
+        return firstNameSet;
+    }
+    
+    /**
+     * Возвращает новую фамилию.
+     * 
+     * @return фамилия
+     */
+    public String getLastName() {
+        return lastName;
+    }
+    
+    /**
+     * Устанавливает новую фамилию.
+     * 
+     * @param lastName фамилия
+     * @return этот же патч
+     */
+    public PersonPatch setLastName(String lastName) {
+        this.lastName = lastName;
+        this.lastNameSet = true;
+        return this;
+    }
+    
+    /**
+     * Проверяет, изменяется ли фамилия.
+     * 
+     * @return true если фамилия установлена в патче
+     */
+    public boolean hasLastName() {
+        return lastNameSet;
+    }
+    
+    /**
+     * Возвращает новый возраст.
+     * 
+     * @return возраст
+     */
+    public Integer getAge() {
+        return age;
+    }
+    
+    /**
+     * Устанавливает новый возраст.
+     * 
+     * @param age возраст
+     * @return этот же патч
+     */
+    public PersonPatch setAge(Integer age) {
+        this.age = age;
+        this.ageSet = true;
+        return this;
+    }
+    
+    /**
+     * Проверяет, изменяется ли возраст.
+     * 
+     * @return true если возраст установлен в патче
+     */
+    public boolean hasAge() {
+        return ageSet;
+    }
+    
+    /**
+     * Возвращает новый email адрес.
+     * 
+     * @return email адрес
+     */
+    public String getEmail() {
+        return email;
+    }
+    
+    /**
+     * Устанавливает новый email адрес.
+     * 
+     * @param email email адрес
+     * @return этот же патч
+     */
+    public PersonPatch setEmail(String email) {
+        this.email = email;
+        this.emailSet = true;
+        return this;
+    }
+    
+    /**
+     * Проверяет, изменяется ли email.
+     * 
+     * @return true если email установлен в патче
+     */
+    public boolean hasEmail() {
+        return emailSet;
+    }
+    
+    /**
+     * Возвращает строковое представление патча (только установленные поля).
+     * 
+     * @return строковое представление
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("PersonPatch{");
+        if (firstNameSet) sb.append("firstName='").append(firstName).append("', ");
+        if (lastNameSet) sb.append("lastName='").append(lastName).append("', ");
+        if (ageSet) sb.append("age=").append(age).append(", ");
+        if (emailSet) sb.append("email='").append(email).append("', ");
+        if (sb.charAt(sb.length() - 1) == ' ') sb.setLength(sb.length() - 2);
+        return sb.append('}').toString();
+    }
+}
\ No newline at end of file
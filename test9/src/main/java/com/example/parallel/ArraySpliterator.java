@@ -0,0 +1,64 @@
+package com.example.parallel;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator по диапазону массива, делящийся пополам.
+ * Размеры всех частей известны точно, поэтому задачи получаются сбалансированными.
+ * 
+ * @param <T> тип элементов
+ */
+final class ArraySpliterator<T> implements Spliterator<T> {
+    
+    private final Object[] array;
+    private int from;
+    private final int to;
+    
+    ArraySpliterator(Object[] array, int from, int to) {
+        this.array = array;
+        this.from = from;
+        this.to = to;
+    }
+    
+    @Override
+    public Spliterator<T> trySplit() {
+        int mid = (from + to) >>> 1;
+        if (mid <= from) {
+            return null;
+        }
+        Spliterator<T> prefix = new ArraySpliterator<>(array, from, mid);
+        from = mid;
+        return prefix;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (from >= to) {
+            return false;
+        }
+        action.accept((T) array[from++]);
+        return true;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super T> action) {
+        Object[] a = array;
+        for (int i = from; i < to; i++) {
+            action.accept((T) a[i]);
+        }
+        from = to;
+    }
+    
+    @Override
+    public long estimateSize() {
+        return to - from;
+    }
+    
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+    }
+}
\ No newline at end of file
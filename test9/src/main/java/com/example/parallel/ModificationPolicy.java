@@ -0,0 +1,27 @@
+package com.example.parallel;
+
+/**
+ * Поведение параллельного просмотра при изменениях источника во время обхода.
+ */
+public enum ModificationPolicy {
+    
+    /**
+     * Обход согласованного снимка: данные копируются в массив, пока версия
+     * источника не меняется, затем массив делится на равные диапазоны.
+     * Результат соответствует одному состоянию источника.
+     */
+    SNAPSHOT,
+    
+    /**
+     * Обход живого представления без копирования. Изменения во время обхода
+     * могут быть как видны, так и нет; каждая запись видна не более одного раза.
+     */
+    WEAKLY_CONSISTENT,
+    
+    /**
+     * Обход живого представления с проверкой версии источника после обхода:
+     * если источник изменился, выбрасывается {@link java.util.ConcurrentModificationException}.
+     * Требует версионируемый источник.
+     */
+    FAIL_FAST
+}
\ No newline at end of file
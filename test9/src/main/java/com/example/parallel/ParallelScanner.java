@@ -0,0 +1,249 @@
+package com.example.parallel;
+
+import com.example.query.Queryable;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Параллельный просмотр данных на ForkJoinPool: фильтрация, проекция и свертка.
+ * Источник делится на сбалансированные диапазоны через Spliterator, частичные
+ * результаты объединяются в порядке обхода. Если элементов меньше порога
+ * {@code sequentialThreshold}, накладные расходы на задачи не окупаются,
+ * и работа выполняется последовательно в вызывающем потоке.
+ * <p>
+ * Для репозиториев без собственного источника используйте
+ * {@code Queryable.scanning(repository::findAll)}.
+ */
+public class ParallelScanner {
+    
+    /** Порог по умолчанию, ниже которого просмотр выполняется последовательно */
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 8_192;
+    
+    /** Минимальный размер листовой задачи */
+    private static final int MIN_LEAF_SIZE = 1_024;
+    
+    /** Число листов на один поток пула, сглаживающее неравномерную нагрузку */
+    private static final int LEAVES_PER_THREAD = 4;
+    
+    /** Максимум попыток снять согласованный снимок источника */
+    private static final int SNAPSHOT_ATTEMPTS = 16;
+    
+    /** Пул потоков */
+    private final ForkJoinPool pool;
+    
+    /** Политика при изменениях источника */
+    private final ModificationPolicy policy;
+    
+    /** Порог последовательного выполнения */
+    private final int sequentialThreshold;
+    
+    /**
+     * Создает сканер на общем пуле с политикой снимка и порогом по умолчанию.
+     */
+    public ParallelScanner() {
+        this(ForkJoinPool.commonPool(), ModificationPolicy.SNAPSHOT, DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+    
+    /**
+     * Создает сканер.
+     * 
+     * @param pool пул потоков
+     * @param policy политика при изменениях источника
+     * @param sequentialThreshold число элементов, ниже которого просмотр последовательный
+     */
+    public ParallelScanner(ForkJoinPool pool, ModificationPolicy policy, int sequentialThreshold) {
+        if (pool == null || policy == null) {
+            throw new IllegalArgumentException("Пул и политика не могут быть null");
+        }
+        if (sequentialThreshold < 0) {
+            throw new IllegalArgumentException("Порог не может быть отрицательным");
+        }
+        this.pool = pool;
+        this.policy = policy;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+    
+    /**
+     * Возвращает элементы, удовлетворяющие условию.
+     * Для политики {@link ModificationPolicy#SNAPSHOT} порядок совпадает с порядком источника.
+     * Элементы отдаются через {@link Queryable#detach(Object)}.
+     * 
+     * @param source источник
+     * @param predicate условие
+     * @param <T> тип элементов
+     * @return список подходящих элементов
+     */
+    public <T> List<T> filter(Queryable<T> source, Predicate<? super T> predicate) {
+        return map(source, predicate, Function.identity());
+    }
+    
+    /**
+     * Возвращает проекции элементов, удовлетворяющих условию.
+     * Проекция получает элемент, отданный через {@link Queryable#detach(Object)},
+     * поэтому не может изменить хранимое состояние источника.
+     * 
+     * @param source источник
+     * @param predicate условие
+     * @param mapper проекция
+     * @param <T> тип элементов
+     * @param <R> тип проекции
+     * @return список проекций
+     */
+    public <T, R> List<R> map(Queryable<T> source, Predicate<? super T> predicate, Function<? super T, ? extends R> mapper) {
+        if (predicate == null || mapper == null) {
+            throw new IllegalArgumentException("Условие и проекция не могут быть null");
+        }
+        return collect(source, ArrayList::new, (list, element) -> {
+            if (predicate.test(element)) {
+                list.add(mapper.apply(source.detach(element)));
+            }
+        }, (left, right) -> {
+            left.addAll(right);
+            return left;
+        });
+    }
+    
+    /**
+     * Считает элементы, удовлетворяющие условию.
+     * 
+     * @param source источник
+     * @param predicate условие
+     * @param <T> тип элементов
+     * @return число подходящих элементов
+     */
+    public <T> long count(Queryable<T> source, Predicate<? super T> predicate) {
+        if (predicate == null) {
+            throw new IllegalArgumentException("Условие не может быть null");
+        }
+        return collect(source, () -> new long[1], (counter, element) -> {
+            if (predicate.test(element)) {
+                counter[0]++;
+            }
+        }, (left, right) -> {
+            left[0] += right[0];
+            return left;
+        })[0];
+    }
+    
+    /**
+     * Сворачивает проекции подходящих элементов ассоциативной операцией.
+     * Проекция, как и в {@link #map}, получает элемент из {@link Queryable#detach(Object)}.
+     * 
+     * @param source источник
+     * @param predicate условие
+     * @param mapper проекция
+     * @param identity нейтральный элемент операции
+     * @param reducer ассоциативная операция
+     * @param <T> тип элементов
+     * @param <R> тип результата
+     * @return результат свертки ({@code identity} если подходящих элементов нет)
+     */
+    public <T, R> R reduce(Queryable<T> source, Predicate<? super T> predicate, Function<? super T, ? extends R> mapper,
+                           R identity, BinaryOperator<R> reducer) {
+        if (predicate == null || mapper == null || reducer == null) {
+            throw new IllegalArgumentException("Условие, проекция и операция не могут быть null");
+        }
+        @SuppressWarnings("unchecked")
+        R[] result = collect(source, () -> (R[]) new Object[]{identity}, (holder, element) -> {
+            if (predicate.test(element)) {
+                holder[0] = reducer.apply(holder[0], mapper.apply(source.detach(element)));
+            }
+        }, (left, right) -> {
+            left[0] = reducer.apply(left[0], right[0]);
+            return left;
+        });
+        return result[0];
+    }
+    
+    /**
+     * Общая изменяемая свертка: каждый лист наполняет свой контейнер,
+     * контейнеры объединяются слева направо. Накопитель получает хранимые элементы
+     * источника без копирования: он не должен их изменять или отдавать наружу.
+     * 
+     * @param source источник
+     * @param supplier фабрика контейнеров
+     * @param accumulator добавление элемента в контейнер
+     * @param combiner объединение двух контейнеров (может вернуть левый)
+     * @param <T> тип элементов
+     * @param <A> тип контейнера
+     * @return итоговый контейнер
+     * @throws ConcurrentModificationException если политика FAIL_FAST и источник изменился
+     */
+    public <T, A> A collect(Queryable<T> source, Supplier<A> supplier, BiConsumer<A, ? super T> accumulator,
+                            BinaryOperator<A> combiner) {
+        if (source == null || supplier == null || accumulator == null || combiner == null) {
+            throw new IllegalArgumentException("Аргументы просмотра не могут быть null");
+        }
+        long versionBefore = source.version();
+        if (policy == ModificationPolicy.FAIL_FAST) {
+            if (versionBefore == Queryable.UNVERSIONED) {
+                throw new IllegalArgumentException("Политика FAIL_FAST требует версионируемый источник");
+            }
+            if ((versionBefore & 1) != 0) {
+                throw new ConcurrentModificationException("Источник изменяется");
+            }
+        }
+        Spliterator<T> spliterator = policy == ModificationPolicy.SNAPSHOT
+                ? snapshot(source)
+                : source.scan().spliterator();
+        long size = spliterator.estimateSize();
+        A result;
+        if (size < sequentialThreshold) {
+            result = ScanTask.sequential(spliterator, supplier, accumulator);
+        } else {
+            long leafSize = Math.max(MIN_LEAF_SIZE, size / ((long) pool.getParallelism() * LEAVES_PER_THREAD));
+            result = pool.invoke(new ScanTask<>(spliterator, leafSize, supplier, accumulator, combiner));
+        }
+        if (policy == ModificationPolicy.FAIL_FAST && source.version() != versionBefore) {
+            throw new ConcurrentModificationException("Источник изменился во время просмотра");
+        }
+        return result;
+    }
+    
+    /**
+     * Копирует источник в массив. Для версионируемого источника копия
+     * повторяется, пока версия не останется неизменной за время копирования.
+     */
+    private static <T> Spliterator<T> snapshot(Queryable<T> source) {
+        Object[] copy = null;
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS; attempt++) {
+            long before = source.version();
+            copy = source.scan().toArray();
+            if (before == Queryable.UNVERSIONED || ((before & 1) == 0 && source.version() == before)) {
+                break;
+            }
+            copy = null;
+            Thread.onSpinWait();
+        }
+        if (copy == null) {
+            throw new ConcurrentModificationException("Не удалось снять согласованный снимок источника");
+        }
+        return new ArraySpliterator<>(copy, 0, copy.length);
+    }
+    
+    /**
+     * Возвращает политику при изменениях источника.
+     * 
+     * @return политика
+     */
+    public ModificationPolicy getPolicy() {
+        return policy;
+    }
+    
+    /**
+     * Возвращает порог последовательного выполнения.
+     * 
+     * @return число элементов
+     */
+    public int getSequentialThreshold() {
+        return sequentialThreshold;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.example.parallel;
+
+import java.util.Spliterator;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Задача fork-join: делит Spliterator до размера листа, обрабатывает листья
+ * последовательно и объединяет частичные результаты слева направо.
+ * 
+ * @param <T> тип элементов
+ * @param <A> тип частичного результата
+ */
+final class ScanTask<T, A> extends RecursiveTask<A> {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final Spliterator<T> spliterator;
+    private final long leafSize;
+    private final Supplier<A> supplier;
+    private final BiConsumer<A, ? super T> accumulator;
+    private final BinaryOperator<A> combiner;
+    
+    ScanTask(Spliterator<T> spliterator, long leafSize, Supplier<A> supplier,
+             BiConsumer<A, ? super T> accumulator, BinaryOperator<A> combiner) {
+        this.spliterator = spliterator;
+        this.leafSize = leafSize;
+        this.supplier = supplier;
+        this.accumulator = accumulator;
+        this.combiner = combiner;
+    }
+    
+    @Override
+    protected A compute() {
+        if (spliterator.estimateSize() > leafSize) {
+            Spliterator<T> prefix = spliterator.trySplit();
+            if (prefix != null) {
+                ScanTask<T, A> left = new ScanTask<>(prefix, leafSize, supplier, accumulator, combiner);
+                ScanTask<T, A> right = new ScanTask<>(spliterator, leafSize, supplier, accumulator, combiner);
+                right.fork();
+                A leftResult = left.compute();
+                return combiner.apply(leftResult, right.join());
+            }
+        }
+        return sequential(spliterator, supplier, accumulator);
+    }
+    
+    static <T, A> A sequential(Spliterator<T> spliterator, Supplier<A> supplier, BiConsumer<A, ? super T> accumulator) {
+        A container = supplier.get();
+        spliterator.forEachRemaining(element -> accumulator.accept(container, element));
+        return container;
+    }
+}
\ No newline at end of file
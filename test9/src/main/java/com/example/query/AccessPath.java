@@ -0,0 +1,150 @@
+package com.example.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Способ получения строк-кандидатов для запроса.
+ * Кандидаты всегда дополнительно проверяются полным условием запроса.
+ * 
+ * @param <T> тип сущности
+ */
+abstract class AccessPath<T> {
+    
+    /**
+     * Оценивает число строк-кандидатов.
+     * 
+     * @return оценка
+     */
+    abstract long estimate();
+    
+    /**
+     * Возвращает строки-кандидаты.
+     * 
+     * @return кандидаты
+     */
+    abstract Collection<T> fetch();
+    
+    /**
+     * Дописывает описание узла плана.
+     * 
+     * @param sb буфер
+     * @param depth глубина вложенности
+     */
+    abstract void describe(StringBuilder sb, int depth);
+    
+    static void indent(StringBuilder sb, int depth) {
+        for (int i = 0; i < depth; i++) {
+            sb.append("  ");
+        }
+    }
+    
+    /**
+     * Полный просмотр источника.
+     */
+    static final class FullScan<T> extends AccessPath<T> {
+        
+        private final Queryable<T> source;
+        
+        FullScan(Queryable<T> source) {
+            this.source = source;
+        }
+        
+        @Override
+        long estimate() {
+            return source.size();
+        }
+        
+        @Override
+        Collection<T> fetch() {
+            return source.scan();
+        }
+        
+        @Override
+        void describe(StringBuilder sb, int depth) {
+            indent(sb, depth);
+            sb.append("FullScan\n");
+        }
+    }
+    
+    /**
+     * Поиск по индексу для одного условия-листа.
+     */
+    static final class IndexLookup<T> extends AccessPath<T> {
+        
+        private final QueryIndex<T> index;
+        private final Condition<T> condition;
+        private final long estimate;
+        
+        IndexLookup(QueryIndex<T> index, Condition<T> condition) {
+            this.index = index;
+            this.condition = condition;
+            this.estimate = index.estimate(condition);
+        }
+        
+        @Override
+        long estimate() {
+            return estimate;
+        }
+        
+        @Override
+        Collection<T> fetch() {
+            return index.lookup(condition);
+        }
+        
+        @Override
+        void describe(StringBuilder sb, int depth) {
+            indent(sb, depth);
+            sb.append("IndexLookup[").append(index.kind()).append(' ').append(index.attribute())
+                    .append("] ").append(condition).append(" (est. ").append(estimate).append(" rows)\n");
+        }
+    }
+    
+    /**
+     * Объединение нескольких путей доступа (для OR) без дубликатов.
+     */
+    static final class Union<T> extends AccessPath<T> {
+        
+        private final List<AccessPath<T>> parts;
+        
+        Union(List<AccessPath<T>> parts) {
+            this.parts = parts;
+        }
+        
+        @Override
+        long estimate() {
+            long total = 0;
+            for (AccessPath<T> part : parts) {
+                total += part.estimate();
+            }
+            return total;
+        }
+        
+        @Override
+        Collection<T> fetch() {
+            Set<T> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<T> result = new ArrayList<>();
+            for (AccessPath<T> part : parts) {
+                for (T entity : part.fetch()) {
+                    if (seen.add(entity)) {
+                        result.add(entity);
+                    }
+                }
+            }
+            return result;
+        }
+        
+        @Override
+        void describe(StringBuilder sb, int depth) {
+            indent(sb, depth);
+            sb.append("Union (est. ").append(estimate()).append(" rows)\n");
+            for (AccessPath<T> part : parts) {
+                part.describe(sb, depth + 1);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.example.query;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Типизированный атрибут сущности, по которому можно фильтровать, сортировать и строить индексы.
+ * Атрибуты сравниваются по ссылке: имя служит только для отображения.
+ * 
+ * @param <T> тип сущности
+ * @param <V> тип значения атрибута
+ */
+public final class Attribute<T, V extends Comparable<? super V>> {
+    
+    /** Имя атрибута (используется в плане запроса и как ключ индекса) */
+    private final String name;
+    
+    /** Функция извлечения значения */
+    private final Function<T, V> getter;
+    
+    private Attribute(String name, Function<T, V> getter) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.getter = Objects.requireNonNull(getter, "getter");
+    }
+    
+    /**
+     * Создает атрибут.
+     * 
+     * @param name имя атрибута
+     * @param getter функция извлечения значения (может возвращать null)
+     * @param <T> тип сущности
+     * @param <V> тип значения
+     * @return атрибут
+     */
+    public static <T, V extends Comparable<? super V>> Attribute<T, V> of(String name, Function<T, V> getter) {
+        return new Attribute<>(name, getter);
+    }
+    
+    /**
+     * Возвращает имя атрибута.
+     * 
+     * @return имя
+     */
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Извлекает значение атрибута из сущности.
+     * 
+     * @param entity сущность
+     * @return значение или null
+     */
+    public V get(T entity) {
+        return getter.apply(entity);
+    }
+    
+    /**
+     * Возвращает компаратор сущностей по значению атрибута (null в конце).
+     * 
+     * @return компаратор
+     */
+    public Comparator<T> comparator() {
+        return Comparator.comparing(getter, Comparator.nullsLast(Comparator.<V>naturalOrder()));
+    }
+    
+    @Override
+    public String toString() {
+        return name;
+    }
+}
\ No newline at end of file
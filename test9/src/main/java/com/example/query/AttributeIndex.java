@@ -0,0 +1,109 @@
+package com.example.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Базовая реализация индекса: значение атрибута → (id → сущность).
+ * Сущности с null-значением атрибута не индексируются, так как
+ * ни одно условие им не удовлетворяет.
+ * 
+ * @param <T> тип сущности
+ * @param <V> тип значения атрибута
+ */
+abstract class AttributeIndex<T, V extends Comparable<? super V>> implements QueryIndex<T> {
+    
+    /** Индексируемый атрибут */
+    protected final Attribute<T, V> attribute;
+    
+    /** Функция получения идентификатора сущности */
+    private final Function<T, Long> idOf;
+    
+    /**
+     * Создает индекс.
+     * 
+     * @param attribute индексируемый атрибут
+     * @param idOf функция получения идентификатора
+     */
+    AttributeIndex(Attribute<T, V> attribute, Function<T, Long> idOf) {
+        if (attribute == null || idOf == null) {
+            throw new IllegalArgumentException("Атрибут и функция id не могут быть null");
+        }
+        this.attribute = attribute;
+        this.idOf = idOf;
+    }
+    
+    /**
+     * Возвращает карту значений индекса.
+     * 
+     * @return карта значение → (id → сущность)
+     */
+    protected abstract Map<V, Map<Long, T>> buckets();
+    
+    @Override
+    public Attribute<T, ?> attribute() {
+        return attribute;
+    }
+    
+    @Override
+    public void add(T entity) {
+        V value = attribute.get(entity);
+        if (value != null) {
+            buckets().computeIfAbsent(value, v -> new ConcurrentHashMap<>()).put(idOf.apply(entity), entity);
+        }
+    }
+    
+    @Override
+    public void remove(T entity) {
+        V value = attribute.get(entity);
+        if (value != null) {
+            Long id = idOf.apply(entity);
+            buckets().computeIfPresent(value, (v, bucket) -> {
+                bucket.remove(id);
+                return bucket.isEmpty() ? null : bucket;
+            });
+        }
+    }
+    
+    @Override
+    public void clear() {
+        buckets().clear();
+    }
+    
+    /**
+     * Собирает сущности из набора корзин.
+     * 
+     * @param selected корзины
+     * @return список сущностей
+     */
+    protected static <T> List<T> collect(Collection<Map<Long, T>> selected) {
+        List<T> result = new ArrayList<>();
+        for (Map<Long, T> bucket : selected) {
+            result.addAll(bucket.values());
+        }
+        return result;
+    }
+    
+    /**
+     * Суммирует размеры набора корзин.
+     * 
+     * @param selected корзины
+     * @return число сущностей
+     */
+    protected static <T> long count(Collection<Map<Long, T>> selected) {
+        long total = 0;
+        for (Map<Long, T> bucket : selected) {
+            total += bucket.size();
+        }
+        return total;
+    }
+    
+    @Override
+    public String toString() {
+        return kind() + " index on " + attribute;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,308 @@
+package com.example.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Условие запроса. Листья ({@link Equals}, {@link Range}) ссылаются на атрибут
+ * и могут обслуживаться индексом; {@link And} и {@link Or} их комбинируют.
+ * Условия сравниваются по структуре ({@link #equals(Object)}), строковое
+ * представление нормализовано и служит для отображения и плана запроса.
+ * 
+ * @param <T> тип сущности
+ */
+public abstract class Condition<T> {
+    
+    Condition() {
+        // Иерархия закрыта для пакета
+    }
+    
+    /**
+     * Проверяет сущность на соответствие условию.
+     * 
+     * @param entity сущность
+     * @return true если сущность подходит
+     */
+    public abstract boolean test(T entity);
+    
+    /**
+     * Комбинирует условие с другим через AND.
+     * 
+     * @param other другое условие
+     * @return составное условие
+     */
+    public Condition<T> and(Condition<T> other) {
+        return new And<>(List.of(this, other));
+    }
+    
+    /**
+     * Комбинирует условие с другим через OR.
+     * 
+     * @param other другое условие
+     * @return составное условие
+     */
+    public Condition<T> or(Condition<T> other) {
+        return new Or<>(List.of(this, other));
+    }
+    
+    /**
+     * Условие равенства атрибута значению.
+     */
+    public static final class Equals<T, V extends Comparable<? super V>> extends Condition<T> {
+        
+        private final Attribute<T, V> attribute;
+        private final V value;
+        
+        Equals(Attribute<T, V> attribute, V value) {
+            this.attribute = Objects.requireNonNull(attribute, "attribute");
+            this.value = Objects.requireNonNull(value, "value");
+        }
+        
+        /**
+         * Возвращает атрибут условия.
+         * 
+         * @return атрибут
+         */
+        public Attribute<T, V> getAttribute() {
+            return attribute;
+        }
+        
+        /**
+         * Возвращает сравниваемое значение.
+         * 
+         * @return значение
+         */
+        public V getValue() {
+            return value;
+        }
+        
+        @Override
+        public boolean test(T entity) {
+            return value.equals(attribute.get(entity));
+        }
+        
+        @Override
+        public String toString() {
+            return attribute + " = '" + value + "'";
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Equals)) return false;
+            Equals<?, ?> other = (Equals<?, ?>) o;
+            return attribute == other.attribute && value.equals(other.value);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(attribute) + value.hashCode();
+        }
+    }
+    
+    /**
+     * Условие попадания атрибута в диапазон (границы включительно, null — без границы).
+     */
+    public static final class Range<T, V extends Comparable<? super V>> extends Condition<T> {
+        
+        private final Attribute<T, V> attribute;
+        private final V from;
+        private final V to;
+        
+        Range(Attribute<T, V> attribute, V from, V to) {
+            this.attribute = Objects.requireNonNull(attribute, "attribute");
+            if (from == null && to == null) {
+                throw new IllegalArgumentException("Диапазон должен иметь хотя бы одну границу");
+            }
+            if (from != null && to != null && from.compareTo(to) > 0) {
+                throw new IllegalArgumentException("Нижняя граница больше верхней: " + from + " > " + to);
+            }
+            this.from = from;
+            this.to = to;
+        }
+        
+        /**
+         * Возвращает атрибут условия.
+         * 
+         * @return атрибут
+         */
+        public Attribute<T, V> getAttribute() {
+            return attribute;
+        }
+        
+        /**
+         * Возвращает нижнюю границу.
+         * 
+         * @return граница или null
+         */
+        public V getFrom() {
+            return from;
+        }
+        
+        /**
+         * Возвращает верхнюю границу.
+         * 
+         * @return граница или null
+         */
+        public V getTo() {
+            return to;
+        }
+        
+        @Override
+        public boolean test(T entity) {
+            V value = attribute.get(entity);
+            if (value == null) {
+                return false;
+            }
+            return (from == null || value.compareTo(from) >= 0) && (to == null || value.compareTo(to) <= 0);
+        }
+        
+        @Override
+        public String toString() {
+            return attribute + " in [" + (from == null ? "-inf" : from) + ", " + (to == null ? "+inf" : to) + "]";
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Range)) return false;
+            Range<?, ?> other = (Range<?, ?>) o;
+            return attribute == other.attribute && Objects.equals(from, other.from) && Objects.equals(to, other.to);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(attribute), from, to);
+        }
+    }
+    
+    /**
+     * Конъюнкция условий.
+     */
+    public static final class And<T> extends Condition<T> {
+        
+        private final List<Condition<T>> children;
+        
+        And(List<Condition<T>> children) {
+            this.children = flatten(children, And.class);
+        }
+        
+        /**
+         * Возвращает вложенные условия.
+         * 
+         * @return неизменяемый список условий
+         */
+        public List<Condition<T>> getChildren() {
+            return children;
+        }
+        
+        @Override
+        public boolean test(T entity) {
+            for (Condition<T> child : children) {
+                if (!child.test(entity)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        @Override
+        public String toString() {
+            return join(children, " AND ");
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof And)) return false;
+            And<?> other = (And<?>) o;
+            return children.equals(other.children);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 1 * 31 + children.hashCode();
+        }
+    }
+    
+    /**
+     * Дизъюнкция условий.
+     */
+    public static final class Or<T> extends Condition<T> {
+        
+        private final List<Condition<T>> children;
+        
+        Or(List<Condition<T>> children) {
+            this.children = flatten(children, Or.class);
+        }
+        
+        /**
+         * Возвращает вложенные условия.
+         * 
+         * @return неизменяемый список условий
+         */
+        public List<Condition<T>> getChildren() {
+            return children;
+        }
+        
+        @Override
+        public boolean test(T entity) {
+            for (Condition<T> child : children) {
+                if (child.test(entity)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        @Override
+        public String toString() {
+            return join(children, " OR ");
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Or)) return false;
+            Or<?> other = (Or<?>) o;
+            return children.equals(other.children);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 2 * 31 + children.hashCode();
+        }
+    }
+    
+    /**
+     * Раскрывает вложенные узлы того же типа: (a AND (b AND c)) → (a AND b AND c).
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> List<Condition<T>> flatten(List<Condition<T>> children, Class<?> type) {
+        List<Condition<T>> flat = new ArrayList<>();
+        for (Condition<T> child : children) {
+            Objects.requireNonNull(child, "condition");
+            if (type == And.class && child instanceof And) {
+                flat.addAll(((And<T>) child).children);
+            } else if (type == Or.class && child instanceof Or) {
+                flat.addAll(((Or<T>) child).children);
+            } else {
+                flat.add(child);
+            }
+        }
+        return Collections.unmodifiableList(flat);
+    }
+    
+    private static <T> String join(List<Condition<T>> children, String separator) {
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < children.size(); i++) {
+            if (i > 0) {
+                sb.append(separator);
+            }
+            sb.append(children.get(i));
+        }
+        return sb.append(')').toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.example.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Фабрика условий запроса.
+ */
+public final class Conditions {
+    
+    private Conditions() {
+        // Утилитный класс
+    }
+    
+    /**
+     * Атрибут равен значению.
+     * 
+     * @param attribute атрибут
+     * @param value значение
+     * @return условие
+     */
+    public static <T, V extends Comparable<? super V>> Condition<T> eq(Attribute<T, V> attribute, V value) {
+        return new Condition.Equals<>(attribute, value);
+    }
+    
+    /**
+     * Атрибут в диапазоне [from, to] включительно.
+     * 
+     * @param attribute атрибут
+     * @param from нижняя граница
+     * @param to верхняя граница
+     * @return условие
+     */
+    public static <T, V extends Comparable<? super V>> Condition<T> between(Attribute<T, V> attribute, V from, V to) {
+        return new Condition.Range<>(attribute, from, to);
+    }
+    
+    /**
+     * Атрибут не меньше значения.
+     * 
+     * @param attribute атрибут
+     * @param from нижняя граница
+     * @return условие
+     */
+    public static <T, V extends Comparable<? super V>> Condition<T> atLeast(Attribute<T, V> attribute, V from) {
+        return new Condition.Range<>(attribute, from, null);
+    }
+    
+    /**
+     * Атрибут не больше значения.
+     * 
+     * @param attribute атрибут
+     * @param to верхняя граница
+     * @return условие
+     */
+    public static <T, V extends Comparable<? super V>> Condition<T> atMost(Attribute<T, V> attribute, V to) {
+        return new Condition.Range<>(attribute, null, to);
+    }
+    
+    /**
+     * Все условия выполняются.
+     * 
+     * @param conditions условия
+     * @return составное условие
+     */
+    @SafeVarargs
+    public static <T> Condition<T> and(Condition<T>... conditions) {
+        List<Condition<T>> list = new ArrayList<>(conditions.length);
+        for (Condition<T> condition : conditions) {
+            list.add(condition);
+        }
+        return new Condition.And<>(List.copyOf(list));
+    }
+    
+    /**
+     * Хотя бы одно условие выполняется.
+     * 
+     * @param conditions условия
+     * @return составное условие
+     */
+    @SafeVarargs
+    public static <T> Condition<T> or(Condition<T>... conditions) {
+        List<Condition<T>> list = new ArrayList<>(conditions.length);
+        for (Condition<T> condition : conditions) {
+            list.add(condition);
+        }
+        return new Condition.Or<>(List.copyOf(list));
+    }
+}
\ No newline at end of file
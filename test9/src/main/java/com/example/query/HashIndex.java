@@ -0,0 +1,57 @@
+package com.example.query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Хеш-индекс: обслуживает только условия равенства.
+ * 
+ * @param <T> тип сущности
+ * @param <V> тип значения атрибута
+ */
+public class HashIndex<T, V extends Comparable<? super V>> extends AttributeIndex<T, V> {
+    
+    /** Корзины индекса */
+    private final Map<V, Map<Long, T>> buckets = new ConcurrentHashMap<>();
+    
+    /**
+     * Создает хеш-индекс.
+     * 
+     * @param attribute индексируемый атрибут
+     * @param idOf функция получения идентификатора сущности
+     */
+    public HashIndex(Attribute<T, V> attribute, Function<T, Long> idOf) {
+        super(attribute, idOf);
+    }
+    
+    @Override
+    protected Map<V, Map<Long, T>> buckets() {
+        return buckets;
+    }
+    
+    @Override
+    public boolean supports(Condition<T> condition) {
+        return condition instanceof Condition.Equals
+                && ((Condition.Equals<T, ?>) condition).getAttribute() == attribute;
+    }
+    
+    @Override
+    public long estimate(Condition<T> condition) {
+        Map<Long, T> bucket = buckets.get(((Condition.Equals<?, ?>) condition).getValue());
+        return bucket == null ? 0 : bucket.size();
+    }
+    
+    @Override
+    public Collection<T> lookup(Condition<T> condition) {
+        Map<Long, T> bucket = buckets.get(((Condition.Equals<?, ?>) condition).getValue());
+        return bucket == null ? List.of() : List.copyOf(bucket.values());
+    }
+    
+    @Override
+    public String kind() {
+        return "hash";
+    }
+}
\ No newline at end of file
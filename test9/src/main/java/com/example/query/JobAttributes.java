@@ -0,0 +1,25 @@
+package com.example.query;
+
+import com.example.model.Job;
+
+/**
+ * Атрибуты Job, доступные в запросах.
+ */
+public final class JobAttributes {
+    
+    /** Название должности */
+    public static final Attribute<Job, String> TITLE = Attribute.of("title", Job::getTitle);
+    
+    /** Название компании */
+    public static final Attribute<Job, String> COMPANY = Attribute.of("company", Job::getCompany);
+    
+    /** Зарплата (null не попадает ни под одно условие) */
+    public static final Attribute<Job, Double> SALARY = Attribute.of("salary", Job::getSalary);
+    
+    /** Идентификатор */
+    public static final Attribute<Job, Long> ID = Attribute.of("id", Job::getId);
+    
+    private JobAttributes() {
+        // Утилитный класс
+    }
+}
\ No newline at end of file
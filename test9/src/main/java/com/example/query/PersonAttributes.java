@@ -0,0 +1,47 @@
+package com.example.query;
+
+import com.example.model.Person;
+import java.util.Locale;
+
+/**
+ * Атрибуты Person, доступные в запросах.
+ */
+public final class PersonAttributes {
+    
+    /** Возраст */
+    public static final Attribute<Person, Integer> AGE = Attribute.of("age", Person::getAge);
+    
+    /** Имя */
+    public static final Attribute<Person, String> FIRST_NAME = Attribute.of("firstName", Person::getFirstName);
+    
+    /** Фамилия */
+    public static final Attribute<Person, String> LAST_NAME = Attribute.of("lastName", Person::getLastName);
+    
+    /** Email адрес */
+    public static final Attribute<Person, String> EMAIL = Attribute.of("email", Person::getEmail);
+    
+    /** Домен email в нижнем регистре (часть после '@') */
+    public static final Attribute<Person, String> EMAIL_DOMAIN = Attribute.of("emailDomain", PersonAttributes::emailDomain);
+    
+    /** Идентификатор */
+    public static final Attribute<Person, Long> ID = Attribute.of("id", Person::getId);
+    
+    private PersonAttributes() {
+        // Утилитный класс
+    }
+    
+    /**
+     * Извлекает домен email в нижнем регистре.
+     * 
+     * @param person человек
+     * @return домен или null, если email отсутствует или некорректен
+     */
+    public static String emailDomain(Person person) {
+        String email = person.getEmail();
+        if (email == null) {
+            return null;
+        }
+        int at = email.lastIndexOf('@');
+        return at < 0 ? null : email.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+package com.example.query;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Неизменяемый типизированный запрос: условие, сортировка и ограничение числа строк.
+ * <pre>
+ * Query.where(Conditions.between(PersonAttributes.AGE, 30, 40))
+ *      .orderBy(PersonAttributes.LAST_NAME)
+ *      .limit(10)
+ *      .execute(personService);
+ * </pre>
+ * 
+ * @param <T> тип сущности
+ */
+public final class Query<T> {
+    
+    /** Без ограничения числа строк */
+    public static final int NO_LIMIT = Integer.MAX_VALUE;
+    
+    private final Condition<T> condition;
+    private final Attribute<T, ?> orderBy;
+    private final boolean descending;
+    private final int limit;
+    
+    private Query(Condition<T> condition, Attribute<T, ?> orderBy, boolean descending, int limit) {
+        this.condition = condition;
+        this.orderBy = orderBy;
+        this.descending = descending;
+        this.limit = limit;
+    }
+    
+    /**
+     * Создает запрос с условием.
+     * 
+     * @param condition условие
+     * @param <T> тип сущности
+     * @return запрос
+     */
+    public static <T> Query<T> where(Condition<T> condition) {
+        if (condition == null) {
+            throw new IllegalArgumentException("Условие не может быть null");
+        }
+        return new Query<>(condition, null, false, NO_LIMIT);
+    }
+    
+    /**
+     * Создает запрос без условия (все сущности).
+     * 
+     * @param <T> тип сущности
+     * @return запрос
+     */
+    public static <T> Query<T> all() {
+        return new Query<>(null, null, false, NO_LIMIT);
+    }
+    
+    /**
+     * Возвращает копию запроса с сортировкой по возрастанию.
+     * 
+     * @param attribute атрибут сортировки
+     * @return новый запрос
+     */
+    public Query<T> orderBy(Attribute<T, ?> attribute) {
+        return new Query<>(condition, attribute, false, limit);
+    }
+    
+    /**
+     * Возвращает копию запроса с сортировкой по убыванию.
+     * 
+     * @param attribute атрибут сортировки
+     * @return новый запрос
+     */
+    public Query<T> orderByDescending(Attribute<T, ?> attribute) {
+        return new Query<>(condition, attribute, true, limit);
+    }
+    
+    /**
+     * Возвращает копию запроса с ограничением числа строк.
+     * 
+     * @param limit максимальное число строк
+     * @return новый запрос
+     */
+    public Query<T> limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit не может быть отрицательным");
+        }
+        return new Query<>(condition, orderBy, descending, limit);
+    }
+    
+    /**
+     * Возвращает условие запроса.
+     * 
+     * @return условие или null, если запрос без условия
+     */
+    public Condition<T> getCondition() {
+        return condition;
+    }
+    
+    /**
+     * Возвращает атрибут сортировки.
+     * 
+     * @return атрибут или null
+     */
+    public Attribute<T, ?> getOrderBy() {
+        return orderBy;
+    }
+    
+    /**
+     * Проверяет направление сортировки.
+     * 
+     * @return true если сортировка по убыванию
+     */
+    public boolean isDescending() {
+        return descending;
+    }
+    
+    /**
+     * Возвращает ограничение числа строк.
+     * 
+     * @return ограничение или {@link #NO_LIMIT}
+     */
+    public int getLimit() {
+        return limit;
+    }
+    
+    /**
+     * Планирует и выполняет запрос над источником.
+     * 
+     * @param source источник данных
+     * @return найденные сущности
+     */
+    public List<T> execute(Queryable<T> source) {
+        return QueryPlanner.plan(this, source).execute();
+    }
+    
+    /**
+     * Возвращает план, который планировщик выбрал бы для источника.
+     * 
+     * @param source источник данных
+     * @return текстовое описание плана
+     */
+    public String explain(Queryable<T> source) {
+        return QueryPlanner.plan(this, source).explain();
+    }
+    
+    /**
+     * Сравнивает запросы по структуре: условию, сортировке и ограничению.
+     * Атрибуты сравниваются по ссылке, поэтому разные атрибуты с одинаковым
+     * именем дают разные запросы.
+     * 
+     * @param o другой объект
+     * @return true если запросы структурно равны
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Query)) return false;
+        Query<?> other = (Query<?>) o;
+        return descending == other.descending && limit == other.limit
+                && orderBy == other.orderBy && Objects.equals(condition, other.condition);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(condition, System.identityHashCode(orderBy), descending, limit);
+    }
+    
+    /**
+     * Возвращает нормализованное текстовое представление запроса.
+     * 
+     * @return строка запроса
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("SELECT");
+        if (condition != null) {
+            sb.append(" WHERE ").append(condition);
+        }
+        if (orderBy != null) {
+            sb.append(" ORDER BY ").append(orderBy).append(descending ? " DESC" : " ASC");
+        }
+        if (limit != NO_LIMIT) {
+            sb.append(" LIMIT ").append(limit);
+        }
+        return sb.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.example.query;
+
+import java.util.Collection;
+
+/**
+ * Вторичный индекс по атрибуту сущности, который планировщик может использовать
+ * вместо полного просмотра хранилища. Индекс поддерживается владельцем хранилища
+ * на каждой операции записи.
+ * 
+ * @param <T> тип сущности
+ */
+public interface QueryIndex<T> {
+    
+    /**
+     * Возвращает индексируемый атрибут.
+     * 
+     * @return атрибут
+     */
+    Attribute<T, ?> attribute();
+    
+    /**
+     * Проверяет, может ли индекс обслужить условие-лист.
+     * 
+     * @param condition условие
+     * @return true если индекс подходит
+     */
+    boolean supports(Condition<T> condition);
+    
+    /**
+     * Оценивает число сущностей, которые вернет {@link #lookup}.
+     * 
+     * @param condition поддерживаемое условие
+     * @return оценка числа строк
+     */
+    long estimate(Condition<T> condition);
+    
+    /**
+     * Возвращает сущности, удовлетворяющие условию.
+     * 
+     * @param condition поддерживаемое условие
+     * @return найденные сущности
+     */
+    Collection<T> lookup(Condition<T> condition);
+    
+    /**
+     * Добавляет сущность в индекс.
+     * 
+     * @param entity сущность
+     */
+    void add(T entity);
+    
+    /**
+     * Удаляет сущность из индекса.
+     * 
+     * @param entity сущность в том состоянии, в котором она была добавлена
+     */
+    void remove(T entity);
+    
+    /**
+     * Очищает индекс.
+     */
+    void clear();
+    
+    /**
+     * Возвращает вид индекса для вывода плана.
+     * 
+     * @return вид индекса
+     */
+    String kind();
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.example.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * План выполнения запроса: путь доступа, фильтр, сортировка и ограничение.
+ * 
+ * @param <T> тип сущности
+ */
+public final class QueryPlan<T> {
+    
+    private final Query<T> query;
+    private final Queryable<T> source;
+    private final AccessPath<T> accessPath;
+    
+    QueryPlan(Query<T> query, Queryable<T> source, AccessPath<T> accessPath) {
+        this.query = query;
+        this.source = source;
+        this.accessPath = accessPath;
+    }
+    
+    /**
+     * Проверяет, использует ли план индекс.
+     * 
+     * @return true если путь доступа не является полным просмотром
+     */
+    public boolean usesIndex() {
+        return !(accessPath instanceof AccessPath.FullScan);
+    }
+    
+    /**
+     * Выполняет план.
+     * 
+     * @return найденные сущности с учетом сортировки и ограничения
+     *         (отданные через {@link Queryable#detach(Object)})
+     */
+    public List<T> execute() {
+        List<T> result = select();
+        result.replaceAll(source::detach);
+        return result;
+    }
+    
+    private List<T> select() {
+        Condition<T> condition = query.getCondition();
+        int limit = query.getLimit();
+        if (query.getOrderBy() == null) {
+            List<T> result = new ArrayList<>();
+            for (T entity : accessPath.fetch()) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                if (condition == null || condition.test(entity)) {
+                    result.add(entity);
+                }
+            }
+            return result;
+        }
+        return limit == Query.NO_LIMIT ? sortAll(condition) : topN(condition, limit);
+    }
+    
+    /**
+     * Возвращает текстовое описание плана.
+     * 
+     * @return описание плана
+     */
+    public String explain() {
+        StringBuilder sb = new StringBuilder();
+        int depth = 0;
+        if (query.getLimit() != Query.NO_LIMIT) {
+            sb.append("Limit ").append(query.getLimit()).append('\n');
+            depth++;
+        }
+        if (query.getOrderBy() != null) {
+            AccessPath.indent(sb, depth++);
+            sb.append(query.getLimit() != Query.NO_LIMIT ? "TopN " : "Sort ")
+                    .append(query.getOrderBy()).append(query.isDescending() ? " DESC" : " ASC").append('\n');
+        }
+        if (query.getCondition() != null) {
+            AccessPath.indent(sb, depth++);
+            sb.append("Filter ").append(query.getCondition()).append('\n');
+        }
+        accessPath.describe(sb, depth);
+        return sb.toString();
+    }
+    
+    @Override
+    public String toString() {
+        return explain();
+    }
+    
+    private Comparator<T> comparator() {
+        Comparator<T> comparator = query.getOrderBy().comparator();
+        return query.isDescending() ? comparator.reversed() : comparator;
+    }
+    
+    private List<T> sortAll(Condition<T> condition) {
+        List<T> result = new ArrayList<>();
+        for (T entity : accessPath.fetch()) {
+            if (condition == null || condition.test(entity)) {
+                result.add(entity);
+            }
+        }
+        result.sort(comparator());
+        return result;
+    }
+    
+    /**
+     * Отбирает первые N строк ограниченной кучей, не сортируя все кандидаты.
+     */
+    private List<T> topN(Condition<T> condition, int limit) {
+        if (limit == 0) {
+            return new ArrayList<>();
+        }
+        Comparator<T> comparator = comparator();
+        PriorityQueue<T> heap = new PriorityQueue<>(Math.min(limit, 1024) + 1, comparator.reversed());
+        for (T entity : accessPath.fetch()) {
+            if (condition != null && !condition.test(entity)) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.add(entity);
+            } else if (comparator.compare(entity, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(entity);
+            }
+        }
+        List<T> result = new ArrayList<>(heap);
+        Collections.sort(result, comparator);
+        return result;
+    }
+}
\ No newline at end of file
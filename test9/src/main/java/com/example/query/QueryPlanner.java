@@ -0,0 +1,81 @@
+package com.example.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Планировщик запросов.
+ * Для листа выбирает самый селективный подходящий индекс; для AND — самого
+ * селективного индексируемого потомка (остальное проверяется фильтром);
+ * для OR — объединение индексных путей, если индексируемы все ветви.
+ * Если индексный путь не найден или не лучше полного просмотра, выбирается FullScan.
+ */
+public final class QueryPlanner {
+    
+    private QueryPlanner() {
+        // Утилитный класс
+    }
+    
+    /**
+     * Строит план выполнения запроса над источником.
+     * 
+     * @param query запрос
+     * @param source источник данных
+     * @param <T> тип сущности
+     * @return план
+     */
+    public static <T> QueryPlan<T> plan(Query<T> query, Queryable<T> source) {
+        if (query == null || source == null) {
+            throw new IllegalArgumentException("Запрос и источник не могут быть null");
+        }
+        List<QueryIndex<T>> indexes = source.indexes();
+        AccessPath<T> path = query.getCondition() == null || indexes.isEmpty()
+                ? null : accessPath(query.getCondition(), indexes);
+        if (path == null || path.estimate() >= source.size()) {
+            path = new AccessPath.FullScan<>(source);
+        }
+        return new QueryPlan<>(query, source, path);
+    }
+    
+    private static <T> AccessPath<T> accessPath(Condition<T> condition, List<QueryIndex<T>> indexes) {
+        if (condition instanceof Condition.And) {
+            return bestOf(((Condition.And<T>) condition).getChildren(), indexes);
+        }
+        if (condition instanceof Condition.Or) {
+            return unionOf(((Condition.Or<T>) condition).getChildren(), indexes);
+        }
+        AccessPath<T> best = null;
+        for (QueryIndex<T> index : indexes) {
+            if (index.supports(condition)) {
+                AccessPath<T> candidate = new AccessPath.IndexLookup<>(index, condition);
+                if (best == null || candidate.estimate() < best.estimate()) {
+                    best = candidate;
+                }
+            }
+        }
+        return best;
+    }
+    
+    private static <T> AccessPath<T> bestOf(List<Condition<T>> children, List<QueryIndex<T>> indexes) {
+        AccessPath<T> best = null;
+        for (Condition<T> child : children) {
+            AccessPath<T> candidate = accessPath(child, indexes);
+            if (candidate != null && (best == null || candidate.estimate() < best.estimate())) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+    
+    private static <T> AccessPath<T> unionOf(List<Condition<T>> children, List<QueryIndex<T>> indexes) {
+        List<AccessPath<T>> parts = new ArrayList<>(children.size());
+        for (Condition<T> child : children) {
+            AccessPath<T> part = accessPath(child, indexes);
+            if (part == null) {
+                return null;
+            }
+            parts.add(part);
+        }
+        return new AccessPath.Union<>(parts);
+    }
+}
\ No newline at end of file
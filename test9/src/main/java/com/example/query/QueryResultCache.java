@@ -0,0 +1,228 @@
+package com.example.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ограниченный кэш результатов запросов перед версионируемыми источниками.
+ * Ключ - источник (по ссылке) и структура запроса
+ * ({@link Query#equals(Object)}), а не его текстовое представление. Каждый результат помечен версией источника,
+ * при которой он вычислен, и возвращается только пока версия не изменилась,
+ * поэтому устаревший результат никогда не отдается. Результат кэшируется,
+ * только если версия не менялась за время выполнения запроса.
+ * Источники без версии ({@link Queryable#UNVERSIONED}) обслуживаются напрямую.
+ * Кэш хранит собственные копии элементов ({@link Queryable#detach(Object)}) и
+ * каждому вызывающему отдает новые копии, поэтому изменение полученного
+ * элемента не портит ни кэш, ни ответы другим вызывающим.
+ * При переполнении вытесняется давно не использованный результат.
+ */
+public class QueryResultCache {
+    
+    /** Максимальное число результатов */
+    private final int maxEntries;
+    
+    /** Результаты в порядке последнего использования */
+    private final LinkedHashMap<Key, Entry> entries;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    /**
+     * Создает кэш указанной емкости.
+     * 
+     * @param maxEntries максимальное число хранимых результатов
+     */
+    public QueryResultCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Емкость кэша должна быть положительной");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > QueryResultCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * Возвращает результат запроса из кэша или выполняет запрос.
+     * 
+     * @param query запрос
+     * @param source источник данных
+     * @param <T> тип сущности
+     * @return неизменяемый список результатов
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> execute(Query<T> query, Queryable<T> source) {
+        if (query == null || source == null) {
+            throw new IllegalArgumentException("Запрос и источник не могут быть null");
+        }
+        long before = source.version();
+        if (before == Queryable.UNVERSIONED || (before & 1) != 0) {
+            // Версии нет или идет запись: результат нельзя ни взять из кэша, ни сохранить
+            misses.increment();
+            return List.copyOf(query.execute(source));
+        }
+        Key key = new Key(source, query);
+        synchronized (entries) {
+            Entry cached = entries.get(key);
+            if (cached != null) {
+                if (cached.version == before) {
+                    hits.increment();
+                    return detached((List<T>) cached.result, source);
+                }
+                entries.remove(key);
+                invalidations.increment();
+            }
+        }
+        misses.increment();
+        List<T> result = List.copyOf(query.execute(source));
+        if (source.version() == before) {
+            synchronized (entries) {
+                Entry existing = entries.get(key);
+                if (existing == null || existing.version < before) {
+                    entries.put(key, new Entry(before, detached(result, source)));
+                }
+            }
+        }
+        return result;
+    }
+    
+    private static <T> List<T> detached(List<T> result, Queryable<T> source) {
+        List<T> copy = new ArrayList<>(result.size());
+        for (T element : result) {
+            copy.add(source.detach(element));
+        }
+        return Collections.unmodifiableList(copy);
+    }
+    
+    /**
+     * Удаляет все результаты из кэша.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+    
+    /**
+     * Возвращает текущее число результатов в кэше.
+     * 
+     * @return число результатов
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    /**
+     * Возвращает число попаданий.
+     * 
+     * @return число запросов, обслуженных из кэша
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    /**
+     * Возвращает число промахов.
+     * 
+     * @return число выполненных запросов
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    /**
+     * Возвращает число результатов, отброшенных из-за смены версии источника.
+     * 
+     * @return число инвалидаций
+     */
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+    
+    /**
+     * Возвращает число результатов, вытесненных из-за переполнения.
+     * 
+     * @return число вытеснений
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+    
+    /**
+     * Возвращает долю попаданий среди всех обращений.
+     * 
+     * @return доля попаданий от 0 до 1 (0 если обращений не было)
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+    
+    @Override
+    public String toString() {
+        return "QueryResultCache{" +
+                "size=" + size() +
+                ", hits=" + getHitCount() +
+                ", misses=" + getMissCount() +
+                ", invalidations=" + getInvalidationCount() +
+                ", evictions=" + getEvictionCount() +
+                '}';
+    }
+    
+    /**
+     * Ключ кэша: источник сравнивается по ссылке, запрос - по структуре.
+     */
+    private static final class Key {
+        
+        private final Object source;
+        private final Query<?> query;
+        
+        private Key(Object source, Query<?> query) {
+            this.source = source;
+            this.query = query;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return source == other.source && query.equals(other.query);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(source) + query.hashCode();
+        }
+    }
+    
+    /**
+     * Результат, помеченный версией источника.
+     */
+    private static final class Entry {
+        
+        private final long version;
+        private final List<?> result;
+        
+        private Entry(long version, List<?> result) {
+            this.version = version;
+            this.result = result;
+        }
+    }
+}
\ No newline at end of file
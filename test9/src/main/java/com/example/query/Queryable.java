@@ -0,0 +1,87 @@
+package com.example.query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Источник данных для запросов: полный просмотр и набор доступных индексов.
+ * 
+ * @param <T> тип сущности
+ */
+public interface Queryable<T> {
+    
+    /** Версия источника, не отслеживающего изменения (результаты по нему не кэшируются) */
+    long UNVERSIONED = -1;
+    
+    /**
+     * Возвращает все сущности для полного просмотра.
+     * Коллекция может быть живым слабо согласованным представлением хранилища.
+     * 
+     * @return все сущности
+     */
+    Collection<T> scan();
+    
+    /**
+     * Возвращает текущее число сущностей.
+     * 
+     * @return число сущностей
+     */
+    int size();
+    
+    /**
+     * Возвращает индексы, доступные планировщику.
+     * 
+     * @return список индексов
+     */
+    default List<QueryIndex<T>> indexes() {
+        return List.of();
+    }
+    
+    /**
+     * Возвращает версию данных источника. Версия меняется при каждом изменении
+     * данных; нечетное значение означает, что изменение применяется прямо сейчас.
+     * Источник без отслеживания изменений возвращает {@link #UNVERSIONED}.
+     * 
+     * @return версия данных или {@link #UNVERSIONED}
+     */
+    default long version() {
+        return UNVERSIONED;
+    }
+    
+    /**
+     * Возвращает сущность для выдачи за пределы источника. Источник, хранящий
+     * изменяемые объекты, возвращает копию: так результаты запросов не дают доступа
+     * к состоянию, от которого зависят его индексы и представления.
+     * Сущности из {@link #scan()} и индексов предназначены только для чтения внутри
+     * планировщика и сканеров.
+     * 
+     * @param entity сущность из хранилища
+     * @return сущность, которую можно отдать вызывающему
+     */
+    default T detach(T entity) {
+        return entity;
+    }
+    
+    /**
+     * Создает источник без индексов поверх функции получения всех сущностей,
+     * например {@code Queryable.scanning(jobRepository::findAll)}.
+     * 
+     * @param all функция получения всех сущностей
+     * @param <T> тип сущности
+     * @return источник, обслуживаемый только полным просмотром
+     */
+    static <T> Queryable<T> scanning(Supplier<? extends Collection<T>> all) {
+        return new Queryable<>() {
+            @Override
+            public Collection<T> scan() {
+                return all.get();
+            }
+            
+            @Override
+            public int size() {
+                return all.get().size();
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.example.query;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Упорядоченный индекс: обслуживает условия равенства и диапазона.
+ * 
+ * @param <T> тип сущности
+ * @param <V> тип значения атрибута
+ */
+public class SortedIndex<T, V extends Comparable<? super V>> extends AttributeIndex<T, V> {
+    
+    /** Корзины индекса в порядке значений */
+    private final ConcurrentSkipListMap<V, Map<Long, T>> buckets = new ConcurrentSkipListMap<>();
+    
+    /**
+     * Создает упорядоченный индекс.
+     * 
+     * @param attribute индексируемый атрибут
+     * @param idOf функция получения идентификатора сущности
+     */
+    public SortedIndex(Attribute<T, V> attribute, Function<T, Long> idOf) {
+        super(attribute, idOf);
+    }
+    
+    @Override
+    protected Map<V, Map<Long, T>> buckets() {
+        return buckets;
+    }
+    
+    @Override
+    public boolean supports(Condition<T> condition) {
+        if (condition instanceof Condition.Equals) {
+            return ((Condition.Equals<T, ?>) condition).getAttribute() == attribute;
+        }
+        return condition instanceof Condition.Range
+                && ((Condition.Range<T, ?>) condition).getAttribute() == attribute;
+    }
+    
+    @Override
+    public long estimate(Condition<T> condition) {
+        return count(select(condition).values());
+    }
+    
+    @Override
+    public Collection<T> lookup(Condition<T> condition) {
+        return collect(select(condition).values());
+    }
+    
+    @Override
+    public String kind() {
+        return "sorted";
+    }
+    
+    /**
+     * Выбирает корзины, попадающие под условие.
+     */
+    @SuppressWarnings("unchecked")
+    private NavigableMap<V, Map<Long, T>> select(Condition<T> condition) {
+        if (condition instanceof Condition.Equals) {
+            V value = ((Condition.Equals<T, V>) condition).getValue();
+            return buckets.subMap(value, true, value, true);
+        }
+        Condition.Range<T, V> range = (Condition.Range<T, V>) condition;
+        if (range.getFrom() == null) {
+            return buckets.headMap(range.getTo(), true);
+        }
+        if (range.getTo() == null) {
+            return buckets.tailMap(range.getFrom(), true);
+        }
+        return buckets.subMap(range.getFrom(), true, range.getTo(), true);
+    }
+}
\ No newline at end of file
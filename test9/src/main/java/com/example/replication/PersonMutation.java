@@ -0,0 +1,95 @@
+package com.example.replication;
+
+import com.example.model.Person;
+
+/**
+ * Запись журнала репликации: одно изменение хранилища PersonService.
+ * Каждая запись содержит полное новое состояние, поэтому повторное применение
+ * записи идемпотентно.
+ */
+public final class PersonMutation {
+    
+    /**
+     * Тип изменения.
+     */
+    public enum Type {
+        /** Создание или обновление человека */
+        UPSERT,
+        /** Удаление человека */
+        DELETE,
+        /** Очистка всего хранилища */
+        CLEAR
+    }
+    
+    /** Порядковый номер изменения в журнале (начиная с 1) */
+    private final long sequence;
+    
+    /** Тип изменения */
+    private final Type type;
+    
+    /** Идентификатор затронутого человека (0 для CLEAR) */
+    private final long personId;
+    
+    /** Новое состояние человека (только для UPSERT) */
+    private final Person person;
+    
+    /**
+     * Создает запись журнала.
+     * 
+     * @param sequence порядковый номер
+     * @param type тип изменения
+     * @param personId идентификатор человека
+     * @param person новое состояние (null для DELETE и CLEAR)
+     */
+    public PersonMutation(long sequence, Type type, long personId, Person person) {
+        this.sequence = sequence;
+        this.type = type;
+        this.personId = personId;
+        this.person = person;
+    }
+    
+    /**
+     * Возвращает порядковый номер изменения.
+     * 
+     * @return порядковый номер
+     */
+    public long getSequence() {
+        return sequence;
+    }
+    
+    /**
+     * Возвращает тип изменения.
+     * 
+     * @return тип изменения
+     */
+    public Type getType() {
+        return type;
+    }
+    
+    /**
+     * Возвращает идентификатор затронутого человека.
+     * 
+     * @return идентификатор
+     */
+    public long getPersonId() {
+        return personId;
+    }
+    
+    /**
+     * Возвращает новое состояние человека.
+     * 
+     * @return состояние человека или null
+     */
+    public Person getPerson() {
+        return person;
+    }
+    
+    @Override
+    public String toString() {
+        return "PersonMutation{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", personId=" + personId +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,263 @@
+package com.example.replication;
+
+import com.example.model.Person;
+import com.example.util.PersonStreams;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ведомый узел репликации PersonService.
+ * Получает журнал изменений первичного узла по TCP и обслуживает только чтение.
+ * При разрыве соединения переподключается и продолжает со своей позиции;
+ * если позиция уже вытеснена из журнала первичного узла, загружает снимок.
+ */
+public class ReplicationFollower implements AutoCloseable {
+    
+    /** Таймаут подключения в миллисекундах */
+    private static final int CONNECT_TIMEOUT_MILLIS = 2_000;
+    
+    /** Таймаут чтения: если первичный узел молчит дольше, соединение считается потерянным */
+    private static final int READ_TIMEOUT_MILLIS = 5_000;
+    
+    /** Пауза между попытками переподключения */
+    private static final long RECONNECT_DELAY_MILLIS = 100;
+    
+    /** Адрес первичного узла */
+    private final InetSocketAddress primaryAddress;
+    
+    /** Локальная копия хранилища; заменяется целиком при загрузке снимка */
+    private volatile Map<Long, Person> storage = new ConcurrentHashMap<>();
+    
+    /** Номер последней примененной мутации */
+    private volatile long appliedSequence;
+    
+    /** Последний известный номер головы журнала первичного узла */
+    private volatile long primarySequence;
+    
+    /** Время последнего кадра от первичного узла */
+    private volatile long lastContactMillis;
+    
+    /** Число загруженных снимков */
+    private volatile int snapshotCount;
+    
+    private volatile boolean connected;
+    private volatile boolean running;
+    private volatile Socket socket;
+    private Thread receiverThread;
+    
+    /**
+     * Создает ведомый узел.
+     * 
+     * @param host хост первичного узла
+     * @param port порт первичного узла
+     */
+    public ReplicationFollower(String host, int port) {
+        this.primaryAddress = new InetSocketAddress(host, port);
+    }
+    
+    /**
+     * Запускает фоновый прием журнала.
+     */
+    public synchronized void start() {
+        if (running) {
+            throw new IllegalStateException("Ведомый узел уже запущен");
+        }
+        running = true;
+        receiverThread = new Thread(this::receiveLoop, "replication-follower");
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+    }
+    
+    /**
+     * Получает человека по идентификатору из локальной реплики.
+     * 
+     * @param id идентификатор человека
+     * @return объект Person или null, если не найден
+     */
+    public Person getPersonById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID не может быть null");
+        }
+        return storage.get(id);
+    }
+    
+    /**
+     * Получает всех людей из локальной реплики.
+     * 
+     * @return список всех объектов Person
+     */
+    public List<Person> getAllPersons() {
+        return new ArrayList<>(storage.values());
+    }
+    
+    /**
+     * Возвращает количество людей в локальной реплике.
+     * 
+     * @return количество людей
+     */
+    public int getPersonCount() {
+        return storage.size();
+    }
+    
+    /**
+     * Возвращает номер последней примененной мутации.
+     * 
+     * @return номер мутации
+     */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+    
+    /**
+     * Возвращает отставание от первичного узла в числе мутаций.
+     * 
+     * @return число еще не примененных мутаций
+     */
+    public long getLag() {
+        return Math.max(0, primarySequence - appliedSequence);
+    }
+    
+    /**
+     * Возвращает время с момента последнего кадра от первичного узла.
+     * 
+     * @return миллисекунды с последнего контакта или -1, если контакта не было
+     */
+    public long getMillisSinceLastContact() {
+        long last = lastContactMillis;
+        return last == 0 ? -1 : System.currentTimeMillis() - last;
+    }
+    
+    /**
+     * Проверяет, установлено ли соединение с первичным узлом.
+     * 
+     * @return true если соединение установлено
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+    
+    /**
+     * Возвращает число загруженных снимков.
+     * 
+     * @return число снимков
+     */
+    public int getSnapshotCount() {
+        return snapshotCount;
+    }
+    
+    /**
+     * Ожидает применения мутации с указанным номером.
+     * 
+     * @param sequence номер мутации
+     * @param timeoutMillis максимальное время ожидания
+     * @return true если мутация применена до истечения таймаута
+     * @throws InterruptedException если поток прерван
+     */
+    public boolean awaitSequence(long sequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (appliedSequence < sequence) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+    
+    /**
+     * Останавливает прием журнала.
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                // Игнорируем ошибки закрытия
+            }
+        }
+        if (receiverThread != null) {
+            receiverThread.interrupt();
+        }
+    }
+    
+    private void receiveLoop() {
+        while (running) {
+            try (Socket s = new Socket()) {
+                socket = s;
+                s.connect(primaryAddress, CONNECT_TIMEOUT_MILLIS);
+                s.setSoTimeout(READ_TIMEOUT_MILLIS);
+                s.setTcpNoDelay(true);
+                connected = true;
+                session(s);
+            } catch (IOException e) {
+                // Соединение потеряно: переподключимся ниже
+            } finally {
+                connected = false;
+            }
+            pause();
+        }
+    }
+    
+    private void session(Socket s) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+        out.writeInt(ReplicationProtocol.MAGIC);
+        out.writeLong(appliedSequence);
+        out.flush();
+        DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+        while (running) {
+            byte frame = in.readByte();
+            lastContactMillis = System.currentTimeMillis();
+            switch (frame) {
+                case ReplicationProtocol.SNAPSHOT -> loadSnapshot(in);
+                case ReplicationProtocol.MUTATION -> apply(ReplicationProtocol.readMutation(in));
+                case ReplicationProtocol.HEARTBEAT -> primarySequence = Math.max(primarySequence, in.readLong());
+                default -> throw new IOException("Неизвестный кадр репликации: " + frame);
+            }
+        }
+    }
+    
+    private void loadSnapshot(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        int count = in.readInt();
+        Map<Long, Person> loaded = new ConcurrentHashMap<>(Math.max(16, count * 2));
+        for (int i = 0; i < count; i++) {
+            Person person = PersonStreams.readPerson(in);
+            loaded.put(person.getId(), person);
+        }
+        storage = loaded;
+        primarySequence = sequence;
+        appliedSequence = sequence;
+        snapshotCount++;
+    }
+    
+    private void apply(PersonMutation mutation) {
+        switch (mutation.getType()) {
+            case UPSERT -> storage.put(mutation.getPersonId(), mutation.getPerson());
+            case DELETE -> storage.remove(mutation.getPersonId());
+            case CLEAR -> storage.clear();
+        }
+        primarySequence = Math.max(primarySequence, mutation.getSequence());
+        appliedSequence = mutation.getSequence();
+    }
+    
+    private void pause() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.example.replication;
+
+import com.example.model.Person;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ограниченный упорядоченный журнал изменений первичного узла.
+ * Хранит последние {@code capacity} записей в кольцевом буфере; подписчик,
+ * отставший сильнее, должен догонять через снимок.
+ */
+final class ReplicationLog {
+    
+    /** Кольцевой буфер записей */
+    private final PersonMutation[] ring;
+    
+    /** Номер последней записанной мутации (0 если журнал пуст) */
+    private long lastSequence;
+    
+    /** Признак закрытия журнала */
+    private boolean closed;
+    
+    /**
+     * Создает журнал указанной емкости.
+     * 
+     * @param capacity максимальное число хранимых записей
+     */
+    ReplicationLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Емкость журнала должна быть положительной");
+        }
+        this.ring = new PersonMutation[capacity];
+    }
+    
+    /**
+     * Добавляет запись в журнал и будит ожидающих читателей.
+     * 
+     * @param type тип изменения
+     * @param personId идентификатор человека
+     * @param person новое состояние (null для DELETE и CLEAR)
+     * @return номер добавленной записи
+     */
+    synchronized long append(PersonMutation.Type type, long personId, Person person) {
+        long sequence = ++lastSequence;
+        ring[(int) (sequence % ring.length)] = new PersonMutation(sequence, type, personId, person);
+        notifyAll();
+        return sequence;
+    }
+    
+    /**
+     * Возвращает номер последней записи.
+     * 
+     * @return номер последней записи
+     */
+    synchronized long lastSequence() {
+        return lastSequence;
+    }
+    
+    /**
+     * Читает записи, следующие за указанным номером.
+     * 
+     * @param afterSequence номер последней уже полученной записи
+     * @param maxCount максимальное число записей
+     * @return список записей (возможно пустой) или null, если нужные записи уже вытеснены
+     */
+    synchronized List<PersonMutation> readAfter(long afterSequence, int maxCount) {
+        if (afterSequence > lastSequence || afterSequence < lastSequence - ring.length) {
+            return null;
+        }
+        int count = (int) Math.min(maxCount, lastSequence - afterSequence);
+        List<PersonMutation> result = new ArrayList<>(count);
+        for (long seq = afterSequence + 1; seq <= afterSequence + count; seq++) {
+            result.add(ring[(int) (seq % ring.length)]);
+        }
+        return result;
+    }
+    
+    /**
+     * Ожидает появления записи с номером больше указанного.
+     * 
+     * @param afterSequence номер последней уже полученной записи
+     * @param timeoutMillis максимальное время ожидания
+     * @throws InterruptedException если поток прерван
+     */
+    synchronized void awaitAfter(long afterSequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remaining = timeoutMillis;
+        while (!closed && lastSequence <= afterSequence && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+    }
+    
+    /**
+     * Закрывает журнал и будит всех ожидающих.
+     */
+    synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,254 @@
+package com.example.replication;
+
+import com.example.model.Person;
+import com.example.service.PersonChangeListener;
+import com.example.service.PersonService;
+import com.example.util.PersonStreams;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Первичный узел репликации PersonService.
+ * Подписывается на изменения сервиса, складывает их в упорядоченный журнал
+ * и транслирует его подключенным ведомым узлам по TCP.
+ * Ведомый, чья позиция уже вытеснена из журнала, получает снимок хранилища.
+ */
+public class ReplicationPrimary implements AutoCloseable {
+    
+    /** Емкость журнала по умолчанию */
+    public static final int DEFAULT_LOG_CAPACITY = 65_536;
+    
+    /** Интервал heartbeat по умолчанию в миллисекундах */
+    public static final long DEFAULT_HEARTBEAT_MILLIS = 200;
+    
+    /** Максимальное число мутаций, отправляемых за один проход */
+    private static final int BATCH_SIZE = 512;
+    
+    /** Реплицируемый сервис */
+    private final PersonService service;
+    
+    /** Журнал изменений */
+    private final ReplicationLog log;
+    
+    /** Порт прослушивания (0 — выбрать свободный) */
+    private final int requestedPort;
+    
+    /** Интервал heartbeat */
+    private final long heartbeatMillis;
+    
+    /** Слушатель изменений сервиса */
+    private final PersonChangeListener listener = new LogAppender();
+    
+    /** Открытые соединения с ведомыми */
+    private final Set<Socket> followers = ConcurrentHashMap.newKeySet();
+    
+    private volatile ServerSocket serverSocket;
+    private volatile boolean running;
+    private Thread acceptThread;
+    
+    /**
+     * Создает первичный узел с параметрами по умолчанию.
+     * 
+     * @param service реплицируемый сервис
+     * @param port порт прослушивания (0 — выбрать свободный)
+     */
+    public ReplicationPrimary(PersonService service, int port) {
+        this(service, port, DEFAULT_LOG_CAPACITY, DEFAULT_HEARTBEAT_MILLIS);
+    }
+    
+    /**
+     * Создает первичный узел.
+     * 
+     * @param service реплицируемый сервис
+     * @param port порт прослушивания (0 — выбрать свободный)
+     * @param logCapacity емкость журнала изменений
+     * @param heartbeatMillis интервал heartbeat
+     */
+    public ReplicationPrimary(PersonService service, int port, int logCapacity, long heartbeatMillis) {
+        if (service == null) {
+            throw new IllegalArgumentException("PersonService не может быть null");
+        }
+        this.service = service;
+        this.requestedPort = port;
+        this.log = new ReplicationLog(logCapacity);
+        this.heartbeatMillis = heartbeatMillis;
+    }
+    
+    /**
+     * Подписывается на изменения сервиса и начинает принимать ведомых.
+     * 
+     * @throws IOException если не удалось открыть порт
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            throw new IllegalStateException("Первичный узел уже запущен");
+        }
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), requestedPort));
+        service.addChangeListener(listener);
+        running = true;
+        acceptThread = new Thread(this::acceptLoop, "replication-primary-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+    
+    /**
+     * Возвращает фактический порт прослушивания.
+     * 
+     * @return порт
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+    
+    /**
+     * Возвращает номер последней записи журнала.
+     * 
+     * @return номер последней мутации
+     */
+    public long getLastSequence() {
+        return log.lastSequence();
+    }
+    
+    /**
+     * Возвращает число подключенных ведомых.
+     * 
+     * @return число ведомых
+     */
+    public int getFollowerCount() {
+        return followers.size();
+    }
+    
+    /**
+     * Останавливает трансляцию и отписывается от сервиса.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        service.removeChangeListener(listener);
+        log.close();
+        closeQuietly(serverSocket);
+        for (Socket socket : followers) {
+            closeQuietly(socket);
+        }
+        followers.clear();
+    }
+    
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                followers.add(socket);
+                Thread session = new Thread(() -> serveFollower(socket), "replication-primary-session");
+                session.setDaemon(true);
+                session.start();
+            } catch (IOException e) {
+                // Сокет закрыт при остановке либо временная ошибка accept
+            }
+        }
+    }
+    
+    private void serveFollower(Socket socket) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            if (in.readInt() != ReplicationProtocol.MAGIC) {
+                return;
+            }
+            streamLog(out, in.readLong());
+        } catch (IOException | InterruptedException e) {
+            // Ведомый отключился: он переподключится и продолжит со своей позиции
+        } finally {
+            followers.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+    
+    private void streamLog(DataOutputStream out, long position) throws IOException, InterruptedException {
+        while (running) {
+            List<PersonMutation> batch = log.readAfter(position, BATCH_SIZE);
+            if (batch == null) {
+                position = sendSnapshot(out);
+            } else if (batch.isEmpty()) {
+                log.awaitAfter(position, heartbeatMillis);
+                if (log.lastSequence() == position) {
+                    out.writeByte(ReplicationProtocol.HEARTBEAT);
+                    out.writeLong(position);
+                    out.flush();
+                }
+            } else {
+                // Сообщаем текущую голову журнала, чтобы ведомый знал свое отставание
+                out.writeByte(ReplicationProtocol.HEARTBEAT);
+                out.writeLong(log.lastSequence());
+                for (PersonMutation mutation : batch) {
+                    ReplicationProtocol.writeMutation(out, mutation);
+                }
+                out.flush();
+                position = batch.get(batch.size() - 1).getSequence();
+            }
+        }
+    }
+    
+    /**
+     * Отправляет снимок хранилища. Номер журнала фиксируется до чтения данных:
+     * мутации, попавшие в снимок повторно, будут переиграны идемпотентно.
+     */
+    private long sendSnapshot(DataOutputStream out) throws IOException {
+        long sequence = log.lastSequence();
+        List<Person> persons = service.getAllPersons();
+        out.writeByte(ReplicationProtocol.SNAPSHOT);
+        out.writeLong(sequence);
+        out.writeInt(persons.size());
+        for (Person person : persons) {
+            PersonStreams.writePerson(out, person);
+        }
+        out.flush();
+        return sequence;
+    }
+    
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            if (closeable != null) {
+                closeable.close();
+            }
+        } catch (Exception e) {
+            // Игнорируем ошибки закрытия
+        }
+    }
+    
+    /**
+     * Переносит изменения сервиса в журнал. Вызывается под монитором сервиса,
+     * поэтому порядок журнала совпадает с порядком записи.
+     */
+    private final class LogAppender implements PersonChangeListener {
+        
+        @Override
+        public void onChange(Person oldPerson, Person newPerson) {
+            if (newPerson == null) {
+                log.append(PersonMutation.Type.DELETE, oldPerson.getId(), null);
+            } else {
+                Person copy = new Person(newPerson.getId(), newPerson.getFirstName(),
+                        newPerson.getLastName(), newPerson.getAge(), newPerson.getEmail());
+                log.append(PersonMutation.Type.UPSERT, copy.getId(), copy);
+            }
+        }
+        
+        @Override
+        public void onClear() {
+            log.append(PersonMutation.Type.CLEAR, 0, null);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.example.replication;
+
+import com.example.model.Person;
+import com.example.util.PersonStreams;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Формат кадров протокола репликации поверх TCP.
+ * <pre>
+ * HELLO      : int MAGIC, long lastAppliedSequence      (follower → primary)
+ * SNAPSHOT   : byte, long sequence, int count, Person*   (primary → follower)
+ * MUTATION   : byte, long sequence, byte type, long id, [Person]
+ * HEARTBEAT  : byte, long primaryLastSequence
+ * </pre>
+ */
+final class ReplicationProtocol {
+    
+    /** Магическое число рукопожатия */
+    static final int MAGIC = 0x50524550;
+    
+    /** Кадр снимка */
+    static final byte SNAPSHOT = 1;
+    
+    /** Кадр мутации */
+    static final byte MUTATION = 2;
+    
+    /** Кадр heartbeat */
+    static final byte HEARTBEAT = 3;
+    
+    private ReplicationProtocol() {
+        // Утилитный класс
+    }
+    
+    /**
+     * Записывает мутацию в поток.
+     * 
+     * @param out выходной поток
+     * @param mutation мутация
+     * @throws IOException при ошибке ввода-вывода
+     */
+    static void writeMutation(DataOutputStream out, PersonMutation mutation) throws IOException {
+        out.writeByte(MUTATION);
+        out.writeLong(mutation.getSequence());
+        out.writeByte(mutation.getType().ordinal());
+        out.writeLong(mutation.getPersonId());
+        if (mutation.getType() == PersonMutation.Type.UPSERT) {
+            PersonStreams.writePerson(out, mutation.getPerson());
+        }
+    }
+    
+    /**
+     * Читает тело кадра мутации (после байта типа кадра).
+     * 
+     * @param in входной поток
+     * @return мутация
+     * @throws IOException при ошибке ввода-вывода или неизвестном типе мутации
+     */
+    static PersonMutation readMutation(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        byte typeCode = in.readByte();
+        PersonMutation.Type[] types = PersonMutation.Type.values();
+        if (typeCode < 0 || typeCode >= types.length) {
+            throw new IOException("Неизвестный тип мутации: " + typeCode);
+        }
+        PersonMutation.Type type = types[typeCode];
+        long personId = in.readLong();
+        Person person = type == PersonMutation.Type.UPSERT ? PersonStreams.readPerson(in) : null;
+        return new PersonMutation(sequence, type, personId, person);
+    }
+}
\ No newline at end of file
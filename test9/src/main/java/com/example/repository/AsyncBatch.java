@@ -0,0 +1,105 @@
+package com.example.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Пакетный запуск асинхронных операций с ограничением числа одновременно выполняемых.
+ * Новая операция запускается по завершении предыдущей, без потоков ожидания, поэтому
+ * тысячи элементов не превращаются в тысячи одновременных обращений к хранилищу.
+ */
+public final class AsyncBatch {
+    
+    private AsyncBatch() {
+        // Utility class
+    }
+    
+    /**
+     * Применяет асинхронную операцию к каждому элементу, выполняя одновременно не
+     * больше maxConcurrency операций. При первой ошибке итоговый future завершается
+     * этой ошибкой, и новые операции не запускаются; уже начатые доработают.
+     * 
+     * @param inputs элементы
+     * @param maxConcurrency максимальное число одновременно выполняемых операций
+     * @param operation асинхронная операция над элементом
+     * @param <T> тип элементов
+     * @param <R> тип результатов
+     * @return future результатов в порядке элементов
+     */
+    public static <T, R> CompletableFuture<List<R>> map(Collection<? extends T> inputs, int maxConcurrency,
+                                                        Function<? super T, ? extends CompletableFuture<? extends R>> operation) {
+        if (inputs == null || operation == null) {
+            throw new IllegalArgumentException("Элементы и операция не могут быть null");
+        }
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Число одновременных операций должно быть положительным");
+        }
+        List<T> items = new ArrayList<>(inputs);
+        CompletableFuture<List<R>> result = new CompletableFuture<>();
+        if (items.isEmpty()) {
+            result.complete(new ArrayList<>());
+            return result;
+        }
+        Object[] results = new Object[items.size()];
+        int[] nextIndex = new int[1];
+        AtomicInteger free = new AtomicInteger(maxConcurrency);
+        AtomicInteger remaining = new AtomicInteger(items.size());
+        AtomicInteger drainRequests = new AtomicInteger();
+        AtomicBoolean failed = new AtomicBoolean();
+        Runnable[] drain = new Runnable[1];
+        drain[0] = () -> {
+            // Запуском занимается один поток за раз; операции, завершившиеся сразу,
+            // не вызывают рекурсию, а только просят текущий поток пройти цикл еще раз
+            if (drainRequests.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (nextIndex[0] < items.size() && !failed.get() && free.get() > 0) {
+                    free.decrementAndGet();
+                    int index = nextIndex[0]++;
+                    launch(operation, items.get(index)).whenComplete((value, error) -> {
+                        if (error != null) {
+                            if (failed.compareAndSet(false, true)) {
+                                result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                                        ? error.getCause() : error);
+                            }
+                            return;
+                        }
+                        results[index] = value;
+                        if (remaining.decrementAndGet() == 0) {
+                            @SuppressWarnings("unchecked")
+                            List<R> ordered = (List<R>) new ArrayList<>(Arrays.asList(results));
+                            result.complete(ordered);
+                        } else {
+                            free.incrementAndGet();
+                            drain[0].run();
+                        }
+                    });
+                }
+            } while (drainRequests.decrementAndGet() != 0);
+        };
+        drain[0].run();
+        return result;
+    }
+    
+    private static <T, R> CompletableFuture<? extends R> launch(
+            Function<? super T, ? extends CompletableFuture<? extends R>> operation, T item) {
+        CompletableFuture<? extends R> future;
+        try {
+            future = operation.apply(item);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (future == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Операция вернула null"));
+        }
+        return future;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.example.repository;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Исполнители для асинхронных репозиториев. На Java 21+ каждая операция выполняется
+ * в собственном виртуальном потоке, и блокирующий ввод-вывод делегата не занимает
+ * потоков платформы. На Java 17 виртуальных потоков нет, и используется пул из
+ * {@link #FALLBACK_THREADS} потоков-демонов: одновременно выполняется не больше
+ * операций, остальные ждут в очереди. Фабрика виртуальных потоков ищется через
+ * отражение, поэтому код компилируется и работает на обеих версиях.
+ */
+public final class AsyncExecutors {
+    
+    /** Число потоков платформы в запасном пуле */
+    public static final int FALLBACK_THREADS = 64;
+    
+    /** Фабрика исполнителя на виртуальных потоках или null, если их нет */
+    private static final Method VIRTUAL_EXECUTOR_FACTORY = findVirtualExecutorFactory();
+    
+    private AsyncExecutors() {
+        // Utility class
+    }
+    
+    /**
+     * Проверяет, доступны ли виртуальные потоки в текущей JVM.
+     * 
+     * @return true на Java 21 и новее
+     */
+    public static boolean virtualThreadsAvailable() {
+        return VIRTUAL_EXECUTOR_FACTORY != null;
+    }
+    
+    /**
+     * Создает исполнитель для операций репозитория: поток на задачу на виртуальных
+     * потоках, если они доступны, иначе пул из {@link #FALLBACK_THREADS} потоков-демонов.
+     * Исполнитель нужно закрыть вызовом shutdown.
+     * 
+     * @return новый исполнитель
+     */
+    public static ExecutorService newExecutor() {
+        if (VIRTUAL_EXECUTOR_FACTORY != null) {
+            try {
+                return (ExecutorService) VIRTUAL_EXECUTOR_FACTORY.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Не удалось создать исполнитель на виртуальных потоках", e);
+            }
+        }
+        return newPlatformExecutor(FALLBACK_THREADS);
+    }
+    
+    /**
+     * Создает пул потоков-демонов платформы.
+     * 
+     * @param threads число потоков
+     * @return новый исполнитель
+     */
+    public static ExecutorService newPlatformExecutor(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Число потоков должно быть положительным");
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "repository-async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(threads, factory);
+    }
+    
+    /**
+     * Возвращает общий исполнитель, используемый обертками по умолчанию.
+     * Создается при первом обращении и живет до завершения JVM; его потоки - демоны.
+     * 
+     * @return общий исполнитель
+     */
+    static ExecutorService shared() {
+        return SharedHolder.EXECUTOR;
+    }
+    
+    private static Method findVirtualExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Ленивая инициализация общего исполнителя.
+     */
+    private static final class SharedHolder {
+        static final ExecutorService EXECUTOR = newExecutor();
+    }
+}
\ No newline at end of file
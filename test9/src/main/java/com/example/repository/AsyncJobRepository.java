@@ -0,0 +1,123 @@
+package com.example.repository;
+
+import com.example.model.Job;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Асинхронный репозиторий Job. Методы повторяют {@link JobRepository}, но не блокируют
+ * вызывающего: операция выполняется на исполнителе, а результат возвращается через
+ * {@link CompletableFuture}. Ошибки хранилища, включая IllegalArgumentException,
+ * завершают future исключительно.
+ */
+public interface AsyncJobRepository {
+    
+    /**
+     * Асинхронно сохраняет объект Job.
+     * 
+     * @param job объект Job для сохранения
+     * @return future сохраненного объекта Job с присвоенным идентификатором
+     */
+    CompletableFuture<Job> save(Job job);
+    
+    /**
+     * Асинхронно находит объект Job по идентификатору.
+     * 
+     * @param id идентификатор объекта Job
+     * @return future Optional с найденным объектом Job
+     */
+    CompletableFuture<Optional<Job>> findById(Long id);
+    
+    /**
+     * Асинхронно возвращает список всех объектов Job.
+     * 
+     * @return future списка всех объектов Job
+     */
+    CompletableFuture<List<Job>> findAll();
+    
+    /**
+     * Асинхронно обновляет существующий объект Job.
+     * 
+     * @param job объект Job с обновленными данными
+     * @return future обновленного объекта Job
+     */
+    CompletableFuture<Job> update(Job job);
+    
+    /**
+     * Асинхронно удаляет объект Job по идентификатору.
+     * 
+     * @param id идентификатор объекта Job
+     * @return future с true, если объект был удален
+     */
+    CompletableFuture<Boolean> delete(Long id);
+    
+    /**
+     * Асинхронно удаляет указанный объект Job.
+     * 
+     * @param job объект Job для удаления
+     * @return future с true, если объект был удален
+     */
+    CompletableFuture<Boolean> delete(Job job);
+    
+    /**
+     * Асинхронно возвращает страницу объектов Job с идентификатором больше указанного.
+     * 
+     * @param afterId идентификатор последнего прочитанного объекта (null — с начала)
+     * @param limit максимальный размер страницы
+     * @return future страницы объектов Job
+     */
+    CompletableFuture<List<Job>> findPage(Long afterId, int limit);
+    
+    /**
+     * Сохраняет объекты Job, выполняя одновременно не больше maxConcurrency сохранений.
+     * 
+     * @param jobs объекты Job для сохранения
+     * @param maxConcurrency максимальное число одновременных сохранений
+     * @return future сохраненных объектов в порядке входной коллекции
+     */
+    default CompletableFuture<List<Job>> saveAll(Collection<Job> jobs, int maxConcurrency) {
+        return AsyncBatch.map(jobs, maxConcurrency, this::save);
+    }
+    
+    /**
+     * Находит объекты Job по идентификаторам, выполняя одновременно не больше
+     * maxConcurrency запросов.
+     * 
+     * @param ids идентификаторы объектов Job
+     * @param maxConcurrency максимальное число одновременных запросов
+     * @return future результатов поиска в порядке идентификаторов
+     */
+    default CompletableFuture<List<Optional<Job>>> findAllById(Collection<Long> ids, int maxConcurrency) {
+        return AsyncBatch.map(ids, maxConcurrency, this::findById);
+    }
+    
+    /**
+     * Оборачивает синхронный репозиторий, выполняя операции на общем исполнителе
+     * {@link AsyncExecutors}: на виртуальных потоках, если они доступны, иначе на пуле
+     * потоков платформы.
+     * 
+     * @param repository синхронный репозиторий
+     * @return асинхронный репозиторий
+     */
+    static AsyncJobRepository wrap(JobRepository repository) {
+        return wrap(repository, AsyncExecutors.shared());
+    }
+    
+    /**
+     * Оборачивает синхронный репозиторий, выполняя операции на указанном исполнителе.
+     * Исполнителем по-прежнему управляет вызывающий.
+     * 
+     * @param repository синхронный репозиторий
+     * @param executor исполнитель операций
+     * @return асинхронный репозиторий
+     */
+    static AsyncJobRepository wrap(JobRepository repository, Executor executor) {
+        if (repository == null || executor == null) {
+            throw new IllegalArgumentException("Репозиторий и исполнитель не могут быть null");
+        }
+        return new ExecutorAsyncJobRepository(repository, executor);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.example.repository;
+
+import com.example.model.Person;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Асинхронный репозиторий Person. Методы повторяют {@link PersonRepository}, но не блокируют
+ * вызывающего: операция выполняется на исполнителе, а результат возвращается через
+ * {@link CompletableFuture}. Ошибки хранилища, включая IllegalArgumentException,
+ * завершают future исключительно.
+ */
+public interface AsyncPersonRepository {
+    
+    /**
+     * Асинхронно сохраняет объект Person.
+     * 
+     * @param person объект Person для сохранения
+     * @return future сохраненного объекта Person с присвоенным идентификатором
+     */
+    CompletableFuture<Person> save(Person person);
+    
+    /**
+     * Асинхронно находит объект Person по идентификатору.
+     * 
+     * @param id идентификатор объекта Person
+     * @return future Optional с найденным объектом Person
+     */
+    CompletableFuture<Optional<Person>> findById(Long id);
+    
+    /**
+     * Асинхронно возвращает список всех объектов Person.
+     * 
+     * @return future списка всех объектов Person
+     */
+    CompletableFuture<List<Person>> findAll();
+    
+    /**
+     * Асинхронно обновляет существующий объект Person.
+     * 
+     * @param person объект Person с обновленными данными
+     * @return future обновленного объекта Person
+     */
+    CompletableFuture<Person> update(Person person);
+    
+    /**
+     * Асинхронно удаляет объект Person по идентификатору.
+     * 
+     * @param id идентификатор объекта Person
+     * @return future с true, если объект был удален
+     */
+    CompletableFuture<Boolean> delete(Long id);
+    
+    /**
+     * Асинхронно удаляет указанный объект Person.
+     * 
+     * @param person объект Person для удаления
+     * @return future с true, если объект был удален
+     */
+    CompletableFuture<Boolean> delete(Person person);
+    
+    /**
+     * Асинхронно возвращает страницу объектов Person с идентификатором больше указанного.
+     * 
+     * @param afterId идентификатор последнего прочитанного объекта (null — с начала)
+     * @param limit максимальный размер страницы
+     * @return future страницы объектов Person
+     */
+    CompletableFuture<List<Person>> findPage(Long afterId, int limit);
+    
+    /**
+     * Сохраняет объекты Person, выполняя одновременно не больше maxConcurrency сохранений.
+     * 
+     * @param persons объекты Person для сохранения
+     * @param maxConcurrency максимальное число одновременных сохранений
+     * @return future сохраненных объектов в порядке входной коллекции
+     */
+    default CompletableFuture<List<Person>> saveAll(Collection<Person> persons, int maxConcurrency) {
+        return AsyncBatch.map(persons, maxConcurrency, this::save);
+    }
+    
+    /**
+     * Находит объекты Person по идентификаторам, выполняя одновременно не больше
+     * maxConcurrency запросов.
+     * 
+     * @param ids идентификаторы объектов Person
+     * @param maxConcurrency максимальное число одновременных запросов
+     * @return future результатов поиска в порядке идентификаторов
+     */
+    default CompletableFuture<List<Optional<Person>>> findAllById(Collection<Long> ids, int maxConcurrency) {
+        return AsyncBatch.map(ids, maxConcurrency, this::findById);
+    }
+    
+    /**
+     * Оборачивает синхронный репозиторий, выполняя операции на общем исполнителе
+     * {@link AsyncExecutors}: на виртуальных потоках, если они доступны, иначе на пуле
+     * потоков платформы.
+     * 
+     * @param repository синхронный репозиторий
+     * @return асинхронный репозиторий
+     */
+    static AsyncPersonRepository wrap(PersonRepository repository) {
+        return wrap(repository, AsyncExecutors.shared());
+    }
+    
+    /**
+     * Оборачивает синхронный репозиторий, выполняя операции на указанном исполнителе.
+     * Исполнителем по-прежнему управляет вызывающий.
+     * 
+     * @param repository синхронный репозиторий
+     * @param executor исполнитель операций
+     * @return асинхронный репозиторий
+     */
+    static AsyncPersonRepository wrap(PersonRepository repository, Executor executor) {
+        if (repository == null || executor == null) {
+            throw new IllegalArgumentException("Репозиторий и исполнитель не могут быть null");
+        }
+        return new ExecutorAsyncPersonRepository(repository, executor);
+    }
+}
\ No newline at end of file
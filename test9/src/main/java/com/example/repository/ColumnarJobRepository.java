@@ -0,0 +1,494 @@
+package com.example.repository;
+
+import com.example.aggregate.SalaryStats;
+import com.example.model.Job;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Колоночная реализация {@link JobRepository} для быстрых агрегатов по зарплатам.
+ * Каждое поле хранится в отдельном массиве: зарплаты - в {@code double[]} с битовой
+ * картой наличия значения, компании - кодами словаря в {@code int[]}. Строки плотные:
+ * удаление переносит последнюю строку на место удаленной.
+ * <p>
+ * Агрегаты обходят строки словами по 64: для слова строится маска строк, прошедших
+ * фильтры (компания, диапазон зарплат, наличие зарплаты), и полностью выбранные слова
+ * суммируются плотным циклом с четырьмя независимыми аккумуляторами, остальные - по
+ * установленным битам маски. Ни объектов, ни упаковки значений при этом нет.
+ * <p>
+ * Запись блокирует хранилище монопольно, чтение и агрегаты выполняются параллельно
+ * под общей блокировкой. Объекты {@link Job} создаются при каждом чтении заново.
+ */
+public class ColumnarJobRepository implements JobRepository {
+    
+    /** Код отсутствующей компании */
+    private static final int NO_COMPANY = -1;
+    
+    /** Код фильтра «любая компания» */
+    private static final int ANY_COMPANY = Integer.MIN_VALUE;
+    
+    private static final int INITIAL_CAPACITY = 1024;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    /** Генератор уникальных идентификаторов */
+    private final AtomicLong idGenerator = new AtomicLong(1);
+    
+    /** Номер строки по id, упорядоченный для постраничного чтения */
+    private final TreeMap<Long, Integer> rowById = new TreeMap<>();
+    
+    /** Словарь компаний: код по названию и название по коду */
+    private final Map<String, Integer> companyCodes = new HashMap<>();
+    private final List<String> companyNames = new ArrayList<>();
+    
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private String[] titles = new String[INITIAL_CAPACITY];
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private int[] companies = new int[INITIAL_CAPACITY];
+    private double[] salaries = new double[INITIAL_CAPACITY];
+    
+    /** Битовая карта строк с зарплатой */
+    private long[] salaryPresent = new long[INITIAL_CAPACITY / 64];
+    
+    /** Число строк */
+    private int size;
+    
+    @Override
+    public Job save(Job job) {
+        validateJob(job);
+        lock.writeLock().lock();
+        try {
+            Long id = job.getId();
+            if (id == null) {
+                id = idGenerator.getAndIncrement();
+            } else {
+                idGenerator.accumulateAndGet(id + 1, Math::max);
+            }
+            Integer row = rowById.get(id);
+            if (row == null) {
+                row = appendRow(id);
+            }
+            writeRow(row, job);
+            return readRow(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public Optional<Job> findById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID не может быть null");
+        }
+        lock.readLock().lock();
+        try {
+            Integer row = rowById.get(id);
+            return row == null ? Optional.empty() : Optional.of(readRow(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<Job> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Job> all = new ArrayList<>(size);
+            for (int row : rowById.values()) {
+                all.add(readRow(row));
+            }
+            return all;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public Job update(Job job) {
+        validateJob(job);
+        if (job.getId() == null) {
+            throw new IllegalArgumentException("Для обновления вакансия должна иметь ID");
+        }
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.get(job.getId());
+            if (row == null) {
+                throw new IllegalArgumentException("Вакансия с ID " + job.getId() + " не найдена");
+            }
+            writeRow(row, job);
+            return readRow(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean delete(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID не может быть null");
+        }
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.remove(id);
+            if (row == null) {
+                return false;
+            }
+            int last = --size;
+            if (row != last) {
+                moveRow(last, row);
+                rowById.put(ids[row], row);
+            }
+            titles[last] = null;
+            descriptions[last] = null;
+            setSalaryPresent(last, false);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean delete(Job job) {
+        if (job == null) {
+            throw new IllegalArgumentException("Job не может быть null");
+        }
+        return job.getId() != null && delete(job.getId());
+    }
+    
+    @Override
+    public List<Job> findPage(Long afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Размер страницы должен быть положительным");
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> tail = afterId == null ? rowById : rowById.tailMap(afterId, false);
+            List<Job> page = new ArrayList<>(Math.min(limit, 1024));
+            for (int row : tail.values()) {
+                page.add(readRow(row));
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает сводку зарплат вакансий компании или всех вакансий.
+     * 
+     * @param company название компании (null - все вакансии)
+     * @return сводка; число вакансий включает вакансии без зарплаты
+     */
+    public SalaryStats salaryStats(String company) {
+        return salaryStats(company, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+    
+    /**
+     * Возвращает сводку зарплат в диапазоне включительно для компании или всех вакансий.
+     * При ограниченном диапазоне число вакансий равно числу зарплат в нем.
+     * 
+     * @param company название компании (null - все вакансии)
+     * @param min нижняя граница
+     * @param max верхняя граница
+     * @return сводка
+     */
+    public SalaryStats salaryStats(String company, double min, double max) {
+        validateRange(min, max);
+        boolean bounded = min != Double.NEGATIVE_INFINITY || max != Double.POSITIVE_INFINITY;
+        lock.readLock().lock();
+        try {
+            int code = companyFilter(company);
+            if (code == NO_COMPANY) {
+                return SalaryStats.EMPTY;
+            }
+            long jobCount = 0;
+            long salaryCount = 0;
+            double sum0 = 0;
+            double sum1 = 0;
+            double sum2 = 0;
+            double sum3 = 0;
+            double lowest = Double.POSITIVE_INFINITY;
+            double highest = Double.NEGATIVE_INFINITY;
+            for (int word = 0; word << 6 < size; word++) {
+                int base = word << 6;
+                long companyMask = companyMask(code, base);
+                long mask = companyMask & salaryPresent[word];
+                if (bounded) {
+                    mask &= rangeMask(base, mask, min, max);
+                }
+                jobCount += Long.bitCount(bounded ? mask : companyMask);
+                if (mask == 0) {
+                    continue;
+                }
+                salaryCount += Long.bitCount(mask);
+                if (mask == -1L) {
+                    // Слово выбрано целиком: плотный цикл без ветвлений по строкам
+                    for (int i = base; i < base + 64; i += 4) {
+                        double a = salaries[i];
+                        double b = salaries[i + 1];
+                        double c = salaries[i + 2];
+                        double d = salaries[i + 3];
+                        sum0 += a;
+                        sum1 += b;
+                        sum2 += c;
+                        sum3 += d;
+                        lowest = Math.min(lowest, Math.min(Math.min(a, b), Math.min(c, d)));
+                        highest = Math.max(highest, Math.max(Math.max(a, b), Math.max(c, d)));
+                    }
+                } else {
+                    while (mask != 0) {
+                        double value = salaries[base + Long.numberOfTrailingZeros(mask)];
+                        sum0 += value;
+                        lowest = Math.min(lowest, value);
+                        highest = Math.max(highest, value);
+                        mask &= mask - 1;
+                    }
+                }
+            }
+            if (salaryCount == 0) {
+                return jobCount == 0 ? SalaryStats.EMPTY : new SalaryStats(jobCount, 0, 0, null, null);
+            }
+            return new SalaryStats(jobCount, salaryCount, (sum0 + sum1) + (sum2 + sum3), lowest, highest);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает процентиль зарплат компании или всех вакансий (по ближайшему рангу).
+     * Значения отбираются в отдельный массив и упорядочиваются частично (quickselect),
+     * поэтому время линейно по числу выбранных зарплат.
+     * 
+     * @param company название компании (null - все вакансии)
+     * @param fraction доля от 0 до 1 (0.5 - медиана)
+     * @return значение процентиля или null, если зарплат нет
+     */
+    public Double salaryPercentile(String company, double fraction) {
+        if (!(fraction >= 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("Доля должна быть в диапазоне [0, 1]");
+        }
+        double[] selected;
+        int count = 0;
+        lock.readLock().lock();
+        try {
+            int code = companyFilter(company);
+            if (code == NO_COMPANY) {
+                return null;
+            }
+            selected = new double[size];
+            for (int word = 0; word << 6 < size; word++) {
+                int base = word << 6;
+                long mask = companyMask(code, base) & salaryPresent[word];
+                while (mask != 0) {
+                    selected[count++] = salaries[base + Long.numberOfTrailingZeros(mask)];
+                    mask &= mask - 1;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (count == 0) {
+            return null;
+        }
+        int rank = Math.max(0, (int) Math.ceil(fraction * count) - 1);
+        return select(selected, count, rank);
+    }
+    
+    /**
+     * Возвращает число вакансий.
+     * 
+     * @return число строк
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Удаляет все вакансии и сбрасывает генератор идентификаторов и словарь компаний.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(titles, 0, size, null);
+            Arrays.fill(descriptions, 0, size, null);
+            Arrays.fill(salaryPresent, 0);
+            rowById.clear();
+            companyCodes.clear();
+            companyNames.clear();
+            size = 0;
+            idGenerator.set(1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Маска строк слова с нужной компанией; строки за концом данных не выбираются.
+     */
+    private long companyMask(int code, int base) {
+        int n = Math.min(64, size - base);
+        long valid = n == 64 ? -1L : (1L << n) - 1;
+        if (code == ANY_COMPANY) {
+            return valid;
+        }
+        long mask = 0;
+        for (int j = 0; j < n; j++) {
+            mask |= (companies[base + j] == code ? 1L : 0L) << j;
+        }
+        return mask;
+    }
+    
+    /**
+     * Маска строк слова с зарплатой в диапазоне; проверяются только строки кандидатов.
+     */
+    private long rangeMask(int base, long candidates, double min, double max) {
+        long mask = 0;
+        while (candidates != 0) {
+            int j = Long.numberOfTrailingZeros(candidates);
+            double value = salaries[base + j];
+            mask |= (value >= min && value <= max ? 1L : 0L) << j;
+            candidates &= candidates - 1;
+        }
+        return mask;
+    }
+    
+    /**
+     * Код компании для фильтра: {@link #ANY_COMPANY} для null,
+     * {@link #NO_COMPANY} если компания не встречается.
+     */
+    private int companyFilter(String company) {
+        if (company == null) {
+            return ANY_COMPANY;
+        }
+        return companyCodes.getOrDefault(company, NO_COMPANY);
+    }
+    
+    private int appendRow(long id) {
+        if (size == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            companies = Arrays.copyOf(companies, capacity);
+            salaries = Arrays.copyOf(salaries, capacity);
+            salaryPresent = Arrays.copyOf(salaryPresent, capacity / 64);
+        }
+        int row = size++;
+        ids[row] = id;
+        rowById.put(id, row);
+        return row;
+    }
+    
+    private void writeRow(int row, Job job) {
+        titles[row] = job.getTitle();
+        descriptions[row] = job.getDescription();
+        companies[row] = job.getCompany() == null ? NO_COMPANY : encodeCompany(job.getCompany());
+        boolean hasSalary = job.getSalary() != null;
+        salaries[row] = hasSalary ? job.getSalary() : 0;
+        setSalaryPresent(row, hasSalary);
+    }
+    
+    private Job readRow(int row) {
+        int company = companies[row];
+        return new Job(ids[row], titles[row], company == NO_COMPANY ? null : companyNames.get(company),
+                isSalaryPresent(row) ? salaries[row] : null, descriptions[row]);
+    }
+    
+    private void moveRow(int from, int to) {
+        ids[to] = ids[from];
+        titles[to] = titles[from];
+        descriptions[to] = descriptions[from];
+        companies[to] = companies[from];
+        salaries[to] = salaries[from];
+        setSalaryPresent(to, isSalaryPresent(from));
+    }
+    
+    private int encodeCompany(String company) {
+        Integer code = companyCodes.get(company);
+        if (code == null) {
+            code = companyNames.size();
+            companyNames.add(company);
+            companyCodes.put(company, code);
+        }
+        return code;
+    }
+    
+    private boolean isSalaryPresent(int row) {
+        return (salaryPresent[row >>> 6] & (1L << row)) != 0;
+    }
+    
+    private void setSalaryPresent(int row, boolean present) {
+        if (present) {
+            salaryPresent[row >>> 6] |= 1L << row;
+        } else {
+            salaryPresent[row >>> 6] &= ~(1L << row);
+        }
+    }
+    
+    /**
+     * Возвращает k-й по возрастанию элемент первых count значений (Hoare quickselect).
+     */
+    private static double select(double[] values, int count, int k) {
+        int left = 0;
+        int right = count - 1;
+        while (left < right) {
+            double pivot = values[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double swap = values[i];
+                    values[i] = values[j];
+                    values[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return values[k];
+            }
+        }
+        return values[k];
+    }
+    
+    private static void validateJob(Job job) {
+        if (job == null) {
+            throw new IllegalArgumentException("Job не может быть null");
+        }
+        if (job.getSalary() != null && job.getSalary().isNaN()) {
+            throw new IllegalArgumentException("Зарплата не может быть NaN");
+        }
+    }
+    
+    private static void validateRange(double min, double max) {
+        if (Double.isNaN(min) || Double.isNaN(max) || min > max) {
+            throw new IllegalArgumentException("Некорректный диапазон зарплат: [" + min + ", " + max + "]");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.example.repository;
+
+import com.example.model.Job;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Асинхронная обертка синхронного JobRepository: каждая операция выполняется
+ * на исполнителе через {@link CompletableFuture#supplyAsync}.
+ */
+final class ExecutorAsyncJobRepository implements AsyncJobRepository {
+    
+    private final JobRepository repository;
+    private final Executor executor;
+    
+    ExecutorAsyncJobRepository(JobRepository repository, Executor executor) {
+        this.repository = repository;
+        this.executor = executor;
+    }
+    
+    @Override
+    public CompletableFuture<Job> save(Job job) {
+        return CompletableFuture.supplyAsync(() -> repository.save(job), executor);
+    }
+    
+    @Override
+    public CompletableFuture<Optional<Job>> findById(Long id) {
+        return CompletableFuture.supplyAsync(() -> repository.findById(id), executor);
+    }
+    
+    @Override
+    public CompletableFuture<List<Job>> findAll() {
+        return CompletableFuture.supplyAsync(repository::findAll, executor);
+    }
+    
+    @Override
+    public CompletableFuture<Job> update(Job job) {
+        return CompletableFuture.supplyAsync(() -> repository.update(job), executor);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> delete(Long id) {
+        return CompletableFuture.supplyAsync(() -> repository.delete(id), executor);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> delete(Job job) {
+        return CompletableFuture.supplyAsync(() -> repository.delete(job), executor);
+    }
+    
+    @Override
+    public CompletableFuture<List<Job>> findPage(Long afterId, int limit) {
+        return CompletableFuture.supplyAsync(() -> repository.findPage(afterId, limit), executor);
+    }
+}
\ No newline at end of file
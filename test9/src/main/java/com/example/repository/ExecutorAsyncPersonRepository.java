@@ -0,0 +1,57 @@
+package com.example.repository;
+
+import com.example.model.Person;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Асинхронная обертка синхронного PersonRepository: каждая операция выполняется
+ * на исполнителе через {@link CompletableFuture#supplyAsync}.
+ */
+final class ExecutorAsyncPersonRepository implements AsyncPersonRepository {
+    
+    private final PersonRepository repository;
+    private final Executor executor;
+    
+    ExecutorAsyncPersonRepository(PersonRepository repository, Executor executor) {
+        this.repository = repository;
+        this.executor = executor;
+    }
+    
+    @Override
+    public CompletableFuture<Person> save(Person person) {
+        return CompletableFuture.supplyAsync(() -> repository.save(person), executor);
+    }
+    
+    @Override
+    public CompletableFuture<Optional<Person>> findById(Long id) {
+        return CompletableFuture.supplyAsync(() -> repository.findById(id), executor);
+    }
+    
+    @Override
+    public CompletableFuture<List<Person>> findAll() {
+        return CompletableFuture.supplyAsync(repository::findAll, executor);
+    }
+    
+    @Override
+    public CompletableFuture<Person> update(Person person) {
+        return CompletableFuture.supplyAsync(() -> repository.update(person), executor);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> delete(Long id) {
+        return CompletableFuture.supplyAsync(() -> repository.delete(id), executor);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> delete(Person person) {
+        return CompletableFuture.supplyAsync(() -> repository.delete(person), executor);
+    }
+    
+    @Override
+    public CompletableFuture<List<Person>> findPage(Long afterId, int limit) {
+        return CompletableFuture.supplyAsync(() -> repository.findPage(afterId, limit), executor);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,410 @@
+package com.example.repository;
+
+import com.example.aggregate.AggregateView;
+import com.example.aggregate.RebuildableView;
+import com.example.compress.CompressedJob;
+import com.example.compress.LzCodec;
+import com.example.model.Job;
+import com.example.query.Conditions;
+import com.example.query.HashIndex;
+import com.example.query.JobAttributes;
+import com.example.query.QueryIndex;
+import com.example.query.Queryable;
+import com.example.query.SortedIndex;
+import com.example.util.SeqLock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Потокобезопасная in-memory реализация {@link JobRepository}.
+ * Вакансии хранятся в упорядоченной по id карте, поэтому {@link #findPage(Long, int)}
+ * читает страницу без материализации всего хранилища. Поддерживаются упорядоченный
+ * индекс зарплаты и хэш-индекс компании; вакансии без зарплаты хранятся в отдельном
+ * наборе и не попадают в диапазонные запросы.
+ * <p>
+ * Операции записи сериализуются монитором репозитория и обновляют хранилище,
+ * индексы и агрегатные представления как одно изменение; чтение выполняется без блокировок.
+ * Хранятся и возвращаются копии: изменение возвращенного объекта не затрагивает
+ * хранилище, индексы и представления, пока он не передан в {@link #update(Job)},
+ * а прежнее состояние для них всегда берется из хранилища. Описания могут храниться сжатыми
+ * (см. {@link #InMemoryJobRepository(LzCodec)}).
+ */
+public class InMemoryJobRepository implements JobRepository, Queryable<Job> {
+    
+    /** Хранилище вакансий, упорядоченное по id */
+    private final ConcurrentSkipListMap<Long, Job> storage = new ConcurrentSkipListMap<>();
+    
+    /** Генератор уникальных идентификаторов */
+    private final AtomicLong idGenerator = new AtomicLong(1);
+    
+    /** Упорядоченный индекс зарплаты (вакансии без зарплаты в него не входят) */
+    private final SortedIndex<Job, Double> salaryIndex = new SortedIndex<>(JobAttributes.SALARY, Job::getId);
+    
+    /** Хэш-индекс компании */
+    private final HashIndex<Job, String> companyIndex = new HashIndex<>(JobAttributes.COMPANY, Job::getId);
+    
+    /** Вакансии без зарплаты */
+    private final ConcurrentHashMap<Long, Job> withoutSalary = new ConcurrentHashMap<>();
+    
+    /** Индексы, доступные планировщику запросов */
+    private final List<QueryIndex<Job>> indexes = new CopyOnWriteArrayList<>(List.of(salaryIndex, companyIndex));
+    
+    /** Агрегатные представления, обновляемые на каждой записи */
+    private final List<AggregateView<Job>> views = new CopyOnWriteArrayList<>();
+    
+    /** Версия записи: нечетная, пока запись применяется */
+    private final SeqLock writeVersion = new SeqLock();
+    
+    /** Кодек сжатия описаний (null - описания хранятся без сжатия) */
+    private final LzCodec descriptionCodec;
+    
+    /**
+     * Создает репозиторий, хранящий описания без сжатия.
+     */
+    public InMemoryJobRepository() {
+        this(null);
+    }
+    
+    /**
+     * Создает репозиторий, хранящий описания вакансий сжатыми.
+     * Сохраненные вакансии являются {@link CompressedJob} и распаковывают описание
+     * только при чтении {@link Job#getDescription()}.
+     * 
+     * @param descriptionCodec кодек описаний (null - без сжатия)
+     */
+    public InMemoryJobRepository(LzCodec descriptionCodec) {
+        this.descriptionCodec = descriptionCodec;
+    }
+    
+    @Override
+    public synchronized Job save(Job job) {
+        validateJob(job);
+        Long id = job.getId();
+        if (id == null) {
+            id = idGenerator.getAndIncrement();
+        } else {
+            idGenerator.accumulateAndGet(id + 1, Math::max);
+        }
+        Job stored = copyOf(job, id);
+        commit(storage.get(id), stored);
+        return readCopy(stored);
+    }
+    
+    @Override
+    public Optional<Job> findById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID не может быть null");
+        }
+        return Optional.ofNullable(readCopy(storage.get(id)));
+    }
+    
+    @Override
+    public List<Job> findAll() {
+        return readCopies(storage.values());
+    }
+    
+    @Override
+    public synchronized Job update(Job job) {
+        validateJob(job);
+        if (job.getId() == null) {
+            throw new IllegalArgumentException("Для обновления вакансия должна иметь ID");
+        }
+        Job existing = storage.get(job.getId());
+        if (existing == null) {
+            throw new IllegalArgumentException("Вакансия с ID " + job.getId() + " не найдена");
+        }
+        Job stored = copyOf(job, job.getId());
+        commit(existing, stored);
+        return readCopy(stored);
+    }
+    
+    @Override
+    public synchronized boolean delete(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID не может быть null");
+        }
+        Job existing = storage.get(id);
+        if (existing == null) {
+            return false;
+        }
+        commit(existing, null);
+        return true;
+    }
+    
+    @Override
+    public boolean delete(Job job) {
+        if (job == null) {
+            throw new IllegalArgumentException("Job не может быть null");
+        }
+        return job.getId() != null && delete(job.getId());
+    }
+    
+    @Override
+    public List<Job> findPage(Long afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Размер страницы должен быть положительным");
+        }
+        Collection<Job> tail = afterId == null ? storage.values() : storage.tailMap(afterId, false).values();
+        List<Job> page = new ArrayList<>(Math.min(limit, 1024));
+        for (Job job : tail) {
+            page.add(readCopy(job));
+            if (page.size() == limit) {
+                break;
+            }
+        }
+        return page;
+    }
+    
+    /**
+     * Находит вакансии с зарплатой в диапазоне включительно.
+     * Вакансии без зарплаты не попадают ни в один диапазон.
+     * 
+     * @param min нижняя граница
+     * @param max верхняя граница
+     * @return вакансии в порядке возрастания зарплаты
+     * @throws IllegalArgumentException если границы null, NaN или min больше max
+     */
+    public List<Job> findBySalaryBetween(Double min, Double max) {
+        if (min == null || max == null || min.isNaN() || max.isNaN()) {
+            throw new IllegalArgumentException("Границы зарплаты должны быть числами");
+        }
+        if (min > max) {
+            throw new IllegalArgumentException("Нижняя граница зарплаты больше верхней");
+        }
+        return readCopies(salaryIndex.lookup(Conditions.between(JobAttributes.SALARY, min, max)));
+    }
+    
+    /**
+     * Находит вакансии без указанной зарплаты.
+     * 
+     * @return вакансии с salary == null
+     */
+    public List<Job> findWithoutSalary() {
+        return readCopies(withoutSalary.values());
+    }
+    
+    /**
+     * Находит вакансии компании.
+     * 
+     * @param company название компании
+     * @return вакансии компании
+     * @throws IllegalArgumentException если company равен null
+     */
+    public List<Job> findByCompany(String company) {
+        if (company == null) {
+            throw new IllegalArgumentException("Компания не может быть null");
+        }
+        return readCopies(companyIndex.lookup(Conditions.eq(JobAttributes.COMPANY, company)));
+    }
+    
+    /**
+     * Регистрирует агрегатное представление, заполняя его текущими данными.
+     * 
+     * @param view представление
+     * @param <V> тип представления
+     * @return то же представление
+     */
+    public synchronized <V extends AggregateView<Job>> V registerView(V view) {
+        if (view == null) {
+            throw new IllegalArgumentException("Представление не может быть null");
+        }
+        writeVersion.beginWrite();
+        try {
+            view.reset();
+            for (Job job : storage.values()) {
+                view.apply(null, job);
+            }
+            views.add(view);
+        } finally {
+            writeVersion.endWrite();
+        }
+        return view;
+    }
+    
+    /**
+     * Перестраивает все представления с нуля, например при восстановлении.
+     * Представления {@link RebuildableView} считаются параллельно в указанном пуле,
+     * остальные - последовательным проходом. Записи на время перестройки блокируются,
+     * читатели {@link #readConsistent(Supplier)} дожидаются ее окончания.
+     * 
+     * @param pool пул потоков для параллельной перестройки
+     */
+    public synchronized void rebuildViews(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Пул не может быть null");
+        }
+        writeVersion.beginWrite();
+        try {
+            Collection<Job> all = storage.values();
+            for (AggregateView<Job> view : views) {
+                if (view instanceof RebuildableView) {
+                    ((RebuildableView<Job>) view).rebuild(all, pool);
+                } else {
+                    view.reset();
+                    for (Job job : all) {
+                        view.apply(null, job);
+                    }
+                }
+            }
+        } finally {
+            writeVersion.endWrite();
+        }
+    }
+    
+    /**
+     * Удаляет агрегатное представление.
+     * 
+     * @param view представление
+     * @return true если представление было зарегистрировано
+     */
+    public synchronized boolean unregisterView(AggregateView<Job> view) {
+        return views.remove(view);
+    }
+    
+    /**
+     * Выполняет чтение, согласованное с хранилищем, индексами и представлениями, без блокировок.
+     * Чтение повторяется, если во время него шла запись.
+     * Исключение читателя пробрасывается, только если во время чтения записей не было
+     * (см. {@link SeqLock#read(Supplier)}).
+     * 
+     * @param reader функция чтения (может вызываться несколько раз)
+     * @param <R> тип результата
+     * @return результат, соответствующий одному состоянию репозитория
+     */
+    public <R> R readConsistent(Supplier<R> reader) {
+        return writeVersion.read(reader);
+    }
+    
+    /**
+     * Удаляет все вакансии и сбрасывает генератор идентификаторов.
+     */
+    public synchronized void clear() {
+        writeVersion.beginWrite();
+        try {
+            storage.clear();
+            withoutSalary.clear();
+            indexes.forEach(QueryIndex::clear);
+            views.forEach(AggregateView::onClear);
+            idGenerator.set(1);
+        } finally {
+            writeVersion.endWrite();
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     * Коллекция содержит хранимые объекты, а не копии: изменять их нельзя.
+     */
+    @Override
+    public Collection<Job> scan() {
+        return Collections.unmodifiableCollection(storage.values());
+    }
+    
+    @Override
+    public int size() {
+        return storage.size();
+    }
+    
+    @Override
+    public Job detach(Job job) {
+        return readCopy(job);
+    }
+    
+    @Override
+    public List<QueryIndex<Job>> indexes() {
+        return Collections.unmodifiableList(indexes);
+    }
+    
+    @Override
+    public long version() {
+        return writeVersion.version();
+    }
+    
+    /**
+     * Применяет изменение к хранилищу, индексам и представлениям. Вызывается под монитором.
+     * 
+     * @param oldJob прежнее состояние (null при создании)
+     * @param newJob новое состояние (null при удалении)
+     */
+    private void commit(Job oldJob, Job newJob) {
+        writeVersion.beginWrite();
+        try {
+            if (newJob != null) {
+                storage.put(newJob.getId(), newJob);
+            } else {
+                storage.remove(oldJob.getId());
+            }
+            if (oldJob != null) {
+                if (oldJob.getSalary() == null) {
+                    withoutSalary.remove(oldJob.getId());
+                }
+                for (QueryIndex<Job> index : indexes) {
+                    index.remove(oldJob);
+                }
+            }
+            if (newJob != null) {
+                if (newJob.getSalary() == null) {
+                    withoutSalary.put(newJob.getId(), newJob);
+                }
+                for (QueryIndex<Job> index : indexes) {
+                    index.add(newJob);
+                }
+            }
+            for (AggregateView<Job> view : views) {
+                view.apply(oldJob, newJob);
+            }
+        } finally {
+            writeVersion.endWrite();
+        }
+    }
+    
+    private static void validateJob(Job job) {
+        if (job == null) {
+            throw new IllegalArgumentException("Job не может быть null");
+        }
+        if (job.getSalary() != null && job.getSalary().isNaN()) {
+            throw new IllegalArgumentException("Зарплата не может быть NaN");
+        }
+    }
+    
+    private Job copyOf(Job job, Long id) {
+        if (descriptionCodec != null) {
+            return new CompressedJob(id, job.getTitle(), job.getCompany(), job.getSalary(), job.getDescription(), descriptionCodec);
+        }
+        return new Job(id, job.getTitle(), job.getCompany(), job.getSalary(), job.getDescription());
+    }
+    
+    /**
+     * Копирует хранимую вакансию для выдачи вызывающему. Сжатое описание
+     * не распаковывается (см. {@link CompressedJob#copy()}).
+     * 
+     * @param stored хранимая вакансия (может быть null)
+     * @return копия или null
+     */
+    private static Job readCopy(Job stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (stored instanceof CompressedJob) {
+            return ((CompressedJob) stored).copy();
+        }
+        return new Job(stored.getId(), stored.getTitle(), stored.getCompany(), stored.getSalary(), stored.getDescription());
+    }
+    
+    private static List<Job> readCopies(Collection<Job> stored) {
+        List<Job> copies = new ArrayList<>(stored.size());
+        for (Job job : stored) {
+            copies.add(readCopy(job));
+        }
+        return copies;
+    }
+}
\ No newline at end of file
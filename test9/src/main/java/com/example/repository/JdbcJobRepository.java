@@ -0,0 +1,348 @@
+package com.example.repository;
+
+import com.example.model.Job;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Реализация {@link JobRepository} поверх JDBC-соединения (SQL в диалекте H2).
+ * Подготовленные запросы кэшируются на время жизни репозитория. Одиночные {@link #save},
+ * {@link #update} и {@link #delete(Long)} выполняются и фиксируются сразу; пакетами по
+ * {@code batchSize} пишут только {@link #saveAll} и {@link #updateAll}, и тоже фиксируют
+ * записи до возврата, поэтому после любого вызова изменения видны другим соединениям.
+ * Ошибки базы данных оборачиваются в {@link IllegalStateException}.
+ * Все операции выполняются под монитором репозитория.
+ */
+public class JdbcJobRepository implements JobRepository, AutoCloseable {
+    
+    /** Размер пакета записей по умолчанию */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    
+    /** Число строк, запрашиваемых у драйвера за раз при полном чтении, по умолчанию */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+    
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS jobs ("
+            + "id BIGINT PRIMARY KEY, title VARCHAR, company VARCHAR, salary DOUBLE PRECISION, description VARCHAR)";
+    private static final String COLUMNS = "id, title, company, salary, description";
+    private static final String MERGE = "MERGE INTO jobs (" + COLUMNS + ") KEY (id) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE jobs SET title = ?, company = ?, salary = ?, description = ? WHERE id = ?";
+    private static final String DELETE = "DELETE FROM jobs WHERE id = ?";
+    private static final String SELECT_BY_ID = "SELECT " + COLUMNS + " FROM jobs WHERE id = ?";
+    private static final String SELECT_PAGE = "SELECT " + COLUMNS + " FROM jobs WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String SELECT_FIRST_PAGE = "SELECT " + COLUMNS + " FROM jobs ORDER BY id LIMIT ?";
+    private static final String SELECT_ALL = "SELECT " + COLUMNS + " FROM jobs ORDER BY id";
+    
+    private final JdbcSession session;
+    
+    private final int batchSize;
+    
+    private final int fetchSize;
+    
+    /** Следующий свободный идентификатор */
+    private long nextId;
+    
+    /**
+     * Создает репозиторий с размерами пакета и выборки по умолчанию.
+     * 
+     * @param connection соединение; репозиторий становится его владельцем
+     * @throws SQLException при ошибке создания таблицы
+     */
+    public JdbcJobRepository(Connection connection) throws SQLException {
+        this(connection, DEFAULT_BATCH_SIZE, DEFAULT_FETCH_SIZE);
+    }
+    
+    /**
+     * Создает репозиторий, при необходимости создавая таблицу jobs.
+     * 
+     * @param connection соединение; репозиторий становится его владельцем
+     * @param batchSize максимальное число записей в пакете (1 - без накопления)
+     * @param fetchSize число строк, запрашиваемых у драйвера за раз при полном чтении
+     * @throws SQLException при ошибке создания таблицы
+     */
+    public JdbcJobRepository(Connection connection, int batchSize, int fetchSize) throws SQLException {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Размер выборки должен быть положительным");
+        }
+        this.session = new JdbcSession(connection, batchSize);
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+        this.nextId = session.inTransaction(() -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_TABLE);
+                try (ResultSet max = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM jobs")) {
+                    max.next();
+                    return Math.max(1, max.getLong(1) + 1);
+                }
+            }
+        });
+    }
+    
+    @Override
+    public synchronized Job save(Job job) {
+        validateJob(job);
+        Job stored = assignId(job);
+        try {
+            session.inTransaction(() -> bindMerge(stored).executeUpdate());
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+        return stored;
+    }
+    
+    /**
+     * Сохраняет вакансии пакетами и фиксирует их до возврата.
+     * 
+     * @param jobs вакансии для сохранения
+     * @return сохраненные вакансии с присвоенными идентификаторами в исходном порядке
+     */
+    public synchronized List<Job> saveAll(Collection<Job> jobs) {
+        if (jobs == null) {
+            throw new IllegalArgumentException("Коллекция вакансий не может быть null");
+        }
+        jobs.forEach(JdbcJobRepository::validateJob);
+        List<Job> stored = new ArrayList<>(jobs.size());
+        try {
+            for (Job job : jobs) {
+                Job next = assignId(job);
+                session.addBatch(bindMerge(next));
+                stored.add(next);
+            }
+            session.flush();
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+        return stored;
+    }
+    
+    @Override
+    public synchronized Optional<Job> findById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID не может быть null");
+        }
+        try {
+            return session.inTransaction(() -> {
+                PreparedStatement select = session.prepare(SELECT_BY_ID);
+                select.setLong(1, id);
+                try (ResultSet rows = select.executeQuery()) {
+                    return rows.next() ? Optional.of(readJob(rows)) : Optional.<Job>empty();
+                }
+            });
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+    }
+    
+    @Override
+    public List<Job> findAll() {
+        try (Stream<Job> all = streamAll()) {
+            return all.collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+    
+    /**
+     * Возвращает ленивый поток всех вакансий по возрастанию id. Строки запрашиваются
+     * у драйвера порциями по размеру выборки, а не загружаются целиком.
+     * Поток держит курсор базы данных и должен быть закрыт.
+     * 
+     * @return поток вакансий
+     */
+    public synchronized Stream<Job> streamAll() {
+        try {
+            return session.stream(SELECT_ALL, fetchSize, JdbcJobRepository::readJob, this);
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+    }
+    
+    @Override
+    public synchronized Job update(Job job) {
+        validateJob(job);
+        if (job.getId() == null) {
+            throw new IllegalArgumentException("Для обновления вакансия должна иметь ID");
+        }
+        Job updated = new Job(job.getId(), job.getTitle(), job.getCompany(), job.getSalary(), job.getDescription());
+        try {
+            return session.inTransaction(() -> {
+                PreparedStatement update = session.prepare(UPDATE);
+                bindFields(update, 1, updated);
+                update.setLong(5, updated.getId());
+                if (update.executeUpdate() == 0) {
+                    throw new IllegalArgumentException("Вакансия с ID " + updated.getId() + " не найдена");
+                }
+                return updated;
+            });
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+    }
+    
+    /**
+     * Обновляет вакансии пакетами в одной транзакции. Если хотя бы одной вакансии
+     * нет в хранилище, транзакция откатывается и ни одно обновление не применяется.
+     * 
+     * @param jobs вакансии с обновленными данными
+     * @return обновленные вакансии в исходном порядке
+     * @throws IllegalArgumentException если у вакансии нет ID или она не найдена
+     */
+    public synchronized List<Job> updateAll(Collection<Job> jobs) {
+        if (jobs == null) {
+            throw new IllegalArgumentException("Коллекция вакансий не может быть null");
+        }
+        List<Job> updated = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            validateJob(job);
+            if (job.getId() == null) {
+                throw new IllegalArgumentException("Для обновления вакансия должна иметь ID");
+            }
+            updated.add(new Job(job.getId(), job.getTitle(), job.getCompany(), job.getSalary(), job.getDescription()));
+        }
+        try {
+            return session.inTransaction(() -> {
+                PreparedStatement update = session.prepare(UPDATE);
+                for (int start = 0; start < updated.size(); start += batchSize) {
+                    List<Job> chunk = updated.subList(start, Math.min(updated.size(), start + batchSize));
+                    for (Job job : chunk) {
+                        bindFields(update, 1, job);
+                        update.setLong(5, job.getId());
+                        update.addBatch();
+                    }
+                    int[] counts = update.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] == 0) {
+                            throw new IllegalArgumentException("Вакансия с ID " + chunk.get(i).getId() + " не найдена");
+                        }
+                    }
+                }
+                return updated;
+            });
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+    }
+    
+    @Override
+    public synchronized boolean delete(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID не может быть null");
+        }
+        try {
+            return session.inTransaction(() -> {
+                PreparedStatement delete = session.prepare(DELETE);
+                delete.setLong(1, id);
+                return delete.executeUpdate() > 0;
+            });
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+    }
+    
+    @Override
+    public boolean delete(Job job) {
+        if (job == null) {
+            throw new IllegalArgumentException("Job не может быть null");
+        }
+        return job.getId() != null && delete(job.getId());
+    }
+    
+    @Override
+    public synchronized List<Job> findPage(Long afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Размер страницы должен быть положительным");
+        }
+        try {
+            return session.inTransaction(() -> {
+                PreparedStatement select;
+                if (afterId == null) {
+                    select = session.prepare(SELECT_FIRST_PAGE);
+                    select.setInt(1, limit);
+                } else {
+                    select = session.prepare(SELECT_PAGE);
+                    select.setLong(1, afterId);
+                    select.setInt(2, limit);
+                }
+                List<Job> page = new ArrayList<>(Math.min(limit, fetchSize));
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        page.add(readJob(rows));
+                    }
+                }
+                return page;
+            });
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+    }
+    
+    /**
+     * Выполняет и фиксирует накопленный пакет. Все операции репозитория фиксируют
+     * свои записи до возврата, поэтому явный вызов не обязателен.
+     */
+    public synchronized void flush() {
+        try {
+            session.flush();
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+    }
+    
+    /**
+     * Фиксирует накопленный пакет и закрывает запросы и соединение.
+     * 
+     * @throws SQLException при ошибке фиксации или закрытия
+     */
+    @Override
+    public synchronized void close() throws SQLException {
+        session.close();
+    }
+    
+    /**
+     * Присваивает идентификатор (свой или следующий свободный) и копирует объект для записи.
+     */
+    private Job assignId(Job job) {
+        Long id = job.getId();
+        if (id == null) {
+            id = nextId++;
+        } else {
+            nextId = Math.max(nextId, id + 1);
+        }
+        return new Job(id, job.getTitle(), job.getCompany(), job.getSalary(), job.getDescription());
+    }
+    
+    private PreparedStatement bindMerge(Job stored) throws SQLException {
+        PreparedStatement merge = session.prepare(MERGE);
+        merge.setLong(1, stored.getId());
+        bindFields(merge, 2, stored);
+        return merge;
+    }
+    
+    private static void bindFields(PreparedStatement statement, int first, Job job) throws SQLException {
+        statement.setString(first, job.getTitle());
+        statement.setString(first + 1, job.getCompany());
+        statement.setObject(first + 2, job.getSalary(), Types.DOUBLE);
+        statement.setString(first + 3, job.getDescription());
+    }
+    
+    private static Job readJob(ResultSet row) throws SQLException {
+        return new Job(row.getLong(1), row.getString(2), row.getString(3),
+                row.getObject(4, Double.class), row.getString(5));
+    }
+    
+    private static void validateJob(Job job) {
+        if (job == null) {
+            throw new IllegalArgumentException("Job не может быть null");
+        }
+        if (job.getSalary() != null && job.getSalary().isNaN()) {
+            throw new IllegalArgumentException("Зарплата не может быть NaN");
+        }
+    }
+}
\ No newline at end of file
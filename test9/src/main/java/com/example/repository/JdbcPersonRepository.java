@@ -0,0 +1,349 @@
+package com.example.repository;
+
+import com.example.model.Person;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Реализация {@link PersonRepository} поверх JDBC-соединения (SQL в диалекте H2).
+ * Подготовленные запросы кэшируются на время жизни репозитория. Одиночные {@link #save},
+ * {@link #update} и {@link #delete(Long)} выполняются и фиксируются сразу; пакетами по
+ * {@code batchSize} пишут только {@link #saveAll} и {@link #updateAll}, и тоже фиксируют
+ * записи до возврата, поэтому после любого вызова изменения видны другим соединениям.
+ * Ошибки базы данных оборачиваются в {@link IllegalStateException}.
+ * Все операции выполняются под монитором репозитория.
+ */
+public class JdbcPersonRepository implements PersonRepository, AutoCloseable {
+    
+    /** Размер пакета записей по умолчанию */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    
+    /** Число строк, запрашиваемых у драйвера за раз при полном чтении, по умолчанию */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+    
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS persons ("
+            + "id BIGINT PRIMARY KEY, first_name VARCHAR, last_name VARCHAR, age INT, email VARCHAR)";
+    private static final String COLUMNS = "id, first_name, last_name, age, email";
+    private static final String MERGE = "MERGE INTO persons (" + COLUMNS + ") KEY (id) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE persons SET first_name = ?, last_name = ?, age = ?, email = ? WHERE id = ?";
+    private static final String DELETE = "DELETE FROM persons WHERE id = ?";
+    private static final String SELECT_BY_ID = "SELECT " + COLUMNS + " FROM persons WHERE id = ?";
+    private static final String SELECT_PAGE = "SELECT " + COLUMNS + " FROM persons WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String SELECT_FIRST_PAGE = "SELECT " + COLUMNS + " FROM persons ORDER BY id LIMIT ?";
+    private static final String SELECT_ALL = "SELECT " + COLUMNS + " FROM persons ORDER BY id";
+    
+    private final JdbcSession session;
+    
+    private final int batchSize;
+    
+    private final int fetchSize;
+    
+    /** Следующий свободный идентификатор */
+    private long nextId;
+    
+    /**
+     * Создает репозиторий с размерами пакета и выборки по умолчанию.
+     * 
+     * @param connection соединение; репозиторий становится его владельцем
+     * @throws SQLException при ошибке создания таблицы
+     */
+    public JdbcPersonRepository(Connection connection) throws SQLException {
+        this(connection, DEFAULT_BATCH_SIZE, DEFAULT_FETCH_SIZE);
+    }
+    
+    /**
+     * Создает репозиторий, при необходимости создавая таблицу persons.
+     * 
+     * @param connection соединение; репозиторий становится его владельцем
+     * @param batchSize максимальное число записей в пакете (1 - без накопления)
+     * @param fetchSize число строк, запрашиваемых у драйвера за раз при полном чтении
+     * @throws SQLException при ошибке создания таблицы
+     */
+    public JdbcPersonRepository(Connection connection, int batchSize, int fetchSize) throws SQLException {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Размер выборки должен быть положительным");
+        }
+        this.session = new JdbcSession(connection, batchSize);
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+        this.nextId = session.inTransaction(() -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_TABLE);
+                try (ResultSet max = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM persons")) {
+                    max.next();
+                    return Math.max(1, max.getLong(1) + 1);
+                }
+            }
+        });
+    }
+    
+    @Override
+    public synchronized Person save(Person person) {
+        validatePerson(person);
+        Person stored = assignId(person);
+        try {
+            session.inTransaction(() -> bindMerge(stored).executeUpdate());
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+        return stored;
+    }
+    
+    /**
+     * Сохраняет людей пакетами и фиксирует их до возврата.
+     * 
+     * @param persons люди для сохранения
+     * @return сохраненные люди с присвоенными идентификаторами в исходном порядке
+     */
+    public synchronized List<Person> saveAll(Collection<Person> persons) {
+        if (persons == null) {
+            throw new IllegalArgumentException("Коллекция людей не может быть null");
+        }
+        persons.forEach(JdbcPersonRepository::validatePerson);
+        List<Person> stored = new ArrayList<>(persons.size());
+        try {
+            for (Person person : persons) {
+                Person next = assignId(person);
+                session.addBatch(bindMerge(next));
+                stored.add(next);
+            }
+            session.flush();
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+        return stored;
+    }
+    
+    @Override
+    public synchronized Optional<Person> findById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID не может быть null");
+        }
+        try {
+            return session.inTransaction(() -> {
+                PreparedStatement select = session.prepare(SELECT_BY_ID);
+                select.setLong(1, id);
+                try (ResultSet rows = select.executeQuery()) {
+                    return rows.next() ? Optional.of(readPerson(rows)) : Optional.<Person>empty();
+                }
+            });
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+    }
+    
+    @Override
+    public List<Person> findAll() {
+        try (Stream<Person> all = streamAll()) {
+            return all.collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+    
+    /**
+     * Возвращает ленивый поток всех людей по возрастанию id. Строки запрашиваются
+     * у драйвера порциями по размеру выборки, а не загружаются целиком.
+     * Поток держит курсор базы данных и должен быть закрыт.
+     * 
+     * @return поток людей
+     */
+    public synchronized Stream<Person> streamAll() {
+        try {
+            return session.stream(SELECT_ALL, fetchSize, JdbcPersonRepository::readPerson, this);
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+    }
+    
+    @Override
+    public synchronized Person update(Person person) {
+        validatePerson(person);
+        if (person.getId() == null) {
+            throw new IllegalArgumentException("Для обновления человек должен иметь ID");
+        }
+        Person updated = copyOf(person.getId(), person);
+        try {
+            return session.inTransaction(() -> {
+                PreparedStatement update = session.prepare(UPDATE);
+                bindFields(update, 1, updated);
+                update.setLong(5, updated.getId());
+                if (update.executeUpdate() == 0) {
+                    throw new IllegalArgumentException("Человек с ID " + updated.getId() + " не найден");
+                }
+                return updated;
+            });
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+    }
+    
+    /**
+     * Обновляет людей пакетами в одной транзакции. Если хотя бы одного человека
+     * нет в хранилище, транзакция откатывается и ни одно обновление не применяется.
+     * 
+     * @param persons люди с обновленными данными
+     * @return обновленные люди в исходном порядке
+     * @throws IllegalArgumentException если у человека нет ID или он не найден
+     */
+    public synchronized List<Person> updateAll(Collection<Person> persons) {
+        if (persons == null) {
+            throw new IllegalArgumentException("Коллекция людей не может быть null");
+        }
+        List<Person> updated = new ArrayList<>(persons.size());
+        for (Person person : persons) {
+            validatePerson(person);
+            if (person.getId() == null) {
+                throw new IllegalArgumentException("Для обновления человек должен иметь ID");
+            }
+            updated.add(copyOf(person.getId(), person));
+        }
+        try {
+            return session.inTransaction(() -> {
+                PreparedStatement update = session.prepare(UPDATE);
+                for (int start = 0; start < updated.size(); start += batchSize) {
+                    List<Person> chunk = updated.subList(start, Math.min(updated.size(), start + batchSize));
+                    for (Person person : chunk) {
+                        bindFields(update, 1, person);
+                        update.setLong(5, person.getId());
+                        update.addBatch();
+                    }
+                    int[] counts = update.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] == 0) {
+                            throw new IllegalArgumentException("Человек с ID " + chunk.get(i).getId() + " не найден");
+                        }
+                    }
+                }
+                return updated;
+            });
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+    }
+    
+    @Override
+    public synchronized boolean delete(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID не может быть null");
+        }
+        try {
+            return session.inTransaction(() -> {
+                PreparedStatement delete = session.prepare(DELETE);
+                delete.setLong(1, id);
+                return delete.executeUpdate() > 0;
+            });
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+    }
+    
+    @Override
+    public boolean delete(Person person) {
+        if (person == null) {
+            throw new IllegalArgumentException("Person не может быть null");
+        }
+        return person.getId() != null && delete(person.getId());
+    }
+    
+    @Override
+    public synchronized List<Person> findPage(Long afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Размер страницы должен быть положительным");
+        }
+        try {
+            return session.inTransaction(() -> {
+                PreparedStatement select;
+                if (afterId == null) {
+                    select = session.prepare(SELECT_FIRST_PAGE);
+                    select.setInt(1, limit);
+                } else {
+                    select = session.prepare(SELECT_PAGE);
+                    select.setLong(1, afterId);
+                    select.setInt(2, limit);
+                }
+                List<Person> page = new ArrayList<>(Math.min(limit, fetchSize));
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        page.add(readPerson(rows));
+                    }
+                }
+                return page;
+            });
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+    }
+    
+    /**
+     * Выполняет и фиксирует накопленный пакет. Все операции репозитория фиксируют
+     * свои записи до возврата, поэтому явный вызов не обязателен.
+     */
+    public synchronized void flush() {
+        try {
+            session.flush();
+        } catch (SQLException e) {
+            throw JdbcSession.failure(e);
+        }
+    }
+    
+    /**
+     * Фиксирует накопленный пакет и закрывает запросы и соединение.
+     * 
+     * @throws SQLException при ошибке фиксации или закрытия
+     */
+    @Override
+    public synchronized void close() throws SQLException {
+        session.close();
+    }
+    
+    private static Person copyOf(Long id, Person person) {
+        return new Person(id, person.getFirstName(), person.getLastName(), person.getAge(), person.getEmail());
+    }
+    
+    /**
+     * Присваивает идентификатор (свой или следующий свободный) и копирует объект для записи.
+     */
+    private Person assignId(Person person) {
+        Long id = person.getId();
+        if (id == null) {
+            id = nextId++;
+        } else {
+            nextId = Math.max(nextId, id + 1);
+        }
+        return copyOf(id, person);
+    }
+    
+    private PreparedStatement bindMerge(Person stored) throws SQLException {
+        PreparedStatement merge = session.prepare(MERGE);
+        merge.setLong(1, stored.getId());
+        bindFields(merge, 2, stored);
+        return merge;
+    }
+    
+    private static void bindFields(PreparedStatement statement, int first, Person person) throws SQLException {
+        statement.setString(first, person.getFirstName());
+        statement.setString(first + 1, person.getLastName());
+        statement.setObject(first + 2, person.getAge(), Types.INTEGER);
+        statement.setString(first + 3, person.getEmail());
+    }
+    
+    private static Person readPerson(ResultSet row) throws SQLException {
+        return new Person(row.getLong(1), row.getString(2), row.getString(3),
+                row.getObject(4, Integer.class), row.getString(5));
+    }
+    
+    private static void validatePerson(Person person) {
+        if (person == null) {
+            throw new IllegalArgumentException("Person не может быть null");
+        }
+    }
+}
\ No newline at end of file
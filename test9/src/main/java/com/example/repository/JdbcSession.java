@@ -0,0 +1,240 @@
+package com.example.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Соединение JDBC-репозитория: кэш подготовленных запросов, накопление пакета записей
+ * и транзакции. Соединение переводится в режим ручной фиксации; пакет выполняется и
+ * фиксируется одной транзакцией при заполнении или перед любой другой операцией.
+ * Не потокобезопасен - вызывающий удерживает монитор репозитория.
+ */
+final class JdbcSession implements AutoCloseable {
+    
+    /**
+     * Действие над базой, которое может выбросить {@link SQLException}.
+     * 
+     * @param <R> тип результата
+     */
+    @FunctionalInterface
+    interface SqlWork<R> {
+        R run() throws SQLException;
+    }
+    
+    /**
+     * Преобразование текущей строки результата в объект.
+     * 
+     * @param <T> тип объекта
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet row) throws SQLException;
+    }
+    
+    private final Connection connection;
+    
+    private final int batchSize;
+    
+    /** Подготовленные запросы по тексту SQL */
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    
+    /** Запрос, в который накоплен текущий пакет, или null */
+    private PreparedStatement pending;
+    
+    private int pendingCount;
+    
+    /**
+     * Создает сессию поверх соединения.
+     * 
+     * @param connection соединение; сессия становится его владельцем
+     * @param batchSize максимальное число записей в пакете
+     * @throws SQLException если не удалось отключить автофиксацию
+     */
+    JdbcSession(Connection connection, int batchSize) throws SQLException {
+        if (connection == null) {
+            throw new IllegalArgumentException("Соединение не может быть null");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Размер пакета должен быть положительным");
+        }
+        this.connection = connection;
+        this.batchSize = batchSize;
+        connection.setAutoCommit(false);
+    }
+    
+    /**
+     * Возвращает подготовленный запрос из кэша, подготавливая его при первом обращении.
+     * 
+     * @param sql текст запроса
+     * @return подготовленный запрос
+     * @throws SQLException при ошибке подготовки
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null) {
+            statement = connection.prepareStatement(sql);
+            statements.put(sql, statement);
+        }
+        return statement;
+    }
+    
+    /**
+     * Добавляет заполненные параметры запроса в пакет. Пакет другого запроса
+     * предварительно выполняется, чтобы сохранить порядок записей.
+     * 
+     * @param statement подготовленный запрос с установленными параметрами
+     * @throws SQLException при ошибке выполнения пакета
+     */
+    void addBatch(PreparedStatement statement) throws SQLException {
+        if (pending != null && pending != statement) {
+            flush();
+        }
+        statement.addBatch();
+        pending = statement;
+        if (++pendingCount >= batchSize) {
+            flush();
+        }
+    }
+    
+    /**
+     * Выполняет и фиксирует накопленный пакет.
+     * 
+     * @throws SQLException при ошибке выполнения; транзакция откатывается
+     */
+    void flush() throws SQLException {
+        if (pending == null) {
+            return;
+        }
+        PreparedStatement statement = pending;
+        pending = null;
+        pendingCount = 0;
+        try {
+            statement.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            statement.clearBatch();
+            rollback(e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Выполняет накопленный пакет, затем действие в отдельной транзакции.
+     * 
+     * @param work действие
+     * @param <R> тип результата
+     * @return результат действия
+     * @throws SQLException при ошибке; транзакция действия откатывается
+     */
+    <R> R inTransaction(SqlWork<R> work) throws SQLException {
+        flush();
+        try {
+            R result = work.run();
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            rollback(e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Выполняет запрос и возвращает ленивый поток строк, читаемых порциями по fetchSize.
+     * Каждое продвижение потока выполняется под монитором lock; поток нужно закрыть.
+     * 
+     * @param sql текст запроса без параметров
+     * @param fetchSize число строк, запрашиваемых у драйвера за раз
+     * @param mapper преобразование строки
+     * @param lock монитор, защищающий соединение
+     * @param <T> тип элементов
+     * @return поток строк
+     * @throws SQLException при ошибке выполнения запроса
+     */
+    <T> Stream<T> stream(String sql, int fetchSize, RowMapper<T> mapper, Object lock) throws SQLException {
+        flush();
+        // Отдельный запрос: результат кэшированного закрылся бы при его повторном выполнении
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY, ResultSet.HOLD_CURSORS_OVER_COMMIT);
+        ResultSet rows;
+        try {
+            statement.setFetchSize(fetchSize);
+            rows = statement.executeQuery();
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                T next;
+                synchronized (lock) {
+                    try {
+                        if (!rows.next()) {
+                            return false;
+                        }
+                        next = mapper.map(rows);
+                    } catch (SQLException e) {
+                        throw failure(e);
+                    }
+                }
+                action.accept(next);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            synchronized (lock) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    throw failure(e);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Выполняет накопленный пакет и закрывает запросы и соединение.
+     * 
+     * @throws SQLException при ошибке; соединение закрывается в любом случае
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+        } finally {
+            for (PreparedStatement statement : statements.values()) {
+                statement.close();
+            }
+            statements.clear();
+            connection.close();
+        }
+    }
+    
+    /**
+     * Оборачивает ошибку базы данных в непроверяемое исключение.
+     * 
+     * @param e ошибка базы данных
+     * @return исключение для выбрасывания
+     */
+    static IllegalStateException failure(SQLException e) {
+        return new IllegalStateException("Ошибка базы данных: " + e.getMessage(), e);
+    }
+    
+    private void rollback(Exception cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+}
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.example.repository;
 import com.example.model.Job;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Flow;
 
 /**
  * Интерфейс репозитория для работы с сущностью Job.
@@ -61,4 +62,37 @@ public interface JobRepository {
      * @return true если объект был успешно удален, false если объект не найден
      */
     boolean delete(Job job);
+    
+    /**
+     * Возвращает страницу объектов Job с идентификатором больше указанного,
+     * упорядоченных по возрастанию идентификатора.
+     * Реализация читает только запрошенную страницу, не материализуя все хранилище:
+     * на этом методе строится издатель с учетом спроса {@link #findAllPublisher()}.
+     * 
+     * @param afterId идентификатор последнего прочитанного объекта (null — с начала)
+     * @param limit максимальный размер страницы
+     * @return страница объектов Job
+     */
+    List<Job> findPage(Long afterId, int limit);
+    
+    /**
+     * Возвращает издателя всех объектов Job с учетом спроса подписчика.
+     * Хранилище читается страницами через {@link #findPage(Long, int)} только по мере
+     * запросов request(n), поэтому объем памяти не зависит от размера хранилища.
+     * 
+     * @return издатель объектов Job в порядке возрастания идентификатора
+     */
+    default Flow.Publisher<Job> findAllPublisher() {
+        return findAllPublisher(PagedPublisher.DEFAULT_PAGE_SIZE);
+    }
+    
+    /**
+     * Возвращает издателя всех объектов Job с указанным размером страницы.
+     * 
+     * @param pageSize число объектов, читаемых из хранилища за раз
+     * @return издатель объектов Job в порядке возрастания идентификатора
+     */
+    default Flow.Publisher<Job> findAllPublisher(int pageSize) {
+        return new PagedPublisher<>(this::findPage, Job::getId, pageSize);
+    }
 }
\ No newline at end of file
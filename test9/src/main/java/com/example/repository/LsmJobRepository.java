@@ -0,0 +1,192 @@
+package com.example.repository;
+
+import com.example.binary.BinaryCodec;
+import com.example.lsm.LsmEngine;
+import com.example.lsm.LsmOptions;
+import com.example.lsm.LsmStats;
+import com.example.model.Job;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Реализация {@link JobRepository}, сохраняющая вакансии на локальный диск через {@link LsmEngine}.
+ * Ключ - id вакансии, значение - двоичная запись {@link BinaryCodec}. Ошибки ввода-вывода
+ * оборачиваются в {@link UncheckedIOException}. Проверка существования и запись в
+ * {@link #update(Job)} и {@link #delete(Long)} выполняются под монитором репозитория.
+ */
+public class LsmJobRepository implements JobRepository, Closeable {
+    
+    /** Размер страницы при чтении всех вакансий */
+    private static final int SCAN_PAGE_SIZE = 1024;
+    
+    private final LsmEngine engine;
+    
+    /** Генератор уникальных идентификаторов */
+    private final AtomicLong idGenerator;
+    
+    /**
+     * Открывает или создает хранилище с параметрами по умолчанию.
+     * 
+     * @param directory каталог хранилища
+     * @throws IOException при ошибке открытия или восстановления
+     */
+    public LsmJobRepository(Path directory) throws IOException {
+        this(directory, new LsmOptions());
+    }
+    
+    /**
+     * Открывает или создает хранилище.
+     * 
+     * @param directory каталог хранилища
+     * @param options параметры движка
+     * @throws IOException при ошибке открытия или восстановления
+     */
+    public LsmJobRepository(Path directory, LsmOptions options) throws IOException {
+        this.engine = LsmEngine.open(directory, options);
+        this.idGenerator = new AtomicLong(Math.max(1, engine.maxKey() + 1));
+    }
+    
+    @Override
+    public Job save(Job job) {
+        validateJob(job);
+        Long id = job.getId();
+        if (id == null) {
+            id = idGenerator.getAndIncrement();
+        } else {
+            idGenerator.accumulateAndGet(id + 1, Math::max);
+        }
+        Job stored = new Job(id, job.getTitle(), job.getCompany(), job.getSalary(), job.getDescription());
+        try {
+            engine.put(id, BinaryCodec.encode(stored));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return stored;
+    }
+    
+    @Override
+    public Optional<Job> findById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID не может быть null");
+        }
+        try {
+            byte[] value = engine.get(id);
+            return value == null ? Optional.empty() : Optional.of(BinaryCodec.decodeJob(value));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public List<Job> findAll() {
+        List<Job> all = new ArrayList<>();
+        Long afterId = null;
+        while (true) {
+            List<Job> page = findPage(afterId, SCAN_PAGE_SIZE);
+            all.addAll(page);
+            if (page.size() < SCAN_PAGE_SIZE) {
+                return all;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+    }
+    
+    @Override
+    public synchronized Job update(Job job) {
+        validateJob(job);
+        if (job.getId() == null) {
+            throw new IllegalArgumentException("Для обновления вакансия должна иметь ID");
+        }
+        if (findById(job.getId()).isEmpty()) {
+            throw new IllegalArgumentException("Вакансия с ID " + job.getId() + " не найдена");
+        }
+        return save(job);
+    }
+    
+    @Override
+    public synchronized boolean delete(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID не может быть null");
+        }
+        if (findById(id).isEmpty()) {
+            return false;
+        }
+        try {
+            engine.delete(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+    
+    @Override
+    public boolean delete(Job job) {
+        if (job == null) {
+            throw new IllegalArgumentException("Job не может быть null");
+        }
+        return job.getId() != null && delete(job.getId());
+    }
+    
+    @Override
+    public List<Job> findPage(Long afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Размер страницы должен быть положительным");
+        }
+        try {
+            List<Map.Entry<Long, byte[]>> entries = engine.scan(afterId, limit);
+            List<Job> page = new ArrayList<>(entries.size());
+            for (Map.Entry<Long, byte[]> entry : entries) {
+                page.add(BinaryCodec.decodeJob(entry.getValue()));
+            }
+            return page;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Сбрасывает данные из памяти на диск и дожидается фоновых слияний.
+     */
+    public void flush() {
+        try {
+            engine.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Возвращает счетчики движка хранения.
+     * 
+     * @return статистика, включая усиление записи
+     */
+    public LsmStats stats() {
+        return engine.stats();
+    }
+    
+    /**
+     * Закрывает хранилище; несброшенные записи восстанавливаются из журнала при следующем открытии.
+     * 
+     * @throws IOException при ошибке закрытия файлов
+     */
+    @Override
+    public void close() throws IOException {
+        engine.close();
+    }
+    
+    private static void validateJob(Job job) {
+        if (job == null) {
+            throw new IllegalArgumentException("Job не может быть null");
+        }
+        if (job.getSalary() != null && job.getSalary().isNaN()) {
+            throw new IllegalArgumentException("Зарплата не может быть NaN");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,203 @@
+package com.example.repository;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Издатель {@link Flow.Publisher}, читающий хранилище страницами по ключу.
+ * Следующая страница запрашивается только когда буфер пуст и у подписчика есть
+ * неудовлетворенный спрос, поэтому в памяти одновременно находится не больше одной
+ * страницы на подписку — независимо от размера хранилища и скорости потребителя.
+ * Отмена подписки сразу освобождает буфер и прекращает чтение.
+ * 
+ * @param <T> тип элемента
+ */
+public final class PagedPublisher<T> implements Flow.Publisher<T> {
+    
+    /** Размер страницы по умолчанию */
+    public static final int DEFAULT_PAGE_SIZE = 256;
+    
+    /**
+     * Источник страниц: элементы с ключом больше {@code afterKey} в порядке возрастания ключа.
+     * 
+     * @param <T> тип элемента
+     */
+    @FunctionalInterface
+    public interface PageSource<T> {
+        
+        /**
+         * Читает следующую страницу.
+         * 
+         * @param afterKey ключ последнего прочитанного элемента (null — с начала)
+         * @param limit максимальный размер страницы
+         * @return страница (меньше limit элементов означает конец данных)
+         */
+        List<T> fetch(Long afterKey, int limit);
+    }
+    
+    private final PageSource<T> source;
+    private final Function<T, Long> keyOf;
+    private final int pageSize;
+    private final Executor executor;
+    
+    /**
+     * Создает издателя, доставляющего элементы в потоке, вызвавшем request().
+     * 
+     * @param source источник страниц
+     * @param keyOf функция получения ключа элемента
+     * @param pageSize размер страницы
+     */
+    public PagedPublisher(PageSource<T> source, Function<T, Long> keyOf, int pageSize) {
+        this(source, keyOf, pageSize, Runnable::run);
+    }
+    
+    /**
+     * Создает издателя.
+     * 
+     * @param source источник страниц
+     * @param keyOf функция получения ключа элемента
+     * @param pageSize размер страницы
+     * @param executor исполнитель, в котором выполняется чтение и доставка
+     */
+    public PagedPublisher(PageSource<T> source, Function<T, Long> keyOf, int pageSize, Executor executor) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Размер страницы должен быть положительным");
+        }
+        this.source = Objects.requireNonNull(source, "source");
+        this.keyOf = Objects.requireNonNull(keyOf, "keyOf");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.pageSize = pageSize;
+    }
+    
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscriber.onSubscribe(new PageSubscription(subscriber));
+    }
+    
+    /**
+     * Подписка с учетом спроса. Доставка сериализована счетчиком wip:
+     * повторные вызовы request() из onNext не приводят к рекурсии.
+     */
+    private final class PageSubscription implements Flow.Subscription, Runnable {
+        
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        
+        /** Состояние ниже доступно только потоку доставки */
+        private ArrayDeque<T> buffer = new ArrayDeque<>();
+        private Long lastKey;
+        private boolean exhausted;
+        private boolean terminated;
+        
+        PageSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+        
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("request(n) требует n > 0, получено " + n);
+            } else {
+                requested.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+            }
+            schedule();
+        }
+        
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+        
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+        
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+        
+        private void drain() {
+            if (terminated) {
+                return;
+            }
+            if (cancelled) {
+                release();
+                return;
+            }
+            if (invalidRequest != null) {
+                release();
+                subscriber.onError(invalidRequest);
+                return;
+            }
+            long emitted = 0;
+            long demand = requested.get();
+            while (emitted < demand && !cancelled) {
+                if (buffer.isEmpty() && (exhausted || !fetchPage())) {
+                    break;
+                }
+                subscriber.onNext(buffer.poll());
+                emitted++;
+            }
+            if (emitted > 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+            if (cancelled) {
+                release();
+            } else if (!terminated && buffer.isEmpty() && exhausted) {
+                release();
+                subscriber.onComplete();
+            }
+        }
+        
+        /**
+         * Читает следующую страницу в буфер.
+         * 
+         * @return true если в буфере появились элементы
+         */
+        private boolean fetchPage() {
+            List<T> page;
+            try {
+                page = source.fetch(lastKey, pageSize);
+            } catch (RuntimeException e) {
+                release();
+                subscriber.onError(e);
+                return false;
+            }
+            if (page.size() < pageSize) {
+                exhausted = true;
+            }
+            if (page.isEmpty()) {
+                return false;
+            }
+            buffer.addAll(page);
+            lastKey = keyOf.apply(page.get(page.size() - 1));
+            return true;
+        }
+        
+        /**
+         * Завершает подписку и освобождает буфер.
+         */
+        private void release() {
+            terminated = true;
+            buffer = new ArrayDeque<>(0);
+        }
+    }
+}
\ No newline at end of file
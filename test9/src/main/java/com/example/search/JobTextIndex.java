@@ -0,0 +1,321 @@
+package com.example.search;
+
+import com.example.aggregate.AggregateView;
+import com.example.model.Job;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Полнотекстовый инвертированный индекс по названию и описанию вакансий с ранжированием BM25.
+ * Поддерживается инкрементально как представление репозитория:
+ * {@code repository.registerView(new JobTextIndex())}.
+ * <p>
+ * Каждой индексируемой версии вакансии выдается новый внутренний номер документа,
+ * поэтому списки вхождений только дописываются и хранятся сжатыми (varint разностей).
+ * Обновление помечает старый номер удаленным и добавляет новый; когда удаленных
+ * становится больше половины, списки перестраиваются без них. Термы названия
+ * учитываются с весом {@link #TITLE_BOOST}. Поиск обходит списки термов запроса
+ * одновременно (document-at-a-time) и держит в куче только k лучших результатов.
+ */
+public class JobTextIndex implements AggregateView<Job> {
+    
+    /** Вес терма из названия относительно терма из описания */
+    public static final int TITLE_BOOST = 2;
+    
+    /** Параметр насыщения частоты BM25 */
+    private static final double K1 = 1.2;
+    
+    /** Параметр нормализации по длине документа BM25 */
+    private static final double B = 0.75;
+    
+    /** Минимальное число удаленных документов для перестройки списков */
+    private static final int COMPACTION_MIN_DELETED = 1024;
+    
+    /** Порядок результатов: оценка по убыванию, затем id по возрастанию */
+    private static final Comparator<SearchHit> BEST_FIRST = Comparator
+            .comparingDouble(SearchHit::getScore).reversed()
+            .thenComparingLong(SearchHit::getJobId);
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    /** Списки вхождений по термам */
+    private final Map<String, PostingList> postings = new HashMap<>();
+    
+    /** Номер документа текущей версии вакансии */
+    private final Map<Long, Integer> docNoByJobId = new HashMap<>();
+    
+    /** Идентификатор вакансии по номеру документа */
+    private long[] jobIds = new long[1024];
+    
+    /** Длина документа (взвешенное число термов) по номеру */
+    private int[] lengths = new int[1024];
+    
+    /** Удаленные номера документов */
+    private final BitSet deleted = new BitSet();
+    
+    private int nextDocNo;
+    private int deletedCount;
+    private long totalLiveLength;
+    
+    @Override
+    public void apply(Job oldValue, Job newValue) {
+        if (oldValue != null && newValue != null
+                && Objects.equals(oldValue.getTitle(), newValue.getTitle())
+                && Objects.equals(oldValue.getDescription(), newValue.getDescription())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (oldValue != null) {
+                removeDocument(oldValue);
+            }
+            if (newValue != null) {
+                addDocument(newValue);
+            }
+            if (deletedCount >= COMPACTION_MIN_DELETED && deletedCount * 2 > nextDocNo) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docNoByJobId.clear();
+            deleted.clear();
+            nextDocNo = 0;
+            deletedCount = 0;
+            totalLiveLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Находит k наиболее релевантных вакансий по ключевым словам.
+     * Вакансия подходит, если содержит хотя бы одно слово запроса.
+     * 
+     * @param query строка запроса
+     * @param k максимальное число результатов
+     * @return результаты по убыванию релевантности
+     */
+    public List<SearchHit> search(String query, int k) {
+        if (query == null) {
+            throw new IllegalArgumentException("Запрос не может быть null");
+        }
+        if (k <= 0) {
+            throw new IllegalArgumentException("Число результатов должно быть положительным");
+        }
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        lock.readLock().lock();
+        try {
+            int liveDocuments = nextDocNo - deletedCount;
+            if (liveDocuments == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLiveLength / liveDocuments;
+            PriorityQueue<TermCursor> cursors = new PriorityQueue<>(Comparator.comparingInt(TermCursor::docNo));
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list != null && list.liveDocuments() > 0) {
+                    int df = list.liveDocuments();
+                    double idf = Math.log(1 + (liveDocuments - df + 0.5) / (df + 0.5));
+                    TermCursor cursor = new TermCursor(list.cursor(), idf);
+                    if (cursor.postings.next()) {
+                        cursors.add(cursor);
+                    }
+                }
+            }
+            // В куче не бывает больше живых документов; k + 1 переполнилось бы при Integer.MAX_VALUE
+            PriorityQueue<SearchHit> top = new PriorityQueue<>(Math.min(k, liveDocuments) + 1, BEST_FIRST.reversed());
+            while (!cursors.isEmpty()) {
+                int docNo = cursors.peek().docNo();
+                double score = 0;
+                while (!cursors.isEmpty() && cursors.peek().docNo() == docNo) {
+                    TermCursor cursor = cursors.poll();
+                    score += cursor.idf * saturate(cursor.postings.frequency(), lengths[docNo], averageLength);
+                    if (cursor.postings.next()) {
+                        cursors.add(cursor);
+                    }
+                }
+                if (!deleted.get(docNo) && (top.size() < k || beats(score, jobIds[docNo], top.peek()))) {
+                    top.add(new SearchHit(jobIds[docNo], score));
+                    if (top.size() > k) {
+                        top.poll();
+                    }
+                }
+            }
+            List<SearchHit> result = new ArrayList<>(top);
+            result.sort(BEST_FIRST);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает число проиндексированных вакансий.
+     * 
+     * @return число вакансий
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nextDocNo - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает число различных термов.
+     * 
+     * @return число термов
+     */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает объем сжатых списков вхождений.
+     * 
+     * @return размер в байтах
+     */
+    public long postingBytes() {
+        lock.readLock().lock();
+        try {
+            long total = 0;
+            for (PostingList list : postings.values()) {
+                total += list.sizeInBytes();
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private static boolean beats(double score, long jobId, SearchHit worst) {
+        return score > worst.getScore() || (score == worst.getScore() && jobId < worst.getJobId());
+    }
+    
+    private static double saturate(int frequency, int length, double averageLength) {
+        double norm = K1 * (1 - B + B * length / averageLength);
+        return frequency * (K1 + 1) / (frequency + norm);
+    }
+    
+    private void addDocument(Job job) {
+        Map<String, Integer> frequencies = termFrequencies(job);
+        if (frequencies.isEmpty()) {
+            return;
+        }
+        int docNo = nextDocNo++;
+        if (docNo == jobIds.length) {
+            jobIds = Arrays.copyOf(jobIds, docNo * 2);
+            lengths = Arrays.copyOf(lengths, docNo * 2);
+        }
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).append(docNo, entry.getValue());
+            length += entry.getValue();
+        }
+        jobIds[docNo] = job.getId();
+        lengths[docNo] = length;
+        totalLiveLength += length;
+        docNoByJobId.put(job.getId(), docNo);
+    }
+    
+    private void removeDocument(Job job) {
+        Integer docNo = docNoByJobId.remove(job.getId());
+        if (docNo == null) {
+            return;
+        }
+        deleted.set(docNo);
+        deletedCount++;
+        totalLiveLength -= lengths[docNo];
+        for (String term : termFrequencies(job).keySet()) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                list.documentRemoved();
+            }
+        }
+    }
+    
+    private static Map<String, Integer> termFrequencies(Job job) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        Tokenizer.forEachTerm(job.getTitle(), term -> frequencies.merge(term, TITLE_BOOST, Integer::sum));
+        Tokenizer.forEachTerm(job.getDescription(), term -> frequencies.merge(term, 1, Integer::sum));
+        return frequencies;
+    }
+    
+    /**
+     * Перестраивает списки без удаленных документов, перенумеровывая оставшиеся подряд.
+     */
+    private void compact() {
+        int[] remap = new int[nextDocNo];
+        int live = 0;
+        for (int docNo = 0; docNo < nextDocNo; docNo++) {
+            if (deleted.get(docNo)) {
+                remap[docNo] = -1;
+            } else {
+                remap[docNo] = live;
+                jobIds[live] = jobIds[docNo];
+                lengths[live] = lengths[docNo];
+                live++;
+            }
+        }
+        postings.replaceAll((term, list) -> {
+            PostingList compacted = new PostingList();
+            PostingList.Cursor cursor = list.cursor();
+            while (cursor.next()) {
+                int target = remap[cursor.docNo()];
+                if (target >= 0) {
+                    compacted.append(target, cursor.frequency());
+                }
+            }
+            return compacted;
+        });
+        postings.values().removeIf(list -> list.documents() == 0);
+        docNoByJobId.replaceAll((jobId, docNo) -> remap[docNo]);
+        deleted.clear();
+        deletedCount = 0;
+        nextDocNo = live;
+    }
+    
+    /**
+     * Курсор списка вхождений вместе с IDF его терма.
+     */
+    private static final class TermCursor {
+        
+        private final PostingList.Cursor postings;
+        private final double idf;
+        
+        private TermCursor(PostingList.Cursor postings, double idf) {
+            this.postings = postings;
+            this.idf = idf;
+        }
+        
+        private int docNo() {
+            return postings.docNo();
+        }
+    }
+}
\ No newline at end of file
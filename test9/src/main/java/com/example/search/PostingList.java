@@ -0,0 +1,110 @@
+package com.example.search;
+
+import java.util.Arrays;
+
+/**
+ * Сжатый список вхождений терма: пары (номер документа, частота) в порядке
+ * возрастания номера, закодированные varint, номер - разностью с предыдущим.
+ * Номера документов только растут, поэтому список пополняется лишь дописыванием.
+ */
+final class PostingList {
+    
+    private byte[] data = new byte[8];
+    private int size;
+    private int lastDocNo = -1;
+    
+    /** Число документов в списке, включая удаленные */
+    private int documents;
+    
+    /** Число неудаленных документов (документная частота для BM25) */
+    private int liveDocuments;
+    
+    void append(int docNo, int frequency) {
+        if (docNo <= lastDocNo) {
+            throw new IllegalStateException("Номера документов должны возрастать");
+        }
+        ensureCapacity(10);
+        putVarint(docNo - lastDocNo);
+        putVarint(frequency);
+        lastDocNo = docNo;
+        documents++;
+        liveDocuments++;
+    }
+    
+    void documentRemoved() {
+        liveDocuments--;
+    }
+    
+    int liveDocuments() {
+        return liveDocuments;
+    }
+    
+    int documents() {
+        return documents;
+    }
+    
+    int sizeInBytes() {
+        return size;
+    }
+    
+    /**
+     * Курсор последовательного чтения списка.
+     */
+    final class Cursor {
+        
+        private int position;
+        private int docNo = -1;
+        private int frequency;
+        
+        /**
+         * Переходит к следующей паре.
+         * 
+         * @return false если список закончился
+         */
+        boolean next() {
+            if (position >= size) {
+                return false;
+            }
+            docNo += readVarint();
+            frequency = readVarint();
+            return true;
+        }
+        
+        int docNo() {
+            return docNo;
+        }
+        
+        int frequency() {
+            return frequency;
+        }
+        
+        private int readVarint() {
+            int result = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[position++];
+                result |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return result;
+                }
+            }
+        }
+    }
+    
+    Cursor cursor() {
+        return new Cursor();
+    }
+    
+    private void putVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[size++] = (byte) value;
+    }
+    
+    private void ensureCapacity(int extra) {
+        if (size + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(size + extra, data.length * 2));
+        }
+    }
+}
\ No newline at end of file
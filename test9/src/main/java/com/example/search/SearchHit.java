@@ -0,0 +1,50 @@
+package com.example.search;
+
+/**
+ * Результат полнотекстового поиска: идентификатор вакансии и ее оценка BM25.
+ */
+public final class SearchHit {
+    
+    /** Идентификатор вакансии */
+    private final long jobId;
+    
+    /** Оценка релевантности */
+    private final double score;
+    
+    /**
+     * Создает результат поиска.
+     * 
+     * @param jobId идентификатор вакансии
+     * @param score оценка релевантности
+     */
+    public SearchHit(long jobId, double score) {
+        this.jobId = jobId;
+        this.score = score;
+    }
+    
+    /**
+     * Возвращает идентификатор вакансии.
+     * 
+     * @return идентификатор
+     */
+    public long getJobId() {
+        return jobId;
+    }
+    
+    /**
+     * Возвращает оценку релевантности.
+     * 
+     * @return оценка BM25
+     */
+    public double getScore() {
+        return score;
+    }
+    
+    @Override
+    public String toString() {
+        return "SearchHit{" +
+                "jobId=" + jobId +
+                ", score=" + score +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Разбиение текста на термы для полнотекстового поиска.
+ * Терм - непрерывная последовательность букв и цифр любого алфавита
+ * (кириллица и латиница обрабатываются одинаково), приведенная к нижнему регистру;
+ * буква «ё» заменяется на «е». Слишком длинные термы обрезаются.
+ */
+public final class Tokenizer {
+    
+    /** Максимальная длина терма в символах */
+    public static final int MAX_TERM_LENGTH = 64;
+    
+    private Tokenizer() {
+        // Utility class
+    }
+    
+    /**
+     * Разбивает текст на термы.
+     * 
+     * @param text текст (null считается пустым)
+     * @return термы в порядке появления, с повторами
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        forEachTerm(text, terms::add);
+        return terms;
+    }
+    
+    /**
+     * Передает термы текста получателю без построения списка.
+     * 
+     * @param text текст (null считается пустым)
+     * @param consumer получатель термов
+     */
+    public static void forEachTerm(String text, Consumer<String> consumer) {
+        if (text == null) {
+            return;
+        }
+        char[] term = new char[MAX_TERM_LENGTH];
+        int length = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (length < MAX_TERM_LENGTH) {
+                    term[length++] = normalize(c);
+                }
+            } else if (length > 0) {
+                consumer.accept(new String(term, 0, length));
+                length = 0;
+            }
+        }
+    }
+    
+    private static char normalize(char c) {
+        char lower = Character.toLowerCase(c);
+        return lower == 'ё' ? 'е' : lower;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.example.service;
+
+import com.example.model.Person;
+
+/**
+ * Слушатель изменений хранилища PersonService.
+ * Вызывается синхронно внутри операции записи, поэтому порядок уведомлений
+ * совпадает с порядком изменений в хранилище.
+ */
+@FunctionalInterface
+public interface PersonChangeListener {
+    
+    /**
+     * Вызывается после создания, обновления или удаления человека.
+     * 
+     * @param oldPerson прежнее состояние (null при создании)
+     * @param newPerson новое состояние (null при удалении)
+     */
+    void onChange(Person oldPerson, Person newPerson);
+    
+    /**
+     * Вызывается после полной очистки хранилища.
+     */
+    default void onClear() {
+        // По умолчанию ничего не делаем
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.example.service;
+
+import com.example.model.Person;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Курсор для прохода по хранилищу PersonService без материализации списка.
+ * Поля текущей записи читаются прямо из хранимого объекта, а сам курсор
+ * можно переиспользовать между проходами через {@link PersonService#cursor(PersonCursor)},
+ * поэтому аналитический цикл не выделяет память на каждую запись.
+ * <p>
+ * Обход слабо согласован: изменения во время прохода могут быть как видны, так и нет.
+ * Курсор не потокобезопасен и предназначен для одного потока.
+ */
+public final class PersonCursor {
+    
+    /** Итератор по хранимым записям */
+    private Iterator<Person> rows;
+    
+    /** Текущая запись (null до первого next() и после конца) */
+    private Person current;
+    
+    PersonCursor(Iterator<Person> rows) {
+        open(rows);
+    }
+    
+    /**
+     * Переводит курсор на начало нового прохода.
+     * 
+     * @param rows итератор по хранимым записям
+     */
+    void open(Iterator<Person> rows) {
+        this.rows = rows;
+        this.current = null;
+    }
+    
+    /**
+     * Переходит к следующей записи.
+     * 
+     * @return true если запись есть, false если проход закончен
+     */
+    public boolean next() {
+        if (rows.hasNext()) {
+            current = rows.next();
+            return true;
+        }
+        current = null;
+        return false;
+    }
+    
+    /**
+     * Возвращает идентификатор текущей записи.
+     * 
+     * @return идентификатор
+     */
+    public long id() {
+        return row().getId();
+    }
+    
+    /**
+     * Возвращает имя текущей записи.
+     * 
+     * @return имя
+     */
+    public String firstName() {
+        return row().getFirstName();
+    }
+    
+    /**
+     * Возвращает фамилию текущей записи.
+     * 
+     * @return фамилия
+     */
+    public String lastName() {
+        return row().getLastName();
+    }
+    
+    /**
+     * Возвращает возраст текущей записи.
+     * 
+     * @return возраст
+     */
+    public int age() {
+        return row().getAge();
+    }
+    
+    /**
+     * Возвращает email текущей записи.
+     * 
+     * @return email
+     */
+    public String email() {
+        return row().getEmail();
+    }
+    
+    /**
+     * Возвращает копию текущей записи как объект Person.
+     * Изменение копии не затрагивает хранилище.
+     * 
+     * @return текущая запись
+     */
+    public Person toPerson() {
+        Person row = row();
+        return new Person(row.getId(), row.getFirstName(), row.getLastName(), row.getAge(), row.getEmail());
+    }
+    
+    private Person row() {
+        if (current == null) {
+            throw new NoSuchElementException("Курсор не указывает на запись");
+        }
+        return current;
+    }
+}
\ No newline at end of file
@@ -1,26 +1,61 @@
 package com.example.service;
 
+import com.example.aggregate.AggregateView;
 import com.example.model.Person;
+import com.example.model.PersonPatch;
+import com.example.query.HashIndex;
+import com.example.query.PersonAttributes;
+import com.example.query.Query;
+import com.example.query.QueryIndex;
+import com.example.query.QueryPlanner;
+import com.example.query.Queryable;
+import com.example.query.SortedIndex;
+import com.example.util.SeqLock;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 /**
  * Сервис для управления объектами Person.
  * Предоставляет CRUD операции с использованием in-memory хранилища.
  * Включает валидацию данных.
+ * Операции записи сериализуются монитором сервиса, чтение выполняется без блокировок.
+ * Поддерживает запросы с выбором индекса планировщиком (см. {@link #query(Query)}).
  */
-public class PersonService {
+public class PersonService implements Queryable<Person> {
     
     /** In-memory хранилище для объектов Person */
-    private final Map<Long, Person> personStorage = new HashMap<>();
+    private final Map<Long, Person> personStorage = new ConcurrentHashMap<>();
+    
+    /** Индекс email → id для проверки уникальности за O(1) */
+    private final Map<String, Long> emailIndex = new ConcurrentHashMap<>();
     
     /** Генератор уникальных идентификаторов */
     private final AtomicLong idGenerator = new AtomicLong(1);
     
+    /** Вторичные индексы для запросов (по умолчанию: возраст и домен email) */
+    private final List<QueryIndex<Person>> indexes = new CopyOnWriteArrayList<>(List.of(
+        new SortedIndex<>(PersonAttributes.AGE, Person::getId),
+        new HashIndex<>(PersonAttributes.EMAIL_DOMAIN, Person::getId)
+    ));
+    
+    /** Агрегатные представления, обновляемые на каждой записи */
+    private final List<AggregateView<Person>> views = new CopyOnWriteArrayList<>();
+    
+    /** Версия записи: нечетная, пока запись применяется (см. {@link #readConsistent(Supplier)}) */
+    private final SeqLock writeVersion = new SeqLock();
+    
+    /** Слушатели изменений хранилища */
+    private final List<PersonChangeListener> listeners = new CopyOnWriteArrayList<>();
+    
     /** Регулярное выражение для валидации email */
     private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
     private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEX);
@@ -32,7 +67,7 @@ public class PersonService {
      * @return созданный объект Person с присвоенным id
      * @throws IllegalArgumentException если данные невалидны
      */
-    public Person createPerson(Person person) {
+    public synchronized Person createPerson(Person person) {
         validatePerson(person);
         
         // Проверяем уникальность email
@@ -51,12 +86,13 @@ public class PersonService {
         );
         
         // Сохраняем в хранилище
-        personStorage.put(newId, newPerson);
-        return newPerson;
+        commit(null, newPerson);
+        return copyOf(newPerson);
     }
     
     /**
      * Получает человека по идентификатору.
+     * Возвращается копия: изменение ее полей не затрагивает хранилище.
      * 
      * @param id идентификатор человека
      * @return объект Person или null, если не найден
@@ -65,16 +101,43 @@ public class PersonService {
         if (id == null) {
             throw new IllegalArgumentException("ID не может быть null");
         }
-        return personStorage.get(id);
+        return copyOf(personStorage.get(id));
     }
     
     /**
-     * Получает всех людей.
+     * Получает всех людей (копии хранимых объектов).
      * 
      * @return список всех объектов Person
      */
     public List<Person> getAllPersons() {
-        return new ArrayList<>(personStorage.values());
+        List<Person> result = new ArrayList<>(personStorage.size());
+        for (Person person : personStorage.values()) {
+            result.add(copyOf(person));
+        }
+        return result;
+    }
+    
+    /**
+     * Открывает курсор по всем людям без копирования хранилища в список.
+     * 
+     * @return курсор, стоящий перед первой записью
+     */
+    public PersonCursor cursor() {
+        return new PersonCursor(personStorage.values().iterator());
+    }
+    
+    /**
+     * Переоткрывает существующий курсор на новый проход по всем людям.
+     * 
+     * @param reuse курсор для переиспользования
+     * @return тот же курсор, стоящий перед первой записью
+     */
+    public PersonCursor cursor(PersonCursor reuse) {
+        if (reuse == null) {
+            throw new IllegalArgumentException("Курсор не может быть null");
+        }
+        reuse.open(personStorage.values().iterator());
+        return reuse;
     }
     
     /**
@@ -85,7 +148,7 @@ public class PersonService {
      * @return обновленный объект Person
      * @throws IllegalArgumentException если данные невалидны или человек не найден
      */
-    public Person updatePerson(Long id, Person updatedPerson) {
+    public synchronized Person updatePerson(Long id, Person updatedPerson) {
         if (id == null) {
             throw new IllegalArgumentException("ID не может быть null");
         }
@@ -100,8 +163,8 @@ public class PersonService {
         validatePerson(updatedPerson);
         
         // Проверяем уникальность email (если email изменился)
-        if (!existingPerson.getEmail().equals(updatedPerson.getEmail()) && 
-            isEmailExists(updatedPerson.getEmail())) {
+        boolean emailChanged = !existingPerson.getEmail().equals(updatedPerson.getEmail());
+        if (emailChanged && isEmailExists(updatedPerson.getEmail())) {
             throw new IllegalArgumentException("Email уже существует: " + updatedPerson.getEmail());
         }
         
@@ -115,8 +178,8 @@ public class PersonService {
         );
         
         // Обновляем в хранилище
-        personStorage.put(id, updated);
-        return updated;
+        commit(existingPerson, updated);
+        return copyOf(updated);
     }
     
     /**
@@ -125,11 +188,286 @@ public class PersonService {
      * @param id идентификатор человека для удаления
      * @return true если человек был удален, false если не найден
      */
-    public boolean deletePerson(Long id) {
+    public synchronized boolean deletePerson(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID не может быть null");
+        }
+        Person removed = personStorage.get(id);
+        if (removed == null) {
+            return false;
+        }
+        commit(removed, null);
+        return true;
+    }
+    
+    /**
+     * Сохраняет человека с уже назначенным идентификатором.
+     * Используется, когда идентификаторы выдаются снаружи (например, маршрутизатором кластера).
+     * Генератор идентификаторов сдвигается так, чтобы не выдать занятый id.
+     * 
+     * @param person объект Person с заполненным id
+     * @return сохраненный объект Person
+     * @throws IllegalArgumentException если данные невалидны или email занят другим человеком
+     */
+    public synchronized Person putPerson(Person person) {
+        validatePerson(person);
+        if (person.getId() == null) {
+            throw new IllegalArgumentException("ID не может быть null");
+        }
+        Person existingPerson = personStorage.get(person.getId());
+        boolean emailChanged = existingPerson == null || !existingPerson.getEmail().equals(person.getEmail());
+        if (emailChanged && isEmailExists(person.getEmail())) {
+            throw new IllegalArgumentException("Email уже существует: " + person.getEmail());
+        }
+        
+        Person stored = new Person(
+            person.getId(),
+            person.getFirstName(),
+            person.getLastName(),
+            person.getAge(),
+            person.getEmail()
+        );
+        idGenerator.accumulateAndGet(stored.getId() + 1, Math::max);
+        commit(existingPerson, stored);
+        return copyOf(stored);
+    }
+    
+    /**
+     * Частично обновляет данные человека.
+     * Валидируются только поля, которые действительно меняются. Если патч не меняет
+     * ни одного значения, хранилище, индексы и слушатели не затрагиваются.
+     * 
+     * @param id идентификатор человека
+     * @param patch изменяемые поля
+     * @return true если данные изменились, false если патч ничего не меняет
+     * @throws IllegalArgumentException если человек не найден или новые значения невалидны
+     */
+    public synchronized boolean patchPerson(Long id, PersonPatch patch) {
         if (id == null) {
             throw new IllegalArgumentException("ID не может быть null");
         }
-        return personStorage.remove(id) != null;
+        if (patch == null) {
+            throw new IllegalArgumentException("Patch не может быть null");
+        }
+        Person existing = personStorage.get(id);
+        if (existing == null) {
+            throw new IllegalArgumentException("Человек с ID " + id + " не найден");
+        }
+        
+        boolean firstNameChanged = patch.hasFirstName() && !Objects.equals(patch.getFirstName(), existing.getFirstName());
+        boolean lastNameChanged = patch.hasLastName() && !Objects.equals(patch.getLastName(), existing.getLastName());
+        boolean ageChanged = patch.hasAge() && !Objects.equals(patch.getAge(), existing.getAge());
+        boolean emailChanged = patch.hasEmail() && !Objects.equals(patch.getEmail(), existing.getEmail());
+        if (!firstNameChanged && !lastNameChanged && !ageChanged && !emailChanged) {
+            return false;
+        }
+        
+        // Валидируем только изменяющиеся поля
+        if (firstNameChanged) validateFirstName(patch.getFirstName());
+        if (lastNameChanged) validateLastName(patch.getLastName());
+        if (ageChanged) validateAge(patch.getAge());
+        if (emailChanged) {
+            validateEmail(patch.getEmail());
+            if (isEmailExists(patch.getEmail())) {
+                throw new IllegalArgumentException("Email уже существует: " + patch.getEmail());
+            }
+        }
+        
+        Person patched = new Person(
+            id,
+            firstNameChanged ? patch.getFirstName() : existing.getFirstName(),
+            lastNameChanged ? patch.getLastName() : existing.getLastName(),
+            ageChanged ? patch.getAge() : existing.getAge(),
+            emailChanged ? patch.getEmail() : existing.getEmail()
+        );
+        commit(existing, patched);
+        return true;
+    }
+    
+    /**
+     * Выполняет запрос, используя наиболее селективный доступный индекс.
+     * 
+     * @param query запрос
+     * @return найденные люди (копии хранимых объектов)
+     */
+    public List<Person> query(Query<Person> query) {
+        return QueryPlanner.plan(query, this).execute();
+    }
+    
+    /**
+     * Возвращает план, выбранный планировщиком для запроса.
+     * 
+     * @param query запрос
+     * @return текстовое описание плана
+     */
+    public String explain(Query<Person> query) {
+        return QueryPlanner.plan(query, this).explain();
+    }
+    
+    /**
+     * Добавляет вторичный индекс и заполняет его текущими данными.
+     * Существующие запросы начинают использовать индекс без изменений.
+     * 
+     * @param index новый пустой индекс
+     */
+    public synchronized void createIndex(QueryIndex<Person> index) {
+        if (index == null) {
+            throw new IllegalArgumentException("Индекс не может быть null");
+        }
+        for (Person person : personStorage.values()) {
+            index.add(person);
+        }
+        indexes.add(index);
+    }
+    
+    /**
+     * {@inheritDoc}
+     * Коллекция содержит хранимые объекты, а не копии: изменять их нельзя.
+     */
+    @Override
+    public Collection<Person> scan() {
+        return Collections.unmodifiableCollection(personStorage.values());
+    }
+    
+    @Override
+    public int size() {
+        return personStorage.size();
+    }
+    
+    @Override
+    public Person detach(Person person) {
+        return copyOf(person);
+    }
+    
+    @Override
+    public List<QueryIndex<Person>> indexes() {
+        return Collections.unmodifiableList(indexes);
+    }
+    
+    @Override
+    public long version() {
+        return writeVersion.version();
+    }
+    
+    /**
+     * Регистрирует слушателя изменений хранилища.
+     * 
+     * @param listener слушатель
+     * @throws IllegalArgumentException если listener равен null
+     */
+    public void addChangeListener(PersonChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener не может быть null");
+        }
+        listeners.add(listener);
+    }
+    
+    /**
+     * Удаляет ранее зарегистрированного слушателя.
+     * 
+     * @param listener слушатель
+     * @return true если слушатель был зарегистрирован
+     */
+    public boolean removeChangeListener(PersonChangeListener listener) {
+        return listeners.remove(listener);
+    }
+    
+    /**
+     * Применяет изменение к хранилищу, индексам и агрегатным представлениям,
+     * затем уведомляет слушателей. Вызывается под монитором сервиса.
+     * На время изменения счетчик версий нечетный: так читатели
+     * {@link #readConsistent(Supplier)} обнаруживают незавершенную запись без блокировок.
+     * 
+     * @param oldPerson прежнее состояние (null при создании)
+     * @param newPerson новое состояние (null при удалении)
+     */
+    private void commit(Person oldPerson, Person newPerson) {
+        writeVersion.beginWrite();
+        try {
+            if (newPerson != null) {
+                personStorage.put(newPerson.getId(), newPerson);
+            } else {
+                personStorage.remove(oldPerson.getId());
+            }
+            updateEmailIndex(oldPerson, newPerson);
+            for (QueryIndex<Person> index : indexes) {
+                if (oldPerson != null) {
+                    index.remove(oldPerson);
+                }
+                if (newPerson != null) {
+                    index.add(newPerson);
+                }
+            }
+            for (AggregateView<Person> view : views) {
+                view.apply(oldPerson, newPerson);
+            }
+        } finally {
+            writeVersion.endWrite();
+        }
+        fireChange(oldPerson, newPerson);
+    }
+    
+    /**
+     * Регистрирует агрегатное представление, заполняя его текущими данными.
+     * Дальше представление обновляется инкрементально на каждой записи,
+     * поэтому чтение агрегата не требует просмотра хранилища.
+     * 
+     * @param view представление
+     * @param <V> тип представления
+     * @return то же представление
+     */
+    public synchronized <V extends AggregateView<Person>> V registerView(V view) {
+        if (view == null) {
+            throw new IllegalArgumentException("Представление не может быть null");
+        }
+        writeVersion.beginWrite();
+        try {
+            view.reset();
+            for (Person person : personStorage.values()) {
+                view.apply(null, person);
+            }
+            views.add(view);
+        } finally {
+            writeVersion.endWrite();
+        }
+        return view;
+    }
+    
+    /**
+     * Удаляет агрегатное представление.
+     * 
+     * @param view представление
+     * @return true если представление было зарегистрировано
+     */
+    public synchronized boolean unregisterView(AggregateView<Person> view) {
+        return views.remove(view);
+    }
+    
+    /**
+     * Выполняет чтение, согласованное с хранилищем и представлениями, без блокировок.
+     * Чтение повторяется, если во время него завершилась или шла запись;
+     * читатель никогда не берет монитор, нужный писателям.
+     * Исключение читателя пробрасывается, только если во время чтения записей не было
+     * (см. {@link SeqLock#read(Supplier)}).
+     * 
+     * @param reader функция чтения (может вызываться несколько раз)
+     * @param <R> тип результата
+     * @return результат, соответствующий одному состоянию хранилища
+     */
+    public <R> R readConsistent(Supplier<R> reader) {
+        return writeVersion.read(reader);
+    }
+    
+    /**
+     * Уведомляет слушателей об изменении. Вызывается под монитором сервиса.
+     * 
+     * @param oldPerson прежнее состояние
+     * @param newPerson новое состояние
+     */
+    private void fireChange(Person oldPerson, Person newPerson) {
+        for (PersonChangeListener listener : listeners) {
+            listener.onChange(oldPerson, newPerson);
+        }
     }
     
     /**
@@ -143,39 +481,72 @@ public class PersonService {
             throw new IllegalArgumentException("Person не может быть null");
         }
         
-        // Валидация имени
-        if (person.getFirstName() == null || person.getFirstName().trim().isEmpty()) {
+        validateFirstName(person.getFirstName());
+        validateLastName(person.getLastName());
+        validateAge(person.getAge());
+        validateEmail(person.getEmail());
+    }
+    
+    /**
+     * Валидирует имя.
+     * 
+     * @param firstName имя
+     * @throws IllegalArgumentException если имя невалидно
+     */
+    private void validateFirstName(String firstName) {
+        if (firstName == null || firstName.trim().isEmpty()) {
             throw new IllegalArgumentException("Имя не может быть пустым");
         }
-        if (person.getFirstName().length() > 50) {
+        if (firstName.length() > 50) {
             throw new IllegalArgumentException("Имя слишком длинное (максимум 50 символов)");
         }
-        
-        // Валидация фамилии
-        if (person.getLastName() == null || person.getLastName().trim().isEmpty()) {
+    }
+    
+    /**
+     * Валидирует фамилию.
+     * 
+     * @param lastName фамилия
+     * @throws IllegalArgumentException если фамилия невалидна
+     */
+    private void validateLastName(String lastName) {
+        if (lastName == null || lastName.trim().isEmpty()) {
             throw new IllegalArgumentException("Фамилия не может быть пустой");
         }
-        if (person.getLastName().length() > 50) {
+        if (lastName.length() > 50) {
             throw new IllegalArgumentException("Фамилия слишком длинная (максимум 50 символов)");
         }
-        
-        // Валидация возраста
-        if (person.getAge() == null) {
+    }
+    
+    /**
+     * Валидирует возраст.
+     * 
+     * @param age возраст
+     * @throws IllegalArgumentException если возраст невалиден
+     */
+    private void validateAge(Integer age) {
+        if (age == null) {
             throw new IllegalArgumentException("Возраст не может быть null");
         }
-        if (person.getAge() < 0) {
+        if (age < 0) {
             throw new IllegalArgumentException("Возраст не может быть отрицательным");
         }
-        if (person.getAge() > 150) {
+        if (age > 150) {
             throw new IllegalArgumentException("Возраст не может быть больше 150 лет");
         }
-        
-        // Валидация email
-        if (person.getEmail() == null || person.getEmail().trim().isEmpty()) {
+    }
+    
+    /**
+     * Валидирует email.
+     * 
+     * @param email email адрес
+     * @throws IllegalArgumentException если email невалиден
+     */
+    private void validateEmail(String email) {
+        if (email == null || email.trim().isEmpty()) {
             throw new IllegalArgumentException("Email не может быть пустым");
         }
-        if (!isValidEmail(person.getEmail())) {
-            throw new IllegalArgumentException("Некорректный формат email: " + person.getEmail());
+        if (!isValidEmail(email)) {
+            throw new IllegalArgumentException("Некорректный формат email: " + email);
         }
     }
     
@@ -196,16 +567,61 @@ public class PersonService {
      * @return true если email уже существует, false в противном случае
      */
     private boolean isEmailExists(String email) {
-        return personStorage.values().stream()
-            .anyMatch(person -> person.getEmail().equals(email));
+        return emailIndex.containsKey(email);
+    }
+    
+    /**
+     * Обновляет индекс email; если адрес не изменился, индекс не трогается.
+     * 
+     * @param oldPerson прежнее состояние (null при создании)
+     * @param newPerson новое состояние (null при удалении)
+     */
+    private void updateEmailIndex(Person oldPerson, Person newPerson) {
+        String oldEmail = oldPerson == null ? null : oldPerson.getEmail();
+        String newEmail = newPerson == null ? null : newPerson.getEmail();
+        if (Objects.equals(oldEmail, newEmail)) {
+            return;
+        }
+        if (oldEmail != null) {
+            emailIndex.remove(oldEmail, oldPerson.getId());
+        }
+        if (newEmail != null) {
+            emailIndex.put(newEmail, newPerson.getId());
+        }
+    }
+    
+    /**
+     * Копирует объект Person, чтобы вызывающий не мог изменить хранимое состояние.
+     * Прежнее состояние для индексов и представлений берется из хранилища,
+     * поэтому правки возвращенного объекта не искажают их.
+     * 
+     * @param person объект Person (может быть null)
+     * @return копия или null
+     */
+    private static Person copyOf(Person person) {
+        if (person == null) {
+            return null;
+        }
+        return new Person(person.getId(), person.getFirstName(), person.getLastName(), person.getAge(), person.getEmail());
     }
     
     /**
      * Очищает хранилище (для тестирования).
      */
-    public void clearStorage() {
-        personStorage.clear();
-        idGenerator.set(1);
+    public synchronized void clearStorage() {
+        writeVersion.beginWrite();
+        try {
+            personStorage.clear();
+            emailIndex.clear();
+            indexes.forEach(QueryIndex::clear);
+            views.forEach(AggregateView::onClear);
+            idGenerator.set(1);
+        } finally {
+            writeVersion.endWrite();
+        }
+        for (PersonChangeListener listener : listeners) {
+            listener.onClear();
+        }
     }
     
     /**
@@ -0,0 +1,207 @@
+package com.example.sketch;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Скетч Count-Min для оценки частот строковых значений.
+ * Хранит depth строк по width счетчиков. Оценка частоты никогда не меньше истинной
+ * и с вероятностью не ниже {@link #getConfidence()} превышает ее не более чем на
+ * {@link #getEpsilon()} * {@link #getTotal()}, где epsilon = e / width и
+ * confidence = 1 - e^(-depth). Поддерживает вычитание ранее добавленных значений,
+ * поэтому ведется на удалениях, а не только на вставках. Скетчи одинаковых размеров
+ * объединяются сложением счетчиков. Не потокобезопасен.
+ */
+public class CountMinSketch {
+    
+    /** Маркер сериализованного формата */
+    private static final byte FORMAT = 'C';
+    
+    private final int width;
+    
+    private final int depth;
+    
+    /** Счетчики построчно: строка i занимает [i * width, (i + 1) * width) */
+    private final long[] counts;
+    
+    /** Сумма всех добавленных количеств */
+    private long total;
+    
+    /**
+     * Создает пустой скетч указанных размеров.
+     * 
+     * @param width число счетчиков в строке
+     * @param depth число строк (независимых хеш-функций)
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("Ширина и глубина должны быть положительными");
+        }
+        if ((long) width * depth > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Слишком большой скетч: " + width + " x " + depth);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counts = new long[width * depth];
+    }
+    
+    /**
+     * Создает скетч под заданную погрешность.
+     * 
+     * @param epsilon допустимая ошибка как доля общего количества, (0, 1)
+     * @param confidence вероятность уложиться в ошибку, (0, 1)
+     * @return пустой скетч
+     */
+    public static CountMinSketch withError(double epsilon, double confidence) {
+        if (!(epsilon > 0 && epsilon < 1) || !(confidence > 0 && confidence < 1)) {
+            throw new IllegalArgumentException("Погрешность и вероятность должны быть в интервале (0, 1)");
+        }
+        int width = (int) Math.ceil(Math.E / epsilon);
+        int depth = (int) Math.ceil(Math.log(1 / (1 - confidence)));
+        return new CountMinSketch(width, depth);
+    }
+    
+    /**
+     * Добавляет количество к частоте значения. Отрицательное количество вычитает
+     * ранее добавленное; вычитать больше, чем было добавлено, нельзя - оценки
+     * перестанут быть верхними границами.
+     * 
+     * @param value значение
+     * @param count добавляемое количество
+     */
+    public void add(String value, long count) {
+        if (value == null) {
+            throw new IllegalArgumentException("Значение не может быть null");
+        }
+        long hash = Hashing.hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < depth; row++) {
+            counts[row * width + Math.floorMod(h1 + row * h2, width)] += count;
+        }
+        total += count;
+    }
+    
+    /**
+     * Оценивает частоту значения.
+     * 
+     * @param value значение
+     * @return оценка частоты (не меньше истинной)
+     */
+    public long estimate(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Значение не может быть null");
+        }
+        long hash = Hashing.hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts[row * width + Math.floorMod(h1 + row * h2, width)]);
+        }
+        return min;
+    }
+    
+    /**
+     * Объединяет с другим скетчем тех же размеров: после вызова оценки учитывают
+     * значения обоих скетчей.
+     * 
+     * @param other другой скетч
+     */
+    public void merge(CountMinSketch other) {
+        if (other == null || other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Объединять можно только скетчи одинаковых размеров");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+    }
+    
+    /**
+     * Возвращает сумму всех добавленных количеств.
+     * 
+     * @return общее количество
+     */
+    public long getTotal() {
+        return total;
+    }
+    
+    /**
+     * Возвращает допустимую ошибку оценки как долю общего количества.
+     * 
+     * @return e / width
+     */
+    public double getEpsilon() {
+        return Math.E / width;
+    }
+    
+    /**
+     * Возвращает вероятность, с которой ошибка оценки не превышает epsilon * total.
+     * 
+     * @return 1 - e^(-depth)
+     */
+    public double getConfidence() {
+        return 1 - Math.exp(-depth);
+    }
+    
+    /**
+     * Возвращает число счетчиков в строке.
+     * 
+     * @return ширина
+     */
+    public int getWidth() {
+        return width;
+    }
+    
+    /**
+     * Возвращает число строк.
+     * 
+     * @return глубина
+     */
+    public int getDepth() {
+        return depth;
+    }
+    
+    /**
+     * Сериализует скетч для передачи в другой экземпляр.
+     * 
+     * @return байтовое представление
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 4 + 8 + 8 * counts.length);
+        buffer.put(FORMAT).putInt(width).putInt(depth).putLong(total);
+        buffer.asLongBuffer().put(counts);
+        return buffer.array();
+    }
+    
+    /**
+     * Восстанавливает скетч из байтового представления {@link #toBytes()}.
+     * 
+     * @param bytes байтовое представление
+     * @return скетч
+     */
+    public static CountMinSketch fromBytes(byte[] bytes) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("Данные не могут быть null");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            if (buffer.get() != FORMAT) {
+                throw new IllegalArgumentException("Данные не являются скетчем Count-Min");
+            }
+            int width = buffer.getInt();
+            int depth = buffer.getInt();
+            long total = buffer.getLong();
+            if (width <= 0 || depth <= 0 || buffer.remaining() != 8L * width * depth) {
+                throw new IllegalArgumentException("Размеры скетча Count-Min не совпадают с данными");
+            }
+            CountMinSketch sketch = new CountMinSketch(width, depth);
+            buffer.asLongBuffer().get(sketch.counts);
+            sketch.total = total;
+            return sketch;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Скетч Count-Min обрезан", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.example.sketch;
+
+/**
+ * 64-битное хеширование строк для скетчей. Результат не зависит от процесса и JVM,
+ * поэтому скетчи, построенные в разных экземплярах, можно объединять.
+ */
+final class Hashing {
+    
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    
+    private Hashing() {
+    }
+    
+    /**
+     * Вычисляет хеш строки: FNV-1a по символам и перемешивание splitmix64,
+     * чтобы все 64 бита были равномерно распределены.
+     * 
+     * @param value строка
+     * @return 64-битный хеш
+     */
+    static long hash64(String value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.example.sketch;
+
+import com.example.model.Job;
+import java.util.Locale;
+
+/**
+ * Приближенная аналитика вакансий: число различных компаний, частоты названий
+ * (без учета регистра) и квантили зарплат. Погрешности по умолчанию: около 0.81%
+ * для числа компаний, не более 0.1% общего числа вакансий для частот с вероятностью 99%
+ * и около 1.33% по рангу для квантилей; подробнее - в {@link SketchView}.
+ * Регистрируется в хранилище вакансий как обычное агрегатное представление.
+ */
+public class JobSketchView extends SketchView<Job> {
+    
+    /**
+     * Создает представление с погрешностями по умолчанию.
+     */
+    public JobSketchView() {
+        this(HyperLogLog.DEFAULT_PRECISION, DEFAULT_EPSILON, DEFAULT_CONFIDENCE, KllSketch.DEFAULT_K);
+    }
+    
+    /**
+     * Создает представление с указанными параметрами скетчей.
+     * 
+     * @param precision точность HyperLogLog для компаний
+     * @param epsilon допустимая ошибка частот названий как доля общего числа вакансий
+     * @param confidence вероятность соблюдения ошибки частот
+     * @param k параметр точности квантильного скетча зарплат
+     */
+    public JobSketchView(int precision, double epsilon, double confidence, int k) {
+        super(precision, epsilon, confidence, k);
+    }
+    
+    /**
+     * Оценивает число различных компаний.
+     * 
+     * @return оценка числа компаний
+     */
+    public long estimateDistinctCompanies() {
+        return estimateDistinct();
+    }
+    
+    /**
+     * Оценивает число вакансий с указанным названием (без учета регистра).
+     * 
+     * @param title название
+     * @return оценка числа вакансий
+     */
+    public long estimateTitleCount(String title) {
+        if (title == null) {
+            throw new IllegalArgumentException("Название не может быть null");
+        }
+        return estimateFrequency(title.toLowerCase(Locale.ROOT));
+    }
+    
+    /**
+     * Оценивает квантиль зарплат, например медиану при fraction = 0.5.
+     * 
+     * @param fraction доля от 0 до 1
+     * @return оценка квантиля или null, если зарплат нет
+     */
+    public Double estimateSalaryQuantile(double fraction) {
+        return estimateQuantile(fraction);
+    }
+    
+    /**
+     * Оценивает долю зарплат, не превышающих указанную.
+     * 
+     * @param salary зарплата
+     * @return доля от 0 до 1
+     */
+    public double estimateSalaryRank(double salary) {
+        return estimateRank(salary);
+    }
+    
+    @Override
+    protected String distinctKey(Job job) {
+        return job.getCompany();
+    }
+    
+    @Override
+    protected String frequencyKey(Job job) {
+        return job.getTitle() == null ? null : job.getTitle().toLowerCase(Locale.ROOT);
+    }
+    
+    @Override
+    protected Double quantileValue(Job job) {
+        return job.getSalary() == null || job.getSalary().isNaN() ? null : job.getSalary();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,383 @@
+package com.example.sketch;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Квантильный скетч KLL (Karnin, Lang, Liberty) для оценки квантилей и рангов чисел.
+ * Значения хранятся уровнями: элемент уровня h представляет 2^h исходных значений.
+ * Переполненный уровень сортируется, и каждый второй элемент со случайным сдвигом
+ * переносится на уровень выше; емкость уровней убывает вниз в 2/3 раза, поэтому
+ * скетч хранит около 3k чисел независимо от их количества. Нормированная ошибка
+ * ранга с вероятностью 99% не превышает {@link #getNormalizedRankError()} - около
+ * 1.33% при k = 200; минимум и максимум точны. Скетчи одного k объединяются,
+ * удаление значений не поддерживается. Не потокобезопасен.
+ */
+public class KllSketch {
+    
+    /** Параметр точности по умолчанию */
+    public static final int DEFAULT_K = 200;
+    
+    /** Минимальный допустимый параметр точности */
+    public static final int MIN_K = 8;
+    
+    /** Максимальный допустимый параметр точности */
+    public static final int MAX_K = 65_535;
+    
+    /** Минимальная емкость уровня */
+    private static final int MIN_CAPACITY = 8;
+    
+    /** Множитель убывания емкости от верхнего уровня к нижним */
+    private static final double DECAY = 2.0 / 3.0;
+    
+    /** Фиксированное зерно делает результат воспроизводимым для одинаковых входных данных */
+    private static final long RANDOM_SEED = 0x2545F4914F6CDD1DL;
+    
+    /** Маркер сериализованного формата */
+    private static final byte FORMAT = 'K';
+    
+    private final int k;
+    
+    private final SplittableRandom random = new SplittableRandom(RANDOM_SEED);
+    
+    /** Элементы по уровням; заполнены первые sizes[h] ячеек уровня h */
+    private double[][] levels = new double[1][MIN_CAPACITY];
+    
+    private int[] sizes = new int[1];
+    
+    private int levelCount = 1;
+    
+    /** Число элементов на всех уровнях */
+    private int retained;
+    
+    /** Число учтенных значений */
+    private long count;
+    
+    private double min = Double.NaN;
+    
+    private double max = Double.NaN;
+    
+    /**
+     * Создает пустой скетч с точностью по умолчанию.
+     */
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+    
+    /**
+     * Создает пустой скетч.
+     * 
+     * @param k параметр точности: емкость верхнего уровня, от {@link #MIN_K} до {@link #MAX_K}
+     */
+    public KllSketch(int k) {
+        if (k < MIN_K || k > MAX_K) {
+            throw new IllegalArgumentException("Параметр k должен быть от " + MIN_K + " до " + MAX_K);
+        }
+        this.k = k;
+    }
+    
+    /**
+     * Учитывает значение.
+     * 
+     * @param value значение (не NaN)
+     */
+    public void update(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Значение не может быть NaN");
+        }
+        append(0, value);
+        min = count == 0 ? value : Math.min(min, value);
+        max = count == 0 ? value : Math.max(max, value);
+        count++;
+        compress();
+    }
+    
+    /**
+     * Оценивает квантиль: значение, не меньше которого примерно доля fraction учтенных значений.
+     * 
+     * @param fraction доля от 0 (минимум) до 1 (максимум)
+     * @return оценка квантиля или null, если значений нет
+     */
+    public Double quantile(double fraction) {
+        if (!(fraction >= 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("Доля должна быть от 0 до 1");
+        }
+        if (count == 0) {
+            return null;
+        }
+        if (fraction == 0) {
+            return min;
+        }
+        if (fraction == 1) {
+            return max;
+        }
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        sortedView(values, weights);
+        double target = fraction * count;
+        long cumulative = 0;
+        for (int i = 0; i < values.length; i++) {
+            cumulative += weights[i];
+            if (cumulative >= target) {
+                return values[i];
+            }
+        }
+        return max;
+    }
+    
+    /**
+     * Оценивает нормированный ранг значения: долю учтенных значений, не превышающих его.
+     * 
+     * @param value значение
+     * @return доля от 0 до 1 (0 для пустого скетча)
+     */
+    public double rank(double value) {
+        if (count == 0) {
+            return 0.0;
+        }
+        long below = 0;
+        for (int h = 0; h < levelCount; h++) {
+            double[] items = levels[h];
+            for (int i = 0; i < sizes[h]; i++) {
+                if (items[i] <= value) {
+                    below += 1L << h;
+                }
+            }
+        }
+        return (double) below / count;
+    }
+    
+    /**
+     * Объединяет с другим скетчем того же k: после вызова скетч описывает
+     * объединение мультимножеств значений.
+     * 
+     * @param other другой скетч
+     */
+    public void merge(KllSketch other) {
+        if (other == null || other.k != k) {
+            throw new IllegalArgumentException("Объединять можно только скетчи с одинаковым k");
+        }
+        if (other.count == 0) {
+            return;
+        }
+        if (other == this) {
+            other = fromBytes(toBytes());
+        }
+        for (int h = 0; h < other.levelCount; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+        compress();
+    }
+    
+    /**
+     * Возвращает число учтенных значений.
+     * 
+     * @return число значений
+     */
+    public long getCount() {
+        return count;
+    }
+    
+    /**
+     * Возвращает число хранимых элементов.
+     * 
+     * @return размер скетча в элементах
+     */
+    public int getRetainedItems() {
+        return retained;
+    }
+    
+    /**
+     * Возвращает параметр точности.
+     * 
+     * @return k
+     */
+    public int getK() {
+        return k;
+    }
+    
+    /**
+     * Возвращает границу нормированной ошибки ранга, соблюдаемую с вероятностью 99%.
+     * Эмпирическая формула для KLL: 2.296 / k^0.9723.
+     * 
+     * @return граница ошибки ранга как доля от 0 до 1
+     */
+    public double getNormalizedRankError() {
+        return 2.296 / Math.pow(k, 0.9723);
+    }
+    
+    /**
+     * Сериализует скетч для передачи в другой экземпляр.
+     * 
+     * @return байтовое представление
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 8 + 8 + 8 + 4 + 4 * levelCount + 8 * retained);
+        buffer.put(FORMAT).putInt(k).putLong(count).putDouble(min).putDouble(max).putInt(levelCount);
+        for (int h = 0; h < levelCount; h++) {
+            buffer.putInt(sizes[h]);
+            for (int i = 0; i < sizes[h]; i++) {
+                buffer.putDouble(levels[h][i]);
+            }
+        }
+        return buffer.array();
+    }
+    
+    /**
+     * Восстанавливает скетч из байтового представления {@link #toBytes()}.
+     * 
+     * @param bytes байтовое представление
+     * @return скетч
+     */
+    public static KllSketch fromBytes(byte[] bytes) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("Данные не могут быть null");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            if (buffer.get() != FORMAT) {
+                throw new IllegalArgumentException("Данные не являются скетчем KLL");
+            }
+            KllSketch sketch = new KllSketch(buffer.getInt());
+            long count = buffer.getLong();
+            double min = buffer.getDouble();
+            double max = buffer.getDouble();
+            int levelCount = buffer.getInt();
+            if (levelCount <= 0 || levelCount >= Long.SIZE) {
+                throw new IllegalArgumentException("Недопустимое число уровней: " + levelCount);
+            }
+            long weight = 0;
+            for (int h = 0; h < levelCount; h++) {
+                int size = buffer.getInt();
+                if (size < 0 || size > buffer.remaining() / 8) {
+                    throw new IllegalArgumentException("Недопустимый размер уровня: " + size);
+                }
+                sketch.ensureLevel(h);
+                for (int i = 0; i < size; i++) {
+                    sketch.append(h, buffer.getDouble());
+                }
+                weight += (long) size << h;
+            }
+            if (buffer.hasRemaining() || weight != count) {
+                throw new IllegalArgumentException("Скетч KLL поврежден");
+            }
+            sketch.count = count;
+            sketch.min = min;
+            sketch.max = max;
+            return sketch;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Скетч KLL обрезан", e);
+        }
+    }
+    
+    /**
+     * Сжимает уровни, пока число элементов превышает суммарную емкость.
+     * Если емкость превышена, хотя бы один уровень заполнен, и сжимается самый нижний из них.
+     */
+    private void compress() {
+        while (retained > totalCapacity()) {
+            int h = 0;
+            while (sizes[h] < capacity(h)) {
+                h++;
+            }
+            compact(h);
+        }
+    }
+    
+    private void compact(int h) {
+        ensureLevel(h + 1);
+        double[] items = levels[h];
+        int size = sizes[h];
+        Arrays.sort(items, 0, size);
+        // При нечетном размере наибольший элемент остается на уровне
+        int pairs = size & ~1;
+        int offset = random.nextBoolean() ? 1 : 0;
+        for (int i = offset; i < pairs; i += 2) {
+            append(h + 1, items[i]);
+        }
+        if ((size & 1) != 0) {
+            items[0] = items[size - 1];
+        }
+        sizes[h] = size & 1;
+        retained -= pairs;
+    }
+    
+    private int capacity(int h) {
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(DECAY, levelCount - 1 - h)));
+    }
+    
+    private int totalCapacity() {
+        int total = 0;
+        for (int h = 0; h < levelCount; h++) {
+            total += capacity(h);
+        }
+        return total;
+    }
+    
+    private void append(int h, double value) {
+        ensureLevel(h);
+        if (sizes[h] == levels[h].length) {
+            levels[h] = Arrays.copyOf(levels[h], levels[h].length * 2);
+        }
+        levels[h][sizes[h]++] = value;
+        retained++;
+    }
+    
+    private void ensureLevel(int h) {
+        if (h < levelCount) {
+            return;
+        }
+        if (h >= levels.length) {
+            levels = Arrays.copyOf(levels, h + 1);
+            sizes = Arrays.copyOf(sizes, h + 1);
+        }
+        for (int level = levelCount; level <= h; level++) {
+            levels[level] = new double[MIN_CAPACITY];
+        }
+        levelCount = h + 1;
+    }
+    
+    /**
+     * Заполняет значения всех уровней по возрастанию вместе с их весами.
+     */
+    private void sortedView(double[] values, long[] weights) {
+        int n = 0;
+        int[] starts = new int[levelCount + 1];
+        for (int h = 0; h < levelCount; h++) {
+            starts[h] = n;
+            System.arraycopy(levels[h], 0, values, n, sizes[h]);
+            Arrays.sort(values, n, n + sizes[h]);
+            Arrays.fill(weights, n, n + sizes[h], 1L << h);
+            n += sizes[h];
+        }
+        starts[levelCount] = n;
+        // Уровни уже отсортированы: попарное слияние соседних отрезков
+        double[] valueBuffer = new double[n];
+        long[] weightBuffer = new long[n];
+        for (int width = 1; width < levelCount; width *= 2) {
+            for (int left = 0; left + width < levelCount; left += 2 * width) {
+                int from = starts[left];
+                int middle = starts[left + width];
+                int to = starts[Math.min(levelCount, left + 2 * width)];
+                int i = from;
+                int j = middle;
+                int out = from;
+                while (i < middle || j < to) {
+                    boolean takeLeft = j >= to || (i < middle && values[i] <= values[j]);
+                    int source = takeLeft ? i++ : j++;
+                    valueBuffer[out] = values[source];
+                    weightBuffer[out++] = weights[source];
+                }
+                System.arraycopy(valueBuffer, from, values, from, to - from);
+                System.arraycopy(weightBuffer, from, weights, from, to - from);
+            }
+        }
+    }
+}
\ No newline at end of file
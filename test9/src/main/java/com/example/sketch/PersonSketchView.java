@@ -0,0 +1,80 @@
+package com.example.sketch;
+
+import com.example.model.Person;
+import java.util.Locale;
+
+/**
+ * Приближенная аналитика людей: число различных доменов email (без учета регистра),
+ * частоты фамилий и квантили возраста. Погрешности по умолчанию те же, что у
+ * {@link JobSketchView}; подробнее - в {@link SketchView}.
+ */
+public class PersonSketchView extends SketchView<Person> {
+    
+    /**
+     * Создает представление с погрешностями по умолчанию.
+     */
+    public PersonSketchView() {
+        this(HyperLogLog.DEFAULT_PRECISION, DEFAULT_EPSILON, DEFAULT_CONFIDENCE, KllSketch.DEFAULT_K);
+    }
+    
+    /**
+     * Создает представление с указанными параметрами скетчей.
+     * 
+     * @param precision точность HyperLogLog для доменов
+     * @param epsilon допустимая ошибка частот фамилий как доля общего числа людей
+     * @param confidence вероятность соблюдения ошибки частот
+     * @param k параметр точности квантильного скетча возраста
+     */
+    public PersonSketchView(int precision, double epsilon, double confidence, int k) {
+        super(precision, epsilon, confidence, k);
+    }
+    
+    /**
+     * Оценивает число различных доменов email.
+     * 
+     * @return оценка числа доменов
+     */
+    public long estimateDistinctEmailDomains() {
+        return estimateDistinct();
+    }
+    
+    /**
+     * Оценивает число людей с указанной фамилией.
+     * 
+     * @param lastName фамилия
+     * @return оценка числа людей
+     */
+    public long estimateLastNameCount(String lastName) {
+        if (lastName == null) {
+            throw new IllegalArgumentException("Фамилия не может быть null");
+        }
+        return estimateFrequency(lastName);
+    }
+    
+    /**
+     * Оценивает квантиль возраста.
+     * 
+     * @param fraction доля от 0 до 1
+     * @return оценка квантиля или null, если возрастов нет
+     */
+    public Double estimateAgeQuantile(double fraction) {
+        return estimateQuantile(fraction);
+    }
+    
+    @Override
+    protected String distinctKey(Person person) {
+        String email = person.getEmail();
+        int at = email == null ? -1 : email.lastIndexOf('@');
+        return at < 0 ? null : email.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+    
+    @Override
+    protected String frequencyKey(Person person) {
+        return person.getLastName();
+    }
+    
+    @Override
+    protected Double quantileValue(Person person) {
+        return person.getAge() == null ? null : person.getAge().doubleValue();
+    }
+}
\ No newline at end of file
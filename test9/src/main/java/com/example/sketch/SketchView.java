@@ -0,0 +1,376 @@
+package com.example.sketch;
+
+import com.example.aggregate.RebuildableView;
+import com.example.parallel.ModificationPolicy;
+import com.example.parallel.ParallelScanner;
+import com.example.query.Queryable;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Приближенная аналитика по сущностям хранилища, ведущаяся на пути записи:
+ * число различных значений ключа ({@link HyperLogLog}), частоты значений второго
+ * ключа ({@link CountMinSketch}) и квантили числового атрибута ({@link KllSketch}).
+ * Память не зависит от числа сущностей. Частоты учитывают удаления; число различных
+ * значений и квантили описывают все значения, записанные с последней перестройки
+ * или сброса, поэтому после массовых удалений и изменений представление стоит
+ * перестроить через {@link #rebuild}. Скетчи сериализуются и объединяются,
+ * что позволяет собрать аналитику нескольких экземпляров.
+ * 
+ * @param <T> тип сущностей
+ */
+public abstract class SketchView<T> implements RebuildableView<T> {
+    
+    /** Погрешность частот по умолчанию: 0.1% общего числа сущностей */
+    public static final double DEFAULT_EPSILON = 0.001;
+    
+    /** Вероятность соблюдения погрешности частот по умолчанию */
+    public static final double DEFAULT_CONFIDENCE = 0.99;
+    
+    /** Число сущностей, ниже которого перестройка выполняется последовательно */
+    private static final int PARALLEL_REBUILD_THRESHOLD = 16_384;
+    
+    /** Маркер сериализованного формата */
+    private static final byte FORMAT = 'S';
+    
+    private final int precision;
+    
+    private final double epsilon;
+    
+    private final double confidence;
+    
+    private final int k;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private Sketches sketches;
+    
+    /**
+     * Создает представление с пустыми скетчами.
+     * 
+     * @param precision точность HyperLogLog
+     * @param epsilon допустимая ошибка частот как доля общего числа сущностей
+     * @param confidence вероятность соблюдения ошибки частот
+     * @param k параметр точности квантильного скетча
+     */
+    protected SketchView(int precision, double epsilon, double confidence, int k) {
+        this.precision = precision;
+        this.epsilon = epsilon;
+        this.confidence = confidence;
+        this.k = k;
+        this.sketches = newSketches();
+    }
+    
+    /**
+     * Возвращает значение, различные значения которого подсчитываются.
+     * 
+     * @param entity сущность
+     * @return значение или null, если сущность не учитывается
+     */
+    protected abstract String distinctKey(T entity);
+    
+    /**
+     * Возвращает значение, частоты которого подсчитываются.
+     * 
+     * @param entity сущность
+     * @return значение или null, если сущность не учитывается
+     */
+    protected abstract String frequencyKey(T entity);
+    
+    /**
+     * Возвращает число, квантили которого оцениваются.
+     * 
+     * @param entity сущность
+     * @return число или null, если сущность не учитывается
+     */
+    protected abstract Double quantileValue(T entity);
+    
+    @Override
+    public void apply(T oldValue, T newValue) {
+        lock.writeLock().lock();
+        try {
+            if (oldValue != null) {
+                String frequency = frequencyKey(oldValue);
+                if (frequency != null) {
+                    sketches.frequencies.add(frequency, -1);
+                }
+            }
+            if (newValue != null) {
+                Double value = quantileValue(newValue);
+                // Неизменное число не добавляется повторно, чтобы правки других полей не искажали квантили
+                boolean unchanged = oldValue != null && value != null && value.equals(quantileValue(oldValue));
+                sketches.add(distinctKey(newValue), frequencyKey(newValue), unchanged ? null : value);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void reset() {
+        Sketches empty = newSketches();
+        lock.writeLock().lock();
+        try {
+            sketches = empty;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void rebuild(Collection<T> all, ForkJoinPool pool) {
+        if (all == null || pool == null) {
+            throw new IllegalArgumentException("Данные и пул не могут быть null");
+        }
+        // Части считаются в отдельных скетчах и объединяются: скетчи сливаются без потерь
+        ParallelScanner scanner = new ParallelScanner(pool, ModificationPolicy.SNAPSHOT, PARALLEL_REBUILD_THRESHOLD);
+        Sketches rebuilt = scanner.collect(Queryable.scanning(() -> all), this::newSketches,
+            (partial, entity) -> partial.add(distinctKey(entity), frequencyKey(entity), quantileValue(entity)),
+            (left, right) -> {
+                left.merge(right);
+                return left;
+            });
+        lock.writeLock().lock();
+        try {
+            sketches = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Оценивает число различных значений первого ключа.
+     * Относительная стандартная ошибка - {@link #getDistinctError()}.
+     * 
+     * @return оценка числа различных значений
+     */
+    public long estimateDistinct() {
+        lock.readLock().lock();
+        try {
+            return sketches.distinct.estimate();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Оценивает число сущностей с указанным значением второго ключа.
+     * Оценка не меньше истинной и превышает ее не более чем на {@link #getFrequencyError()}
+     * с вероятностью {@link #getFrequencyConfidence()}.
+     * 
+     * @param key значение ключа
+     * @return оценка частоты
+     */
+    public long estimateFrequency(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Значение не может быть null");
+        }
+        lock.readLock().lock();
+        try {
+            return Math.max(0, sketches.frequencies.estimate(key));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Оценивает квантиль числового атрибута. Ошибка по рангу не превышает
+     * {@link #getRankError()} с вероятностью 99%.
+     * 
+     * @param fraction доля от 0 до 1
+     * @return оценка квантиля или null, если чисел нет
+     */
+    public Double estimateQuantile(double fraction) {
+        lock.readLock().lock();
+        try {
+            return sketches.quantiles.quantile(fraction);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Оценивает долю значений числового атрибута, не превышающих указанное.
+     * 
+     * @param value значение
+     * @return доля от 0 до 1
+     */
+    public double estimateRank(double value) {
+        lock.readLock().lock();
+        try {
+            return sketches.quantiles.rank(value);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает относительную стандартную ошибку числа различных значений.
+     * 
+     * @return ошибка как доля от оценки
+     */
+    public double getDistinctError() {
+        return 1.04 / Math.sqrt(1 << precision);
+    }
+    
+    /**
+     * Возвращает текущую абсолютную границу ошибки частот.
+     * 
+     * @return epsilon * общее число учтенных сущностей
+     */
+    public double getFrequencyError() {
+        lock.readLock().lock();
+        try {
+            return sketches.frequencies.getEpsilon() * sketches.frequencies.getTotal();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает вероятность, с которой соблюдается граница ошибки частот.
+     * 
+     * @return вероятность от 0 до 1
+     */
+    public double getFrequencyConfidence() {
+        lock.readLock().lock();
+        try {
+            return sketches.frequencies.getConfidence();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Возвращает границу нормированной ошибки ранга квантилей (вероятность 99%).
+     * 
+     * @return ошибка как доля от 0 до 1
+     */
+    public double getRankError() {
+        lock.readLock().lock();
+        try {
+            return sketches.quantiles.getNormalizedRankError();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Сериализует скетчи для объединения в другом экземпляре через {@link #merge(byte[])}.
+     * 
+     * @return байтовое представление
+     */
+    public byte[] toBytes() {
+        byte[] distinct;
+        byte[] frequencies;
+        byte[] quantiles;
+        lock.readLock().lock();
+        try {
+            distinct = sketches.distinct.toBytes();
+            frequencies = sketches.frequencies.toBytes();
+            quantiles = sketches.quantiles.toBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ByteBuffer.allocate(1 + 12 + distinct.length + frequencies.length + quantiles.length).put(FORMAT)
+                .putInt(distinct.length).put(distinct)
+                .putInt(frequencies.length).put(frequencies)
+                .putInt(quantiles.length).put(quantiles)
+                .array();
+    }
+    
+    /**
+     * Добавляет к аналитике скетчи другого экземпляра, сериализованные {@link #toBytes()}.
+     * Параметры точности экземпляров должны совпадать.
+     * 
+     * @param bytes байтовое представление скетчей
+     */
+    public void merge(byte[] bytes) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("Данные не могут быть null");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        Sketches other;
+        try {
+            if (buffer.get() != FORMAT) {
+                throw new IllegalArgumentException("Данные не являются скетчами представления");
+            }
+            HyperLogLog distinct = HyperLogLog.fromBytes(nextSection(buffer));
+            CountMinSketch frequencies = CountMinSketch.fromBytes(nextSection(buffer));
+            KllSketch quantiles = KllSketch.fromBytes(nextSection(buffer));
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Лишние байты после скетчей представления");
+            }
+            other = new Sketches(distinct, frequencies, quantiles);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Скетчи представления обрезаны", e);
+        }
+        lock.writeLock().lock();
+        try {
+            if (!sketches.compatibleWith(other)) {
+                throw new IllegalArgumentException("Параметры точности скетчей не совпадают");
+            }
+            sketches.merge(other);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private static byte[] nextSection(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Недопустимая длина скетча: " + length);
+        }
+        byte[] section = new byte[length];
+        buffer.get(section);
+        return section;
+    }
+    
+    private Sketches newSketches() {
+        return new Sketches(new HyperLogLog(precision), CountMinSketch.withError(epsilon, confidence), new KllSketch(k));
+    }
+    
+    /**
+     * Три скетча представления, изменяемые и объединяемые вместе.
+     */
+    private static final class Sketches {
+        
+        final HyperLogLog distinct;
+        final CountMinSketch frequencies;
+        final KllSketch quantiles;
+        
+        Sketches(HyperLogLog distinct, CountMinSketch frequencies, KllSketch quantiles) {
+            this.distinct = distinct;
+            this.frequencies = frequencies;
+            this.quantiles = quantiles;
+        }
+        
+        void add(String distinctKey, String frequencyKey, Double value) {
+            if (distinctKey != null) {
+                distinct.add(distinctKey);
+            }
+            if (frequencyKey != null) {
+                frequencies.add(frequencyKey, 1);
+            }
+            if (value != null) {
+                quantiles.update(value);
+            }
+        }
+        
+        boolean compatibleWith(Sketches other) {
+            return distinct.getPrecision() == other.distinct.getPrecision()
+                    && frequencies.getWidth() == other.frequencies.getWidth()
+                    && frequencies.getDepth() == other.frequencies.getDepth()
+                    && quantiles.getK() == other.quantiles.getK();
+        }
+        
+        void merge(Sketches other) {
+            distinct.merge(other.distinct);
+            frequencies.merge(other.frequencies);
+            quantiles.merge(other.quantiles);
+        }
+    }
+}
\ No newline at end of file
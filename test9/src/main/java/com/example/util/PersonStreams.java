@@ -0,0 +1,111 @@
+package com.example.util;
+
+import com.example.model.Person;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Utility class for writing Person objects to data streams.
+ * Used by the network protocols (replication, cluster nodes).
+ */
+public final class PersonStreams {
+    
+    private PersonStreams() {
+        // Utility class
+    }
+    
+    /**
+     * Writes a person with an assigned id, preserving null fields.
+     * 
+     * @param out the output stream
+     * @param person the person to write
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writePerson(DataOutputStream out, Person person) throws IOException {
+        out.writeLong(person.getId());
+        writeFields(out, person);
+    }
+    
+    /**
+     * Reads a person written by {@link #writePerson}.
+     * 
+     * @param in the input stream
+     * @return the person
+     * @throws IOException if an I/O error occurs
+     */
+    public static Person readPerson(DataInputStream in) throws IOException {
+        return readFields(in, in.readLong());
+    }
+    
+    /**
+     * Writes a person whose id may be null (e.g. not yet saved).
+     * Not used by the network protocols, whose format stays unchanged.
+     * 
+     * @param out the output stream
+     * @param person the person to write
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writePersonWithNullableId(DataOutputStream out, Person person) throws IOException {
+        out.writeBoolean(person.getId() != null);
+        if (person.getId() != null) {
+            out.writeLong(person.getId());
+        }
+        writeFields(out, person);
+    }
+    
+    /**
+     * Reads a person written by {@link #writePersonWithNullableId}.
+     * 
+     * @param in the input stream
+     * @return the person
+     * @throws IOException if an I/O error occurs
+     */
+    public static Person readPersonWithNullableId(DataInputStream in) throws IOException {
+        Long id = in.readBoolean() ? in.readLong() : null;
+        return readFields(in, id);
+    }
+    
+    private static void writeFields(DataOutputStream out, Person person) throws IOException {
+        writeNullableString(out, person.getFirstName());
+        writeNullableString(out, person.getLastName());
+        out.writeBoolean(person.getAge() != null);
+        if (person.getAge() != null) {
+            out.writeInt(person.getAge());
+        }
+        writeNullableString(out, person.getEmail());
+    }
+    
+    private static Person readFields(DataInputStream in, Long id) throws IOException {
+        String firstName = readNullableString(in);
+        String lastName = readNullableString(in);
+        Integer age = in.readBoolean() ? in.readInt() : null;
+        String email = readNullableString(in);
+        return new Person(id, firstName, lastName, age, email);
+    }
+    
+    /**
+     * Writes a string that may be null.
+     * 
+     * @param out the output stream
+     * @param value the string or null
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+    
+    /**
+     * Reads a string written by {@link #writeNullableString}.
+     * 
+     * @param in the input stream
+     * @return the string or null
+     * @throws IOException if an I/O error occurs
+     */
+    public static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
\ No newline at end of file
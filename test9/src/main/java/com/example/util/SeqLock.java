@@ -0,0 +1,74 @@
+package com.example.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Версия записи для согласованного чтения без блокировок (seqlock).
+ * Писатель, уже исключенный от других писателей своей блокировкой, увеличивает
+ * версию до и после изменения, поэтому на время записи она нечетная. Читатель
+ * запоминает четную версию, читает и повторяет чтение, если версия изменилась.
+ */
+public final class SeqLock {
+    
+    private final AtomicLong version = new AtomicLong();
+    
+    /**
+     * Отмечает начало записи: версия становится нечетной.
+     * Вызывается под блокировкой писателя, парно с {@link #endWrite()} в finally.
+     */
+    public void beginWrite() {
+        version.incrementAndGet();
+    }
+    
+    /**
+     * Отмечает конец записи: версия снова становится четной.
+     */
+    public void endWrite() {
+        version.incrementAndGet();
+    }
+    
+    /**
+     * Возвращает текущую версию; нечетное значение означает незавершенную запись.
+     * 
+     * @return версия
+     */
+    public long version() {
+        return version.get();
+    }
+    
+    /**
+     * Выполняет чтение, согласованное с одним состоянием данных.
+     * Чтение повторяется, если во время него завершилась или шла запись.
+     * Исключение читателя пробрасывается, только если во время чтения записей
+     * не было: при полупримененной записи оно означает разорванное состояние,
+     * и чтение повторяется, как при несовпадении версии.
+     * 
+     * @param reader функция чтения (может вызываться несколько раз)
+     * @param <R> тип результата
+     * @return результат, соответствующий одному состоянию данных
+     */
+    public <R> R read(Supplier<R> reader) {
+        if (reader == null) {
+            throw new IllegalArgumentException("Функция чтения не может быть null");
+        }
+        while (true) {
+            long before = version.get();
+            if ((before & 1) == 0) {
+                R result;
+                try {
+                    result = reader.get();
+                } catch (RuntimeException e) {
+                    if (version.get() == before) {
+                        throw e;
+                    }
+                    continue;
+                }
+                if (version.get() == before) {
+                    return result;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
\ No newline at end of file
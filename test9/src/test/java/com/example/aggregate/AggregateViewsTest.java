@@ -0,0 +1,174 @@
+package com.example.aggregate;
+
+import com.example.model.Person;
+import com.example.model.PersonPatch;
+import com.example.service.PersonService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты агрегатных представлений, поддерживаемых PersonService.
+ */
+class AggregateViewsTest {
+    
+    private PersonService personService;
+    private AgeHistogramView histogram;
+    private EmailDomainCountView domains;
+    private AverageAgeByLastNameView averages;
+    
+    @BeforeEach
+    void setUp() {
+        personService = new PersonService();
+        histogram = personService.registerView(new AgeHistogramView(10));
+        domains = personService.registerView(new EmailDomainCountView());
+        averages = personService.registerView(new AverageAgeByLastNameView());
+    }
+    
+    @Test
+    @DisplayName("Создание людей обновляет все представления")
+    void createPerson_UpdatesViews() {
+        // Arrange & Act
+        personService.createPerson(new Person("Иван", "Иванов", 30, "ivan@Example.com"));
+        personService.createPerson(new Person("Мария", "Иванова", 35, "maria@example.com"));
+        personService.createPerson(new Person("Петр", "Иванов", 40, "petr@mail.ru"));
+        
+        // Assert
+        assertEquals(2, histogram.countForAge(31));
+        assertEquals(1, histogram.getCount(4));
+        assertEquals(2, domains.getCount("example.com"));
+        assertEquals(1, domains.getCount("MAIL.RU"));
+        assertEquals(35.0, averages.averageFor("Иванов"));
+        assertEquals(2, averages.countFor("Иванов"));
+    }
+    
+    @Test
+    @DisplayName("Обновление, патч и удаление переносят человека между группами")
+    void updateAndDelete_MovePersonBetweenGroups() {
+        // Arrange
+        Person ivan = personService.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        
+        // Act
+        personService.updatePerson(ivan.getId(), new Person("Иван", "Петров", 50, "ivan@mail.ru"));
+        personService.patchPerson(ivan.getId(), new PersonPatch().setAge(52));
+        
+        // Assert
+        assertEquals(0, histogram.countForAge(30));
+        assertEquals(1, histogram.countForAge(52));
+        assertEquals(0, domains.getCount("example.com"));
+        assertEquals(1, domains.getDomainCount());
+        assertNull(averages.averageFor("Иванов"));
+        assertEquals(52.0, averages.averageFor("Петров"));
+        
+        // Act
+        personService.deletePerson(ivan.getId());
+        
+        // Assert
+        assertEquals(0, histogram.countForAge(52));
+        assertEquals(0, domains.getDomainCount());
+        assertNull(averages.averageFor("Петров"));
+    }
+    
+    @Test
+    @DisplayName("Представление, зарегистрированное позже, заполняется текущими данными")
+    void registerView_PopulatesFromExistingData() {
+        // Arrange
+        personService.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        personService.createPerson(new Person("Петр", "Петров", 25, "petr@example.com"));
+        
+        // Act
+        EmailDomainCountView late = personService.registerView(new EmailDomainCountView());
+        
+        // Assert
+        assertEquals(2, late.getCount("example.com"));
+    }
+    
+    @Test
+    @DisplayName("Очистка хранилища сбрасывает представления")
+    void clearStorage_ResetsViews() {
+        // Arrange
+        personService.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        
+        // Act
+        personService.clearStorage();
+        
+        // Assert
+        assertArrayEquals(new long[histogram.getBucketCount()], histogram.toArray());
+        assertEquals(0, domains.getDomainCount());
+        assertNull(averages.averageFor("Иванов"));
+    }
+    
+    @Test
+    @DisplayName("Согласованное чтение видит представление и хранилище в одном состоянии")
+    void readConsistent_ViewMatchesStorage() throws Exception {
+        // Arrange
+        Person ivan = personService.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> mismatch = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            int age = 30;
+            while (running.get()) {
+                age = age == 30 ? 60 : 30;
+                personService.patchPerson(ivan.getId(), new PersonPatch().setAge(age));
+            }
+        });
+        
+        // Act
+        writer.start();
+        try {
+            for (int i = 0; i < 20_000 && mismatch.get() == null; i++) {
+                String observed = personService.readConsistent(() -> {
+                    int age = personService.getPersonById(ivan.getId()).getAge();
+                    boolean consistent = histogram.countForAge(age) == 1 && averages.averageFor("Иванов") == age;
+                    return consistent ? null : "возраст " + age;
+                });
+                mismatch.set(observed);
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+        
+        // Assert
+        assertNull(mismatch.get());
+    }
+    
+    @Test
+    @DisplayName("Чтение, упавшее на разорванном представлении, повторяется после записи")
+    void readConsistent_ViewThrowsDuringWrite_Retries() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        
+        // Act
+        Double average = personService.readConsistent(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                // Запись проходит посреди чтения, и группа еще не видна представлению
+                personService.createPerson(new Person("Петр", "Петров", 40, "petr@example.com"));
+                throw new IllegalStateException("Группа не найдена");
+            }
+            return averages.averageFor("Петров");
+        });
+        
+        // Assert
+        assertEquals(40.0, average);
+        assertEquals(2, attempts.get());
+        assertThrows(IllegalStateException.class, () -> personService.readConsistent(() -> {
+            throw new IllegalStateException("Ошибка без записи");
+        }));
+    }
+    
+    @Test
+    @DisplayName("Недопустимые аргументы - должно выбросить исключение")
+    void invalidArguments_ThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new AgeHistogramView(0));
+        assertThrows(IllegalArgumentException.class, () -> histogram.countForAge(200));
+        assertThrows(IllegalArgumentException.class, () -> domains.getCount(null));
+        assertThrows(IllegalArgumentException.class, () -> personService.registerView(null));
+    }
+}
\ No newline at end of file
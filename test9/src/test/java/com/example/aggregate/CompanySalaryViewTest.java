@@ -0,0 +1,141 @@
+package com.example.aggregate;
+
+import com.example.model.Job;
+import com.example.repository.InMemoryJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты сводки зарплат по компаниям.
+ */
+class CompanySalaryViewTest {
+    
+    private InMemoryJobRepository repository;
+    private CompanySalaryView view;
+    
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryJobRepository();
+        view = repository.registerView(new CompanySalaryView());
+    }
+    
+    @Test
+    @DisplayName("Сводка считает число, сумму, минимум, максимум и среднее")
+    void save_UpdatesStats() {
+        // Arrange & Act
+        repository.save(new Job("A", "TechCorp", 100.0, null));
+        repository.save(new Job("B", "TechCorp", 300.0, null));
+        repository.save(new Job("C", "TechCorp", null, null));
+        repository.save(new Job("D", "WebSolutions", 50.0, null));
+        
+        // Assert
+        SalaryStats stats = view.statsFor("TechCorp");
+        assertEquals(3, stats.getJobCount());
+        assertEquals(2, stats.getSalaryCount());
+        assertEquals(400.0, stats.getSum());
+        assertEquals(100.0, stats.getMin());
+        assertEquals(300.0, stats.getMax());
+        assertEquals(200.0, stats.getAverage());
+        assertEquals(2, view.allStats().size());
+    }
+    
+    @Test
+    @DisplayName("Удаление крайнего значения пересчитывает минимум и максимум")
+    void delete_ExtremeSalary_RecomputesMinMax() {
+        // Arrange
+        Job low = repository.save(new Job("A", "TechCorp", 100.0, null));
+        repository.save(new Job("B", "TechCorp", 200.0, null));
+        Job high = repository.save(new Job("C", "TechCorp", 300.0, null));
+        
+        // Act
+        repository.delete(low.getId());
+        repository.delete(high.getId());
+        
+        // Assert
+        SalaryStats stats = view.statsFor("TechCorp");
+        assertEquals(200.0, stats.getMin());
+        assertEquals(200.0, stats.getMax());
+        assertEquals(1, stats.getSalaryCount());
+    }
+    
+    @Test
+    @DisplayName("Смена компании и зарплаты переносит вакансию между сводками")
+    void update_CompanyAndSalaryChange_MovesContribution() {
+        // Arrange
+        Job job = repository.save(new Job("A", "TechCorp", 100.0, null));
+        
+        // Act
+        repository.update(new Job(job.getId(), "A", "WebSolutions", null, null));
+        
+        // Assert
+        assertSame(SalaryStats.EMPTY, view.statsFor("TechCorp"));
+        SalaryStats moved = view.statsFor("WebSolutions");
+        assertEquals(1, moved.getJobCount());
+        assertNull(moved.getAverage());
+        assertNull(moved.getMin());
+    }
+    
+    @Test
+    @DisplayName("Параллельная перестройка дает тот же результат, что и инкрементальное ведение")
+    void rebuildViews_MatchesIncrementalState() {
+        // Arrange
+        for (int i = 0; i < 40_000; i++) {
+            repository.save(new Job("Job", "Company" + i % 7, i % 10 == 0 ? null : (double) (i % 1000), null));
+        }
+        for (long id = 1; id <= 40_000; id += 3) {
+            repository.delete(id);
+        }
+        SalaryStats expected = view.statsFor("Company3");
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        // Act
+        repository.rebuildViews(pool);
+        pool.shutdown();
+        
+        // Assert
+        SalaryStats rebuilt = view.statsFor("Company3");
+        assertEquals(expected.getJobCount(), rebuilt.getJobCount());
+        assertEquals(expected.getSalaryCount(), rebuilt.getSalaryCount());
+        assertEquals(expected.getSum(), rebuilt.getSum(), 1e-6);
+        assertEquals(expected.getMin(), rebuilt.getMin());
+        assertEquals(expected.getMax(), rebuilt.getMax());
+        assertEquals(7, view.allStats().size());
+    }
+    
+    @Test
+    @DisplayName("Чтение, упавшее на разорванном представлении, повторяется после записи")
+    void readConsistent_ViewThrowsDuringWrite_Retries() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        
+        // Act
+        SalaryStats stats = repository.readConsistent(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                // Запись проходит посреди чтения, и сводка компании еще не видна
+                repository.save(new Job("A", "TechCorp", 100.0, null));
+                throw new IllegalStateException("Сводка не найдена");
+            }
+            return view.statsFor("TechCorp");
+        });
+        
+        // Assert
+        assertEquals(1, stats.getJobCount());
+        assertEquals(2, attempts.get());
+        assertThrows(IllegalStateException.class, () -> repository.readConsistent(() -> {
+            throw new IllegalStateException("Ошибка без записи");
+        }));
+    }
+    
+    @Test
+    @DisplayName("Запрос сводки для null - должно выбросить исключение")
+    void statsFor_Null_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> view.statsFor(null));
+        assertThrows(IllegalArgumentException.class, () -> repository.rebuildViews(null));
+    }
+}
\ No newline at end of file
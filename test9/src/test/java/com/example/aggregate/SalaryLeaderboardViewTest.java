@@ -0,0 +1,208 @@
+package com.example.aggregate;
+
+import com.example.model.Job;
+import com.example.repository.InMemoryJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты рейтинга самых высокооплачиваемых вакансий.
+ */
+class SalaryLeaderboardViewTest {
+    
+    private InMemoryJobRepository repository;
+    private SalaryLeaderboardView view;
+    
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryJobRepository();
+        view = repository.registerView(new SalaryLeaderboardView(3));
+    }
+    
+    @Test
+    @DisplayName("Топ упорядочен по убыванию зарплаты и ограничен размером")
+    void save_KeepsTopOrderedAndBounded() {
+        // Arrange & Act
+        repository.save(new Job("A", "TechCorp", 100.0, null));
+        repository.save(new Job("B", "TechCorp", 400.0, null));
+        repository.save(new Job("C", "WebSolutions", 300.0, null));
+        repository.save(new Job("D", "WebSolutions", 200.0, null));
+        repository.save(new Job("E", "TechCorp", null, null));
+        
+        // Assert
+        assertEquals(List.of("B", "C", "D"), titles(view.top()));
+        assertEquals(List.of("B", "A"), titles(view.topForCompany("TechCorp")));
+        assertEquals(List.of("C", "D"), titles(view.topForCompany("WebSolutions")));
+        assertTrue(view.topForCompany("Unknown").isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Удаление вакансии из топа поднимает следующую")
+    void delete_TopEntry_RefillsFromBelow() {
+        // Arrange
+        Job best = repository.save(new Job("A", "TechCorp", 500.0, null));
+        repository.save(new Job("B", "TechCorp", 400.0, null));
+        repository.save(new Job("C", "TechCorp", 300.0, null));
+        repository.save(new Job("D", "TechCorp", 200.0, null));
+        
+        // Act
+        repository.delete(best.getId());
+        
+        // Assert
+        assertEquals(List.of("B", "C", "D"), titles(view.top()));
+        assertEquals(List.of("B", "C", "D"), titles(view.topForCompany("TechCorp")));
+    }
+    
+    @Test
+    @DisplayName("Понижение зарплаты вытесняет вакансию из топа, повышение возвращает")
+    void update_SalaryChange_MovesEntry() {
+        // Arrange
+        Job job = repository.save(new Job("A", "TechCorp", 500.0, null));
+        repository.save(new Job("B", "TechCorp", 400.0, null));
+        repository.save(new Job("C", "TechCorp", 300.0, null));
+        repository.save(new Job("D", "TechCorp", 200.0, null));
+        
+        // Act
+        repository.update(new Job(job.getId(), "A", "TechCorp", 10.0, null));
+        List<Job> lowered = view.top();
+        repository.update(new Job(job.getId(), "A", "TechCorp", 350.0, null));
+        
+        // Assert
+        assertEquals(List.of("B", "C", "D"), titles(lowered));
+        assertEquals(List.of("B", "A", "C"), titles(view.top()));
+    }
+    
+    @Test
+    @DisplayName("Смена компании переносит вакансию между рейтингами компаний")
+    void update_CompanyChange_MovesBetweenCompanies() {
+        // Arrange
+        Job job = repository.save(new Job("A", "TechCorp", 100.0, null));
+        
+        // Act
+        repository.update(new Job(job.getId(), "A", "WebSolutions", 100.0, null));
+        
+        // Assert
+        assertTrue(view.topForCompany("TechCorp").isEmpty());
+        assertEquals(List.of("A"), titles(view.topForCompany("WebSolutions")));
+    }
+    
+    @Test
+    @DisplayName("Изменение без смены зарплаты публикует новую версию вакансии")
+    void update_SameSalary_PublishesNewVersion() {
+        // Arrange
+        Job job = repository.save(new Job("A", "TechCorp", 100.0, null));
+        
+        // Act
+        repository.update(new Job(job.getId(), "A2", "TechCorp", 100.0, null));
+        
+        // Assert
+        assertEquals(List.of("A2"), titles(view.top()));
+        assertEquals(List.of("A2"), titles(view.topForCompany("TechCorp")));
+    }
+    
+    @Test
+    @DisplayName("Изменение вакансии из топа не портит хранилище и другие представления")
+    void top_MutatedJob_DoesNotLeakIntoRepository() {
+        // Arrange
+        CompanySalaryView companies = repository.registerView(new CompanySalaryView());
+        Job job = repository.save(new Job("A", "TechCorp", 500.0, null));
+        repository.save(new Job("B", "TechCorp", 400.0, null));
+        
+        // Act
+        Job leaked = view.top().get(0);
+        leaked.setSalary(1.0);
+        leaked.setCompany("Hacked");
+        leaked.setTitle("Hacked");
+        
+        // Assert
+        assertEquals(500.0, repository.findById(job.getId()).orElseThrow().getSalary());
+        assertEquals(1, repository.findBySalaryBetween(450.0, 550.0).size());
+        repository.delete(job.getId());
+        assertEquals(1, companies.statsFor("TechCorp").getJobCount());
+        assertEquals(0, companies.statsFor("Hacked").getJobCount());
+        assertEquals(List.of("B"), titles(view.top()));
+    }
+    
+    @Test
+    @DisplayName("Чтение без изменений возвращает тот же опубликованный список")
+    void top_WithoutChanges_ReturnsSameInstance() {
+        // Arrange
+        repository.save(new Job("A", "TechCorp", 100.0, null));
+        
+        // Act & Assert
+        assertSame(view.top(), view.top());
+        assertThrows(UnsupportedOperationException.class, () -> view.top().clear());
+    }
+    
+    @Test
+    @DisplayName("Случайные изменения дают тот же топ, что и полная сортировка")
+    void randomMutations_MatchFullSort() {
+        // Arrange
+        Random random = new Random(41);
+        String[] companies = {"TechCorp", "WebSolutions", "CloudSystems"};
+        
+        // Act
+        for (int i = 0; i < 2_000; i++) {
+            int op = random.nextInt(3);
+            List<Job> all = repository.findAll();
+            if (op == 0 || all.isEmpty()) {
+                repository.save(new Job("J" + i, companies[random.nextInt(companies.length)],
+                        random.nextInt(5) == 0 ? null : (double) random.nextInt(50), null));
+            } else if (op == 1) {
+                Job job = all.get(random.nextInt(all.size()));
+                repository.update(new Job(job.getId(), job.getTitle(), companies[random.nextInt(companies.length)],
+                        random.nextInt(5) == 0 ? null : (double) random.nextInt(50), null));
+            } else {
+                repository.delete(all.get(random.nextInt(all.size())).getId());
+            }
+            
+            // Assert
+            assertEquals(expectedTop(repository.findAll(), null), ids(view.top()));
+            for (String company : companies) {
+                assertEquals(expectedTop(repository.findAll(), company), ids(view.topForCompany(company)));
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Регистрация на заполненном репозитории строит топ из существующих вакансий")
+    void registerView_ReplaysExistingJobs() {
+        // Arrange
+        InMemoryJobRepository filled = new InMemoryJobRepository();
+        filled.save(new Job("A", "TechCorp", 100.0, null));
+        filled.save(new Job("B", "TechCorp", 200.0, null));
+        
+        // Act
+        SalaryLeaderboardView late = filled.registerView(new SalaryLeaderboardView());
+        
+        // Assert
+        assertEquals(List.of("B", "A"), titles(late.top()));
+        assertThrows(IllegalArgumentException.class, () -> new SalaryLeaderboardView(0));
+        assertThrows(IllegalArgumentException.class, () -> late.topForCompany(null));
+    }
+    
+    private static List<String> titles(List<Job> jobs) {
+        return jobs.stream().map(Job::getTitle).toList();
+    }
+    
+    private static List<Long> ids(List<Job> jobs) {
+        return jobs.stream().map(Job::getId).toList();
+    }
+    
+    private List<Long> expectedTop(List<Job> all, String company) {
+        return all.stream()
+                .filter(job -> job.getSalary() != null)
+                .filter(job -> company == null || company.equals(job.getCompany()))
+                .sorted(Comparator.comparing(Job::getSalary).reversed().thenComparing(Job::getId))
+                .limit(view.getSize())
+                .map(Job::getId)
+                .toList();
+    }
+}
\ No newline at end of file
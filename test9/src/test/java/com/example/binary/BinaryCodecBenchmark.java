@@ -0,0 +1,108 @@
+package com.example.binary;
+
+import com.example.json.JsonCodec;
+import com.example.model.Person;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сравнение двоичного формата с JSON-кодеком и стандартной сериализацией Java
+ * по размеру и скорости кодирования/разбора. Модели не реализуют Serializable,
+ * поэтому для Java-сериализации используются массивы тех же полей.
+ * Запуск: {@code java -cp target/classes:target/test-classes com.example.binary.BinaryCodecBenchmark 100000}
+ */
+public class BinaryCodecBenchmark {
+    
+    private static final int ROUNDS = 5;
+    
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        List<Person> persons = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            persons.add(new Person((long) i, "Имя" + i, "Фамилия" + i % 1000, 18 + i % 60, "user" + i + "@example.com"));
+        }
+        for (int round = 0; round < ROUNDS; round++) {
+            binary(persons);
+            json(persons);
+            javaSerialization(persons);
+        }
+    }
+    
+    private static void binary(List<Person> persons) {
+        ByteBuffer buffer = ByteBuffer.allocate(persons.size() * 128);
+        long start = System.nanoTime();
+        for (Person person : persons) {
+            BinaryCodec.writePerson(person, buffer);
+        }
+        long encodeNanos = System.nanoTime() - start;
+        int bytes = buffer.position();
+        buffer.flip();
+        start = System.nanoTime();
+        long ageSum = 0;
+        while (buffer.hasRemaining()) {
+            ageSum += BinaryCodec.readPerson(buffer).getAge();
+        }
+        long decodeNanos = System.nanoTime() - start;
+        
+        buffer.rewind();
+        PersonRecord record = new PersonRecord();
+        start = System.nanoTime();
+        long fieldSum = 0;
+        for (int offset = 0; offset < bytes; offset = record.end()) {
+            fieldSum += record.wrap(buffer, offset).age();
+        }
+        long fieldNanos = System.nanoTime() - start;
+        if (ageSum != fieldSum) {
+            throw new IllegalStateException("Результаты расходятся");
+        }
+        report("binary", persons.size(), bytes, encodeNanos, decodeNanos);
+        System.out.printf("%-8s age-only scan: %,10.0f rec/s%n", "binary", persons.size() / (fieldNanos / 1e9));
+    }
+    
+    private static void json(List<Person> persons) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(persons.size() * 128);
+        long start = System.nanoTime();
+        JsonCodec.writePersons(persons, out);
+        long encodeNanos = System.nanoTime() - start;
+        byte[] bytes = out.toByteArray();
+        start = System.nanoTime();
+        JsonCodec.readPersons(ByteBuffer.wrap(bytes));
+        long decodeNanos = System.nanoTime() - start;
+        report("json", persons.size(), bytes.length, encodeNanos, decodeNanos);
+    }
+    
+    private static void javaSerialization(List<Person> persons) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(persons.size() * 128);
+        long start = System.nanoTime();
+        try (ObjectOutputStream objects = new ObjectOutputStream(out)) {
+            for (Person person : persons) {
+                objects.writeObject(new Object[]{
+                    person.getId(), person.getFirstName(), person.getLastName(), person.getAge(), person.getEmail()
+                });
+            }
+        }
+        long encodeNanos = System.nanoTime() - start;
+        byte[] bytes = out.toByteArray();
+        start = System.nanoTime();
+        try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            for (int i = 0; i < persons.size(); i++) {
+                Object[] fields = (Object[]) objects.readObject();
+                new Person((Long) fields[0], (String) fields[1], (String) fields[2], (Integer) fields[3], (String) fields[4]);
+            }
+        }
+        long decodeNanos = System.nanoTime() - start;
+        report("java", persons.size(), bytes.length, encodeNanos, decodeNanos);
+    }
+    
+    private static void report(String format, int count, int bytes, long encodeNanos, long decodeNanos) {
+        System.out.printf("%-8s %6.1f B/rec   encode: %,10.0f rec/s   decode: %,10.0f rec/s%n", format,
+                (double) bytes / count, count / (encodeNanos / 1e9), count / (decodeNanos / 1e9));
+    }
+}
\ No newline at end of file
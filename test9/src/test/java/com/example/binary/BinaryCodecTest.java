@@ -0,0 +1,114 @@
+package com.example.binary;
+
+import com.example.json.JsonCodec;
+import com.example.model.Job;
+import com.example.model.Person;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты компактного двоичного формата Person и Job.
+ */
+class BinaryCodecTest {
+    
+    @Test
+    @DisplayName("Человек с null-полями восстанавливается в точности")
+    void person_RoundTripsWithNulls() {
+        // Arrange
+        Person full = new Person(123_456_789L, "Иван", "Иванов", 30, "ivan@example.com");
+        Person sparse = new Person(null, null, "Петров 😀", -5, null);
+        
+        // Act
+        Person decodedFull = BinaryCodec.decodePerson(BinaryCodec.encode(full));
+        Person decodedSparse = BinaryCodec.decodePerson(BinaryCodec.encode(sparse));
+        
+        // Assert
+        assertEquals(full.toString(), decodedFull.toString());
+        assertEquals(sparse.toString(), decodedSparse.toString());
+        assertNull(decodedSparse.getId());
+    }
+    
+    @Test
+    @DisplayName("Вакансия с null-зарплатой и с зарплатой восстанавливается в точности")
+    void job_RoundTripsWithNullSalary() {
+        // Arrange
+        Job withSalary = new Job(1L, "Разработчик", "Яндекс", 123456.789, "Бэкенд");
+        Job withoutSalary = new Job(2L, "Стажер", "Сбер", null, null);
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        
+        // Act
+        BinaryCodec.writeJob(withSalary, buffer);
+        BinaryCodec.writeJob(withoutSalary, buffer);
+        buffer.flip();
+        Job first = BinaryCodec.readJob(buffer);
+        Job second = BinaryCodec.readJob(buffer);
+        
+        // Assert
+        assertEquals(withSalary.toString(), first.toString());
+        assertEquals(withoutSalary.toString(), second.toString());
+        assertFalse(buffer.hasRemaining());
+    }
+    
+    @Test
+    @DisplayName("Отдельные поля читаются из буфера без разбора записи")
+    void record_ReadsSingleFieldsInPlace() {
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        BinaryCodec.writePerson(new Person(1L, "Иван", "Иванов", 30, "ivan@example.com"), buffer);
+        BinaryCodec.writePerson(new Person(2L, "Петр", null, null, "petr@example.com"), buffer);
+        PersonRecord record = new PersonRecord();
+        
+        // Act
+        record.wrap(buffer, 0);
+        int firstAge = record.age();
+        boolean emailMatches = record.fieldEquals(PersonRecord.EMAIL, "ivan@example.com");
+        ByteBuffer lastName = record.bytes(PersonRecord.LAST_NAME);
+        record.wrap(buffer, record.end());
+        
+        // Assert
+        assertEquals(30, firstAge);
+        assertTrue(emailMatches);
+        assertEquals("Иванов", StandardCharsets.UTF_8.decode(lastName).toString());
+        assertTrue(lastName.isReadOnly());
+        assertEquals(2L, record.id());
+        assertTrue(record.isNull(PersonRecord.AGE));
+        assertNull(record.lastName());
+        assertThrows(IllegalStateException.class, record::age);
+    }
+    
+    @Test
+    @DisplayName("Двоичный формат компактнее JSON")
+    void encode_IsSmallerThanJson() {
+        // Arrange
+        Person person = new Person(42L, "Иван", "Иванов", 30, "ivan@example.com");
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        
+        // Act
+        JsonCodec.writePersons(List.of(person), json);
+        int binarySize = BinaryCodec.encode(person).length;
+        
+        // Assert
+        assertEquals(BinaryCodec.sizeOf(person), binarySize);
+        assertTrue(binarySize * 2 < json.size());
+    }
+    
+    @Test
+    @DisplayName("Чужой тип или версия записи - должно выбросить исключение")
+    void record_WrongTypeOrVersion_ThrowsException() {
+        // Arrange
+        byte[] job = BinaryCodec.encode(new Job(1L, "Разработчик", "Яндекс", 1.0, "Бэкенд"));
+        byte[] person = BinaryCodec.encode(new Person(1L, "Иван", "Иванов", 30, "ivan@example.com"));
+        person[1] = 99;
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decodePerson(job));
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decodePerson(person));
+    }
+}
\ No newline at end of file
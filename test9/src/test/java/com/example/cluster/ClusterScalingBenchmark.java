@@ -0,0 +1,73 @@
+package com.example.cluster;
+
+import com.example.model.Person;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Замер масштабирования кластера: N узлов в отдельных процессах на localhost,
+ * смешанная нагрузка (создание и чтение по id) из многих клиентских потоков.
+ * Запуск: {@code java -cp target/classes:target/test-classes com.example.cluster.ClusterScalingBenchmark}
+ */
+public class ClusterScalingBenchmark {
+    
+    private static final int CLIENT_THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 200;
+    
+    public static void main(String[] args) throws Exception {
+        int maxNodes = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        for (int nodes = 1; nodes <= maxNodes; nodes *= 2) {
+            System.out.printf("nodes=%d  ops/s=%,.0f%n", nodes, run(nodes));
+        }
+    }
+    
+    private static double run(int nodeCount) throws Exception {
+        List<NodeProcess> processes = new ArrayList<>();
+        List<RemotePersonNode> clients = new ArrayList<>();
+        try (PersonClusterRouter router = new PersonClusterRouter(160, nodeCount * 2)) {
+            for (int i = 0; i < nodeCount; i++) {
+                NodeProcess process = NodeProcess.start();
+                processes.add(process);
+                RemotePersonNode client = new RemotePersonNode("localhost", process.port());
+                clients.add(client);
+                router.addNode("node-" + i, client);
+            }
+            return measure(router);
+        } finally {
+            for (RemotePersonNode client : clients) {
+                client.close();
+            }
+            for (NodeProcess process : processes) {
+                process.close();
+            }
+        }
+    }
+    
+    private static double measure(PersonClusterRouter router) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENT_THREADS);
+        AtomicLong emailCounter = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < CLIENT_THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    Person created = router.createPerson(new Person("Имя", "Фамилия", 30,
+                            "user" + emailCounter.incrementAndGet() + "@example.com"));
+                    router.getPersonById(created.getId());
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+        return CLIENT_THREADS * OPERATIONS_PER_THREAD * 2 / (elapsed / 1e9);
+    }
+}
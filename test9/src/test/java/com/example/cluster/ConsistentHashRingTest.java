@@ -0,0 +1,81 @@
+package com.example.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса ConsistentHashRing.
+ */
+class ConsistentHashRingTest {
+    
+    private static final int KEYS = 100_000;
+    
+    @Test
+    @DisplayName("Ключи распределяются между узлами примерно поровну")
+    void nodeFor_DistributesKeysEvenly() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>();
+        for (int i = 0; i < 4; i++) {
+            ring.addNode("node-" + i, "node-" + i);
+        }
+        
+        Map<String, Integer> counts = new HashMap<>();
+        for (long id = 1; id <= KEYS; id++) {
+            counts.merge(ring.nodeFor(ConsistentHashRing.hash(id)), 1, Integer::sum);
+        }
+        
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            assertTrue(count > KEYS / 4 * 0.8 && count < KEYS / 4 * 1.2, "Перекос распределения: " + counts);
+        }
+    }
+    
+    @Test
+    @DisplayName("При добавлении узла переезжают только ключи нового узла")
+    void addNode_MovesOnlyKeysOfNewNode() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>();
+        ring.addNode("a", "a");
+        ring.addNode("b", "b");
+        ring.addNode("c", "c");
+        String[] before = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            before[i] = ring.ownerOf(ConsistentHashRing.hash((long) i));
+        }
+        
+        ring.addNode("d", "d");
+        
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String after = ring.ownerOf(ConsistentHashRing.hash((long) i));
+            if (!after.equals(before[i])) {
+                assertEquals("d", after);
+                moved++;
+            }
+        }
+        assertTrue(moved > KEYS / 4 * 0.8 && moved < KEYS / 4 * 1.2, "Переехало ключей: " + moved);
+    }
+    
+    @Test
+    @DisplayName("Удаление узла и пустое кольцо")
+    void removeNode_EmptyRing_ThrowsException() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(8);
+        ring.addNode("a", "a");
+        
+        assertEquals("a", ring.removeNode("a"));
+        assertNull(ring.removeNode("a"));
+        assertThrows(IllegalStateException.class, () -> ring.ownerOf(42L));
+    }
+    
+    @Test
+    @DisplayName("Повторное добавление узла - должно выбросить исключение")
+    void addNode_Duplicate_ThrowsException() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>();
+        ring.addNode("a", "a");
+        
+        assertThrows(IllegalArgumentException.class, () -> ring.addNode("a", "other"));
+    }
+}
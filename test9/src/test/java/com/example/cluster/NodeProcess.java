@@ -0,0 +1,58 @@
+package com.example.cluster;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Узел кластера, запущенный отдельным JVM-процессом на localhost.
+ */
+final class NodeProcess implements AutoCloseable {
+    
+    private final Process process;
+    private final int port;
+    
+    private NodeProcess(Process process, int port) {
+        this.process = process;
+        this.port = port;
+    }
+    
+    /**
+     * Запускает процесс PersonNodeMain с текущим classpath и ждет готовности.
+     */
+    static NodeProcess start() throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                PersonNodeMain.class.getName(), "0")
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = reader.readLine();
+        if (line == null || !line.startsWith("READY ")) {
+            process.destroyForcibly();
+            throw new IOException("Узел не запустился: " + line);
+        }
+        return new NodeProcess(process, Integer.parseInt(line.substring("READY ".length()).trim()));
+    }
+    
+    int port() {
+        return port;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        process.getOutputStream().close();
+        try {
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.cluster;
+
+import com.example.model.Person;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса PersonClusterRouter.
+ */
+class PersonClusterRouterTest {
+    
+    private PersonClusterRouter router;
+    private final List<LocalPersonNode> nodes = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        router = new PersonClusterRouter(64, 4);
+        for (int i = 0; i < 3; i++) {
+            LocalPersonNode node = new LocalPersonNode();
+            nodes.add(node);
+            router.addNode("node-" + i, node);
+        }
+    }
+    
+    @AfterEach
+    void tearDown() {
+        router.close();
+    }
+    
+    private void createPersons(PersonClusterRouter target, int count) {
+        for (int i = 0; i < count; i++) {
+            target.createPerson(new Person("Имя", "Фамилия", 20 + i % 50, "user" + i + "@example.com"));
+        }
+    }
+    
+    @Test
+    @DisplayName("Люди распределяются по всем узлам, scatter-gather собирает всех")
+    void createPerson_SpreadsAcrossNodes() {
+        createPersons(router, 300);
+        
+        assertEquals(300, router.getPersonCount());
+        assertEquals(300, router.getAllPersons().size());
+        for (LocalPersonNode node : nodes) {
+            assertTrue(node.count() > 0, "Узел остался пустым");
+        }
+    }
+    
+    @Test
+    @DisplayName("Дублирующийся email отклоняется в масштабе кластера")
+    void createPerson_DuplicateEmailOnAnotherNode_ThrowsException() {
+        router.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> router.createPerson(new Person("Петр", "Петров", 25, "ivan@example.com")));
+        assertEquals("Email уже существует: ivan@example.com", exception.getMessage());
+        assertEquals(1, router.getPersonCount());
+    }
+    
+    @Test
+    @DisplayName("Невалидный человек не оставляет занятый email")
+    void createPerson_Invalid_ReleasesEmailClaim() {
+        assertThrows(IllegalArgumentException.class,
+            () -> router.createPerson(new Person("", "Иванов", 30, "ivan@example.com")));
+        
+        Person created = router.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        assertNotNull(created.getId());
+    }
+    
+    @Test
+    @DisplayName("Смена email освобождает старый, удаление освобождает текущий")
+    void updateAndDelete_MaintainEmailClaims() {
+        Person ivan = router.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        
+        Person updated = router.updatePerson(ivan.getId(), new Person("Иван", "Иванов", 31, "ivan@new.com"));
+        assertEquals("ivan@new.com", router.getPersonById(ivan.getId()).getEmail());
+        assertEquals(31, updated.getAge());
+        router.createPerson(new Person("Другой", "Иван", 40, "ivan@example.com"));
+        
+        assertTrue(router.deletePerson(ivan.getId()));
+        assertFalse(router.deletePerson(ivan.getId()));
+        router.createPerson(new Person("Новый", "Иван", 20, "ivan@new.com"));
+        assertEquals(2, router.getPersonCount());
+    }
+    
+    @Test
+    @DisplayName("Параллельная смена email одного человека не оставляет лишних занятых email")
+    void updatePerson_ConcurrentEmailChanges_LeaveSingleClaim() throws Exception {
+        Person ivan = router.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int writer = t;
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    router.updatePerson(ivan.getId(), new Person("Иван", "Иванов", 30, "ivan" + writer + "-" + i + "@example.com"));
+                }
+            }));
+        }
+        
+        writers.forEach(Thread::start);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        
+        String email = router.getPersonById(ivan.getId()).getEmail();
+        int claims = 0;
+        for (LocalPersonNode node : nodes) {
+            claims += node.emailClaims().size();
+        }
+        assertEquals(1, claims);
+        assertTrue(router.deletePerson(ivan.getId()));
+        router.createPerson(new Person("Новый", "Иван", 20, email));
+    }
+    
+    @Test
+    @DisplayName("Добавление и удаление узла перебалансирует данные без потерь")
+    void addAndRemoveNode_RebalancesData() {
+        createPersons(router, 400);
+        LocalPersonNode added = new LocalPersonNode();
+        
+        int movedIn = router.addNode("node-3", added);
+        
+        assertTrue(movedIn > 0 && movedIn < 400, "Перенесено: " + movedIn);
+        assertEquals(movedIn, added.count());
+        assertEquals(400, router.getPersonCount());
+        for (Person person : router.getAllPersons()) {
+            assertEquals(person, router.getPersonById(person.getId()));
+        }
+        
+        int movedOut = router.removeNode("node-0");
+        
+        assertEquals(400, router.getPersonCount());
+        assertTrue(movedOut > 0);
+        assertEquals(0, nodes.get(0).count());
+        assertTrue(nodes.get(0).emailClaims().isEmpty());
+        assertThrows(IllegalArgumentException.class,
+            () -> router.createPerson(new Person("Имя", "Фамилия", 30, "user7@example.com")));
+    }
+    
+    @Test
+    @DisplayName("Маршрутизация через TCP к узлам в отдельных процессах")
+    void remoteNodes_InSeparateProcesses() throws Exception {
+        try (NodeProcess first = NodeProcess.start();
+             NodeProcess second = NodeProcess.start();
+             PersonClusterRouter remoteRouter = new PersonClusterRouter(64, 2);
+             RemotePersonNode firstNode = new RemotePersonNode("localhost", first.port());
+             RemotePersonNode secondNode = new RemotePersonNode("localhost", second.port())) {
+            remoteRouter.addNode("p1", firstNode);
+            remoteRouter.addNode("p2", secondNode);
+            
+            createPersons(remoteRouter, 100);
+            
+            assertEquals(100, remoteRouter.getPersonCount());
+            assertTrue(firstNode.count() > 0 && secondNode.count() > 0);
+            Person any = remoteRouter.getAllPersons().get(0);
+            assertEquals(any, remoteRouter.getPersonById(any.getId()));
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> remoteRouter.createPerson(new Person("Имя", "Фамилия", 200, "x@example.com")));
+            assertEquals("Возраст не может быть больше 150 лет", exception.getMessage());
+        }
+    }
+}
\ No newline at end of file
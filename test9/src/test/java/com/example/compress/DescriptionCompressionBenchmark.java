@@ -0,0 +1,109 @@
+package com.example.compress;
+
+import com.example.model.Job;
+import com.example.repository.InMemoryJobRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Замер памяти и задержки при хранении описаний вакансий со сжатием и без.
+ * Описания собираются из типичных разделов реальных объявлений
+ * (обязанности, требования, условия) со случайными вариациями.
+ * Для каждого режима выводится прирост занятой кучи на вакансию, скорость сохранения
+ * и время чтения {@link Job#getDescription()}.
+ * Запуск: {@code java -Xmx4g -cp target/classes:target/test-classes com.example.compress.DescriptionCompressionBenchmark 200000}
+ */
+public class DescriptionCompressionBenchmark {
+    
+    private static final String[] DUTIES = {
+        "разработка и поддержка backend сервисов", "проектирование REST API", "участие в code review",
+        "оптимизация запросов к базе данных", "написание модульных и интеграционных тестов",
+        "взаимодействие с аналитиками и тестировщиками", "развитие CI/CD и мониторинга",
+        "перевод монолита на микросервисную архитектуру", "наставничество младших разработчиков"
+    };
+    private static final String[] SKILLS = {
+        "Java 17", "Spring Boot", "PostgreSQL", "Kafka", "Docker", "Kubernetes", "Redis", "Hibernate",
+        "Git", "Linux", "gRPC", "ClickHouse", "Elasticsearch", "JUnit", "Gradle", "Maven"
+    };
+    private static final String[] BENEFITS = {
+        "официальное трудоустройство по ТК РФ", "белая заработная плата два раза в месяц", "ДМС со стоматологией",
+        "гибкий график и возможность удаленной работы", "компенсация обучения и конференций",
+        "современный офис рядом с метро", "корпоративные мероприятия и спорт", "оплачиваемые больничные"
+    };
+    private static final String[] COMPANIES = {"ТехКорп", "ВебРешения", "ОблачныеСистемы", "ФинТех Лаб", "ДатаСофт"};
+    
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        // Словарь обучается на отдельной выборке, а не на сохраняемых описаниях
+        SplittableRandom sampleRandom = new SplittableRandom(7);
+        List<String> samples = new ArrayList<>();
+        long totalChars = 0;
+        for (int i = 0; i < 2_000; i++) {
+            samples.add(posting(sampleRandom));
+            totalChars += samples.get(i).length();
+        }
+        System.out.printf("postings: %,d  average %,d chars%n", count, totalChars / samples.size());
+        
+        byte[] dictionary = DictionaryTrainer.train(samples, 16 * 1024);
+        measure("plain", null, count);
+        measure("lz", new LzCodec(), count);
+        measure("lz+dictionary", new LzCodec(dictionary), count);
+    }
+    
+    private static void measure(String label, LzCodec codec, int count) {
+        // Описания создаются заново для каждого режима, чтобы их строки учитывались в занятой памяти
+        SplittableRandom random = new SplittableRandom(42);
+        long before = usedHeap();
+        InMemoryJobRepository repository = new InMemoryJobRepository(codec);
+        long saveNanos = 0;
+        for (int i = 0; i < count; i++) {
+            String description = posting(random);
+            long start = System.nanoTime();
+            repository.save(new Job("Java разработчик", COMPANIES[i % COMPANIES.length], 1.0, description));
+            saveNanos += System.nanoTime() - start;
+        }
+        long used = usedHeap() - before;
+        
+        List<Job> jobs = repository.findAll();
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < 3; round++) {
+            for (Job job : jobs) {
+                checksum += job.getDescription().length();
+            }
+        }
+        long readNanos = (System.nanoTime() - start) / 3;
+        System.out.printf("%-14s heap %,6d bytes/job  save %,8.0f jobs/s  getDescription %,6.0f ns  (%d)%n",
+                label, used / count, count / (saveNanos / 1e9),
+                (double) readNanos / jobs.size(), checksum % 10);
+        repository.clear();
+    }
+    
+    private static String posting(SplittableRandom random) {
+        StringBuilder text = new StringBuilder("Обязанности: ");
+        appendList(text, DUTIES, 3 + random.nextInt(4), random);
+        text.append(" Требования: опыт коммерческой разработки от ").append(1 + random.nextInt(6))
+                .append(" лет, уверенное знание ");
+        appendList(text, SKILLS, 4 + random.nextInt(6), random);
+        text.append(" Будет плюсом: опыт работы с высоконагруженными системами. Мы предлагаем: ");
+        appendList(text, BENEFITS, 3 + random.nextInt(4), random);
+        text.append(" Зарплата от ").append(100 + random.nextInt(300)).append(" 000 рублей по итогам собеседования.");
+        return text.toString();
+    }
+    
+    private static void appendList(StringBuilder text, String[] items, int n, SplittableRandom random) {
+        for (int i = 0; i < n; i++) {
+            text.append(items[random.nextInt(items.length)]).append(i + 1 < n ? ", " : ".");
+        }
+    }
+    
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
\ No newline at end of file
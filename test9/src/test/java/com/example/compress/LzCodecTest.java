@@ -0,0 +1,121 @@
+package com.example.compress;
+
+import com.example.model.Job;
+import com.example.repository.InMemoryJobRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты LZ-кодека, обучения словаря и вакансий со сжатым описанием.
+ */
+class LzCodecTest {
+    
+    private static final String POSTING = "Обязанности: разработка и поддержка backend сервисов на Java. "
+            + "Требования: опыт коммерческой разработки от 3 лет, знание Spring Boot, PostgreSQL. "
+            + "Условия: официальное трудоустройство, ДМС, гибкий график, удаленная работа.";
+    
+    @Test
+    @DisplayName("Сжатие и распаковка восстанавливают данные любого вида")
+    void compress_RoundTrip() {
+        // Arrange
+        LzCodec codec = new LzCodec();
+        Random random = new Random(43);
+        byte[] noise = new byte[10_000];
+        random.nextBytes(noise);
+        byte[] runs = new byte[70_000];
+        Arrays.fill(runs, (byte) 'a');
+        List<byte[]> inputs = List.of(new byte[0], "abc".getBytes(StandardCharsets.UTF_8), noise, runs,
+                POSTING.repeat(50).getBytes(StandardCharsets.UTF_8));
+        
+        // Act & Assert
+        for (byte[] input : inputs) {
+            assertArrayEquals(input, codec.decompress(codec.compress(input)));
+        }
+        assertTrue(codec.compress(runs).length < 400);
+        assertTrue(codec.compress(noise).length < noise.length + 100);
+    }
+    
+    @Test
+    @DisplayName("Словарь сжимает короткий шаблонный текст, который без словаря почти не сжимается")
+    void dictionary_ImprovesShortTexts() {
+        // Arrange
+        List<String> samples = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            samples.add(POSTING.replace("3", String.valueOf(i % 7)));
+        }
+        byte[] dictionary = DictionaryTrainer.train(samples, 4096);
+        LzCodec plain = new LzCodec();
+        LzCodec trained = new LzCodec(dictionary);
+        byte[] input = POSTING.replace("Java", "Kotlin").getBytes(StandardCharsets.UTF_8);
+        
+        // Act
+        byte[] withoutDictionary = plain.compress(input);
+        byte[] withDictionary = trained.compress(input);
+        
+        // Assert
+        assertTrue(dictionary.length > 0 && dictionary.length <= 4096);
+        assertArrayEquals(input, trained.decompress(withDictionary));
+        assertTrue(withDictionary.length * 3 < withoutDictionary.length,
+                withDictionary.length + " байт со словарем против " + withoutDictionary.length);
+    }
+    
+    @Test
+    @DisplayName("Поврежденные данные и некорректные параметры отклоняются")
+    void invalidInput_Rejected() {
+        // Arrange
+        LzCodec codec = new LzCodec();
+        byte[] compressed = codec.compress(POSTING.repeat(5).getBytes(StandardCharsets.UTF_8));
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> codec.decompress(Arrays.copyOf(compressed, compressed.length / 2)));
+        assertThrows(IllegalArgumentException.class, () -> codec.decompress(null));
+        assertThrows(IllegalArgumentException.class, () -> new LzCodec(new byte[LzCodec.MAX_DICTIONARY_SIZE + 1]));
+        assertThrows(IllegalArgumentException.class, () -> DictionaryTrainer.train(List.of(), 0));
+    }
+    
+    @Test
+    @DisplayName("Сжатая вакансия распаковывает описание при чтении и равна обычной с тем же id")
+    void compressedJob_LazyDescription() {
+        // Arrange
+        LzCodec codec = new LzCodec();
+        
+        // Act
+        CompressedJob job = new CompressedJob(1L, "Java Developer", "TechCorp", 100.0, POSTING.repeat(3), codec);
+        CompressedJob empty = CompressedJob.of(new Job(2L, "QA", "Startup", null, null), codec);
+        
+        // Assert
+        assertEquals(POSTING.repeat(3), job.getDescription());
+        assertTrue(job.getCompressedDescriptionSize() < POSTING.getBytes(StandardCharsets.UTF_8).length * 3 / 2);
+        assertNull(empty.getDescription());
+        assertEquals(0, empty.getCompressedDescriptionSize());
+        assertEquals(new Job(1L, "x", "y", null, null), job);
+        assertEquals(job, new Job(1L, "x", "y", null, null));
+        assertTrue(job.toString().contains("Обязанности"));
+        job.setDescription("Новое описание");
+        assertEquals("Новое описание", job.getDescription());
+    }
+    
+    @Test
+    @DisplayName("Репозиторий со сжатием хранит описания сжатыми и отдает исходный текст")
+    void repository_StoresCompressedDescriptions() {
+        // Arrange
+        InMemoryJobRepository repository = new InMemoryJobRepository(new LzCodec());
+        
+        // Act
+        Job saved = repository.save(new Job("Java Developer", "TechCorp", 100.0, POSTING));
+        repository.update(new Job(saved.getId(), "Java Developer", "TechCorp", 100.0, POSTING + " Офис в центре."));
+        
+        // Assert
+        Job stored = repository.findById(saved.getId()).orElseThrow();
+        assertInstanceOf(CompressedJob.class, stored);
+        assertEquals(POSTING + " Офис в центре.", stored.getDescription());
+    }
+}
\ No newline at end of file
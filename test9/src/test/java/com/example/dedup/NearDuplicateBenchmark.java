@@ -0,0 +1,74 @@
+package com.example.dedup;
+
+import com.example.model.Job;
+import com.example.repository.InMemoryJobRepository;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Замер индекса почти-дубликатов: скорость сохранения с вычислением сигнатур,
+ * задержка поиска дубликатов одной вакансии и время массового прохода.
+ * Каждая десятая вакансия - перепост одной из предыдущих с заменой пары слов.
+ * Запуск: {@code java -Xmx4g -cp target/classes:target/test-classes com.example.dedup.NearDuplicateBenchmark 1000000}
+ */
+public class NearDuplicateBenchmark {
+    
+    private static final int VOCABULARY = 20_000;
+    private static final int WORDS = 40;
+    private static final int QUERIES = 1_000;
+    
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        InMemoryJobRepository repository = new InMemoryJobRepository();
+        NearDuplicateIndex index = repository.registerView(new NearDuplicateIndex());
+        SplittableRandom random = new SplittableRandom(42);
+        String[] recent = new String[1024];
+        int originals = 0;
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            String description;
+            if (i % 10 == 9) {
+                description = mutate(recent[random.nextInt(Math.min(originals, recent.length))], random);
+            } else {
+                description = text(random);
+                recent[originals++ % recent.length] = description;
+            }
+            repository.save(new Job("Вакансия", "Компания", 1.0, description));
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("save: %,d jobs  %,.0f jobs/s%n", count, count / seconds);
+        
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            long found = 0;
+            for (int i = 0; i < QUERIES; i++) {
+                found += index.findNearDuplicates(new Job("Вакансия", "Компания", 1.0, mutate(recent[random.nextInt(recent.length)], random)), 0.5).size();
+            }
+            System.out.printf("findNearDuplicates: %.3f ms/query  %.1f hits/query%n",
+                    (System.nanoTime() - start) / 1e6 / QUERIES, (double) found / QUERIES);
+        }
+        
+        start = System.nanoTime();
+        int groups = index.findDuplicateGroups(0.5, ForkJoinPool.commonPool()).size();
+        System.out.printf("findDuplicateGroups: %,d groups in %.2f s%n", groups, (System.nanoTime() - start) / 1e9);
+    }
+    
+    private static String text(SplittableRandom random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < WORDS; i++) {
+            text.append("слово").append(random.nextInt(VOCABULARY)).append(' ');
+        }
+        return text.toString();
+    }
+    
+    /** Заменяет два случайных слова текста */
+    private static String mutate(String text, SplittableRandom random) {
+        String[] words = text.split(" ");
+        for (int i = 0; i < 2; i++) {
+            words[random.nextInt(words.length)] = "слово" + random.nextInt(VOCABULARY);
+        }
+        return String.join(" ", words);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.example.dedup;
+
+import com.example.model.Job;
+import com.example.repository.InMemoryJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты MinHash-сигнатур и индекса почти-дубликатов.
+ */
+class NearDuplicateIndexTest {
+    
+    private static final String BASE = "Ищем опытного Java разработчика в команду платежного сервиса. "
+            + "Требуется знание Spring Boot, PostgreSQL, Kafka и опыт проектирования микросервисов. "
+            + "Предлагаем удаленную работу, гибкий график, медицинскую страховку и обучение за счет компании.";
+    
+    private static final String REPOST = "Ищем опытного Java разработчика в команду платежного сервиса! "
+            + "Требуется знание Spring Boot, PostgreSQL, Kafka и опыт проектирования микросервисов. "
+            + "Предлагаем удаленную работу, гибкий график, ДМС и обучение за счет компании.";
+    
+    private static final String OTHER = "Компания открывает вакансию дизайнера интерфейсов мобильных приложений. "
+            + "Нужны портфолио, уверенное владение Figma и понимание принципов доступности.";
+    
+    private InMemoryJobRepository repository;
+    private NearDuplicateIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryJobRepository();
+        index = repository.registerView(new NearDuplicateIndex());
+    }
+    
+    @Test
+    @DisplayName("Сигнатура близких текстов дает высокую оценку сходства, разных - низкую")
+    void minHasher_EstimatesJaccard() {
+        // Arrange
+        MinHasher hasher = new MinHasher(256, 3, 7);
+        
+        // Act
+        int[] base = hasher.signature(BASE);
+        double similar = MinHasher.similarity(base, hasher.signature(REPOST));
+        double different = MinHasher.similarity(base, hasher.signature(OTHER));
+        
+        // Assert
+        assertEquals(1.0, MinHasher.similarity(base, hasher.signature(BASE.toUpperCase())));
+        assertTrue(similar > 0.6, "Оценка сходства перепоста: " + similar);
+        assertTrue(different < 0.1, "Оценка сходства разных текстов: " + different);
+        assertNull(hasher.signature("  ...  "));
+        assertNotNull(hasher.signature("Java"));
+    }
+    
+    @Test
+    @DisplayName("Поиск находит перепост и не возвращает саму вакансию")
+    void findNearDuplicates_FindsRepost() {
+        // Arrange
+        Job original = repository.save(new Job("Java Developer", "TechCorp", 100.0, BASE));
+        Job repost = repository.save(new Job("Java Developer", "TechCorp", 100.0, REPOST));
+        repository.save(new Job("UI Designer", "WebSolutions", 90.0, OTHER));
+        
+        // Act
+        List<NearDuplicate> duplicates = index.findNearDuplicates(original, 0.5);
+        
+        // Assert
+        assertEquals(1, duplicates.size());
+        assertEquals(repost.getId(), duplicates.get(0).getJobId());
+        assertTrue(duplicates.get(0).getSimilarity() >= 0.5);
+    }
+    
+    @Test
+    @DisplayName("Несохраненная вакансия сравнивается со всеми проиндексированными")
+    void findNearDuplicates_UnsavedJob() {
+        // Arrange
+        Job original = repository.save(new Job("Java Developer", "TechCorp", 100.0, BASE));
+        
+        // Act
+        List<NearDuplicate> duplicates = index.findNearDuplicates(new Job("Java Developer", "Other", null, REPOST), 0.5);
+        
+        // Assert
+        assertEquals(List.of(original.getId()), duplicates.stream().map(NearDuplicate::getJobId).toList());
+    }
+    
+    @Test
+    @DisplayName("Обновление и удаление убирают старую сигнатуру из корзин")
+    void updateAndDelete_RemoveOldSignature() {
+        // Arrange
+        Job original = repository.save(new Job("Java Developer", "TechCorp", 100.0, BASE));
+        Job repost = repository.save(new Job("Java Developer", "TechCorp", 100.0, REPOST));
+        
+        // Act
+        repository.update(new Job(repost.getId(), "UI Designer", "TechCorp", 100.0, OTHER));
+        List<NearDuplicate> afterUpdate = index.findNearDuplicates(original, 0.5);
+        repository.delete(original.getId());
+        
+        // Assert
+        assertTrue(afterUpdate.isEmpty());
+        assertEquals(1, index.size());
+        assertTrue(index.findNearDuplicates(new Job("Java Developer", "X", null, BASE), 0.5).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Массовый проход группирует цепочки дубликатов и совпадает с перестройкой")
+    void findDuplicateGroups_GroupsClusters() {
+        // Arrange
+        Job a = repository.save(new Job("Java Developer", "TechCorp", 100.0, BASE));
+        Job b = repository.save(new Job("Java Developer", "TechCorp", 100.0, REPOST));
+        Job c = repository.save(new Job("Java Developer", "CloudSystems", 100.0, BASE));
+        Job d = repository.save(new Job("UI Designer", "WebSolutions", 90.0, OTHER));
+        Job e = repository.save(new Job("UI Designer", "WebSolutions", 90.0, OTHER + " Офис в центре."));
+        repository.save(new Job("QA", "Startup", null, "Тестирование мобильных приложений вручную"));
+        repository.save(new Job("", "Startup", null, null));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        try {
+            // Act
+            List<List<Long>> groups = index.findDuplicateGroups(0.5, pool);
+            NearDuplicateIndex rebuilt = new NearDuplicateIndex();
+            rebuilt.rebuild(repository.findAll(), pool);
+            
+            // Assert
+            assertEquals(List.of(List.of(a.getId(), b.getId(), c.getId()), List.of(d.getId(), e.getId())), groups);
+            assertEquals(groups, rebuilt.findDuplicateGroups(0.5, pool));
+            assertEquals(6, rebuilt.size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Некорректные параметры отклоняются")
+    void invalidArguments_Rejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new NearDuplicateIndex(0, 4, 3));
+        assertThrows(IllegalArgumentException.class, () -> new MinHasher(16, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> index.findNearDuplicates(new Job("A", "B", null, "c"), 0));
+        assertThrows(IllegalArgumentException.class, () -> index.findNearDuplicates(new Job("A", "B", null, "c"), 1.5));
+        assertThrows(IllegalArgumentException.class, () -> index.findDuplicateGroups(0.5, null));
+        assertThrows(IllegalArgumentException.class, () -> MinHasher.similarity(new int[2], new int[3]));
+    }
+}
\ No newline at end of file
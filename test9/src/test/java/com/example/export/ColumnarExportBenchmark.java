@@ -0,0 +1,98 @@
+package com.example.export;
+
+import com.example.json.JsonCodec;
+import com.example.model.Job;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Замер колоночного экспорта вакансий против построчного JSON: время записи, размер файла,
+ * полное чтение и агрегат по одной колонке с пропуском групп строк по статистике.
+ * Запуск: {@code java -cp target/classes:target/test-classes com.example.export.ColumnarExportBenchmark 1000000}
+ */
+public class ColumnarExportBenchmark {
+    
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        SplittableRandom random = new SplittableRandom(5);
+        String[] titles = {"Java Developer", "Backend Engineer", "Data Analyst", "QA Engineer", "DevOps"};
+        List<Job> jobs = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            // Зарплаты растут с id, как у свежих вакансий, поэтому статистика групп избирательна
+            Double salary = random.nextInt(10) == 0 ? null : 50_000.0 + id / 4.0 + random.nextInt(20_000);
+            jobs.add(new Job(id, titles[random.nextInt(titles.length)], "Company " + random.nextInt(500), salary,
+                    "Описание вакансии " + id));
+        }
+        Path directory = Files.createTempDirectory("columnar-benchmark");
+        Path json = directory.resolve("jobs.json");
+        Path columnar = directory.resolve("jobs.col");
+        try {
+            for (int round = 0; round < 3; round++) {
+                // Порядок записи чередуется: сброс грязных страниц первого файла тормозит второй
+                double jsonWrite = 0;
+                double columnarWrite = 0;
+                for (int step = 0; step < 2; step++) {
+                    long start = System.nanoTime();
+                    if ((step + round) % 2 == 0) {
+                        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(json), 1 << 16)) {
+                            JsonCodec.writeJobs(jobs, out);
+                        }
+                        jsonWrite = (System.nanoTime() - start) / 1e9;
+                    } else {
+                        try (JobColumnarWriter writer = new JobColumnarWriter(columnar)) {
+                            for (Job job : jobs) {
+                                writer.write(job);
+                            }
+                        }
+                        columnarWrite = (System.nanoTime() - start) / 1e9;
+                    }
+                }
+                
+                long start = System.nanoTime();                int jsonRows;
+                try (FileChannel channel = FileChannel.open(json)) {
+                    ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    jsonRows = JsonCodec.readJobs(bytes).size();
+                }
+                double jsonRead = (System.nanoTime() - start) / 1e9;
+                start = System.nanoTime();
+                int columnarRows;
+                double[] total = new double[1];
+                double aggregate;
+                try (JobColumnarReader reader = new JobColumnarReader(columnar)) {
+                    columnarRows = reader.readAll().size();
+                    double readAll = (System.nanoTime() - start) / 1e9;
+                    start = System.nanoTime();
+                    reader.scan(EnumSet.of(JobColumn.SALARY), stats -> stats.mayContainSalaries(250_000, 300_000), batch -> {
+                        for (int row = 0; row < batch.getRowCount(); row++) {
+                            double salary = batch.getSalaryOrNaN(row);
+                            if (salary >= 250_000 && salary <= 300_000) {
+                                total[0] += salary;
+                            }
+                        }
+                    });
+                    aggregate = (System.nanoTime() - start) / 1e9;
+                    System.out.printf("write: json %.2f s (%,d bytes)  columnar %.2f s (%,d bytes)%n",
+                            jsonWrite, Files.size(json), columnarWrite, Files.size(columnar));
+                    System.out.printf("read all: json %.2f s (%,d rows)  columnar %.2f s (%,d rows)%n",
+                            jsonRead, jsonRows, readAll, columnarRows);
+                    System.out.printf("salary range sum over one column with group skipping: %.4f s (sum %.0f)%n",
+                            aggregate, total[0]);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(json);
+            Files.deleteIfExists(columnar);
+            Files.deleteIfExists(directory);
+        }
+    }
+}
\ No newline at end of file
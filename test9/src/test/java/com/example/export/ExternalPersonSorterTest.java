@@ -0,0 +1,156 @@
+package com.example.export;
+
+import com.example.model.Person;
+import com.example.service.PersonService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты внешней сортировки при экспорте людей.
+ */
+class ExternalPersonSorterTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private static List<Person> randomPersons(int count, long seed) {
+        String[] lastNames = {"Иванов", "Петров", "Сидоров", "Кузнецов", "Смирнов"};
+        String[] firstNames = {"Иван", "Петр", "Анна", "Мария", "Олег", "Юлия"};
+        Random random = new Random(seed);
+        List<Person> persons = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            persons.add(new Person(id, firstNames[random.nextInt(firstNames.length)],
+                    lastNames[random.nextInt(lastNames.length)], 18 + random.nextInt(60), "user" + id + "@example.com"));
+        }
+        return persons;
+    }
+    
+    private static String expectedCsv(List<Person> persons) throws Exception {
+        List<Person> sorted = new ArrayList<>(persons);
+        sorted.sort(ExternalPersonSorter.EXPORT_ORDER);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        PersonEncoder encoder = PersonEncoder.csv();
+        for (Person person : sorted) {
+            encoder.encode(person, expected);
+        }
+        return expected.toString(StandardCharsets.UTF_8);
+    }
+    
+    @Test
+    @DisplayName("Небольшой вход сортируется в памяти без временных файлов")
+    void export_SmallInput_SortsInMemory() throws Exception {
+        // Arrange
+        List<Person> persons = randomPersons(50, 1);
+        ExternalPersonSorter sorter = new ExternalPersonSorter(100, 2, 4, tempDir);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // Act
+        ExportResult result = sorter.export(persons.iterator(), Channels.newChannel(out));
+        
+        // Assert
+        assertEquals(50, result.getRecords());
+        assertEquals(0, result.getRuns());
+        assertEquals(expectedCsv(persons), out.toString(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    @DisplayName("Большой вход сбрасывается сериями и сливается в правильном порядке")
+    void export_LargeInput_SpillsAndMerges() throws Exception {
+        // Arrange
+        List<Person> persons = randomPersons(2_000, 2);
+        ExternalPersonSorter sorter = new ExternalPersonSorter(37, 3, 4, tempDir);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // Act
+        ExportResult result = sorter.export(persons.iterator(), Channels.newChannel(out));
+        
+        // Assert
+        assertEquals(2_000, result.getRecords());
+        assertEquals(55, result.getRuns());
+        assertTrue(result.getMergePasses() >= 2);
+        assertEquals(expectedCsv(persons), out.toString(StandardCharsets.UTF_8));
+        try (Stream<Path> leftovers = Files.list(tempDir)) {
+            assertEquals(0, leftovers.count());
+        }
+    }
+    
+    @Test
+    @DisplayName("Люди без id сбрасываются в серии и экспортируются так же, как в памяти")
+    void export_NullIds_SpillMatchesInMemory() throws Exception {
+        // Arrange
+        List<Person> persons = new ArrayList<>();
+        for (Person person : randomPersons(20, 3)) {
+            Long id = person.getId() % 3 == 0 ? null : person.getId();
+            persons.add(new Person(id, person.getFirstName(), person.getLastName(), person.getAge(), person.getEmail()));
+        }
+        ByteArrayOutputStream spilled = new ByteArrayOutputStream();
+        ByteArrayOutputStream inMemory = new ByteArrayOutputStream();
+        
+        // Act
+        ExportResult result = new ExternalPersonSorter(2, 2, 2, tempDir)
+                .export(persons.iterator(), Channels.newChannel(spilled));
+        new ExternalPersonSorter(100, 1, 2, tempDir).export(persons.iterator(), Channels.newChannel(inMemory));
+        
+        // Assert
+        assertEquals(10, result.getRuns());
+        assertEquals(inMemory.toString(StandardCharsets.UTF_8), spilled.toString(StandardCharsets.UTF_8));
+        assertEquals(expectedCsv(persons), spilled.toString(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    @DisplayName("Экспорт хранилища сервиса упорядочен по фамилии и имени")
+    void export_PersonService_OrdersByLastNameThenFirstName() throws Exception {
+        // Arrange
+        PersonService service = new PersonService();
+        service.createPerson(new Person("Петр", "Сидоров", 30, "petr@example.com"));
+        service.createPerson(new Person("Анна", "Иванова", 25, "anna@example.com"));
+        service.createPerson(new Person("Иван", "Иванов", 40, "ivan@example.com"));
+        service.createPerson(new Person("Алексей", "Иванов", 35, "alex@example.com"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // Act
+        new ExternalPersonSorter(2, 1, 2, tempDir).export(service, Channels.newChannel(out));
+        
+        // Assert
+        List<String> names = out.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> line.split(",")[1] + " " + line.split(",")[2])
+                .collect(Collectors.toList());
+        assertEquals(List.of("Иванов Алексей", "Иванов Иван", "Иванова Анна", "Сидоров Петр"), names);
+    }
+    
+    @Test
+    @DisplayName("CSV экранирует запятые и кавычки, null записывается пустым полем")
+    void csvEncoder_EscapesSpecialCharacters() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // Act
+        PersonEncoder.csv().encode(new Person(7L, "Иван, мл.", "О\"Нил", null, "ivan@example.com"), out);
+        
+        // Assert
+        assertEquals("7,\"О\"\"Нил\",\"Иван, мл.\",,ivan@example.com\n", out.toString(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    @DisplayName("Недопустимые параметры - должно выбросить исключение")
+    void constructor_InvalidArguments_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ExternalPersonSorter(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ExternalPersonSorter(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ExternalPersonSorter(10, 1, 1, tempDir));
+        assertThrows(IllegalArgumentException.class, () -> new ExternalPersonSorter(10, 1, 2, null));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.example.export;
+
+import com.example.model.Person;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+/**
+ * Замер пропускной способности сортирующего экспорта на синтетических данных,
+ * которые генерируются на лету и никогда не держатся в памяти целиком.
+ * Чтобы объем заведомо превышал кучу, запускайте с маленькой кучей:
+ * {@code java -Xmx64m -cp target/classes:target/test-classes com.example.export.ExternalSortBenchmark 5000000}
+ */
+public class ExternalSortBenchmark {
+    
+    public static void main(String[] args) throws Exception {
+        long count = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        int runSize = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            CountingChannel out = new CountingChannel();
+            long start = System.nanoTime();
+            ExportResult result = new ExternalPersonSorter(runSize, threads).export(generate(count), out);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("threads=%d  records=%,d  runs=%d  passes=%d  %,.0f rec/s  %.1f MB/s  heap=%dMB%n",
+                    threads, result.getRecords(), result.getRuns(), result.getMergePasses(),
+                    result.getRecords() / seconds, out.bytes / seconds / (1 << 20),
+                    Runtime.getRuntime().maxMemory() >> 20);
+        }
+    }
+    
+    private static Iterator<Person> generate(long count) {
+        SplittableRandom random = new SplittableRandom(42);
+        return new Iterator<>() {
+            private long next = 1;
+            
+            @Override
+            public boolean hasNext() {
+                return next <= count;
+            }
+            
+            @Override
+            public Person next() {
+                long id = next++;
+                return new Person(id, "Имя" + random.nextInt(10_000), "Фамилия" + random.nextInt(100_000),
+                        18 + random.nextInt(60), "user" + id + "@example.com");
+            }
+        };
+    }
+    
+    /** Канал, который только считает байты */
+    private static final class CountingChannel implements WritableByteChannel {
+        
+        private long bytes;
+        
+        @Override
+        public int write(ByteBuffer src) {
+            int remaining = src.remaining();
+            src.position(src.limit());
+            bytes += remaining;
+            return remaining;
+        }
+        
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+        
+        @Override
+        public void close() {
+        }
+    }
+}
\ No newline at end of file
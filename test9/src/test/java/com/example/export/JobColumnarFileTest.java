@@ -0,0 +1,156 @@
+package com.example.export;
+
+import com.example.model.Job;
+import com.example.repository.InMemoryJobRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты записи и чтения колоночного файла вакансий.
+ */
+class JobColumnarFileTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    @DisplayName("Вакансии с пустыми полями читаются без изменений через несколько групп строк")
+    void writeAndReadAll_RoundTrips() throws IOException {
+        // Arrange
+        Path file = directory.resolve("jobs.col");
+        List<Job> jobs = new ArrayList<>();
+        for (long id = 1; id <= 1_000; id++) {
+            jobs.add(new Job(id * 3, id % 7 == 0 ? null : "Вакансия " + id, id % 5 == 0 ? null : "Company " + id % 13,
+                    id % 4 == 0 ? null : -50.0 + id, id % 2 == 0 ? null : "Описание " + id));
+        }
+        jobs.add(new Job(Long.MIN_VALUE, "", "", 0.0, ""));
+        jobs.add(new Job(Long.MAX_VALUE, null, null, null, null));
+        
+        // Act
+        try (JobColumnarWriter writer = new JobColumnarWriter(file, 128)) {
+            for (Job job : jobs) {
+                writer.write(job);
+            }
+        }
+        
+        // Assert
+        assertFalse(Files.exists(directory.resolve("jobs.col.tmp")));
+        try (JobColumnarReader reader = new JobColumnarReader(file)) {
+            assertEquals(jobs.size(), reader.getRowCount());
+            assertEquals(8, reader.getRowGroups().size());
+            assertEquals(jobs, reader.readAll());
+        }
+    }
+    
+    @Test
+    @DisplayName("Фильтр по статистике пропускает группы, а читаются только запрошенные колонки")
+    void scan_SkipsGroupsAndProjectsColumns() throws IOException {
+        // Arrange
+        Path file = directory.resolve("jobs.col");
+        try (JobColumnarWriter writer = new JobColumnarWriter(file, 100)) {
+            for (long id = 1; id <= 1_000; id++) {
+                writer.write(new Job(id, "Title", "Company " + (id - 1) / 100, 1000.0 * id, "Описание"));
+            }
+        }
+        AtomicInteger groupsRead = new AtomicInteger();
+        double[] sum = new double[1];
+        
+        // Act
+        try (JobColumnarReader reader = new JobColumnarReader(file)) {
+            reader.scan(EnumSet.of(JobColumn.SALARY), stats -> stats.mayContainSalaries(250_000, 420_000), batch -> {
+                groupsRead.incrementAndGet();
+                assertFalse(batch.hasColumn(JobColumn.TITLE));
+                assertThrows(IllegalStateException.class, () -> batch.getTitle(0));
+                for (int row = 0; row < batch.getRowCount(); row++) {
+                    double salary = batch.getSalaryOrNaN(row);
+                    if (salary >= 250_000 && salary <= 420_000) {
+                        sum[0] += salary;
+                    }
+                }
+            });
+            List<Job> company = reader.readJobs(EnumSet.of(JobColumn.ID, JobColumn.COMPANY),
+                    stats -> stats.mayContainCompany("Company 7"));
+            
+            // Assert
+            assertEquals(3, groupsRead.get());
+            assertEquals(1000.0 * (250 + 420) * 171 / 2, sum[0]);
+            assertEquals(100, company.size());
+            assertEquals(new Job(701L, null, "Company 7", null, null), company.get(0));
+            RowGroupStats first = reader.getRowGroups().get(0);
+            assertEquals(1, first.getMinId());
+            assertEquals(100, first.getMaxId());
+            assertEquals(100_000.0, first.getMaxSalary());
+        }
+    }
+    
+    @Test
+    @DisplayName("Экспорт репозитория постранично записывает все вакансии")
+    void export_WritesWholeRepository() throws IOException {
+        // Arrange
+        InMemoryJobRepository repository = new InMemoryJobRepository();
+        for (int i = 0; i < 2_500; i++) {
+            repository.save(new Job("Job " + i, "Company " + i % 10, i % 3 == 0 ? null : (double) i, null));
+        }
+        Path file = directory.resolve("export.col");
+        
+        // Act
+        long written = JobColumnarWriter.export(repository, file, 1_000);
+        
+        // Assert
+        assertEquals(2_500, written);
+        try (JobColumnarReader reader = new JobColumnarReader(file)) {
+            assertEquals(3, reader.getRowGroups().size());
+            assertEquals(repository.findPage(null, 10_000), reader.readAll());
+        }
+    }
+    
+    @Test
+    @DisplayName("Поврежденная колонка обнаруживается контрольной суммой")
+    void corruptedColumn_ThrowsIOException() throws IOException {
+        // Arrange
+        Path file = directory.resolve("jobs.col");
+        try (JobColumnarWriter writer = new JobColumnarWriter(file)) {
+            writer.write(new Job(1L, "Java Developer", "TechCorp", 100.0, "Описание"));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[ColumnarFormat.HEADER_SIZE + 3] ^= 0x55;
+        Files.write(file, bytes);
+        
+        // Act & Assert
+        try (JobColumnarReader reader = new JobColumnarReader(file)) {
+            assertThrows(IOException.class, reader::readAll);
+        }
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13});
+        assertThrows(IOException.class, () -> new JobColumnarReader(file));
+    }
+    
+    @Test
+    @DisplayName("Недопустимые аргументы - должно выбросить исключение")
+    void invalidArguments_ThrowException() throws IOException {
+        Path file = directory.resolve("jobs.col");
+        assertThrows(IllegalArgumentException.class, () -> new JobColumnarWriter(file, 0));
+        try (JobColumnarWriter writer = new JobColumnarWriter(file)) {
+            assertThrows(IllegalArgumentException.class, () -> writer.write(new Job("A", "B", 1.0, null)));
+            assertThrows(IllegalArgumentException.class, () -> writer.write(new Job(1L, "A", "B", Double.NaN, null)));
+        }
+        try (JobColumnarReader reader = new JobColumnarReader(file)) {
+            assertEquals(0, reader.getRowCount());
+            assertThrows(IllegalArgumentException.class, () -> reader.scan(null, stats -> true, batch -> { }));
+        }
+        RowGroupStats stats = new RowGroupStats(1, 1, 1, 0, Double.NaN, Double.NaN, null, null);
+        assertNull(stats.getMinSalary());
+        assertFalse(stats.mayContainCompany("TechCorp"));
+        assertThrows(IllegalArgumentException.class, () -> stats.mayContainCompany(null));
+    }
+}
\ No newline at end of file
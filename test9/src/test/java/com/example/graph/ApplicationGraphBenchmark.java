@@ -0,0 +1,80 @@
+package com.example.graph;
+
+import java.util.SplittableRandom;
+
+/**
+ * Замер графа откликов: скорость загрузки, байт на отклик до и после обрезки
+ * массивов, задержка запросов в обе стороны против просмотра списка пар и удаление узлов.
+ * Запуск: {@code java -Xmx4g -cp target/classes:target/test-classes com.example.graph.ApplicationGraphBenchmark 50000000}
+ */
+public class ApplicationGraphBenchmark {
+    
+    private static final int QUERIES = 100_000;
+    
+    public static void main(String[] args) {
+        int edges = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        int persons = Math.max(1, edges / 10);
+        int jobs = Math.max(1, edges / 100);
+        SplittableRandom random = new SplittableRandom(23);
+        ApplicationGraph graph = new ApplicationGraph();
+        // Список пар - то, что приходится просматривать без индексов (только для первых запросов)
+        long[] pairs = new long[2 * Math.min(edges, 5_000_000)];
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < edges; i++) {
+            long person = 1 + random.nextInt(persons);
+            // Популярность вакансий неравномерна: квадрат равномерной величины смещает к малым id
+            double skew = random.nextDouble();
+            long job = 1 + (long) (skew * skew * jobs);
+            graph.apply(person, job);
+            if (2 * i < pairs.length) {
+                pairs[2 * i] = person;
+                pairs[2 * i + 1] = job;
+            }
+        }
+        double loadSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("load: %,d applications  %,.0f/s  %.1f bytes/application%n",
+                graph.size(), graph.size() / loadSeconds, (double) graph.allocatedBytes() / graph.size());
+        start = System.nanoTime();
+        graph.trimToSize();
+        System.out.printf("trim: %.2f s  %.1f bytes/application%n",
+                (System.nanoTime() - start) / 1e9, (double) graph.allocatedBytes() / graph.size());
+        
+        long found = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            found += graph.applicantsOf(1 + random.nextInt(jobs)).length;
+        }
+        double applicantsMicros = (System.nanoTime() - start) / 1e3 / QUERIES;
+        start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            found += graph.jobsAppliedBy(1 + random.nextInt(persons)).length;
+        }
+        double jobsMicros = (System.nanoTime() - start) / 1e3 / QUERIES;
+        start = System.nanoTime();
+        int scans = 20;
+        for (int i = 0; i < scans; i++) {
+            long job = 1 + random.nextInt(jobs);
+            for (int p = 1; p < pairs.length; p += 2) {
+                found += pairs[p] == job ? 1 : 0;
+            }
+        }
+        double scanMicros = (System.nanoTime() - start) / 1e3 / scans;
+        System.out.printf("applicantsOf %.2f us  jobsAppliedBy %.2f us  pair scan over %,d pairs %,.0f us  (%d)%n",
+                applicantsMicros, jobsMicros, pairs.length / 2, scanMicros, found % 10);
+        
+        start = System.nanoTime();
+        long removed = 0;
+        for (int i = 0; i < 10_000; i++) {
+            removed += graph.removePerson(1 + random.nextInt(persons));
+        }
+        double personSeconds = (System.nanoTime() - start) / 1e9;
+        start = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) {
+            removed += graph.removeJob(1 + random.nextInt(jobs));
+        }
+        double jobSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("removePerson %.1f us  removeJob %.1f us  (%,d applications removed)%n",
+                personSeconds * 1e6 / 10_000, jobSeconds * 1e6 / 1_000, removed);
+    }
+}
\ No newline at end of file
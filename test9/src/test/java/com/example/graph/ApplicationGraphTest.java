@@ -0,0 +1,184 @@
+package com.example.graph;
+
+import com.example.model.Job;
+import com.example.model.Person;
+import com.example.repository.InMemoryJobRepository;
+import com.example.service.PersonService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты графа откликов людей на вакансии.
+ */
+class ApplicationGraphTest {
+    
+    @Test
+    @DisplayName("Отклики доступны в обоих направлениях, повторный отклик не добавляется")
+    void apply_IndexesBothDirections() {
+        // Arrange
+        ApplicationGraph graph = new ApplicationGraph();
+        
+        // Act
+        assertTrue(graph.apply(1, 10));
+        assertTrue(graph.apply(1, 20));
+        assertTrue(graph.apply(2, 10));
+        assertFalse(graph.apply(1, 10));
+        
+        // Assert
+        assertEquals(3, graph.size());
+        assertArrayEquals(new long[] {1, 2}, sorted(graph.applicantsOf(10)));
+        assertArrayEquals(new long[] {10, 20}, sorted(graph.jobsAppliedBy(1)));
+        assertEquals(2, graph.applicantCount(10));
+        assertEquals(0, graph.applicationCount(3));
+        assertTrue(graph.hasApplied(2, 10));
+        assertFalse(graph.hasApplied(2, 20));
+        long[] sum = new long[1];
+        graph.forEachApplicant(10, personId -> sum[0] += personId);
+        assertEquals(3, sum[0]);
+        
+        // Act
+        assertTrue(graph.withdraw(1, 10));
+        assertFalse(graph.withdraw(1, 10));
+        
+        // Assert
+        assertArrayEquals(new long[] {2}, graph.applicantsOf(10));
+        assertEquals(0, graph.applicantsOf(99).length);
+    }
+    
+    @Test
+    @DisplayName("Удаление человека и вакансии в хранилищах удаляет их отклики")
+    void storeDeletes_CleanUpEdges() {
+        // Arrange
+        ApplicationGraph graph = new ApplicationGraph();
+        PersonService persons = new PersonService();
+        InMemoryJobRepository jobs = new InMemoryJobRepository();
+        persons.addChangeListener(graph.personListener());
+        jobs.registerView(graph.jobView());
+        Person ivan = persons.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        Person maria = persons.createPerson(new Person("Мария", "Петрова", 28, "maria@example.com"));
+        Job java = jobs.save(new Job("Java Developer", "TechCorp", 100.0, null));
+        Job qa = jobs.save(new Job("QA", "TechCorp", 80.0, null));
+        graph.apply(ivan.getId(), java.getId());
+        graph.apply(ivan.getId(), qa.getId());
+        graph.apply(maria.getId(), java.getId());
+        
+        // Act
+        persons.deletePerson(ivan.getId());
+        jobs.registerView(new ApplicationGraph().jobView());
+        jobs.delete(java.getId());
+        
+        // Assert
+        assertEquals(0, graph.size());
+        assertEquals(0, graph.applicantCount(qa.getId()));
+        assertEquals(0, graph.jobsAppliedBy(maria.getId()).length);
+        
+        // Act
+        graph.apply(maria.getId(), qa.getId());
+        persons.clearStorage();
+        
+        // Assert
+        assertEquals(0, graph.size());
+    }
+    
+    @Test
+    @DisplayName("Очистка хранилища вакансий удаляет отклики, и новые вакансии с теми же id их не наследуют")
+    void jobStoreClear_RemovesEdges() {
+        // Arrange
+        ApplicationGraph graph = new ApplicationGraph();
+        InMemoryJobRepository jobs = new InMemoryJobRepository();
+        jobs.registerView(graph.jobView());
+        Job java = jobs.save(new Job("Java Developer", "TechCorp", 100.0, null));
+        graph.apply(1, java.getId());
+        
+        // Act
+        jobs.clear();
+        Job reused = jobs.save(new Job("Designer", "WebSolutions", 90.0, null));
+        
+        // Assert
+        assertEquals(java.getId(), reused.getId());
+        assertEquals(0, graph.size());
+        assertEquals(0, graph.applicantCount(reused.getId()));
+        assertFalse(graph.hasApplied(1, reused.getId()));
+    }
+    
+    @Test
+    @DisplayName("Случайная последовательность операций совпадает с эталонной моделью")
+    void randomOperations_MatchModel() {
+        // Arrange
+        ApplicationGraph graph = new ApplicationGraph();
+        Map<Long, Set<Long>> model = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(17);
+        
+        // Act
+        for (int i = 0; i < 200_000; i++) {
+            // Идентификаторы с общими младшими битами и отрицательные проверяют хеширование и сдвиг цепочек
+            long person = (random.nextInt(300) - 50) * 1024L;
+            long job = random.nextInt(200) * 4096L;
+            int operation = random.nextInt(100);
+            if (operation < 60) {
+                assertEquals(model.computeIfAbsent(person, p -> new HashSet<>()).add(job), graph.apply(person, job));
+            } else if (operation < 85) {
+                Set<Long> jobs = model.get(person);
+                assertEquals(jobs != null && jobs.remove(job), graph.withdraw(person, job));
+            } else if (operation < 93) {
+                Set<Long> jobs = model.remove(person);
+                assertEquals(jobs == null ? 0 : jobs.size(), graph.removePerson(person));
+            } else {
+                int removed = 0;
+                for (Set<Long> jobs : model.values()) {
+                    removed += jobs.remove(job) ? 1 : 0;
+                }
+                assertEquals(removed, graph.removeJob(job));
+            }
+        }
+        graph.trimToSize();
+        
+        // Assert
+        long edges = 0;
+        Map<Long, Set<Long>> reverse = new HashMap<>();
+        for (Map.Entry<Long, Set<Long>> entry : model.entrySet()) {
+            edges += entry.getValue().size();
+            assertEquals(entry.getValue(), toSet(graph.jobsAppliedBy(entry.getKey())));
+            for (long job : entry.getValue()) {
+                reverse.computeIfAbsent(job, j -> new HashSet<>()).add(entry.getKey());
+            }
+        }
+        for (long job = 0; job < 200 * 4096L; job += 4096) {
+            assertEquals(reverse.getOrDefault(job, Set.of()), toSet(graph.applicantsOf(job)));
+        }
+        assertEquals(edges, graph.size());
+    }
+    
+    @Test
+    @DisplayName("Очистка удаляет все отклики, а обработчик null отклоняется")
+    void clearAndInvalidArguments() {
+        ApplicationGraph graph = new ApplicationGraph();
+        graph.apply(1, 1);
+        graph.clear();
+        assertEquals(0, graph.size());
+        assertEquals(0, graph.applicantCount(1));
+        assertThrows(IllegalArgumentException.class, () -> graph.forEachApplicant(1, null));
+    }
+    
+    private static long[] sorted(long[] values) {
+        Arrays.sort(values);
+        return values;
+    }
+    
+    private static Set<Long> toSet(long[] values) {
+        Set<Long> set = new HashSet<>();
+        for (long value : values) {
+            assertTrue(set.add(value), "повтор " + value);
+        }
+        return set;
+    }
+}
\ No newline at end of file
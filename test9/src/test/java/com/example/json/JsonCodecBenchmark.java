@@ -0,0 +1,60 @@
+package com.example.json;
+
+import com.example.model.Job;
+import com.example.model.Person;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Замер пропускной способности JSON-кодека: кодирование списка в ByteBuffer
+ * и разбор обратно, в объектах в секунду и мегабайтах в секунду.
+ * Запуск: {@code java -cp target/classes:target/test-classes com.example.json.JsonCodecBenchmark 200000}
+ */
+public class JsonCodecBenchmark {
+    
+    private static final int ROUNDS = 10;
+    
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        List<Person> persons = new ArrayList<>(count);
+        List<Job> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            persons.add(new Person((long) i, "Имя" + i, "Фамилия" + i % 1000, i % 3 == 0 ? null : 18 + i % 60,
+                    "user" + i + "@example.com"));
+            jobs.add(new Job((long) i, "Инженер " + i % 50, "Компания " + i % 200, i % 5 == 0 ? null : 50_000 + i * 1.25,
+                    "Описание вакансии номер " + i));
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(count * 256);
+        for (int round = 0; round < ROUNDS; round++) {
+            buffer.clear();
+            long start = System.nanoTime();
+            JsonCodec.writePersons(persons, buffer);
+            long encodeNanos = System.nanoTime() - start;
+            int bytes = buffer.position();
+            buffer.flip();
+            start = System.nanoTime();
+            int decoded = JsonCodec.readPersons(buffer).size();
+            long decodeNanos = System.nanoTime() - start;
+            report("Person", decoded, bytes, encodeNanos, decodeNanos);
+            
+            buffer.clear();
+            start = System.nanoTime();
+            JsonCodec.writeJobs(jobs, buffer);
+            encodeNanos = System.nanoTime() - start;
+            bytes = buffer.position();
+            buffer.flip();
+            start = System.nanoTime();
+            decoded = JsonCodec.readJobs(buffer).size();
+            decodeNanos = System.nanoTime() - start;
+            report("Job", decoded, bytes, encodeNanos, decodeNanos);
+        }
+    }
+    
+    private static void report(String type, int count, int bytes, long encodeNanos, long decodeNanos) {
+        System.out.printf("%-6s encode: %,10.0f obj/s %7.1f MB/s   decode: %,10.0f obj/s %7.1f MB/s%n", type,
+                count / (encodeNanos / 1e9), bytes / (encodeNanos / 1e9) / (1 << 20),
+                count / (decodeNanos / 1e9), bytes / (decodeNanos / 1e9) / (1 << 20));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,182 @@
+package com.example.json;
+
+import com.example.model.Job;
+import com.example.model.Person;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты потокового JSON-кодека Person и Job.
+ */
+class JsonCodecTest {
+    
+    private static void assertSamePerson(Person expected, Person actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getFirstName(), actual.getFirstName());
+        assertEquals(expected.getLastName(), actual.getLastName());
+        assertEquals(expected.getAge(), actual.getAge());
+        assertEquals(expected.getEmail(), actual.getEmail());
+    }
+    
+    private static void assertSameJob(Job expected, Job actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getCompany(), actual.getCompany());
+        assertEquals(expected.getSalary(), actual.getSalary());
+        assertEquals(expected.getDescription(), actual.getDescription());
+    }
+    
+    private static ByteBuffer utf8(String json) {
+        return ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    @DisplayName("Люди с null-полями и произвольным Unicode восстанавливаются в точности")
+    void persons_RoundTripExactly() {
+        // Arrange
+        List<Person> persons = List.of(
+            new Person(1L, "Иван", "Иванов", 30, "ivan@example.com"),
+            new Person(2L, null, "O\"Brien\\", null, null),
+            new Person(null, "Эмодзи 😀 и \u0001\n\t", "\uD800одиночный", 0, "a@b.c"));
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        
+        // Act
+        JsonCodec.writePersons(persons, buffer);
+        buffer.flip();
+        List<Person> decoded = JsonCodec.readPersons(buffer);
+        
+        // Assert
+        assertEquals(persons.size(), decoded.size());
+        for (int i = 0; i < persons.size(); i++) {
+            assertSamePerson(persons.get(i), decoded.get(i));
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+    
+    @Test
+    @DisplayName("Вакансии с null-зарплатой и крайними значениями double восстанавливаются в точности")
+    void jobs_RoundTripExactly() {
+        // Arrange
+        double[] salaries = {0.1, -0.0, 1e22, 1e23, 123456.789, Double.MIN_VALUE, Double.MAX_VALUE, 9007199254740993.0};
+        List<Job> jobs = new ArrayList<>();
+        jobs.add(new Job(1L, "Разработчик", "Яндекс", null, null));
+        for (int i = 0; i < salaries.length; i++) {
+            jobs.add(new Job((long) i + 2, "Должность", "Компания", salaries[i], "Описание"));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // Act
+        JsonCodec.writeJobs(jobs, out);
+        List<Job> decoded = JsonCodec.readJobs(ByteBuffer.wrap(out.toByteArray()));
+        
+        // Assert
+        assertEquals(jobs.size(), decoded.size());
+        for (int i = 0; i < jobs.size(); i++) {
+            assertSameJob(jobs.get(i), decoded.get(i));
+        }
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(decoded.get(2).getSalary()));
+    }
+    
+    @Test
+    @DisplayName("Вывод в поток совпадает с выводом в буфер и является корректным JSON")
+    void writer_StreamAndBufferProduceSameBytes() {
+        // Arrange
+        Person person = new Person(7L, "Анна", "Петрова", 25, "anna@example.com");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        
+        // Act
+        JsonWriter streamWriter = new JsonWriter(out);
+        JsonCodec.writePerson(streamWriter, person);
+        streamWriter.flush();
+        JsonWriter bufferWriter = new JsonWriter(buffer);
+        JsonCodec.writePerson(bufferWriter, person);
+        bufferWriter.flush();
+        
+        // Assert
+        String expected = "{\"id\":7,\"firstName\":\"Анна\",\"lastName\":\"Петрова\",\"age\":25,\"email\":\"anna@example.com\"}";
+        assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+        assertEquals(expected, new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    @DisplayName("Разбор пропускает неизвестные поля, пробелы и экранированные имена")
+    void reader_SkipsUnknownFieldsAndWhitespace() {
+        // Arrange
+        String json = " { \"extra\" : {\"a\":[1,2,{\"b\":\"}]\"}],\"c\":true} ,\n"
+            + "\"\\u0069d\" : 5 , \"age\" : null , \"lastName\":\"Иванов\", \"more\": [false, null, -1.5e3] } ";
+        
+        // Act
+        Person person = JsonCodec.readPerson(new JsonReader(utf8(json)));
+        
+        // Assert
+        assertEquals(5L, person.getId());
+        assertNull(person.getAge());
+        assertEquals("Иванов", person.getLastName());
+        assertNull(person.getFirstName());
+    }
+    
+    @Test
+    @DisplayName("Некорректный JSON - должно выбросить исключение")
+    void reader_MalformedJson_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> JsonCodec.readPerson(new JsonReader(utf8("{\"id\":1"))));
+        assertThrows(IllegalArgumentException.class, () -> JsonCodec.readPerson(new JsonReader(utf8("{\"id\" 1}"))));
+        assertThrows(IllegalArgumentException.class, () -> JsonCodec.readPerson(new JsonReader(utf8("{\"age\":1.5}"))));
+        assertThrows(IllegalArgumentException.class, () -> JsonCodec.readPersons(utf8("[{\"id\":1}{\"id\":2}]")));
+    }
+    
+    @Test
+    @DisplayName("Числа вне грамматики JSON - должно выбросить исключение")
+    void reader_InvalidNumberGrammar_ThrowsException() {
+        for (String number : new String[] {".", "-", "1.", ".5", "01", "-01", "1e", "1e+", "--1", "+1"}) {
+            assertThrows(IllegalArgumentException.class, () -> new JsonReader(utf8(number)).nextDoubleOrNull(), number);
+        }
+        for (String number : new String[] {"-", "01", "-00", "9223372036854775808", "-9223372036854775809"}) {
+            assertThrows(IllegalArgumentException.class, () -> new JsonReader(utf8(number)).nextLong(), number);
+        }
+        assertEquals(0.0, new JsonReader(utf8("0")).nextDoubleOrNull());
+        assertEquals(-0.5, new JsonReader(utf8("-0.5")).nextDoubleOrNull());
+        assertEquals(1.5e-3, new JsonReader(utf8("1.5E-3")).nextDoubleOrNull());
+    }
+    
+    @Test
+    @DisplayName("Крайние значения long восстанавливаются в точности")
+    void persons_LongBoundsRoundTrip() {
+        // Arrange
+        List<Person> persons = List.of(
+            new Person(Long.MIN_VALUE, "Мин", null, Integer.MIN_VALUE, null),
+            new Person(Long.MAX_VALUE, "Макс", null, Integer.MAX_VALUE, null));
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        
+        // Act
+        JsonCodec.writePersons(persons, buffer);
+        buffer.flip();
+        List<Person> decoded = JsonCodec.readPersons(buffer);
+        
+        // Assert
+        assertSamePerson(persons.get(0), decoded.get(0));
+        assertSamePerson(persons.get(1), decoded.get(1));
+    }
+    
+    @Test
+    @DisplayName("Запись NaN - должно выбросить исключение и оставить писатель пригодным")
+    void writer_NaN_ThrowsException() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonWriter writer = new JsonWriter(out);
+        writer.beginArray().value(1L);
+        
+        assertThrows(IllegalArgumentException.class, () -> writer.value(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> writer.value(Double.POSITIVE_INFINITY));
+        writer.value(2.5).endArray().flush();
+        
+        assertEquals("[1,2.5]", out.toString(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
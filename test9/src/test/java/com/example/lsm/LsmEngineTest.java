@@ -0,0 +1,225 @@
+package com.example.lsm;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты LSM-движка: чтение и запись через все уровни, слияния и восстановление после сбоя.
+ */
+class LsmEngineTest {
+    
+    @TempDir
+    Path directory;
+    
+    /** Маленькие размеры, чтобы сбросы и слияния происходили на сотнях записей */
+    private static LsmOptions smallOptions() {
+        return new LsmOptions()
+                .setMemtableBytes(8 * 1024)
+                .setBlockSize(512)
+                .setLevel0CompactionTrigger(2)
+                .setLevelBaseBytes(32 * 1024)
+                .setLevelSizeMultiplier(4)
+                .setTargetFileBytes(8 * 1024)
+                .setMaxLevels(4);
+    }
+    
+    @Test
+    @DisplayName("Запись, чтение и удаление видны сразу и после сброса на диск")
+    void putGetDelete_AcrossFlush() throws IOException {
+        // Arrange
+        try (LsmEngine engine = LsmEngine.open(directory, new LsmOptions())) {
+            // Act
+            engine.put(1, bytes("one"));
+            engine.put(2, bytes("two"));
+            engine.delete(1);
+            engine.flush();
+            engine.put(3, bytes("three"));
+            
+            // Assert
+            assertNull(engine.get(1));
+            assertEquals("two", string(engine.get(2)));
+            assertEquals("three", string(engine.get(3)));
+            assertNull(engine.get(4));
+            assertEquals(List.of(2L, 3L), keys(engine.scan(null, 10)));
+            assertEquals(List.of(3L), keys(engine.scan(2L, 10)));
+            assertEquals(1, engine.stats().getFlushCount());
+        }
+    }
+    
+    @Test
+    @DisplayName("Случайные изменения через сбросы и слияния совпадают с моделью, в том числе после переоткрытия")
+    void randomOperations_MatchModel() throws IOException {
+        // Arrange
+        TreeMap<Long, String> model = new TreeMap<>();
+        Random random = new Random(45);
+        
+        try (LsmEngine engine = LsmEngine.open(directory, smallOptions())) {
+            // Act
+            for (int i = 0; i < 20_000; i++) {
+                long key = random.nextInt(3_000);
+                if (random.nextInt(5) == 0) {
+                    engine.delete(key);
+                    model.remove(key);
+                } else {
+                    String value = "value-" + i + "-" + "x".repeat(random.nextInt(40));
+                    engine.put(key, bytes(value));
+                    model.put(key, value);
+                }
+            }
+            engine.flush();
+            
+            // Assert
+            LsmStats stats = engine.stats();
+            assertTrue(stats.getCompactionCount() > 0, stats.toString());
+            assertTrue(stats.getTableCount(0) < 2, stats.toString());
+            assertMatches(model, engine);
+        }
+        try (LsmEngine reopened = LsmEngine.open(directory, smallOptions())) {
+            assertMatches(model, reopened);
+        }
+    }
+    
+    @Test
+    @DisplayName("Несброшенные записи восстанавливаются из журнала, оборванный хвост журнала отбрасывается")
+    void recovery_ReplaysLogAndIgnoresTornTail() throws IOException {
+        // Arrange
+        try (LsmEngine engine = LsmEngine.open(directory, new LsmOptions())) {
+            engine.put(1, bytes("persisted"));
+            engine.flush();
+            engine.put(2, bytes("only in log"));
+            engine.delete(1);
+        }
+        // Имитация сбоя посреди записи: неполная запись в конце журнала и брошенные временные файлы
+        Path log = listFiles(".log").get(0);
+        Files.write(log, new byte[] {0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+        Files.write(directory.resolve("000999.sst.tmp"), new byte[] {1, 2, 3});
+        Files.write(directory.resolve("000998.sst"), new byte[] {1, 2, 3});
+        
+        // Act
+        try (LsmEngine engine = LsmEngine.open(directory, new LsmOptions())) {
+            // Assert
+            assertNull(engine.get(1));
+            assertEquals("only in log", string(engine.get(2)));
+            assertFalse(Files.exists(directory.resolve("000999.sst.tmp")));
+            assertFalse(Files.exists(directory.resolve("000998.sst")));
+            assertEquals(1, listFiles(".log").size());
+            engine.put(3, bytes("after recovery"));
+        }
+        try (LsmEngine engine = LsmEngine.open(directory, new LsmOptions())) {
+            assertEquals(List.of(2L, 3L), keys(engine.scan(null, 10)));
+        }
+    }
+    
+    @Test
+    @DisplayName("Прерывание потока при чтении и записи не ломает таблицы и журнал для следующих вызовов")
+    void interruptedThread_DoesNotBreakSharedChannels() throws Exception {
+        // Arrange
+        try (LsmEngine engine = LsmEngine.open(directory, new LsmOptions())) {
+            engine.put(1, bytes("one"));
+            engine.flush();
+            engine.put(2, bytes("two"));
+            
+            // Act
+            Thread.currentThread().interrupt();
+            try {
+                assertThrows(IOException.class, () -> engine.get(1));
+                assertThrows(IOException.class, () -> engine.put(3, bytes("three")));
+            } finally {
+                assertTrue(Thread.interrupted());
+            }
+            
+            // Assert
+            assertEquals("one", string(engine.get(1)));
+            engine.put(4, bytes("four"));
+            assertEquals("four", string(engine.get(4)));
+        }
+        try (LsmEngine reopened = LsmEngine.open(directory, new LsmOptions())) {
+            assertEquals("two", string(reopened.get(2)));
+            assertNull(reopened.get(3));
+            assertEquals("four", string(reopened.get(4)));
+        }
+    }
+    
+    @Test
+    @DisplayName("Каталог нельзя открыть дважды")
+    void open_LockedDirectory_Fails() throws IOException {
+        try (LsmEngine engine = LsmEngine.open(directory, new LsmOptions())) {
+            assertThrows(Exception.class, () -> LsmEngine.open(directory, new LsmOptions()));
+            assertThrows(IllegalArgumentException.class, () -> engine.put(1, null));
+            assertThrows(IllegalArgumentException.class, () -> engine.scan(null, 0));
+        }
+    }
+    
+    @Test
+    @DisplayName("Фильтр Блума не дает ложных отрицаний и редко дает ложные срабатывания")
+    void bloomFilter_FalsePositiveRate() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 10);
+        for (long key = 0; key < 10_000; key++) {
+            filter.add(key * 7);
+        }
+        
+        // Act
+        int falsePositives = 0;
+        for (long key = 0; key < 10_000; key++) {
+            assertTrue(filter.mightContain(key * 7));
+            if (filter.mightContain(key * 7 + 1)) {
+                falsePositives++;
+            }
+        }
+        
+        // Assert
+        assertTrue(falsePositives < 300, "Ложных срабатываний: " + falsePositives);
+    }
+    
+    private static void assertMatches(TreeMap<Long, String> model, LsmEngine engine) throws IOException {
+        for (long key = 0; key < 3_000; key++) {
+            assertEquals(model.get(key), engine.get(key) == null ? null : string(engine.get(key)), "ключ " + key);
+        }
+        List<Long> scanned = new ArrayList<>();
+        Long after = null;
+        List<Map.Entry<Long, byte[]>> page;
+        do {
+            page = engine.scan(after, 256);
+            for (Map.Entry<Long, byte[]> entry : page) {
+                scanned.add(entry.getKey());
+                assertEquals(model.get(entry.getKey()), string(entry.getValue()));
+            }
+            after = page.isEmpty() ? after : page.get(page.size() - 1).getKey();
+        } while (page.size() == 256);
+        assertEquals(new ArrayList<>(model.keySet()), scanned);
+    }
+    
+    private List<Path> listFiles(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(suffix)).toList();
+        }
+    }
+    
+    private static List<Long> keys(List<Map.Entry<Long, byte[]>> entries) {
+        return entries.stream().map(Map.Entry::getKey).toList();
+    }
+    
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
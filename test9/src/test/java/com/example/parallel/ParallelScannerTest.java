@@ -0,0 +1,145 @@
+package com.example.parallel;
+
+import com.example.model.Job;
+import com.example.model.Person;
+import com.example.query.Queryable;
+import com.example.service.PersonService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты параллельного просмотра.
+ */
+class ParallelScannerTest {
+    
+    private ForkJoinPool pool;
+    private PersonService personService;
+    
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        personService = new PersonService();
+        for (int i = 0; i < 20_000; i++) {
+            personService.createPerson(new Person("Имя", "Фамилия", 18 + i % 60, "user" + i + "@example.com"));
+        }
+    }
+    
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+    
+    @Test
+    @DisplayName("Фильтрация снимка совпадает с последовательной и сохраняет порядок")
+    void filter_Snapshot_MatchesSequentialInOrder() {
+        // Arrange
+        List<Integer> numbers = IntStream.range(0, 50_000).boxed().collect(Collectors.toList());
+        ParallelScanner scanner = new ParallelScanner(pool, ModificationPolicy.SNAPSHOT, 1_000);
+        
+        // Act
+        List<Integer> even = scanner.filter(Queryable.scanning(() -> numbers), n -> n % 2 == 0);
+        
+        // Assert
+        assertEquals(numbers.stream().filter(n -> n % 2 == 0).collect(Collectors.toList()), even);
+    }
+    
+    @Test
+    @DisplayName("Подсчет, проекция и свертка по хранилищу людей")
+    void countMapReduce_OverPersonService() {
+        // Arrange
+        ParallelScanner scanner = new ParallelScanner(pool, ModificationPolicy.WEAKLY_CONSISTENT, 1_000);
+        List<Person> all = personService.getAllPersons();
+        
+        // Act
+        long adults = scanner.count(personService, p -> p.getAge() >= 30);
+        List<String> emails = scanner.map(personService, p -> p.getAge() == 18, Person::getEmail);
+        long ageSum = scanner.reduce(personService, p -> true, p -> (long) p.getAge(), 0L, Long::sum);
+        
+        // Assert
+        assertEquals(all.stream().filter(p -> p.getAge() >= 30).count(), adults);
+        assertEquals(all.stream().filter(p -> p.getAge() == 18).count(), emails.size());
+        assertEquals(all.stream().mapToLong(Person::getAge).sum(), ageSum);
+    }
+    
+    @Test
+    @DisplayName("Результаты фильтрации и проекции - копии, не связанные с хранилищем")
+    void filterAndMap_ReturnDetachedCopies() {
+        // Arrange
+        ParallelScanner scanner = new ParallelScanner(pool, ModificationPolicy.SNAPSHOT, 1_000);
+        
+        // Act
+        scanner.filter(personService, p -> p.getAge() == 18).forEach(p -> p.setAge(150));
+        scanner.map(personService, p -> p.getAge() == 19, p -> p).forEach(p -> p.setAge(150));
+        
+        // Assert
+        assertEquals(0, scanner.count(personService, p -> p.getAge() == 150));
+        assertFalse(scanner.filter(personService, p -> p.getAge() == 18).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Маленький источник обрабатывается в вызывающем потоке")
+    void collect_BelowThreshold_RunsSequentially() {
+        // Arrange
+        ParallelScanner scanner = new ParallelScanner(pool, ModificationPolicy.SNAPSHOT, 100_000);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        
+        // Act
+        scanner.count(personService, p -> threads.add(Thread.currentThread()));
+        
+        // Assert
+        assertEquals(Set.of(Thread.currentThread()), threads);
+    }
+    
+    @Test
+    @DisplayName("FAIL_FAST обнаруживает изменение источника во время просмотра")
+    void failFast_ConcurrentWrite_ThrowsException() {
+        // Arrange
+        ParallelScanner scanner = new ParallelScanner(pool, ModificationPolicy.FAIL_FAST, 1_000);
+        Person first = personService.getAllPersons().get(0);
+        
+        // Act & Assert
+        assertThrows(ConcurrentModificationException.class, () -> scanner.count(personService, p -> {
+            if (p.getId().equals(first.getId())) {
+                personService.deletePerson(first.getId());
+            }
+            return true;
+        }));
+    }
+    
+    @Test
+    @DisplayName("FAIL_FAST без версии источника - должно выбросить исключение")
+    void failFast_UnversionedSource_ThrowsException() {
+        // Arrange
+        List<Job> jobs = new ArrayList<>();
+        Queryable<Job> source = Queryable.scanning(() -> jobs);
+        ParallelScanner scanner = new ParallelScanner(pool, ModificationPolicy.FAIL_FAST, 1_000);
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> scanner.count(source, j -> true));
+    }
+    
+    @Test
+    @DisplayName("Недопустимые аргументы - должно выбросить исключение")
+    void invalidArguments_ThrowException() {
+        ParallelScanner scanner = new ParallelScanner();
+        Collection<Person> none = List.of();
+        
+        assertThrows(IllegalArgumentException.class, () -> new ParallelScanner(null, ModificationPolicy.SNAPSHOT, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelScanner(pool, ModificationPolicy.SNAPSHOT, -1));
+        assertThrows(IllegalArgumentException.class, () -> scanner.filter(Queryable.scanning(() -> none), null));
+    }
+}
\ No newline at end of file
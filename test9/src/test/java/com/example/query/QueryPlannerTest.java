@@ -0,0 +1,182 @@
+package com.example.query;
+
+import com.example.model.Job;
+import com.example.model.Person;
+import com.example.model.PersonPatch;
+import com.example.service.PersonService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.query.Conditions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты языка запросов и планировщика.
+ */
+class QueryPlannerTest {
+    
+    private PersonService personService;
+    
+    @BeforeEach
+    void setUp() {
+        personService = new PersonService();
+        for (int i = 0; i < 100; i++) {
+            String domain = i % 10 == 0 ? "corp.com" : "example.com";
+            personService.createPerson(new Person("Имя" + i, "Фамилия" + (i % 5), 20 + i % 40, "user" + i + "@" + domain));
+        }
+    }
+    
+    @Test
+    @DisplayName("Диапазон по возрасту обслуживается упорядоченным индексом")
+    void ageRange_UsesSortedIndex() {
+        Query<Person> query = Query.where(between(PersonAttributes.AGE, 30, 32));
+        
+        List<Person> result = personService.query(query);
+        
+        assertEquals(personService.getAllPersons().stream().filter(p -> p.getAge() >= 30 && p.getAge() <= 32).count(),
+            result.size());
+        assertTrue(personService.explain(query).contains("IndexLookup[sorted age]"));
+    }
+    
+    @Test
+    @DisplayName("Изменение результатов запроса не портит индексы возраста и email")
+    void execute_MutatedResults_KeepIndexesIntact() {
+        // Arrange
+        Query<Person> query = Query.where(eq(PersonAttributes.AGE, 25));
+        
+        // Act
+        for (Person person : query.execute(personService)) {
+            person.setAge(99);
+            person.setEmail("changed@example.com");
+        }
+        
+        // Assert
+        List<Person> again = query.execute(personService);
+        assertFalse(again.isEmpty());
+        assertTrue(again.stream().allMatch(p -> p.getAge() == 25 && !p.getEmail().equals("changed@example.com")));
+        assertTrue(personService.query(Query.where(eq(PersonAttributes.AGE, 99))).isEmpty());
+        personService.createPerson(new Person("Новый", "Человек", 30, "changed@example.com"));
+    }
+    
+    @Test
+    @DisplayName("AND выбирает самый селективный индекс и фильтрует остальное")
+    void and_PicksMostSelectiveIndex() {
+        Query<Person> query = Query.where(and(
+            between(PersonAttributes.AGE, 20, 59),
+            eq(PersonAttributes.EMAIL_DOMAIN, "corp.com"),
+            eq(PersonAttributes.LAST_NAME, "Фамилия0")));
+        
+        List<Person> result = personService.query(query);
+        String plan = personService.explain(query);
+        
+        assertEquals(10, result.size());
+        assertTrue(plan.contains("IndexLookup[hash emailDomain]"), plan);
+        assertTrue(plan.contains("Filter"), plan);
+    }
+    
+    @Test
+    @DisplayName("Условие без индекса выполняется полным просмотром")
+    void unindexedCondition_FallsBackToScan() {
+        Query<Person> query = Query.where(eq(PersonAttributes.FIRST_NAME, "Имя7"));
+        
+        assertEquals(1, personService.query(query).size());
+        assertTrue(personService.explain(query).contains("FullScan"));
+    }
+    
+    @Test
+    @DisplayName("OR по индексируемым ветвям выполняется объединением без дубликатов")
+    void or_AllBranchesIndexed_UsesUnion() {
+        Query<Person> query = Query.where(or(
+            eq(PersonAttributes.EMAIL_DOMAIN, "corp.com"),
+            eq(PersonAttributes.AGE, 20)));
+        
+        List<Person> result = personService.query(query);
+        
+        assertTrue(personService.explain(query).contains("Union"));
+        assertEquals(personService.getAllPersons().stream()
+            .filter(p -> p.getEmail().endsWith("@corp.com") || p.getAge() == 20).count(), result.size());
+    }
+    
+    @Test
+    @DisplayName("Сортировка и ограничение возвращают первые N строк")
+    void orderByAndLimit_ReturnsTopN() {
+        Query<Person> query = Query.where(atLeast(PersonAttributes.AGE, 50))
+            .orderByDescending(PersonAttributes.AGE)
+            .limit(3);
+        
+        List<Person> result = personService.query(query);
+        
+        assertEquals(3, result.size());
+        assertEquals(59, result.get(0).getAge());
+        assertTrue(result.get(2).getAge() <= result.get(0).getAge());
+        assertTrue(personService.explain(query).startsWith("Limit 3\n  TopN age DESC"));
+    }
+    
+    @Test
+    @DisplayName("Новый индекс подхватывается без изменения запросов")
+    void createIndex_ChangesPlanWithoutRewritingQuery() {
+        Query<Person> query = Query.where(eq(PersonAttributes.LAST_NAME, "Фамилия3"));
+        assertTrue(personService.explain(query).contains("FullScan"));
+        
+        personService.createIndex(new HashIndex<>(PersonAttributes.LAST_NAME, Person::getId));
+        
+        assertTrue(personService.explain(query).contains("IndexLookup[hash lastName]"));
+        assertEquals(20, personService.query(query).size());
+    }
+    
+    @Test
+    @DisplayName("Индексы поддерживаются при обновлении, патче и удалении")
+    void indexes_FollowWrites() {
+        Person person = personService.createPerson(new Person("Иван", "Иванов", 140, "ivan@unique.org"));
+        Query<Person> byAge = Query.where(eq(PersonAttributes.AGE, 141));
+        Query<Person> byDomain = Query.where(eq(PersonAttributes.EMAIL_DOMAIN, "unique.org"));
+        
+        personService.patchPerson(person.getId(), new PersonPatch().setAge(141));
+        assertEquals(1, personService.query(byAge).size());
+        
+        personService.updatePerson(person.getId(), new Person("Иван", "Иванов", 141, "ivan@other.org"));
+        assertTrue(personService.query(byDomain).isEmpty());
+        
+        personService.deletePerson(person.getId());
+        assertTrue(personService.query(byAge).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Запросы по Job над источником без индексов")
+    void jobQuery_OverScanningSource() {
+        List<Job> jobs = new ArrayList<>();
+        jobs.add(new Job(1L, "Java Developer", "TechCorp", 120000.0, "Backend"));
+        jobs.add(new Job(2L, "QA", "TechCorp", 80000.0, "Тестирование"));
+        jobs.add(new Job(3L, "Intern", "TechCorp", null, "Стажировка"));
+        jobs.add(new Job(4L, "Manager", "Other", 150000.0, "Управление"));
+        Queryable<Job> source = Queryable.scanning(() -> jobs);
+        
+        Query<Job> query = Query.where(and(eq(JobAttributes.COMPANY, "TechCorp"), atLeast(JobAttributes.SALARY, 100000.0)));
+        
+        List<Job> result = query.execute(source);
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getId());
+        assertTrue(query.explain(source).contains("FullScan"));
+    }
+    
+    @Test
+    @DisplayName("Нормализованное представление запроса")
+    void toString_IsNormalized() {
+        Query<Person> query = Query.where(and(eq(PersonAttributes.EMAIL_DOMAIN, "corp.com"),
+            and(between(PersonAttributes.AGE, 30, 40), eq(PersonAttributes.LAST_NAME, "Иванов"))))
+            .orderBy(PersonAttributes.AGE).limit(5);
+        
+        assertEquals("SELECT WHERE (emailDomain = 'corp.com' AND age in [30, 40] AND lastName = 'Иванов')"
+            + " ORDER BY age ASC LIMIT 5", query.toString());
+    }
+    
+    @Test
+    @DisplayName("Диапазон с перепутанными границами - должно выбросить исключение")
+    void between_InvertedBounds_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> between(PersonAttributes.AGE, 40, 30));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.example.query;
+
+import com.example.model.Job;
+import com.example.model.Person;
+import com.example.model.PersonPatch;
+import com.example.service.PersonService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.query.Conditions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты кэша результатов запросов.
+ */
+class QueryResultCacheTest {
+    
+    private PersonService personService;
+    private QueryResultCache cache;
+    private Person ivan;
+    
+    @BeforeEach
+    void setUp() {
+        personService = new PersonService();
+        cache = new QueryResultCache(2);
+        ivan = personService.createPerson(new Person("Иван", "Иванов", 35, "ivan@example.com"));
+        personService.createPerson(new Person("Петр", "Петров", 50, "petr@example.com"));
+    }
+    
+    @Test
+    @DisplayName("Повторный запрос без изменений обслуживается из кэша")
+    void execute_RepeatedQuery_HitsCache() {
+        // Arrange
+        Query<Person> query = Query.where(between(PersonAttributes.AGE, 30, 40));
+        
+        // Act
+        List<Person> first = cache.execute(query, personService);
+        List<Person> second = cache.execute(Query.where(between(PersonAttributes.AGE, 30, 40)), personService);
+        
+        // Assert
+        assertEquals(first, second);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate());
+    }
+    
+    @Test
+    @DisplayName("Разные запросы с одинаковым текстом не делят результат")
+    void execute_SameTextDifferentQueries_CachedSeparately() {
+        // Arrange
+        Attribute<Person, Integer> age = Attribute.of("score", Person::getAge);
+        Attribute<Person, Integer> nameLength = Attribute.of("score", person -> person.getLastName().length());
+        Query<Person> byAge = Query.where(atLeast(age, 40));
+        Query<Person> byNameLength = Query.where(atLeast(nameLength, 40));
+        assertEquals(byAge.toString(), byNameLength.toString());
+        
+        // Act
+        List<Person> first = cache.execute(byAge, personService);
+        List<Person> second = cache.execute(byNameLength, personService);
+        
+        // Assert
+        assertEquals(1, first.size());
+        assertTrue(second.isEmpty());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.size());
+        
+        // Arrange
+        Query<Person> quoted = Query.where(and(eq(PersonAttributes.LAST_NAME, "a' AND lastName = 'b")));
+        Query<Person> pair = Query.where(and(eq(PersonAttributes.LAST_NAME, "a"), eq(PersonAttributes.LAST_NAME, "b")));
+        
+        // Assert
+        assertEquals(quoted.toString(), pair.toString());
+        assertNotEquals(quoted, pair);
+        assertEquals(quoted, Query.where(and(eq(PersonAttributes.LAST_NAME, "a' AND lastName = 'b"))));
+    }
+    
+    @Test
+    @DisplayName("Любое изменение хранилища делает результат недействительным")
+    void execute_AfterMutation_NeverReturnsStaleResult() {
+        // Arrange
+        Query<Person> query = Query.where(between(PersonAttributes.AGE, 30, 40));
+        cache.execute(query, personService);
+        
+        // Act
+        personService.patchPerson(ivan.getId(), new PersonPatch().setEmail("ivan@corp.com"));
+        List<Person> result = cache.execute(query, personService);
+        
+        // Assert
+        assertEquals("ivan@corp.com", result.get(0).getEmail());
+        assertEquals(1, cache.getInvalidationCount());
+        assertEquals(0, cache.getHitCount());
+    }
+    
+    @Test
+    @DisplayName("Изменение полученного элемента не портит кэш и ответы другим вызывающим")
+    void execute_MutatedResult_CacheKeepsOwnCopies() {
+        // Arrange
+        Query<Person> query = Query.where(between(PersonAttributes.AGE, 30, 40));
+        List<Person> first = cache.execute(query, personService);
+        
+        // Act
+        first.get(0).setEmail("hacked@example.com");
+        List<Person> second = cache.execute(query, personService);
+        second.get(0).setAge(99);
+        List<Person> third = cache.execute(query, personService);
+        
+        // Assert
+        assertEquals(2, cache.getHitCount());
+        assertEquals(List.of(ivan), third);
+        assertEquals("ivan@example.com", personService.getPersonById(ivan.getId()).getEmail());
+    }
+    
+    @Test
+    @DisplayName("Переполнение вытесняет давно не использованный результат")
+    void execute_OverCapacity_EvictsLeastRecentlyUsed() {
+        // Arrange
+        Query<Person> young = Query.where(atMost(PersonAttributes.AGE, 40));
+        Query<Person> old = Query.where(atLeast(PersonAttributes.AGE, 40));
+        Query<Person> all = Query.all();
+        cache.execute(young, personService);
+        cache.execute(old, personService);
+        cache.execute(young, personService);
+        
+        // Act
+        cache.execute(all, personService);
+        cache.execute(young, personService);
+        
+        // Assert
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.getHitCount());
+    }
+    
+    @Test
+    @DisplayName("Источник без версии не кэшируется")
+    void execute_UnversionedSource_AlwaysExecutes() {
+        // Arrange
+        List<Job> jobs = new ArrayList<>();
+        jobs.add(new Job(1L, "Разработчик", "Яндекс", 300_000.0, "Бэкенд"));
+        Queryable<Job> source = Queryable.scanning(() -> jobs);
+        Query<Job> query = Query.where(eq(JobAttributes.COMPANY, "Яндекс"));
+        cache.execute(query, source);
+        
+        // Act
+        jobs.add(new Job(2L, "Аналитик", "Яндекс", 200_000.0, "Данные"));
+        List<Job> result = cache.execute(query, source);
+        
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.size());
+    }
+    
+    @Test
+    @DisplayName("Недопустимые аргументы - должно выбросить исключение")
+    void invalidArguments_ThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new QueryResultCache(0));
+        assertThrows(IllegalArgumentException.class, () -> cache.execute(null, personService));
+        assertThrows(IllegalArgumentException.class, () -> cache.execute(Query.all(), null));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.example.replication;
+
+import com.example.model.Person;
+import com.example.service.PersonService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты репликации PersonService между экземплярами на localhost.
+ */
+class ReplicationTest {
+    
+    private static final long TIMEOUT_MILLIS = 10_000;
+    
+    private PersonService primaryService;
+    private ReplicationPrimary primary;
+    private final List<ReplicationFollower> followers = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        primaryService = new PersonService();
+        primary = new ReplicationPrimary(primaryService, 0, 8, 50);
+        primary.start();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        followers.forEach(ReplicationFollower::close);
+        primary.close();
+    }
+    
+    private ReplicationFollower startFollower() {
+        ReplicationFollower follower = new ReplicationFollower("localhost", primary.getPort());
+        followers.add(follower);
+        follower.start();
+        return follower;
+    }
+    
+    @Test
+    @DisplayName("Ведомые узлы получают создания, обновления и удаления в порядке журнала")
+    void followers_ReceiveMutationsInOrder() throws Exception {
+        ReplicationFollower first = startFollower();
+        ReplicationFollower second = startFollower();
+        
+        Person ivan = primaryService.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        Person petr = primaryService.createPerson(new Person("Петр", "Петров", 25, "petr@example.com"));
+        primaryService.updatePerson(ivan.getId(), new Person("Иван", "Иванов", 31, "ivan@example.com"));
+        primaryService.deletePerson(petr.getId());
+        
+        for (ReplicationFollower follower : followers) {
+            assertTrue(follower.awaitSequence(primary.getLastSequence(), TIMEOUT_MILLIS));
+            assertEquals(1, follower.getPersonCount());
+            assertEquals(31, follower.getPersonById(ivan.getId()).getAge());
+            assertNull(follower.getPersonById(petr.getId()));
+            assertEquals(0, follower.getLag());
+        }
+        assertNotSame(first, second);
+    }
+    
+    @Test
+    @DisplayName("Отставший ведомый догоняет первичный узел через снимок")
+    void follower_FarBehind_CatchesUpFromSnapshot() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            primaryService.createPerson(new Person("Имя", "Фамилия", 20 + i, "user" + i + "@example.com"));
+        }
+        
+        ReplicationFollower follower = startFollower();
+        
+        assertTrue(follower.awaitSequence(primary.getLastSequence(), TIMEOUT_MILLIS));
+        assertEquals(20, follower.getPersonCount());
+        assertEquals(1, follower.getSnapshotCount());
+        assertEquals(primaryService.getAllPersons().size(), follower.getAllPersons().size());
+    }
+    
+    @Test
+    @DisplayName("Очистка хранилища реплицируется")
+    void clearStorage_IsReplicated() throws Exception {
+        ReplicationFollower follower = startFollower();
+        primaryService.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        assertTrue(follower.awaitSequence(primary.getLastSequence(), TIMEOUT_MILLIS));
+        
+        primaryService.clearStorage();
+        
+        assertTrue(follower.awaitSequence(primary.getLastSequence(), TIMEOUT_MILLIS));
+        assertEquals(0, follower.getPersonCount());
+    }
+    
+    @Test
+    @DisplayName("Ведомый сообщает о контакте с первичным узлом через heartbeat")
+    void follower_ReportsHeartbeatContact() throws Exception {
+        ReplicationFollower follower = startFollower();
+        
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (follower.getMillisSinceLastContact() < 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        
+        assertTrue(follower.isConnected());
+        assertTrue(follower.getMillisSinceLastContact() >= 0);
+        assertEquals(0, follower.getLag());
+    }
+    
+    @Test
+    @DisplayName("Получение по null ID на ведомом - должно выбросить исключение")
+    void getPersonById_NullId_ThrowsException() {
+        ReplicationFollower follower = startFollower();
+        
+        assertThrows(IllegalArgumentException.class, () -> follower.getPersonById(null));
+    }
+    
+    @Test
+    @DisplayName("Кадр мутации с неизвестным типом - должно выбросить IOException")
+    void readMutation_UnknownType_ThrowsIOException() throws IOException {
+        for (int typeCode : new int[] {PersonMutation.Type.values().length, -1}) {
+            // Arrange
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(1);
+            out.writeByte(typeCode);
+            out.writeLong(1);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+            
+            // Act & Assert
+            assertThrows(IOException.class, () -> ReplicationProtocol.readMutation(in));
+        }
+    }
+}
\ No newline at end of file
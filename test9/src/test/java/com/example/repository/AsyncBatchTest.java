@@ -0,0 +1,91 @@
+package com.example.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты пакетного запуска с ограничением одновременности.
+ */
+class AsyncBatchTest {
+    
+    private final ExecutorService executor = AsyncExecutors.newPlatformExecutor(16);
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    @DisplayName("Одновременно выполняется не больше заданного числа операций, порядок сохраняется")
+    void map_BoundsConcurrencyAndPreservesOrder() {
+        // Arrange
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Integer> inputs = IntStream.range(0, 500).boxed().toList();
+        
+        // Act
+        List<Integer> results = AsyncBatch.map(inputs, 4, value -> CompletableFuture.supplyAsync(() -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.yield();
+            inFlight.decrementAndGet();
+            return value * 2;
+        }, executor)).join();
+        
+        // Assert
+        assertTrue(maxInFlight.get() <= 4, "одновременно: " + maxInFlight.get());
+        assertEquals(IntStream.range(0, 500).map(value -> value * 2).boxed().toList(), results);
+    }
+    
+    @Test
+    @DisplayName("Ошибка останавливает запуск новых операций")
+    void map_Failure_StopsLaunching() {
+        // Arrange
+        AtomicInteger started = new AtomicInteger();
+        List<Integer> inputs = IntStream.range(0, 1000).boxed().toList();
+        
+        // Act
+        CompletableFuture<List<Integer>> result = AsyncBatch.map(inputs, 2, value -> {
+            started.incrementAndGet();
+            if (value == 10) {
+                throw new IllegalStateException("сбой");
+            }
+            return CompletableFuture.completedFuture(value);
+        });
+        
+        // Assert
+        CompletionException error = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertTrue(started.get() < 20, "запущено: " + started.get());
+    }
+    
+    @Test
+    @DisplayName("Сразу завершенные операции не переполняют стек")
+    void map_CompletedFutures_DoNotRecurse() {
+        // Arrange
+        List<Integer> inputs = IntStream.range(0, 200_000).boxed().toList();
+        
+        // Act
+        List<Integer> results = AsyncBatch.map(inputs, 1, CompletableFuture::completedFuture).join();
+        
+        // Assert
+        assertEquals(inputs, results);
+    }
+    
+    @Test
+    @DisplayName("Пустой вход и недопустимые аргументы")
+    void map_EdgeCases() {
+        assertEquals(List.of(), AsyncBatch.map(List.<Integer>of(), 3, CompletableFuture::completedFuture).join());
+        assertThrows(IllegalArgumentException.class, () -> AsyncBatch.map(List.of(1), 0, CompletableFuture::completedFuture));
+        assertThrows(IllegalArgumentException.class, () -> AsyncBatch.map(null, 1, CompletableFuture::completedFuture));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.example.repository;
+
+import com.example.model.Job;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты асинхронной обертки репозитория вакансий.
+ */
+class AsyncJobRepositoryTest {
+    
+    private ExecutorService executor;
+    private InMemoryJobRepository delegate;
+    private AsyncJobRepository repository;
+    
+    @BeforeEach
+    void setUp() {
+        executor = AsyncExecutors.newPlatformExecutor(4);
+        delegate = new InMemoryJobRepository();
+        repository = AsyncJobRepository.wrap(delegate, executor);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    @DisplayName("CRUD операции выполняются через future и видны в исходном репозитории")
+    void crud_Works() {
+        // Arrange
+        Job saved = repository.save(new Job("Developer", "TechCorp", 100.0, null)).join();
+        
+        // Act
+        repository.update(new Job(saved.getId(), "Senior Developer", "TechCorp", 200.0, null)).join();
+        
+        // Assert
+        assertEquals("Senior Developer", repository.findById(saved.getId()).join().orElseThrow().getTitle());
+        assertEquals(delegate.findAll(), repository.findAll().join());
+        assertEquals(List.of(saved.getId()),
+                repository.findPage(null, 10).join().stream().map(Job::getId).toList());
+        assertTrue(repository.delete(saved.getId()).join());
+        assertFalse(repository.delete(saved).join());
+        assertEquals(Optional.empty(), repository.findById(saved.getId()).join());
+    }
+    
+    @Test
+    @DisplayName("Операция выполняется на исполнителе, а не в вызывающем потоке")
+    void operations_RunOnExecutor() {
+        // Arrange
+        Thread caller = Thread.currentThread();
+        JobRepository recording = new InMemoryJobRepository() {
+            @Override
+            public List<Job> findAll() {
+                assertNotSame(caller, Thread.currentThread());
+                return super.findAll();
+            }
+        };
+        
+        // Act & Assert
+        assertEquals(List.of(), AsyncJobRepository.wrap(recording, executor).findAll().join());
+    }
+    
+    @Test
+    @DisplayName("Ошибка хранилища завершает future исключительно")
+    void update_Missing_CompletesExceptionally() {
+        // Act
+        CompletableFuture<Job> future = repository.update(new Job(99L, "A", "B", 1.0, null));
+        
+        // Assert
+        ExecutionException error = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+    }
+    
+    @Test
+    @DisplayName("Пакетное сохранение и поиск сохраняют порядок входных данных")
+    void saveAllAndFindAllById_PreserveOrder() {
+        // Arrange
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            jobs.add(new Job("Job" + i, "Company", (double) i, null));
+        }
+        
+        // Act
+        List<Job> saved = repository.saveAll(jobs, 8).join();
+        List<Optional<Job>> found = repository.findAllById(List.of(saved.get(5).getId(), 1000L), 2).join();
+        
+        // Assert
+        assertEquals(200, delegate.findAll().size());
+        for (int i = 0; i < jobs.size(); i++) {
+            assertEquals("Job" + i, saved.get(i).getTitle());
+        }
+        assertEquals(saved.get(5), found.get(0).orElseThrow());
+        assertTrue(found.get(1).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Обертка по умолчанию использует общий исполнитель")
+    void wrap_DefaultExecutor_Works() {
+        // Act
+        Job saved = AsyncJobRepository.wrap(delegate).save(new Job("Developer", "TechCorp", null, null)).join();
+        
+        // Assert
+        assertEquals(saved, delegate.findById(saved.getId()).orElseThrow());
+        assertEquals(Runtime.version().feature() >= 21, AsyncExecutors.virtualThreadsAvailable());
+    }
+    
+    @Test
+    @DisplayName("Обертка null - должно выбросить исключение")
+    void wrap_Null_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> AsyncJobRepository.wrap(null));
+        assertThrows(IllegalArgumentException.class, () -> AsyncJobRepository.wrap(delegate, null));
+        assertThrows(IllegalArgumentException.class, () -> AsyncExecutors.newPlatformExecutor(0));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.repository;
+
+import com.example.model.Person;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты асинхронной обертки репозитория людей поверх JDBC-репозитория.
+ */
+class AsyncPersonRepositoryTest {
+    
+    private final String url = "jdbc:h2:mem:" + UUID.randomUUID();
+    
+    @Test
+    @DisplayName("Параллельные вызовы через обертку не теряют записей")
+    void concurrentCalls_AllApplied() throws SQLException {
+        try (JdbcPersonRepository delegate = new JdbcPersonRepository(DriverManager.getConnection(url))) {
+            // Arrange
+            AsyncPersonRepository repository = AsyncPersonRepository.wrap(delegate);
+            List<CompletableFuture<Person>> futures = new ArrayList<>();
+            
+            // Act
+            for (int i = 0; i < 100; i++) {
+                futures.add(repository.save(new Person("Имя" + i, "Фамилия", 20 + i % 50, "user" + i + "@example.com")));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            
+            // Assert
+            assertEquals(100, repository.findAll().join().size());
+            assertEquals(100, futures.stream().map(CompletableFuture::join).map(Person::getId).distinct().count());
+            assertEquals(10, repository.findPage(90L, 50).join().size());
+        }
+    }
+    
+    @Test
+    @DisplayName("Удаление выполняется, а ошибка обновления завершает future исключительно")
+    void deleteAndFailedUpdate_CompleteFutures() throws SQLException {
+        try (JdbcPersonRepository delegate = new JdbcPersonRepository(DriverManager.getConnection(url))) {
+            // Arrange
+            AsyncPersonRepository repository = AsyncPersonRepository.wrap(delegate);
+            Person saved = repository.save(new Person("Иван", "Иванов", 30, "ivan@example.com")).join();
+            
+            // Act
+            CompletableFuture<Boolean> deleted = repository.delete(saved);
+            CompletableFuture<Person> missing = repository.update(new Person(99L, "A", "B", 1, "a@b.c"));
+            
+            // Assert
+            assertTrue(deleted.join());
+            CompletionException error = assertThrows(CompletionException.class, missing::join);
+            assertInstanceOf(IllegalArgumentException.class, error.getCause());
+        }
+    }
+}
\ No newline at end of file
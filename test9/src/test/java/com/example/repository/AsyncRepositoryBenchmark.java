@@ -0,0 +1,119 @@
+package com.example.repository;
+
+import com.example.model.Job;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Замер пропускной способности при тысячах одновременных вызывающих. Хранилище
+ * имитирует ввод-вывод задержкой на каждый вызов. Сравниваются блокирующие вызывающие
+ * на пуле потоков, асинхронная обертка на исполнителе по умолчанию (виртуальные потоки
+ * на Java 21+, иначе пул из {@link AsyncExecutors#FALLBACK_THREADS} потоков), обертка
+ * на большом пуле потоков платформы и пакетный поиск с ограничением одновременности.
+ * Запуск: {@code java -cp target/classes:target/test-classes com.example.repository.AsyncRepositoryBenchmark 5000 4 10}
+ */
+public class AsyncRepositoryBenchmark {
+    
+    private static final int JOBS = 10_000;
+    
+    public static void main(String[] args) throws Exception {
+        int callers = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int callsPerCaller = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long latencyMillis = args.length > 2 ? Long.parseLong(args[2]) : 10;
+        JobRepository backend = new SlowJobRepository(latencyMillis);
+        for (int i = 0; i < JOBS; i++) {
+            backend.save(new Job("Job " + i, "Company " + (i % 100), 1000.0 + i, null));
+        }
+        long operations = (long) callers * callsPerCaller;
+        System.out.printf("callers %,d x %d calls, latency %d ms, virtual threads: %b%n",
+                callers, callsPerCaller, latencyMillis, AsyncExecutors.virtualThreadsAvailable());
+        
+        ExecutorService blockingPool = AsyncExecutors.newPlatformExecutor(AsyncExecutors.FALLBACK_THREADS);
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> blocking = new ArrayList<>(callers);
+        for (int caller = 0; caller < callers; caller++) {
+            long first = caller;
+            blocking.add(CompletableFuture.runAsync(() -> {
+                for (int call = 0; call < callsPerCaller; call++) {
+                    backend.findById(idFor(first, call));
+                }
+            }, blockingPool));
+        }
+        CompletableFuture.allOf(blocking.toArray(CompletableFuture[]::new)).join();
+        report("blocking callers, pool " + AsyncExecutors.FALLBACK_THREADS, operations, start);
+        shutdown(blockingPool);
+        
+        ExecutorService defaultExecutor = AsyncExecutors.newExecutor();
+        runAsync("async, default executor", AsyncJobRepository.wrap(backend, defaultExecutor), callers, callsPerCaller);
+        shutdown(defaultExecutor);
+        
+        ExecutorService largePool = AsyncExecutors.newPlatformExecutor(1024);
+        AsyncJobRepository async = AsyncJobRepository.wrap(backend, largePool);
+        runAsync("async, platform pool 1024", async, callers, callsPerCaller);
+        List<Long> ids = LongStream.range(0, operations).map(i -> 1 + i % JOBS).boxed().toList();
+        for (int limit : new int[] {64, 512}) {
+            start = System.nanoTime();
+            List<Optional<Job>> found = async.findAllById(ids, limit).join();
+            report("async findAllById, limit " + limit, found.size(), start);
+        }
+        shutdown(largePool);
+    }
+    
+    private static void runAsync(String label, AsyncJobRepository repository, int callers, int callsPerCaller) {
+        long start = System.nanoTime();
+        List<CompletableFuture<?>> chains = new ArrayList<>(callers);
+        for (int caller = 0; caller < callers; caller++) {
+            // Каждый вызывающий делает вызовы последовательно, но не держит поток между ними
+            CompletableFuture<?> chain = CompletableFuture.completedFuture(null);
+            for (int call = 0; call < callsPerCaller; call++) {
+                long id = idFor(caller, call);
+                chain = chain.thenCompose(ignored -> repository.findById(id));
+            }
+            chains.add(chain);
+        }
+        CompletableFuture.allOf(chains.toArray(CompletableFuture[]::new)).join();
+        report(label, (long) callers * callsPerCaller, start);
+    }
+    
+    private static long idFor(long caller, int call) {
+        return 1 + (caller * 31 + call) % JOBS;
+    }
+    
+    private static void shutdown(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+    
+    private static void report(String label, long operations, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-36s %,10d ops  %8.3f s  %,12.0f ops/s%n", label, operations, seconds, operations / seconds);
+    }
+    
+    /**
+     * Хранилище в памяти с задержкой на каждое чтение, имитирующей сетевой вызов.
+     */
+    private static final class SlowJobRepository extends InMemoryJobRepository {
+        
+        private final long latencyMillis;
+        
+        SlowJobRepository(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+        
+        @Override
+        public Optional<Job> findById(Long id) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.findById(id);
+        }
+    }
+}
\ No newline at end of file
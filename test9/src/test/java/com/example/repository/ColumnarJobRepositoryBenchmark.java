@@ -0,0 +1,79 @@
+package com.example.repository;
+
+import com.example.aggregate.SalaryStats;
+import com.example.model.Job;
+
+import java.util.SplittableRandom;
+
+/**
+ * Сравнение агрегатов по зарплатам: колоночное хранилище против обхода объектов
+ * {@link InMemoryJobRepository} с распаковкой {@code Double}.
+ * Запуск: {@code java -Xmx4g -cp target/classes:target/test-classes com.example.repository.ColumnarJobRepositoryBenchmark 2000000}
+ */
+public class ColumnarJobRepositoryBenchmark {
+    
+    private static final String[] COMPANIES = {"TechCorp", "WebSolutions", "CloudSystems", "DataSoft", "FinLab"};
+    private static final int ROUNDS = 10;
+    
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        InMemoryJobRepository objects = new InMemoryJobRepository();
+        ColumnarJobRepository columns = new ColumnarJobRepository();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < count; i++) {
+            Job job = new Job("Job", COMPANIES[random.nextInt(COMPANIES.length)],
+                    random.nextInt(10) == 0 ? null : 50_000.0 + random.nextInt(250_000), null);
+            objects.save(job);
+            columns.save(job);
+        }
+        
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("all jobs      object %7.2f ms  columnar %6.2f ms%n",
+                    time(() -> objectStats(objects, null)), time(() -> columns.salaryStats(null)));
+            System.out.printf("one company   object %7.2f ms  columnar %6.2f ms%n",
+                    time(() -> objectStats(objects, "TechCorp")), time(() -> columns.salaryStats("TechCorp")));
+            System.out.printf("median        object %7.2f ms  columnar %6.2f ms%n",
+                    time(() -> objectMedian(objects)), time(() -> columns.salaryPercentile(null, 0.5)));
+        }
+    }
+    
+    private static double time(Runnable task) {
+        task.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            task.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / ROUNDS;
+    }
+    
+    private static SalaryStats objectStats(InMemoryJobRepository repository, String company) {
+        long jobs = 0;
+        long salaries = 0;
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (Job job : repository.scan()) {
+            if (company == null || company.equals(job.getCompany())) {
+                jobs++;
+                Double salary = job.getSalary();
+                if (salary != null) {
+                    salaries++;
+                    sum += salary;
+                    min = Math.min(min, salary);
+                    max = Math.max(max, salary);
+                }
+            }
+        }
+        return new SalaryStats(jobs, salaries, sum, min, max);
+    }
+    
+    private static double objectMedian(InMemoryJobRepository repository) {
+        return repository.scan().stream()
+                .map(Job::getSalary)
+                .filter(salary -> salary != null)
+                .sorted()
+                .skip(repository.size() * 9L / 20)
+                .findFirst()
+                .orElse(0.0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.example.repository;
+
+import com.example.aggregate.SalaryStats;
+import com.example.model.Job;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты колоночного репозитория вакансий и его агрегатов.
+ */
+class ColumnarJobRepositoryTest {
+    
+    private ColumnarJobRepository repository;
+    
+    @BeforeEach
+    void setUp() {
+        repository = new ColumnarJobRepository();
+    }
+    
+    @Test
+    @DisplayName("CRUD операции сохраняют все поля, включая пустые")
+    void crud_RoundTripsAllFields() {
+        // Arrange
+        Job saved = repository.save(new Job("Java Developer", "TechCorp", 120000.0, "Описание"));
+        Job withoutSalary = repository.save(new Job("Intern", null, null, null));
+        
+        // Act
+        repository.update(new Job(saved.getId(), "Senior Java Developer", "WebSolutions", 150000.0, "Новое"));
+        Job found = repository.findById(saved.getId()).orElseThrow();
+        
+        // Assert
+        assertEquals("Senior Java Developer", found.getTitle());
+        assertEquals("WebSolutions", found.getCompany());
+        assertEquals(150000.0, found.getSalary());
+        assertEquals("Новое", found.getDescription());
+        Job empty = repository.findById(withoutSalary.getId()).orElseThrow();
+        assertNull(empty.getCompany());
+        assertNull(empty.getSalary());
+        assertTrue(repository.delete(saved));
+        assertFalse(repository.delete(saved.getId()));
+        assertEquals(List.of(withoutSalary.getId()), repository.findAll().stream().map(Job::getId).toList());
+    }
+    
+    @Test
+    @DisplayName("Удаление переносит последнюю строку, сохраняя ее данные и порядок страниц")
+    void delete_MovesLastRow() {
+        // Arrange
+        for (int i = 1; i <= 5; i++) {
+            repository.save(new Job("Job" + i, i % 2 == 0 ? "Even" : "Odd", i % 3 == 0 ? null : i * 10.0, null));
+        }
+        
+        // Act
+        repository.delete(2L);
+        
+        // Assert
+        Job moved = repository.findById(5L).orElseThrow();
+        assertEquals("Job5", moved.getTitle());
+        assertEquals(50.0, moved.getSalary());
+        assertEquals(List.of(3L, 4L), repository.findPage(1L, 2).stream().map(Job::getId).toList());
+        assertEquals(4, repository.size());
+    }
+    
+    @Test
+    @DisplayName("Сводка по компании и по всем вакансиям учитывает пустые зарплаты")
+    void salaryStats_ByCompany() {
+        // Arrange
+        repository.save(new Job("A", "TechCorp", 100.0, null));
+        repository.save(new Job("B", "TechCorp", 300.0, null));
+        repository.save(new Job("C", "TechCorp", null, null));
+        repository.save(new Job("D", "WebSolutions", 50.0, null));
+        
+        // Act
+        SalaryStats techCorp = repository.salaryStats("TechCorp");
+        SalaryStats all = repository.salaryStats(null);
+        SalaryStats range = repository.salaryStats(null, 60, 400);
+        
+        // Assert
+        assertEquals(3, techCorp.getJobCount());
+        assertEquals(2, techCorp.getSalaryCount());
+        assertEquals(200.0, techCorp.getAverage());
+        assertEquals(4, all.getJobCount());
+        assertEquals(50.0, all.getMin());
+        assertEquals(300.0, all.getMax());
+        assertEquals(2, range.getSalaryCount());
+        assertEquals(400.0, range.getSum());
+        assertSame(SalaryStats.EMPTY, repository.salaryStats("Unknown"));
+        assertEquals(300.0, repository.salaryPercentile("TechCorp", 1.0));
+        assertEquals(100.0, repository.salaryPercentile("TechCorp", 0.5));
+        assertNull(repository.salaryPercentile("Unknown", 0.5));
+    }
+    
+    @Test
+    @DisplayName("Агрегаты совпадают с обходом объектов при случайных изменениях")
+    void aggregates_MatchObjectScan() {
+        // Arrange
+        Random random = new Random(44);
+        String[] companies = {"TechCorp", "WebSolutions", "CloudSystems", null};
+        
+        for (int i = 0; i < 3_000; i++) {
+            // Act
+            int op = random.nextInt(4);
+            if (op < 2 || repository.size() == 0) {
+                repository.save(new Job("J" + i, companies[random.nextInt(companies.length)],
+                        random.nextInt(6) == 0 ? null : (double) random.nextInt(1_000), null));
+            } else if (op == 2) {
+                long id = 1 + random.nextInt(i + 1);
+                if (repository.findById(id).isPresent()) {
+                    repository.update(new Job(id, "U", companies[random.nextInt(companies.length)],
+                            random.nextInt(6) == 0 ? null : (double) random.nextInt(1_000), null));
+                }
+            } else {
+                repository.delete((long) (1 + random.nextInt(i + 1)));
+            }
+            
+            // Assert
+            if (i % 97 == 0) {
+                for (String company : companies) {
+                    assertStatsMatch(company);
+                }
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Некорректные аргументы отклоняются")
+    void invalidArguments_ThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> repository.save(null));
+        assertThrows(IllegalArgumentException.class, () -> repository.save(new Job("A", "B", Double.NaN, null)));
+        assertThrows(IllegalArgumentException.class, () -> repository.update(new Job(99L, "A", "B", 1.0, null)));
+        assertThrows(IllegalArgumentException.class, () -> repository.salaryStats(null, 10, 1));
+        assertThrows(IllegalArgumentException.class, () -> repository.salaryPercentile(null, 1.5));
+    }
+    
+    private void assertStatsMatch(String company) {
+        List<Double> salaries = new ArrayList<>();
+        long jobs = 0;
+        for (Job job : repository.findAll()) {
+            if (company == null || company.equals(job.getCompany())) {
+                jobs++;
+                if (job.getSalary() != null) {
+                    salaries.add(job.getSalary());
+                }
+            }
+        }
+        SalaryStats stats = repository.salaryStats(company);
+        assertEquals(jobs, stats.getJobCount());
+        assertEquals(salaries.size(), stats.getSalaryCount());
+        assertEquals(salaries.stream().mapToDouble(Double::doubleValue).sum(), stats.getSum(), 1e-6);
+        salaries.sort(null);
+        if (salaries.isEmpty()) {
+            assertNull(stats.getMin());
+            assertNull(repository.salaryPercentile(company, 0.9));
+        } else {
+            assertEquals(salaries.get(0), stats.getMin());
+            assertEquals(salaries.get(salaries.size() - 1), stats.getMax());
+            int rank = Math.max(0, (int) Math.ceil(0.9 * salaries.size()) - 1);
+            assertEquals(salaries.get(rank), repository.salaryPercentile(company, 0.9));
+            long inRange = salaries.stream().filter(s -> s >= 200 && s <= 700).count();
+            assertEquals(inRange, repository.salaryStats(company, 200, 700).getSalaryCount());
+        }
+    }
+}
\ No newline at end of file
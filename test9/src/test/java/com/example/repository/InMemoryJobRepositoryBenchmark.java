@@ -0,0 +1,94 @@
+package com.example.repository;
+
+import com.example.model.Job;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Замер InMemoryJobRepository на миллионах вакансий: скорость загрузки,
+ * задержка поиска по диапазону зарплаты и по компании, пропускная способность
+ * смешанной нагрузки из нескольких потоков.
+ * Запуск: {@code java -Xmx2g -cp target/classes:target/test-classes com.example.repository.InMemoryJobRepositoryBenchmark 2000000}
+ */
+public class InMemoryJobRepositoryBenchmark {
+    
+    private static final int COMPANIES = 10_000;
+    private static final int QUERIES = 1_000;
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 50_000;
+    
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        InMemoryJobRepository repository = new InMemoryJobRepository();
+        SplittableRandom random = new SplittableRandom(42);
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            repository.save(randomJob(random));
+        }
+        System.out.printf("load:    %,d jobs  %,.0f saves/s%n", count, count / ((System.nanoTime() - start) / 1e9));
+        
+        start = System.nanoTime();
+        long found = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            double min = 30_000 + random.nextInt(250_000);
+            found += repository.findBySalaryBetween(min, min + 100).size();
+        }
+        System.out.printf("salary:  %.1f us/query  (%.1f hits)%n",
+                (System.nanoTime() - start) / 1e3 / QUERIES, (double) found / QUERIES);
+        
+        start = System.nanoTime();
+        found = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            found += repository.findByCompany("Компания " + random.nextInt(COMPANIES)).size();
+        }
+        System.out.printf("company: %.1f us/query  (%.1f hits)%n",
+                (System.nanoTime() - start) / 1e3 / QUERIES, (double) found / QUERIES);
+        
+        System.out.printf("mixed:   %,.0f ops/s (%d threads, 10%% writes)%n", mixed(repository, count), THREADS);
+    }
+    
+    private static double mixed(InMemoryJobRepository repository, int count) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        AtomicLong sink = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            long seed = t;
+            futures.add(pool.submit(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                long local = 0;
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    int kind = random.nextInt(10);
+                    if (kind == 0) {
+                        Job job = randomJob(random);
+                        job.setId(1L + random.nextInt(count));
+                        repository.save(job);
+                    } else if (kind < 5) {
+                        local += repository.findById(1L + random.nextInt(count)).isPresent() ? 1 : 0;
+                    } else {
+                        double min = 30_000 + random.nextInt(250_000);
+                        local += repository.findBySalaryBetween(min, min + 100).size();
+                    }
+                }
+                sink.addAndGet(local);
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        return THREADS * (double) OPERATIONS_PER_THREAD / ((System.nanoTime() - start) / 1e9);
+    }
+    
+    private static Job randomJob(SplittableRandom random) {
+        Double salary = random.nextInt(20) == 0 ? null : 30_000 + random.nextInt(250_000) + random.nextInt(100) / 100.0;
+        return new Job("Должность " + random.nextInt(500), "Компания " + random.nextInt(COMPANIES), salary, null);
+    }
+}
\ No newline at end of file
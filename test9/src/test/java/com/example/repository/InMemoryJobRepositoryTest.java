@@ -0,0 +1,217 @@
+package com.example.repository;
+
+import com.example.aggregate.CompanySalaryView;
+import com.example.aggregate.SalaryStats;
+import com.example.compress.CompressedJob;
+import com.example.compress.LzCodec;
+import com.example.model.Job;
+import com.example.query.JobAttributes;
+import com.example.query.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static com.example.query.Conditions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты in-memory реализации JobRepository.
+ */
+class InMemoryJobRepositoryTest {
+    
+    private InMemoryJobRepository repository;
+    
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryJobRepository();
+    }
+    
+    private static List<Long> ids(List<Job> jobs) {
+        return jobs.stream().map(Job::getId).collect(Collectors.toList());
+    }
+    
+    @Test
+    @DisplayName("Сохранение присваивает id и хранит копию")
+    void save_AssignsIdAndStoresCopy() {
+        // Arrange
+        Job job = new Job("Java Developer", "TechCorp", 120000.0, "Backend");
+        
+        // Act
+        Job saved = repository.save(job);
+        job.setSalary(1.0);
+        
+        // Assert
+        assertEquals(1L, saved.getId());
+        assertNull(job.getId());
+        assertEquals(120000.0, repository.findById(1L).orElseThrow().getSalary());
+    }
+    
+    @Test
+    @DisplayName("Диапазон зарплат упорядочен и не включает вакансии без зарплаты")
+    void findBySalaryBetween_OrderedAndExcludesNulls() {
+        // Arrange
+        repository.save(new Job("A", "TechCorp", 150000.0, null));
+        repository.save(new Job("B", "TechCorp", 90000.0, null));
+        repository.save(new Job("C", "WebSolutions", null, null));
+        repository.save(new Job("D", "WebSolutions", 120000.0, null));
+        
+        // Act
+        List<Job> result = repository.findBySalaryBetween(90000.0, 150000.0);
+        
+        // Assert
+        assertEquals(List.of(2L, 4L, 1L), ids(result));
+        assertEquals(List.of(3L), ids(repository.findWithoutSalary()));
+        assertEquals(List.of(), repository.findBySalaryBetween(0.0, 89999.0));
+    }
+    
+    @Test
+    @DisplayName("Обновление и удаление поддерживают индексы согласованными")
+    void updateAndDelete_KeepIndexesConsistent() {
+        // Arrange
+        Job saved = repository.save(new Job("A", "TechCorp", null, null));
+        
+        // Act
+        repository.update(new Job(saved.getId(), "A", "WebSolutions", 100000.0, null));
+        
+        // Assert
+        assertEquals(List.of(), repository.findByCompany("TechCorp"));
+        assertEquals(List.of(saved.getId()), ids(repository.findByCompany("WebSolutions")));
+        assertEquals(List.of(saved.getId()), ids(repository.findBySalaryBetween(100000.0, 100000.0)));
+        assertEquals(List.of(), repository.findWithoutSalary());
+        
+        // Act
+        assertTrue(repository.delete(saved));
+        
+        // Assert
+        assertEquals(List.of(), repository.findByCompany("WebSolutions"));
+        assertEquals(List.of(), repository.findBySalaryBetween(0.0, 1e9));
+        assertFalse(repository.delete(saved.getId()));
+    }
+    
+    @Test
+    @DisplayName("Изменение возвращенной вакансии и обновление сохраняют индексы и представления согласованными")
+    void update_MutatedReturnedJob_KeepsIndexesAndViewsConsistent() {
+        // Arrange
+        CompanySalaryView view = repository.registerView(new CompanySalaryView());
+        Job saved = repository.save(new Job("A", "TechCorp", 100.0, null));
+        saved.setSalary(500.0);
+        
+        // Assert
+        assertEquals(100.0, repository.findById(saved.getId()).orElseThrow().getSalary());
+        
+        // Act
+        repository.update(saved);
+        
+        // Assert
+        assertEquals(List.of(), repository.findBySalaryBetween(90.0, 110.0));
+        assertEquals(List.of(saved.getId()), ids(repository.findBySalaryBetween(490.0, 510.0)));
+        SalaryStats stats = view.statsFor("TechCorp");
+        assertEquals(500.0, stats.getSum());
+        assertEquals(500.0, stats.getMin());
+        assertEquals(500.0, stats.getMax());
+        
+        // Act
+        repository.findAll().forEach(job -> job.setCompany("Other"));
+        repository.findByCompany("TechCorp").forEach(job -> job.setSalary(1.0));
+        
+        // Assert
+        assertEquals(List.of(saved.getId()), ids(repository.findByCompany("TechCorp")));
+        assertEquals(500.0, repository.findById(saved.getId()).orElseThrow().getSalary());
+    }
+    
+    @Test
+    @DisplayName("Копии сжатых вакансий не распаковывают описание и не делят состояние")
+    void findById_CompressedJob_ReturnsIndependentCopy() {
+        // Arrange
+        InMemoryJobRepository compressed = new InMemoryJobRepository(new LzCodec());
+        Job saved = compressed.save(new Job("A", "TechCorp", 100.0, "Описание вакансии"));
+        
+        // Act
+        Job copy = compressed.findById(saved.getId()).orElseThrow();
+        copy.setDescription("Другое");
+        
+        // Assert
+        assertInstanceOf(CompressedJob.class, copy);
+        assertEquals("Описание вакансии", compressed.findById(saved.getId()).orElseThrow().getDescription());
+    }
+    
+    @Test
+    @DisplayName("Страница читается по возрастанию id без материализации хранилища")
+    void findPage_ReturnsOrderedSlice() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            repository.save(new Job("Job" + i, "TechCorp", 1000.0 * i, null));
+        }
+        repository.delete(5L);
+        
+        // Act
+        List<Job> page = repository.findPage(3L, 3);
+        
+        // Assert
+        assertEquals(List.of(4L, 6L, 7L), ids(page));
+    }
+    
+    @Test
+    @DisplayName("Запросы используют индекс зарплаты")
+    void query_UsesSalaryIndex() {
+        // Arrange
+        for (int i = 0; i < 100; i++) {
+            repository.save(new Job("Job" + i, "Company" + i % 10, 1000.0 * i, null));
+        }
+        Query<Job> query = Query.where(between(JobAttributes.SALARY, 10000.0, 12000.0));
+        
+        // Act
+        List<Job> result = query.execute(repository);
+        
+        // Assert
+        assertEquals(3, result.size());
+        assertTrue(query.explain(repository).contains("IndexLookup[sorted salary]"));
+    }
+    
+    @Test
+    @DisplayName("Параллельные сохранения не теряют записей в индексах")
+    void concurrentSaves_KeepIndexesComplete() throws Exception {
+        // Arrange
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        
+        // Act
+        for (int t = 0; t < 4; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    repository.save(new Job("Job", "TechCorp", i % 2 == 0 ? null : (double) i, null));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        
+        // Assert
+        assertEquals(2000, repository.size());
+        assertEquals(2000, repository.findByCompany("TechCorp").size());
+        assertEquals(1000, repository.findWithoutSalary().size());
+        assertEquals(1000, repository.findBySalaryBetween(0.0, 1000.0).size());
+    }
+    
+    @Test
+    @DisplayName("Недопустимые аргументы - должно выбросить исключение")
+    void invalidArguments_ThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> repository.save(null));
+        assertThrows(IllegalArgumentException.class, () -> repository.save(new Job("A", "B", Double.NaN, null)));
+        assertThrows(IllegalArgumentException.class, () -> repository.update(new Job("A", "B", 1.0, null)));
+        assertThrows(IllegalArgumentException.class, () -> repository.update(new Job(99L, "A", "B", 1.0, null)));
+        assertThrows(IllegalArgumentException.class, () -> repository.findBySalaryBetween(2.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> repository.findBySalaryBetween(null, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> repository.findByCompany(null));
+        assertThrows(IllegalArgumentException.class, () -> repository.findPage(null, 0));
+    }
+}
\ No newline at end of file
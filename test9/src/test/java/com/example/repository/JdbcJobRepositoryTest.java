@@ -0,0 +1,163 @@
+package com.example.repository;
+
+import com.example.model.Job;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты JDBC-репозитория вакансий на встроенной базе H2.
+ */
+class JdbcJobRepositoryTest {
+    
+    private String url;
+    
+    /** Соединение, удерживающее базу в памяти и проверяющее видимость записей извне */
+    private Connection observer;
+    
+    @BeforeEach
+    void setUp() throws SQLException {
+        url = "jdbc:h2:mem:" + UUID.randomUUID();
+        observer = DriverManager.getConnection(url);
+    }
+    
+    @AfterEach
+    void tearDown() throws SQLException {
+        observer.close();
+    }
+    
+    @Test
+    @DisplayName("CRUD операции работают, а идентификаторы продолжаются после переоткрытия")
+    void crud_WorksAndIdsContinueAfterReopen() throws SQLException {
+        // Arrange
+        try (JdbcJobRepository repository = new JdbcJobRepository(DriverManager.getConnection(url))) {
+            Job first = repository.save(new Job("Java Developer", "TechCorp", 120000.0, "Описание"));
+            Job second = repository.save(new Job("Intern", null, null, null));
+            
+            // Act
+            repository.update(new Job(first.getId(), "Senior Java Developer", "TechCorp", 150000.0, "Новое"));
+            Job temporary = repository.save(new Job("Temporary", "X", 1.0, null));
+            
+            // Assert
+            assertEquals(new Job(second.getId(), "Intern", null, null, null), repository.findById(second.getId()).orElseThrow());
+            assertTrue(repository.delete(second.getId()));
+            assertFalse(repository.delete(second.getId()));
+            assertEquals("Senior Java Developer", repository.findById(first.getId()).orElseThrow().getTitle());
+            assertEquals(1.0, repository.findById(temporary.getId()).orElseThrow().getSalary());
+            assertTrue(repository.findById(99L).isEmpty());
+            assertThrows(IllegalArgumentException.class,
+                    () -> repository.update(new Job(99L, "A", "B", 1.0, null)));
+        }
+        try (JdbcJobRepository repository = new JdbcJobRepository(DriverManager.getConnection(url))) {
+            assertEquals(List.of(1L, 3L), repository.findAll().stream().map(Job::getId).toList());
+            assertEquals(4L, repository.save(new Job("Next", "Y", null, null)).getId());
+        }
+    }
+    
+    @Test
+    @DisplayName("Одиночное сохранение сразу видно извне, пакетное - после возврата saveAll")
+    void save_IsVisibleImmediately() throws SQLException {
+        try (JdbcJobRepository repository = new JdbcJobRepository(DriverManager.getConnection(url), 3, 10)) {
+            // Act
+            repository.save(new Job("A", "X", 1.0, null));
+            
+            // Assert
+            assertEquals(1, countRows());
+            repository.save(new Job("B", "X", 2.0, null));
+            assertEquals(2, countRows());
+            repository.saveAll(List.of(new Job("C", "X", 3.0, null), new Job("D", "X", 4.0, null)));
+            assertEquals(4, countRows());
+        }
+    }
+    
+    @Test
+    @DisplayName("Пакетное сохранение фиксирует все записи, а пакетное обновление откатывается целиком")
+    void saveAllAndUpdateAll_AreAtomicPerCall() throws SQLException {
+        try (JdbcJobRepository repository = new JdbcJobRepository(DriverManager.getConnection(url), 4, 10)) {
+            // Arrange
+            List<Job> jobs = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                jobs.add(new Job("Job " + i, "Company", (double) i, null));
+            }
+            List<Job> saved = repository.saveAll(jobs);
+            assertEquals(10, countRows());
+            
+            // Act
+            List<Job> raised = saved.stream()
+                    .map(job -> new Job(job.getId(), job.getTitle(), job.getCompany(), job.getSalary() + 100, null))
+                    .toList();
+            repository.updateAll(raised);
+            List<Job> withMissing = new ArrayList<>(raised.subList(0, 6));
+            withMissing.replaceAll(job -> new Job(job.getId(), "Changed", null, null, null));
+            withMissing.add(new Job(99L, "Missing", null, null, null));
+            
+            // Assert
+            assertThrows(IllegalArgumentException.class, () -> repository.updateAll(withMissing));
+            assertEquals(raised, repository.findAll());
+        }
+    }
+    
+    @Test
+    @DisplayName("Поток и постраничное чтение обходят вакансии по возрастанию id")
+    void streamAllAndFindPage_ReturnAscendingIds() throws SQLException {
+        try (JdbcJobRepository repository = new JdbcJobRepository(DriverManager.getConnection(url), 50, 7)) {
+            // Arrange
+            for (long id = 100; id > 0; id--) {
+                repository.save(new Job(id, "Job " + id, "Company", null, null));
+            }
+            
+            // Act
+            List<Long> streamed;
+            try (Stream<Job> all = repository.streamAll()) {
+                streamed = all.map(Job::getId).toList();
+            }
+            List<Job> page = repository.findPage(40L, 5);
+            Job lowest = repository.save(new Job(Long.MIN_VALUE, "Lowest", null, null, null));
+            List<Job> firstPage = repository.findPage(null, 2);
+            
+            // Assert
+            assertEquals(100, streamed.size());
+            for (int i = 0; i < streamed.size(); i++) {
+                assertEquals(i + 1, streamed.get(i));
+            }
+            assertEquals(List.of(41L, 42L, 43L, 44L, 45L), page.stream().map(Job::getId).toList());
+            assertEquals(List.of(lowest.getId(), 1L), firstPage.stream().map(Job::getId).toList());
+            assertEquals(101L, repository.save(new Job("New", null, null, null)).getId());
+        }
+    }
+    
+    @Test
+    @DisplayName("Недопустимые аргументы - должно выбросить исключение")
+    void invalidArguments_ThrowException() throws SQLException {
+        assertThrows(IllegalArgumentException.class, () -> new JdbcJobRepository(null));
+        try (JdbcJobRepository repository = new JdbcJobRepository(DriverManager.getConnection(url))) {
+            assertThrows(IllegalArgumentException.class, () -> repository.save(null));
+            assertThrows(IllegalArgumentException.class, () -> repository.save(new Job("A", "B", Double.NaN, null)));
+            assertThrows(IllegalArgumentException.class, () -> repository.update(new Job("A", "B", 1.0, null)));
+            assertThrows(IllegalArgumentException.class, () -> repository.findById(null));
+            assertThrows(IllegalArgumentException.class, () -> repository.findPage(null, 0));
+            assertThrows(IllegalArgumentException.class, () -> repository.saveAll(null));
+        }
+    }
+    
+    private int countRows() throws SQLException {
+        try (Statement statement = observer.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM jobs")) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.example.repository;
+
+import com.example.model.Person;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты JDBC-репозитория людей на встроенной базе H2.
+ */
+class JdbcPersonRepositoryTest {
+    
+    private final String url = "jdbc:h2:mem:" + UUID.randomUUID();
+    
+    @Test
+    @DisplayName("CRUD операции работают с пустыми полями")
+    void crud_Works() throws SQLException {
+        try (JdbcPersonRepository repository = new JdbcPersonRepository(DriverManager.getConnection(url))) {
+            // Arrange
+            Person ivan = repository.save(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+            Person anonymous = repository.save(new Person(null, null, null, null));
+            
+            // Act
+            repository.update(new Person(ivan.getId(), "Иван", "Петров", 31, "ivan@mail.ru"));
+            
+            // Assert
+            assertEquals(new Person(ivan.getId(), "Иван", "Петров", 31, "ivan@mail.ru"),
+                    repository.findById(ivan.getId()).orElseThrow());
+            assertNull(repository.findById(anonymous.getId()).orElseThrow().getAge());
+            assertTrue(repository.delete(anonymous));
+            assertEquals(List.of(ivan.getId()), repository.findAll().stream().map(Person::getId).toList());
+            assertThrows(IllegalArgumentException.class,
+                    () -> repository.update(new Person(99L, "A", "B", 1, "a@b.c")));
+        }
+    }
+    
+    @Test
+    @DisplayName("Пакетные сохранение и обновление, поток и страницы видят одинаковые данные")
+    void batchesAndStreaming_Agree() throws SQLException {
+        try (JdbcPersonRepository repository = new JdbcPersonRepository(DriverManager.getConnection(url), 16, 5)) {
+            // Arrange
+            List<Person> persons = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                persons.add(new Person("Имя" + i, "Фамилия", 20 + i % 50, "user" + i + "@example.com"));
+            }
+            List<Person> saved = repository.saveAll(persons);
+            
+            // Act
+            repository.updateAll(saved.stream()
+                    .map(person -> new Person(person.getId(), person.getFirstName(), "Новая", person.getAge(), person.getEmail()))
+                    .toList());
+            List<Person> streamed;
+            try (Stream<Person> all = repository.streamAll()) {
+                streamed = all.toList();
+            }
+            
+            // Assert
+            assertEquals(100, streamed.size());
+            assertTrue(streamed.stream().allMatch(person -> "Новая".equals(person.getLastName())));
+            assertEquals(streamed.subList(10, 20), repository.findPage(10L, 10));
+            assertThrows(IllegalArgumentException.class,
+                    () -> repository.updateAll(List.of(new Person("Без", "ID", 1, "x@y.z"))));
+        }
+    }
+    
+    @Test
+    @DisplayName("Недопустимые аргументы - должно выбросить исключение")
+    void invalidArguments_ThrowException() throws SQLException {
+        assertThrows(IllegalArgumentException.class,
+                () -> new JdbcPersonRepository(DriverManager.getConnection(url), 0, 10));
+        try (JdbcPersonRepository repository = new JdbcPersonRepository(DriverManager.getConnection(url))) {
+            assertThrows(IllegalArgumentException.class, () -> repository.save(null));
+            assertThrows(IllegalArgumentException.class, () -> repository.delete((Long) null));
+            assertThrows(IllegalArgumentException.class, () -> repository.updateAll(null));
+        }
+    }
+}
\ No newline at end of file
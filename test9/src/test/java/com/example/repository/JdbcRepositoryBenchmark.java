@@ -0,0 +1,127 @@
+package com.example.repository;
+
+import com.example.model.Job;
+import com.example.model.Person;
+import com.example.service.PersonService;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Замер JDBC-репозиториев на встроенной базе H2 в сравнении с хранилищами в памяти:
+ * пропускная способность одиночных сохранений и saveAll с пакетами разного размера, задержка
+ * точечного чтения и время полного чтения списком и потоком.
+ * Запуск: {@code java -cp target/classes:target/test-classes:<h2.jar> com.example.repository.JdbcRepositoryBenchmark 100000}
+ */
+public class JdbcRepositoryBenchmark {
+    
+    private static final int READS = 100_000;
+    
+    private static final String DESCRIPTION = "Разработка и поддержка сервисов, участие в проектировании. ";
+    
+    public static void main(String[] args) throws SQLException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        List<Job> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            jobs.add(new Job("Job " + i, "Company " + (i % 100), 1000.0 + i, DESCRIPTION));
+        }
+        
+        InMemoryJobRepository memory = new InMemoryJobRepository();
+        long start = System.nanoTime();
+        jobs.forEach(memory::save);
+        report("jobs in-memory", count, start);
+        readJobs(memory, count);
+        
+        try (JdbcJobRepository repository = openJobs(JdbcJobRepository.DEFAULT_BATCH_SIZE)) {
+            start = System.nanoTime();
+            jobs.forEach(repository::save);
+            report("jobs jdbc save", count, start);
+            readJobs(repository, count);
+        }
+        try (JdbcJobRepository repository = openJobs(1)) {
+            start = System.nanoTime();
+            repository.saveAll(jobs);
+            report("jobs jdbc saveAll, batch 1", count, start);
+        }
+        try (JdbcJobRepository repository = openJobs(JdbcJobRepository.DEFAULT_BATCH_SIZE)) {
+            start = System.nanoTime();
+            repository.saveAll(jobs);
+            report("jobs jdbc saveAll, batch " + JdbcJobRepository.DEFAULT_BATCH_SIZE, count, start);
+            start = System.nanoTime();
+            List<Job> raised = new ArrayList<>(count);
+            for (Job job : repository.findAll()) {
+                raised.add(new Job(job.getId(), job.getTitle(), job.getCompany(), job.getSalary() + 1, job.getDescription()));
+            }
+            repository.updateAll(raised);
+            report("jobs jdbc findAll + updateAll", count, start);
+            start = System.nanoTime();
+            long streamed;
+            try (Stream<Job> all = repository.streamAll()) {
+                streamed = all.count();
+            }
+            report("jobs jdbc streamAll", streamed, start);
+        }
+        
+        PersonService service = new PersonService();
+        start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            service.createPerson(person(i));
+        }
+        report("persons in-memory service", count, start);
+        SplittableRandom random = new SplittableRandom(7);
+        start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            service.getPersonById(1 + random.nextLong(count));
+        }
+        reportLatency("persons in-memory getPersonById", start);
+        try (JdbcPersonRepository repository = new JdbcPersonRepository(
+                DriverManager.getConnection("jdbc:h2:mem:persons-benchmark"))) {
+            start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                repository.save(person(i));
+            }
+            report("persons jdbc save", count, start);
+            start = System.nanoTime();
+            for (int i = 0; i < READS; i++) {
+                repository.findById(1 + random.nextLong(count));
+            }
+            reportLatency("persons jdbc findById", start);
+        }
+    }
+    
+    private static JdbcJobRepository openJobs(int batchSize) throws SQLException {
+        // Каждый запуск получает новую базу: имя уникально, а закрытие соединения ее удаляет
+        String url = "jdbc:h2:mem:jobs-benchmark-" + System.nanoTime();
+        return new JdbcJobRepository(DriverManager.getConnection(url), batchSize, JdbcJobRepository.DEFAULT_FETCH_SIZE);
+    }
+    
+    private static void readJobs(JobRepository repository, int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        long start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            repository.findById(1 + random.nextLong(count));
+        }
+        reportLatency("  findById", start);
+        start = System.nanoTime();
+        int size = repository.findAll().size();
+        report("  findAll", size, start);
+    }
+    
+    private static Person person(int i) {
+        return new Person("Имя" + i, "Фамилия" + (i % 1000), 20 + i % 50, "user" + i + "@example.com");
+    }
+    
+    private static void report(String label, long operations, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-36s %,10d ops  %8.3f s  %,12.0f ops/s%n", label, operations, seconds, operations / seconds);
+    }
+    
+    private static void reportLatency(String label, long start) {
+        double micros = (System.nanoTime() - start) / 1e3 / READS;
+        System.out.printf("%-36s %,10d ops  %8.2f us/op%n", label, READS, micros);
+    }
+}
\ No newline at end of file
@@ -135,6 +135,9 @@ class JobRepositoryTest {
             JobRepository.class.getMethod("update", Job.class);
             JobRepository.class.getMethod("delete", Long.class);
             JobRepository.class.getMethod("delete", Job.class);
+            JobRepository.class.getMethod("findPage", Long.class, int.class);
+            JobRepository.class.getMethod("findAllPublisher");
+            JobRepository.class.getMethod("findAllPublisher", int.class);
         } catch (NoSuchMethodException e) {
             fail("Интерфейс JobRepository должен содержать все объявленные методы: " + e.getMessage());
         }
@@ -0,0 +1,67 @@
+package com.example.repository;
+
+import com.example.lsm.LsmOptions;
+import com.example.lsm.LsmStats;
+import com.example.model.Job;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Замер репозитория вакансий на LSM-движке: скорость записи (вставки и обновления
+ * случайных ключей), точечного чтения существующих и отсутствующих ключей и усиление записи.
+ * Запуск: {@code java -cp target/classes:target/test-classes com.example.repository.LsmJobRepositoryBenchmark 1000000}
+ */
+public class LsmJobRepositoryBenchmark {
+    
+    private static final int READS = 200_000;
+    
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path directory = Files.createTempDirectory("lsm-benchmark");
+        SplittableRandom random = new SplittableRandom(42);
+        String description = "Разработка и поддержка сервисов, участие в проектировании, code review. ".repeat(3);
+        try (LsmJobRepository repository = new LsmJobRepository(directory, new LsmOptions())) {
+            // Вакансии получают четные id; нечетные id внутри диапазона - отсутствующие ключи
+            long inserted = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                // Каждая пятая запись обновляет уже существующую вакансию
+                long id = i > 0 && i % 5 == 0 ? 2 * (1 + random.nextLong(inserted)) : 2 * ++inserted;
+                repository.save(new Job(id, "Job " + i, "Company " + (i % 100), 1000.0 + i, description));
+            }
+            double writeSeconds = (System.nanoTime() - start) / 1e9;
+            start = System.nanoTime();
+            repository.flush();
+            double settleSeconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("write: %,d jobs  %,.0f writes/s  (flush + compaction backlog %.1f s)%n",
+                    count, count / writeSeconds, settleSeconds);
+            
+            for (int round = 0; round < 3; round++) {
+                start = System.nanoTime();
+                int found = 0;
+                for (int i = 0; i < READS; i++) {
+                    found += repository.findById(2 * (1 + random.nextLong(inserted))).isPresent() ? 1 : 0;
+                }
+                double hitSeconds = (System.nanoTime() - start) / 1e9;
+                start = System.nanoTime();
+                for (int i = 0; i < READS; i++) {
+                    repository.findById(2 * random.nextLong(inserted) + 1);
+                }
+                double missSeconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("read:  existing %,.0f reads/s (%d%% found)  missing in range %,.0f reads/s%n",
+                        READS / hitSeconds, found * 100 / READS, READS / missSeconds);
+            }
+            LsmStats stats = repository.stats();
+            System.out.printf("write amplification %.2f  %s%n", stats.getWriteAmplification(), stats);
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.example.repository;
+
+import com.example.lsm.LsmOptions;
+import com.example.model.Job;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты репозитория вакансий на LSM-движке.
+ */
+class LsmJobRepositoryTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    @DisplayName("CRUD операции работают и переживают переоткрытие хранилища")
+    void crud_SurvivesReopen() throws IOException {
+        // Arrange
+        Job first;
+        Job second;
+        try (LsmJobRepository repository = new LsmJobRepository(directory)) {
+            first = repository.save(new Job("Java Developer", "TechCorp", 120000.0, "Описание"));
+            second = repository.save(new Job("Intern", null, null, null));
+            
+            // Act
+            repository.update(new Job(first.getId(), "Senior Java Developer", "TechCorp", 150000.0, "Новое"));
+            repository.save(new Job("Temporary", "X", 1.0, null));
+            assertTrue(repository.delete(3L));
+            
+            // Assert
+            assertFalse(repository.delete(3L));
+            assertThrows(IllegalArgumentException.class,
+                    () -> repository.update(new Job(99L, "A", "B", 1.0, null)));
+        }
+        try (LsmJobRepository repository = new LsmJobRepository(directory)) {
+            Job found = repository.findById(first.getId()).orElseThrow();
+            assertEquals("Senior Java Developer", found.getTitle());
+            assertEquals(150000.0, found.getSalary());
+            assertNull(repository.findById(second.getId()).orElseThrow().getSalary());
+            assertEquals(List.of(1L, 2L), repository.findAll().stream().map(Job::getId).toList());
+            assertEquals(4L, repository.save(new Job("Next", "Y", null, null)).getId());
+        }
+    }
+    
+    @Test
+    @DisplayName("Постраничное чтение обходит данные из памяти и с диска по возрастанию id")
+    void findPage_MergesMemoryAndDisk() throws IOException {
+        // Arrange
+        LsmOptions options = new LsmOptions().setMemtableBytes(4 * 1024).setLevel0CompactionTrigger(2);
+        try (LsmJobRepository repository = new LsmJobRepository(directory, options)) {
+            for (int i = 0; i < 500; i++) {
+                repository.save(new Job("Job " + i, "Company", (double) i, "Описание вакансии номер " + i));
+            }
+            repository.flush();
+            for (long id = 1; id <= 500; id += 2) {
+                repository.delete(id);
+            }
+            
+            // Act
+            List<Job> page = repository.findPage(100L, 5);
+            
+            // Assert
+            assertEquals(List.of(102L, 104L, 106L, 108L, 110L), page.stream().map(Job::getId).toList());
+            assertEquals(250, repository.findAll().size());
+            assertTrue(repository.stats().getFlushCount() > 1);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,232 @@
+package com.example.repository;
+
+import com.example.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса PagedPublisher и издателей репозиториев.
+ */
+class PagedPublisherTest {
+    
+    private static final int PAGE_SIZE = 10;
+    
+    private final TreeMap<Long, Person> store = new TreeMap<>();
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final AtomicInteger fetchedItems = new AtomicInteger();
+    
+    @BeforeEach
+    void setUp() {
+        for (long id = 1; id <= 95; id++) {
+            store.put(id, new Person(id, "Имя", "Фамилия", 30, "user" + id + "@example.com"));
+        }
+    }
+    
+    private List<Person> fetch(Long afterId, int limit) {
+        fetches.incrementAndGet();
+        List<Person> page = new ArrayList<>();
+        for (Person person : (afterId == null ? store : store.tailMap(afterId, false)).values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(person);
+        }
+        fetchedItems.addAndGet(page.size());
+        return page;
+    }
+    
+    private PagedPublisher<Person> publisher() {
+        return new PagedPublisher<>(this::fetch, Person::getId, PAGE_SIZE);
+    }
+    
+    @Test
+    @DisplayName("Доставляется ровно столько элементов, сколько запрошено")
+    void request_DeliversOnlyRequestedItems() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher().subscribe(subscriber);
+        
+        subscriber.subscription.request(3);
+        
+        assertEquals(3, subscriber.items.size());
+        assertEquals(1, fetches.get());
+        assertFalse(subscriber.completed);
+    }
+    
+    @Test
+    @DisplayName("Медленный подписчик получает все элементы, буфер не больше страницы")
+    void slowSubscriber_ReceivesAllWithBoundedBuffer() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(1) {
+            @Override
+            public void onNext(Person item) {
+                super.onNext(item);
+                assertTrue(fetchedItems.get() - items.size() < PAGE_SIZE, "В буфере больше одной страницы");
+                subscription.request(1);
+            }
+        };
+        
+        publisher().subscribe(subscriber);
+        
+        assertEquals(95, subscriber.items.size());
+        assertEquals(1L, subscriber.items.get(0).getId());
+        assertEquals(95L, subscriber.items.get(94).getId());
+        assertTrue(subscriber.completed);
+        assertEquals(10, fetches.get());
+    }
+    
+    @Test
+    @DisplayName("Отмена прекращает доставку и чтение хранилища")
+    void cancel_StopsDeliveryAndReads() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0) {
+            @Override
+            public void onNext(Person item) {
+                super.onNext(item);
+                if (items.size() == 15) {
+                    subscription.cancel();
+                }
+            }
+        };
+        publisher().subscribe(subscriber);
+        
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.subscription.request(5);
+        
+        assertEquals(15, subscriber.items.size());
+        assertEquals(2, fetches.get());
+        assertFalse(subscriber.completed);
+    }
+    
+    @Test
+    @DisplayName("request(0) завершает подписку ошибкой")
+    void request_NonPositive_SignalsError() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher().subscribe(subscriber);
+        
+        subscriber.subscription.request(0);
+        
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        assertEquals(0, fetches.get());
+    }
+    
+    @Test
+    @DisplayName("Ошибка чтения хранилища передается подписчику")
+    void fetchFailure_SignalsError() {
+        PagedPublisher<Person> failing = new PagedPublisher<>((after, limit) -> {
+            throw new IllegalStateException("Хранилище недоступно");
+        }, Person::getId, PAGE_SIZE);
+        RecordingSubscriber subscriber = new RecordingSubscriber(5);
+        
+        failing.subscribe(subscriber);
+        
+        assertEquals("Хранилище недоступно", subscriber.error.getMessage());
+        assertFalse(subscriber.completed);
+    }
+    
+    @Test
+    @DisplayName("Доставка в отдельном исполнителе")
+    void executor_DeliversAsynchronously() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch done = new CountDownLatch(1);
+            RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE) {
+                @Override
+                public void onComplete() {
+                    super.onComplete();
+                    done.countDown();
+                }
+            };
+            
+            new PagedPublisher<>(this::fetch, Person::getId, PAGE_SIZE, executor).subscribe(subscriber);
+            
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(95, subscriber.items.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    @DisplayName("Издатель репозитория читает страницами по возрастанию id, не вызывая findAll")
+    void repositoryDefaultPublisher_ReadsPagesSortedById() {
+        PersonRepository repository = new PersonRepository() {
+            @Override
+            public Person save(Person person) { return person; }
+            @Override
+            public Optional<Person> findById(Long id) { return Optional.ofNullable(store.get(id)); }
+            @Override
+            public List<Person> findAll() {
+                throw new UnsupportedOperationException("Полный просмотр не ожидается");
+            }
+            @Override
+            public List<Person> findPage(Long afterId, int limit) { return fetch(afterId, limit); }
+            @Override
+            public Person update(Person person) { return person; }
+            @Override
+            public boolean delete(Long id) { return store.remove(id) != null; }
+            @Override
+            public boolean delete(Person person) { return delete(person.getId()); }
+        };
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        
+        repository.findAllPublisher(7).subscribe(subscriber);
+        
+        assertEquals(95, subscriber.items.size());
+        for (int i = 0; i < subscriber.items.size(); i++) {
+            assertEquals(i + 1L, subscriber.items.get(i).getId());
+        }
+        assertTrue(subscriber.completed);
+        assertEquals(14, fetches.get());
+    }
+    
+    /**
+     * Подписчик, записывающий полученные сигналы.
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<Person> {
+        
+        final List<Person> items = new ArrayList<>();
+        final long initialRequest;
+        Flow.Subscription subscription;
+        boolean completed;
+        Throwable error;
+        
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+        
+        @Override
+        public void onNext(Person item) {
+            items.add(item);
+        }
+        
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+        
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
\ No newline at end of file
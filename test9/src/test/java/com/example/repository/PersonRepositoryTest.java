@@ -131,6 +131,9 @@ class PersonRepositoryTest {
             PersonRepository.class.getMethod("update", Person.class);
             PersonRepository.class.getMethod("delete", Long.class);
             PersonRepository.class.getMethod("delete", Person.class);
+            PersonRepository.class.getMethod("findPage", Long.class, int.class);
+            PersonRepository.class.getMethod("findAllPublisher");
+            PersonRepository.class.getMethod("findAllPublisher", int.class);
         } catch (NoSuchMethodException e) {
             fail("Интерфейс PersonRepository должен содержать все объявленные методы: " + e.getMessage());
         }
@@ -0,0 +1,55 @@
+package com.example.search;
+
+import com.example.model.Job;
+import com.example.repository.InMemoryJobRepository;
+
+import java.util.SplittableRandom;
+
+/**
+ * Замер полнотекстового индекса: скорость индексации через репозиторий,
+ * объем сжатых списков и задержка top-10 запросов по редким и частым словам.
+ * Запуск: {@code java -Xmx2g -cp target/classes:target/test-classes com.example.search.JobTextIndexBenchmark 1000000}
+ */
+public class JobTextIndexBenchmark {
+    
+    private static final int VOCABULARY = 50_000;
+    private static final int QUERIES = 200;
+    
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        InMemoryJobRepository repository = new InMemoryJobRepository();
+        JobTextIndex index = repository.registerView(new JobTextIndex());
+        SplittableRandom random = new SplittableRandom(42);
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            repository.save(new Job(text(random, 3), "Компания", 1.0, text(random, 20)));
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("index: %,d jobs  %,.0f jobs/s  %,d terms  %.1f MB postings%n",
+                count, count / seconds, index.termCount(), index.postingBytes() / 1e6);
+        
+        for (int round = 0; round < 3; round++) {
+            measure(index, random, "rare", VOCABULARY / 2);
+            measure(index, random, "common", 20);
+        }
+    }
+    
+    private static void measure(JobTextIndex index, SplittableRandom random, String label, int range) {
+        long start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            index.search("слово" + (VOCABULARY - 1 - random.nextInt(range)) + " word" + (VOCABULARY - 1 - random.nextInt(range)), 10);
+        }
+        System.out.printf("%-6s 2-term top-10: %.2f ms/query%n", label, (System.nanoTime() - start) / 1e6 / QUERIES);
+    }
+    
+    /** Слова распределены неравномерно: малые номера встречаются намного чаще */
+    private static String text(SplittableRandom random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            int rank = (int) (VOCABULARY * Math.pow(random.nextDouble(), 3));
+            text.append(i % 2 == 0 ? "слово" : "word").append(VOCABULARY - 1 - rank).append(' ');
+        }
+        return text.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.example.search;
+
+import com.example.model.Job;
+import com.example.repository.InMemoryJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты полнотекстового индекса вакансий.
+ */
+class JobTextIndexTest {
+    
+    private InMemoryJobRepository repository;
+    private JobTextIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryJobRepository();
+        index = repository.registerView(new JobTextIndex());
+    }
+    
+    private List<Long> search(String query, int k) {
+        return index.search(query, k).stream().map(SearchHit::getJobId).collect(Collectors.toList());
+    }
+    
+    @Test
+    @DisplayName("Токенизатор понимает кириллицу и латиницу, приводит регистр и ё")
+    void tokenizer_HandlesCyrillicAndLatin() {
+        assertEquals(List.of("java", "разработчик", "ещё".replace('ё', 'е'), "k8s", "c"),
+            Tokenizer.tokenize("Java-РАЗРАБОТЧИК, ЕЩЁ k8s; C++"));
+        assertEquals(List.of(), Tokenizer.tokenize(null));
+    }
+    
+    @Test
+    @DisplayName("Результаты ранжируются по BM25 с приоритетом названия")
+    void search_RanksByBm25WithTitleBoost() {
+        // Arrange
+        Job inTitle = repository.save(new Job("Java разработчик", "TechCorp", 1.0, "Бэкенд сервисы"));
+        Job inDescription = repository.save(new Job("Инженер", "TechCorp", 1.0, "Пишем на Java и Kotlin"));
+        repository.save(new Job("Дизайнер", "WebSolutions", 1.0, "Figma, интерфейсы"));
+        
+        // Act
+        List<Long> result = search("java", 10);
+        
+        // Assert
+        assertEquals(List.of(inTitle.getId(), inDescription.getId()), result);
+    }
+    
+    @Test
+    @DisplayName("Документ с большим числом слов запроса выше")
+    void search_MoreMatchingTermsRankHigher() {
+        // Arrange
+        Job both = repository.save(new Job("Java Kotlin", "A", 1.0, null));
+        Job one = repository.save(new Job("Kotlin", "B", 1.0, null));
+        
+        // Act
+        List<SearchHit> hits = index.search("kotlin JAVA", 10);
+        
+        // Assert
+        assertEquals(both.getId(), hits.get(0).getJobId());
+        assertEquals(one.getId(), hits.get(1).getJobId());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+    
+    @Test
+    @DisplayName("Обновление и удаление вакансии сразу отражаются в поиске")
+    void updateAndDelete_KeepIndexInSync() {
+        // Arrange
+        Job job = repository.save(new Job("Java разработчик", "TechCorp", 1.0, null));
+        
+        // Act
+        repository.update(new Job(job.getId(), "Go разработчик", "TechCorp", 1.0, null));
+        
+        // Assert
+        assertEquals(List.of(), search("java", 10));
+        assertEquals(List.of(job.getId()), search("go", 10));
+        
+        // Act
+        repository.delete(job.getId());
+        
+        // Assert
+        assertEquals(List.of(), search("разработчик", 10));
+        assertEquals(0, index.size());
+    }
+    
+    @Test
+    @DisplayName("Перестройка после массовых удалений сохраняет результаты")
+    void compaction_PreservesResults() {
+        // Arrange
+        for (int i = 0; i < 3000; i++) {
+            repository.save(new Job("Вакансия " + (i % 2 == 0 ? "java" : "python"), "Company", 1.0, "номер" + i));
+        }
+        for (long id = 1; id <= 2500; id++) {
+            repository.delete(id);
+        }
+        
+        // Act
+        List<SearchHit> hits = index.search("java", 1000);
+        
+        // Assert
+        assertEquals(500, index.size());
+        assertEquals(250, hits.size());
+        assertTrue(hits.stream().allMatch(hit -> hit.getJobId() > 2500 && hit.getJobId() % 2 == 1));
+        assertEquals(List.of(2999L), search("номер2998", 10));
+    }
+    
+    @Test
+    @DisplayName("Возвращается не больше k лучших результатов")
+    void search_ReturnsAtMostK() {
+        // Arrange
+        for (int i = 0; i < 50; i++) {
+            repository.save(new Job("Java", "Company", 1.0, i % 5 == 0 ? "java java" : null));
+        }
+        
+        // Act
+        List<SearchHit> hits = index.search("java", 5);
+        
+        // Assert
+        assertEquals(5, hits.size());
+        assertEquals(List.of(1L, 6L, 11L, 16L, 21L), hits.stream().map(SearchHit::getJobId).collect(Collectors.toList()));
+    }
+    
+    @Test
+    @DisplayName("k = Integer.MAX_VALUE возвращает все найденные вакансии")
+    void search_MaxK_ReturnsAllMatches() {
+        // Arrange
+        Job first = repository.save(new Job("Java", "Company", 1.0, null));
+        Job second = repository.save(new Job("Java", "Company", 1.0, null));
+        
+        // Act
+        List<Long> result = search("java", Integer.MAX_VALUE);
+        
+        // Assert
+        assertEquals(List.of(first.getId(), second.getId()), result);
+    }
+    
+    @Test
+    @DisplayName("Недопустимые аргументы - должно выбросить исключение")
+    void invalidArguments_ThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> index.search(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> index.search("java", 0));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.example.service;
+
+import com.example.model.Person;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Сравнение среднего возраста через getAllPersons() и через курсор:
+ * время и объем памяти, выделенной потоком на один проход.
+ * Запуск: {@code java -cp target/classes:target/test-classes com.example.service.PersonCursorBenchmark 1000000}
+ */
+public class PersonCursorBenchmark {
+    
+    private static final int ROUNDS = 10;
+    
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        PersonService service = new PersonService();
+        for (int i = 0; i < count; i++) {
+            service.createPerson(new Person("Имя", "Фамилия", 18 + i % 60, "user" + i + "@example.com"));
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        PersonCursor cursor = service.cursor();
+        for (int round = 0; round < ROUNDS; round++) {
+            long bytes = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            long listSum = 0;
+            for (Person person : service.getAllPersons()) {
+                listSum += person.getAge();
+            }
+            long listNanos = System.nanoTime() - start;
+            long listBytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+            
+            bytes = threads.getCurrentThreadAllocatedBytes();
+            start = System.nanoTime();
+            long cursorSum = 0;
+            service.cursor(cursor);
+            while (cursor.next()) {
+                cursorSum += cursor.age();
+            }
+            long cursorNanos = System.nanoTime() - start;
+            long cursorBytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+            
+            if (listSum != cursorSum) {
+                throw new IllegalStateException("Результаты расходятся");
+            }
+            System.out.printf("list: %6.1f ms %,12d B   cursor: %6.1f ms %,8d B%n",
+                    listNanos / 1e6, listBytes, cursorNanos / 1e6, cursorBytes);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.example.service;
+
+import com.example.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты курсора по хранилищу PersonService.
+ */
+class PersonCursorTest {
+    
+    private PersonService personService;
+    
+    @BeforeEach
+    void setUp() {
+        personService = new PersonService();
+        personService.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        personService.createPerson(new Person("Петр", "Петров", 40, "petr@example.com"));
+    }
+    
+    @Test
+    @DisplayName("Курсор обходит все записи и читает их поля")
+    void cursor_VisitsAllRows() {
+        // Arrange
+        PersonCursor cursor = personService.cursor();
+        Set<String> emails = new HashSet<>();
+        int ageSum = 0;
+        
+        // Act
+        while (cursor.next()) {
+            emails.add(cursor.email());
+            ageSum += cursor.age();
+        }
+        
+        // Assert
+        assertEquals(Set.of("ivan@example.com", "petr@example.com"), emails);
+        assertEquals(70, ageSum);
+        assertFalse(cursor.next());
+    }
+    
+    @Test
+    @DisplayName("Переоткрытый курсор видит актуальные данные")
+    void cursor_Reused_SeesCurrentData() {
+        // Arrange
+        PersonCursor cursor = personService.cursor();
+        while (cursor.next()) {
+            // Дочитываем до конца
+        }
+        personService.createPerson(new Person("Анна", "Сидорова", 25, "anna@example.com"));
+        
+        // Act
+        PersonCursor reused = personService.cursor(cursor);
+        int count = 0;
+        while (reused.next()) {
+            count++;
+            assertEquals(personService.getPersonById(reused.id()), reused.toPerson());
+        }
+        
+        // Assert
+        assertSame(cursor, reused);
+        assertEquals(3, count);
+    }
+    
+    @Test
+    @DisplayName("Чтение поля вне записи - должно выбросить исключение")
+    void cursor_NoCurrentRow_ThrowsException() {
+        PersonCursor cursor = personService.cursor();
+        
+        assertThrows(NoSuchElementException.class, cursor::age);
+        assertThrows(IllegalArgumentException.class, () -> personService.cursor(null));
+    }
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.example.service;
 
 import com.example.model.Person;
+import com.example.model.PersonPatch;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -326,4 +327,132 @@ class PersonServiceTest {
         );
         assertEquals("Возраст не может быть больше 150 лет", exception.getMessage());
     }
+    
+    @Test
+    @DisplayName("Слушатели получают уведомления об изменениях")
+    void changeListener_ReceivesCreateUpdateDelete() {
+        // Arrange
+        List<String> events = new java.util.ArrayList<>();
+        personService.addChangeListener((oldPerson, newPerson) ->
+            events.add((oldPerson == null ? "null" : oldPerson.getAge()) + "->" +
+                       (newPerson == null ? "null" : newPerson.getAge())));
+        
+        // Act
+        Person created = personService.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        personService.updatePerson(created.getId(), new Person("Иван", "Иванов", 31, "ivan@example.com"));
+        personService.deletePerson(created.getId());
+        personService.deletePerson(created.getId());
+        
+        // Assert
+        assertEquals(List.of("null->30", "30->31", "31->null"), events);
+    }
+    
+    @Test
+    @DisplayName("Патч одного поля меняет только его")
+    void patchPerson_SingleField_UpdatesOnlyThatField() {
+        // Arrange
+        Person created = personService.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        
+        // Act
+        boolean changed = personService.patchPerson(created.getId(), new PersonPatch().setAge(31));
+        
+        // Assert
+        assertTrue(changed);
+        Person patched = personService.getPersonById(created.getId());
+        assertEquals(31, patched.getAge());
+        assertEquals("Иван", patched.getFirstName());
+        assertEquals("ivan@example.com", patched.getEmail());
+    }
+    
+    @Test
+    @DisplayName("Патч без изменений не трогает хранилище и не уведомляет слушателей")
+    void patchPerson_SameValues_ReturnsFalseWithoutNotification() {
+        // Arrange
+        Person created = personService.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        List<Person> notified = new java.util.ArrayList<>();
+        personService.addChangeListener((oldPerson, newPerson) -> notified.add(newPerson));
+        long version = personService.version();
+        
+        // Act
+        boolean changed = personService.patchPerson(created.getId(),
+            new PersonPatch().setFirstName("Иван").setEmail("ivan@example.com"));
+        boolean emptyChanged = personService.patchPerson(created.getId(), new PersonPatch());
+        
+        // Assert
+        assertFalse(changed);
+        assertFalse(emptyChanged);
+        assertTrue(notified.isEmpty());
+        assertEquals(version, personService.version());
+        assertEquals(created, personService.getPersonById(created.getId()));
+    }
+    
+    @Test
+    @DisplayName("Патч email проверяет уникальность и освобождает старый адрес")
+    void patchPerson_Email_MaintainsUniqueness() {
+        // Arrange
+        Person ivan = personService.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        personService.createPerson(new Person("Петр", "Петров", 25, "petr@example.com"));
+        
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> personService.patchPerson(ivan.getId(), new PersonPatch().setEmail("petr@example.com"))
+        );
+        assertEquals("Email уже существует: petr@example.com", exception.getMessage());
+        
+        assertTrue(personService.patchPerson(ivan.getId(), new PersonPatch().setEmail("ivan@new.com")));
+        Person another = personService.createPerson(new Person("Другой", "Иванов", 40, "ivan@example.com"));
+        assertNotNull(another.getId());
+    }
+    
+    @Test
+    @DisplayName("Патч с невалидным значением - должно выбросить исключение")
+    void patchPerson_InvalidChangedField_ThrowsException() {
+        // Arrange
+        Person created = personService.createPerson(new Person("Иван", "Иванов", 30, "ivan@example.com"));
+        
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> personService.patchPerson(created.getId(), new PersonPatch().setLastName(" "))
+        );
+        assertEquals("Фамилия не может быть пустой", exception.getMessage());
+        assertEquals("Иванов", personService.getPersonById(created.getId()).getLastName());
+    }
+    
+    @Test
+    @DisplayName("Патч несуществующего человека - должно выбросить исключение")
+    void patchPerson_NonExistent_ThrowsException() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> personService.patchPerson(999L, new PersonPatch().setAge(20))
+        );
+        assertEquals("Человек с ID 999 не найден", exception.getMessage());
+    }
+    
+    @Test
+    @DisplayName("Изменение возвращенного объекта не затрагивает хранилище и индекс email")
+    void updatePerson_MutatedReturnedPerson_MaintainsEmailIndex() {
+        // Arrange
+        Person created = personService.createPerson(new Person("Иван", "Иванов", 30, "a@x.com"));
+        Person person = personService.getPersonById(created.getId());
+        person.setEmail("b@x.com");
+        
+        // Act
+        personService.updatePerson(created.getId(), person);
+        
+        // Assert
+        assertEquals("b@x.com", personService.getPersonById(created.getId()).getEmail());
+        assertThrows(IllegalArgumentException.class,
+            () -> personService.createPerson(new Person("Петр", "Петров", 25, "b@x.com")));
+        assertNotNull(personService.createPerson(new Person("Петр", "Петров", 25, "a@x.com")).getId());
+        
+        // Act
+        personService.getAllPersons().forEach(p -> p.setAge(99));
+        created.setAge(99);
+        
+        // Assert
+        assertEquals(30, personService.getPersonById(created.getId()).getAge());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.example.sketch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты скетча Count-Min.
+ */
+class CountMinSketchTest {
+    
+    @Test
+    @DisplayName("Оценки не меньше истинных и почти всегда в пределах epsilon * total")
+    void estimate_UpperBoundWithinError() {
+        // Arrange
+        CountMinSketch sketch = CountMinSketch.withError(0.001, 0.99);
+        Map<String, Long> exact = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 200_000; i++) {
+            // Частоты по закону, близкому к Ципфу: немного частых и много редких значений
+            String title = "title-" + (int) Math.pow(10_000, random.nextDouble());
+            sketch.add(title, 1);
+            exact.merge(title, 1L, Long::sum);
+        }
+        
+        // Act
+        int violations = 0;
+        for (Map.Entry<String, Long> entry : exact.entrySet()) {
+            long estimate = sketch.estimate(entry.getKey());
+            assertTrue(estimate >= entry.getValue());
+            if (estimate - entry.getValue() > sketch.getEpsilon() * sketch.getTotal()) {
+                violations++;
+            }
+        }
+        
+        // Assert
+        assertEquals(200_000, sketch.getTotal());
+        assertTrue(violations <= exact.size() * (1 - sketch.getConfidence()) * 2, "нарушений: " + violations);
+    }
+    
+    @Test
+    @DisplayName("Вычитание, объединение и восстановление из байтов сохраняют счетчики")
+    void subtractMergeAndSerialize() {
+        // Arrange
+        CountMinSketch left = new CountMinSketch(64, 4);
+        CountMinSketch right = new CountMinSketch(64, 4);
+        left.add("java", 5);
+        left.add("java", -2);
+        right.add("java", 4);
+        right.add("go", 1);
+        
+        // Act
+        CountMinSketch merged = CountMinSketch.fromBytes(left.toBytes());
+        merged.merge(right);
+        
+        // Assert
+        assertEquals(3, left.estimate("java"));
+        assertTrue(merged.estimate("java") >= 7);
+        assertTrue(merged.estimate("go") >= 1);
+        assertEquals(8, merged.getTotal());
+        assertArrayEquals(merged.toBytes(), CountMinSketch.fromBytes(merged.toBytes()).toBytes());
+    }
+    
+    @Test
+    @DisplayName("Недопустимые аргументы - должно выбросить исключение")
+    void invalidArguments_ThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.withError(0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.withError(0.01, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(8, 2).merge(new CountMinSketch(8, 3)));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(8, 2).estimate(null));
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.fromBytes(new byte[] {'C', 0, 0, 0, 8}));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.example.sketch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты скетча HyperLogLog.
+ */
+class HyperLogLogTest {
+    
+    @Test
+    @DisplayName("Оценка укладывается в три стандартные ошибки на всем диапазоне мощностей")
+    void estimate_WithinErrorBound() {
+        // Arrange
+        HyperLogLog sketch = new HyperLogLog();
+        int added = 0;
+        
+        // Act & Assert
+        for (int target : new int[] {10, 1_000, 20_000, 100_000, 1_000_000}) {
+            while (added < target) {
+                sketch.add("company-" + added++);
+                sketch.add("company-" + (added / 2));
+            }
+            double error = Math.abs(sketch.estimate() - target) / (double) target;
+            assertTrue(error < 3 * sketch.getRelativeError(), "мощность " + target + ", ошибка " + error);
+        }
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+    
+    @Test
+    @DisplayName("Объединение частей и восстановление из байтов дают скетч объединения")
+    void mergeAndSerialize_EqualUnionSketch() {
+        // Arrange
+        HyperLogLog left = new HyperLogLog(12);
+        HyperLogLog right = new HyperLogLog(12);
+        HyperLogLog union = new HyperLogLog(12);
+        for (int i = 0; i < 50_000; i++) {
+            (i % 3 == 0 ? left : right).add("v" + i);
+            union.add("v" + i);
+        }
+        
+        // Act
+        HyperLogLog merged = HyperLogLog.fromBytes(left.toBytes());
+        merged.merge(HyperLogLog.fromBytes(right.toBytes()));
+        
+        // Assert
+        assertEquals(union.estimate(), merged.estimate());
+        assertArrayEquals(union.toBytes(), merged.toBytes());
+    }
+    
+    @Test
+    @DisplayName("Недопустимые аргументы - должно выбросить исключение")
+    void invalidArguments_ThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog().add(null));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(10).merge(new HyperLogLog(11)));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[] {'H', 10, 0}));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[] {'X'}));
+    }
+}
\ No newline at end of file
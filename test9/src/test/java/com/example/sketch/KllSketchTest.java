@@ -0,0 +1,93 @@
+package com.example.sketch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты квантильного скетча KLL.
+ */
+class KllSketchTest {
+    
+    @Test
+    @DisplayName("Ранги квантилей отличаются от точных не больше заявленной ошибки")
+    void quantile_WithinRankError() {
+        // Arrange
+        KllSketch sketch = new KllSketch();
+        double[] values = new double[500_000];
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian()) * 100_000;
+            sketch.update(values[i]);
+        }
+        Arrays.sort(values);
+        
+        // Act & Assert
+        for (double fraction = 0.01; fraction < 1; fraction += 0.01) {
+            double estimate = sketch.quantile(fraction);
+            double trueRank = (double) upperBound(values, estimate) / values.length;
+            assertEquals(fraction, trueRank, sketch.getNormalizedRankError(), "доля " + fraction);
+            assertEquals(trueRank, sketch.rank(estimate), sketch.getNormalizedRankError());
+        }
+        assertEquals(values[0], sketch.quantile(0));
+        assertEquals(values[values.length - 1], sketch.quantile(1));
+        assertEquals(values.length, sketch.getCount());
+        assertTrue(sketch.getRetainedItems() < 4 * sketch.getK());
+    }
+    
+    @Test
+    @DisplayName("Объединение частей сохраняет точность и число значений")
+    void merge_KeepsAccuracy() {
+        // Arrange
+        KllSketch merged = new KllSketch(100);
+        for (int part = 0; part < 10; part++) {
+            KllSketch sketch = new KllSketch(100);
+            for (int i = 0; i < 20_000; i++) {
+                sketch.update(part * 20_000 + i);
+            }
+            
+            // Act
+            merged.merge(KllSketch.fromBytes(sketch.toBytes()));
+        }
+        merged.merge(merged);
+        
+        // Assert
+        assertEquals(400_000, merged.getCount());
+        assertEquals(0.0, merged.quantile(0));
+        assertEquals(199_999.0, merged.quantile(1));
+        assertEquals(0.5, merged.quantile(0.5) / 200_000, merged.getNormalizedRankError());
+        assertEquals(0.25, merged.rank(50_000), merged.getNormalizedRankError());
+    }
+    
+    @Test
+    @DisplayName("Пустой скетч и недопустимые аргументы")
+    void emptyAndInvalidArguments() {
+        KllSketch empty = new KllSketch();
+        assertNull(empty.quantile(0.5));
+        assertEquals(0.0, empty.rank(1));
+        assertNull(KllSketch.fromBytes(empty.toBytes()).quantile(0.5));
+        assertThrows(IllegalArgumentException.class, () -> new KllSketch(4));
+        assertThrows(IllegalArgumentException.class, () -> empty.update(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> empty.quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> empty.merge(new KllSketch(100)));
+        assertThrows(IllegalArgumentException.class, () -> KllSketch.fromBytes(new byte[] {'K', 0}));
+    }
+    
+    private static int upperBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
\ No newline at end of file
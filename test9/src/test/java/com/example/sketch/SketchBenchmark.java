@@ -0,0 +1,75 @@
+package com.example.sketch;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Замер скетчей против точных структур: время учета значений, размер состояния
+ * и фактическая ошибка числа различных компаний, частот названий и квантилей зарплат.
+ * Запуск: {@code java -cp target/classes:target/test-classes com.example.sketch.SketchBenchmark 2000000}
+ */
+public class SketchBenchmark {
+    
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        SplittableRandom random = new SplittableRandom(11);
+        String[] companies = new String[count];
+        String[] titles = new String[count];
+        double[] salaries = new double[count];
+        for (int i = 0; i < count; i++) {
+            companies[i] = "company-" + random.nextInt(count / 4);
+            titles[i] = "title-" + (int) Math.pow(100_000, random.nextDouble());
+            salaries[i] = Math.exp(random.nextGaussian()) * 100_000;
+        }
+        
+        long start = System.nanoTime();
+        Set<String> exactCompanies = new HashSet<>();
+        Map<String, Long> exactTitles = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            exactCompanies.add(companies[i]);
+            exactTitles.merge(titles[i], 1L, Long::sum);
+        }
+        double[] sorted = salaries.clone();
+        Arrays.sort(sorted);
+        double exactSeconds = (System.nanoTime() - start) / 1e9;
+        
+        start = System.nanoTime();
+        HyperLogLog distinct = new HyperLogLog();
+        CountMinSketch frequencies = CountMinSketch.withError(SketchView.DEFAULT_EPSILON, SketchView.DEFAULT_CONFIDENCE);
+        KllSketch quantiles = new KllSketch();
+        for (int i = 0; i < count; i++) {
+            distinct.add(companies[i]);
+            frequencies.add(titles[i], 1);
+            quantiles.update(salaries[i]);
+        }
+        double sketchSeconds = (System.nanoTime() - start) / 1e9;
+        
+        System.out.printf("values %,d: exact %.2f s, sketches %.2f s%n", count, exactSeconds, sketchSeconds);
+        System.out.printf("state: exact ~%,d distinct keys + %,d doubles; sketches %,d bytes%n",
+                exactCompanies.size() + exactTitles.size(), count,
+                distinct.toBytes().length + frequencies.toBytes().length + quantiles.toBytes().length);
+        System.out.printf("distinct companies: exact %,d  estimate %,d  error %.3f%% (bound %.3f%%)%n",
+                exactCompanies.size(), distinct.estimate(),
+                100.0 * Math.abs(distinct.estimate() - exactCompanies.size()) / exactCompanies.size(),
+                100 * distinct.getRelativeError());
+        double worstFrequency = 0;
+        for (Map.Entry<String, Long> entry : exactTitles.entrySet()) {
+            worstFrequency = Math.max(worstFrequency, frequencies.estimate(entry.getKey()) - entry.getValue());
+        }
+        System.out.printf("title frequency: worst overestimate %,.0f (bound %,.0f at %.0f%%)%n",
+                worstFrequency, frequencies.getEpsilon() * frequencies.getTotal(), 100 * frequencies.getConfidence());
+        double worstRank = 0;
+        for (int percent = 1; percent < 100; percent++) {
+            double estimate = quantiles.quantile(percent / 100.0);
+            int position = Arrays.binarySearch(sorted, estimate);
+            double trueRank = (position < 0 ? -position - 1 : position + 1) / (double) count;
+            worstRank = Math.max(worstRank, Math.abs(trueRank - percent / 100.0));
+        }
+        System.out.printf("salary percentiles: worst rank error %.3f%% (bound %.3f%%), p50 %,.0f vs exact %,.0f%n",
+                100 * worstRank, 100 * quantiles.getNormalizedRankError(), quantiles.quantile(0.5), sorted[count / 2]);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.example.sketch;
+
+import com.example.model.Job;
+import com.example.model.Person;
+import com.example.repository.InMemoryJobRepository;
+import com.example.service.PersonService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты представлений приближенной аналитики вакансий и людей.
+ */
+class SketchViewTest {
+    
+    @Test
+    @DisplayName("Представление вакансий ведется на записи и учитывает удаления в частотах")
+    void jobView_MaintainedOnWritePath() {
+        // Arrange
+        InMemoryJobRepository repository = new InMemoryJobRepository();
+        JobSketchView view = repository.registerView(new JobSketchView());
+        for (int i = 0; i < 10_000; i++) {
+            repository.save(new Job(i % 3 == 0 ? "Java Developer" : "Title " + i % 50, "Company " + i % 700,
+                    1000.0 + i, null));
+        }
+        
+        // Act
+        for (long id = 1; id <= 3_000; id += 3) {
+            repository.delete(id);
+        }
+        
+        // Assert
+        assertEquals(700, view.estimateDistinctCompanies(), 700 * 3 * view.getDistinctError());
+        assertEquals(3334 - 1000, view.estimateTitleCount("java developer"), view.getFrequencyError());
+        assertEquals(5999.5, view.estimateSalaryQuantile(0.5), 10_000 * view.getRankError());
+        assertEquals(0.1, view.estimateSalaryRank(2000), view.getRankError());
+    }
+    
+    @Test
+    @DisplayName("Перестройка убирает удаленные значения из квантилей")
+    void jobView_RebuildDropsRemovedValues() {
+        // Arrange
+        InMemoryJobRepository repository = new InMemoryJobRepository();
+        JobSketchView view = repository.registerView(new JobSketchView());
+        for (int i = 0; i < 40_000; i++) {
+            repository.save(new Job("Job", "Company", (double) i, null));
+        }
+        for (long id = 1; id <= 20_000; id++) {
+            repository.delete(id);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        // Act
+        Double before = view.estimateSalaryQuantile(0.5);
+        repository.rebuildViews(pool);
+        pool.shutdown();
+        
+        // Assert
+        assertEquals(20_000, before, 40_000 * view.getRankError());
+        assertEquals(30_000, view.estimateSalaryQuantile(0.5), 20_000 * view.getRankError());
+        assertEquals(20_000, view.estimateTitleCount("JOB"));
+    }
+    
+    @Test
+    @DisplayName("Аналитика двух экземпляров объединяется через сериализацию")
+    void personView_MergesAcrossInstances() {
+        // Arrange
+        PersonService first = new PersonService();
+        PersonService second = new PersonService();
+        PersonSketchView firstView = first.registerView(new PersonSketchView());
+        PersonSketchView secondView = second.registerView(new PersonSketchView());
+        for (int i = 0; i < 2_000; i++) {
+            PersonService target = i % 2 == 0 ? first : second;
+            target.createPerson(new Person("Имя", i % 10 == 0 ? "Иванов" : "Фамилия" + i, 20 + i % 40,
+                    "user" + i + "@domain" + i % 300 + ".ru"));
+        }
+        
+        // Act
+        firstView.merge(secondView.toBytes());
+        
+        // Assert
+        assertEquals(300, firstView.estimateDistinctEmailDomains(), 300 * 3 * firstView.getDistinctError());
+        assertEquals(200, firstView.estimateLastNameCount("Иванов"), firstView.getFrequencyError());
+        assertEquals(20.0, firstView.estimateAgeQuantile(0));
+        assertEquals(59.0, firstView.estimateAgeQuantile(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> firstView.merge(new PersonSketchView(10, 0.01, 0.9, 50).toBytes()));
+    }
+    
+    @Test
+    @DisplayName("Недопустимые аргументы - должно выбросить исключение")
+    void invalidArguments_ThrowException() {
+        JobSketchView view = new JobSketchView();
+        assertThrows(IllegalArgumentException.class, () -> new JobSketchView(2, 0.01, 0.9, 100));
+        assertThrows(IllegalArgumentException.class, () -> view.estimateTitleCount(null));
+        assertThrows(IllegalArgumentException.class, () -> view.merge(new byte[] {'S', 0}));
+        assertThrows(IllegalArgumentException.class, () -> view.rebuild(null, ForkJoinPool.commonPool()));
+        assertNull(view.estimateSalaryQuantile(0.5));
+    }
+}
\ No newline at end of file
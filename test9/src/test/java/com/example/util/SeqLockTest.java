@@ -0,0 +1,96 @@
+package com.example.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты версии записи для согласованного чтения.
+ */
+class SeqLockTest {
+    
+    private final SeqLock lock = new SeqLock();
+    
+    @Test
+    @DisplayName("Запись меняет версию с нечетной на четную")
+    void beginAndEndWrite_ToggleVersionParity() {
+        // Act & Assert
+        assertEquals(0, lock.version());
+        lock.beginWrite();
+        assertEquals(1, lock.version() & 1);
+        lock.endWrite();
+        assertEquals(2, lock.version());
+    }
+    
+    @Test
+    @DisplayName("Исключение при разорванном состоянии приводит к повтору чтения")
+    void read_ThrowsDuringWrite_Retries() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        
+        // Act
+        String result = lock.read(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                lock.beginWrite();
+                lock.endWrite();
+                throw new IllegalStateException("разорванное состояние");
+            }
+            return "согласовано";
+        });
+        
+        // Assert
+        assertEquals("согласовано", result);
+        assertEquals(2, attempts.get());
+    }
+    
+    @Test
+    @DisplayName("Исключение без параллельной записи пробрасывается")
+    void read_ThrowsWithoutWrite_Propagates() {
+        assertThrows(IllegalStateException.class, () -> lock.read(() -> {
+            throw new IllegalStateException("ошибка читателя");
+        }));
+        assertThrows(IllegalArgumentException.class, () -> lock.read(null));
+    }
+    
+    @Test
+    @DisplayName("Читатель не видит полупримененных записей писателя")
+    void read_ConcurrentWriter_SeesWholeWrites() throws Exception {
+        // Arrange
+        long[] pair = new long[2];
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            for (long value = 1; running.get(); value++) {
+                lock.beginWrite();
+                try {
+                    pair[0] = value;
+                    pair[1] = value;
+                } finally {
+                    lock.endWrite();
+                }
+            }
+        });
+        
+        // Act
+        writer.start();
+        try {
+            for (int i = 0; i < 100_000; i++) {
+                lock.read(() -> {
+                    if (pair[0] != pair[1]) {
+                        throw new IllegalStateException("разорванная пара");
+                    }
+                    return pair[0];
+                });
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+        
+        // Assert
+        assertEquals(pair[0], pair[1]);
+    }
+}
\ No newline at end of file